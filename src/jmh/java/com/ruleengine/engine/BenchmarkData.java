@@ -0,0 +1,88 @@
+package com.ruleengine.engine;
+
+import ch.qos.logback.classic.Level;
+import com.ruleengine.evaluator.compiled.ConditionCompiler;
+import com.ruleengine.model.ActionConfig;
+import com.ruleengine.model.ActionType;
+import com.ruleengine.model.Condition;
+import com.ruleengine.model.Event;
+import com.ruleengine.model.Rule;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Deterministic rule sets and events shared by the benchmarks.
+ *
+ * Rules look like typical fraud/alerting rules: an amount threshold, a
+ * merchant or country equality and a few keyword checks, spread over a
+ * handful of event types.
+ */
+final class BenchmarkData {
+
+    static final String[] EVENT_TYPES = { "PAYMENT", "LOGIN", "TRANSFER" };
+    private static final String[] COUNTRIES = { "TR", "US", "DE", "GB", "FR", "NL", "ES", "IT" };
+    private static final String[] AGENTS = { "Mozilla/5.0", "curl/8.0", "Googlebot/2.1", "okhttp/4.12" };
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Silences per-event engine logging, which would dominate the numbers.
+     */
+    static void quietLogging() {
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger("com.ruleengine")).setLevel(Level.WARN);
+    }
+
+    static RuleSnapshot snapshot(int ruleCount, long seed) {
+        ConditionCompiler compiler = new ConditionCompiler();
+        List<CompiledRule> rules = new ArrayList<>();
+        for (Rule rule : rules(ruleCount, seed)) {
+            rules.add(new CompiledRule(rule, compiler.compile(rule.getWhen())));
+        }
+        return new RuleSnapshot(1, rules);
+    }
+
+    static List<Rule> rules(int count, long seed) {
+        Random random = new Random(seed);
+        List<Rule> rules = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            List<Condition> all = new ArrayList<>();
+            all.add(new Condition("amount", random.nextBoolean() ? ">" : ">=", 100 * random.nextInt(100)));
+            switch (i % 4) {
+                case 0 -> all.add(new Condition("merchantId", "==", "M" + random.nextInt(500)));
+                case 1 -> all.add(new Condition("country", "in",
+                        List.of(COUNTRIES[random.nextInt(COUNTRIES.length)], COUNTRIES[random.nextInt(COUNTRIES.length)])));
+                case 2 -> all.add(new Condition("userAgent", "contains", random.nextBoolean() ? "bot" : "curl"));
+                default -> all.add(Condition.or(List.of(
+                        new Condition("failCount", ">=", 1 + random.nextInt(5)),
+                        new Condition("country", "!=", COUNTRIES[random.nextInt(COUNTRIES.length)]))));
+            }
+
+            Rule rule = new Rule("Rule" + i, random.nextInt(10), Condition.and(all),
+                    new ActionConfig(ActionType.LOG_EVENT));
+            rule.setEventTypes(List.of(EVENT_TYPES[i % EVENT_TYPES.length]));
+            rules.add(rule);
+        }
+        return rules;
+    }
+
+    static List<Event> events(int count, long seed) {
+        Random random = new Random(seed);
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> payload = new HashMap<>();
+            payload.put("amount", random.nextInt(10_000));
+            payload.put("merchantId", "M" + random.nextInt(500));
+            payload.put("country", COUNTRIES[random.nextInt(COUNTRIES.length)]);
+            payload.put("userAgent", AGENTS[random.nextInt(AGENTS.length)]);
+            payload.put("failCount", random.nextInt(6));
+            events.add(new Event(EVENT_TYPES[random.nextInt(EVENT_TYPES.length)], payload));
+        }
+        return events;
+    }
+}
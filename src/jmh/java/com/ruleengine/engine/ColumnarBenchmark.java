@@ -0,0 +1,65 @@
+package com.ruleengine.engine;
+
+import com.ruleengine.engine.columnar.ColumnarEvaluator;
+import com.ruleengine.engine.columnar.ColumnarResult;
+import com.ruleengine.model.Event;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Row-at-a-time evaluation versus the columnar path for one batch.
+ * Both report the time to evaluate the whole batch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ColumnarBenchmark {
+
+    @Param({ "100", "1000" })
+    public int rules;
+
+    @Param({ "1024", "16384" })
+    public int batchSize;
+
+    private RuleSnapshot snapshot;
+    private List<Event> events;
+    private RuleEngine rowEngine;
+    private ColumnarEvaluator columnarEvaluator;
+
+    @Setup
+    public void setUp() {
+        BenchmarkData.quietLogging();
+        snapshot = BenchmarkData.snapshot(rules, 42);
+        events = BenchmarkData.events(batchSize, 7);
+        rowEngine = new RuleEngine(null, EvaluationMode.SEQUENTIAL);
+        columnarEvaluator = new ColumnarEvaluator(null);
+    }
+
+    @Benchmark
+    public void rowAtATime(Blackhole blackhole) {
+        for (Event event : events) {
+            blackhole.consume(rowEngine.evaluate(snapshot, event, false));
+        }
+    }
+
+    @Benchmark
+    public ColumnarResult columnar() {
+        return columnarEvaluator.evaluate(snapshot, events);
+    }
+}
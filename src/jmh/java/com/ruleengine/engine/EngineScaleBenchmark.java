@@ -0,0 +1,108 @@
+package com.ruleengine.engine;
+
+import com.ruleengine.evaluator.compiled.ConditionCompiler;
+import com.ruleengine.model.ActionConfig;
+import com.ruleengine.model.ActionType;
+import com.ruleengine.model.Condition;
+import com.ruleengine.model.EvaluationResult;
+import com.ruleengine.model.Event;
+import com.ruleengine.model.Rule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RuleEngine#evaluate} from 10 to 100k rules at a controlled
+ * selectivity: the fraction of rules that match each event.
+ *
+ * Rule i requires {@code segment == "S" + (i % groups)} with
+ * {@code groups = 1 / selectivity}, plus an amount threshold every event
+ * clears, so exactly {@code rules * selectivity} rules fire per event.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EngineScaleBenchmark {
+
+    @Param({ "10", "100", "1000", "10000", "100000" })
+    public int rules;
+
+    @Param({ "0.001", "0.1", "1.0" })
+    public double selectivity;
+
+    private RuleSnapshot snapshot;
+    private List<Event> events;
+    private RuleEngine engine;
+    private EvaluationContext context;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        BenchmarkData.quietLogging();
+        int groups = Math.max(1, (int) Math.round(1 / selectivity));
+        snapshot = snapshot(rules, groups);
+        events = events(1024, groups);
+        engine = new RuleEngine(null, EvaluationMode.SEQUENTIAL);
+        context = new EvaluationContext();
+    }
+
+    private static RuleSnapshot snapshot(int count, int groups) {
+        ConditionCompiler compiler = new ConditionCompiler();
+        Random random = new Random(42);
+        List<CompiledRule> compiled = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Condition when = Condition.and(List.of(
+                    new Condition("segment", "==", "S" + (i % groups)),
+                    new Condition("amount", ">=", random.nextInt(100))));
+            Rule rule = new Rule("Rule" + i, random.nextInt(10), when, new ActionConfig(ActionType.LOG_EVENT));
+            compiled.add(new CompiledRule(rule, compiler.compile(when)));
+        }
+        return new RuleSnapshot(1, compiled);
+    }
+
+    private static List<Event> events(int count, int groups) {
+        Random random = new Random(7);
+        List<Event> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> payload = new HashMap<>();
+            payload.put("segment", "S" + random.nextInt(groups));
+            payload.put("amount", 100 + random.nextInt(10_000));
+            events.add(new Event("PAYMENT", payload));
+        }
+        return events;
+    }
+
+    private Event nextEvent() {
+        Event event = events.get(next);
+        next = (next + 1) & (events.size() - 1);
+        return event;
+    }
+
+    @Benchmark
+    public EvaluationResult evaluate() {
+        return engine.evaluate(snapshot, nextEvent(), false, TraceLevel.NONE);
+    }
+
+    @Benchmark
+    public int evaluateInto() {
+        return engine.evaluateInto(snapshot, nextEvent(), context);
+    }
+}
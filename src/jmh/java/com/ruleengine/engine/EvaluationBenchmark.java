@@ -0,0 +1,77 @@
+package com.ruleengine.engine;
+
+import com.ruleengine.model.EvaluationResult;
+import com.ruleengine.model.Event;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-event cost of the low-level core versus the {@link EvaluationResult}
+ * view. Run with the GC profiler to see allocations per event;
+ * {@code evaluateInto} should report a gc.alloc.rate.norm of ~0 B/op:
+ * <pre>
+ * mvn -Pjmh compile exec:exec -Djmh.args="EvaluationBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EvaluationBenchmark {
+
+    @Param({ "100", "2000" })
+    public int rules;
+
+    @Param({ "SEQUENTIAL", "NETWORK" })
+    public EvaluationMode mode;
+
+    private RuleSnapshot snapshot;
+    private List<Event> events;
+    private RuleEngine engine;
+    private EvaluationContext context;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        BenchmarkData.quietLogging();
+        snapshot = BenchmarkData.snapshot(rules, 42);
+        events = BenchmarkData.events(1024, 7);
+        engine = new RuleEngine(null, mode);
+        context = new EvaluationContext();
+    }
+
+    private Event nextEvent() {
+        Event event = events.get(next);
+        next = (next + 1) & (events.size() - 1);
+        return event;
+    }
+
+    @Benchmark
+    public int evaluateInto() {
+        return engine.evaluateInto(snapshot, nextEvent(), context);
+    }
+
+    @Benchmark
+    public EvaluationResult resultWithoutTrace() {
+        return engine.evaluate(snapshot, nextEvent(), false, TraceLevel.NONE);
+    }
+
+    @Benchmark
+    public EvaluationResult resultWithFullTrace() {
+        return engine.evaluate(snapshot, nextEvent(), false, TraceLevel.FULL);
+    }
+}
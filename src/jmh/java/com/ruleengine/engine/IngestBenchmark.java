@@ -0,0 +1,123 @@
+package com.ruleengine.engine;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ruleengine.ingest.BinaryEventFormat;
+import com.ruleengine.ingest.EventReader;
+import com.ruleengine.model.Event;
+import com.ruleengine.schema.SchemaRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of reading one event: data binding from JSON into {@link Event}
+ * versus {@link EventReader} on JSON and on {@link BinaryEventFormat}, with
+ * and without projection onto the fields the rules read. The payloads
+ * carry the benchmark rules' five fields plus {@code extraFields} fields no
+ * rule reads, some of them nested objects and arrays. Run with
+ * {@code -prof gc} for allocation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IngestBenchmark {
+
+    private static final int EVENT_COUNT = 256;
+
+    @Param({ "0", "200" })
+    public int extraFields;
+
+    private ObjectMapper objectMapper;
+    private RuleSnapshot snapshot;
+    private EventReader fullReader;
+    private EventReader projectingReader;
+    private byte[][] bodies;
+    private ByteBuffer[] binaryBodies;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        snapshot = BenchmarkData.snapshot(200, 42);
+        fullReader = new EventReader(objectMapper, new SchemaRegistry(), false);
+        projectingReader = new EventReader(objectMapper, new SchemaRegistry(), true);
+
+        Random random = new Random(7);
+        List<Event> events = BenchmarkData.events(EVENT_COUNT, 7);
+        bodies = new byte[EVENT_COUNT][];
+        binaryBodies = new ByteBuffer[EVENT_COUNT];
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            Map<String, Object> payload = new LinkedHashMap<>(events.get(i).getPayload());
+            for (int field = 0; field < extraFields; field++) {
+                payload.put("extra" + field, switch (field % 4) {
+                    case 0 -> random.nextLong();
+                    case 1 -> "value-" + random.nextInt(1000);
+                    case 2 -> Map.of("id", random.nextInt(), "tags", List.of("a", "b", "c"));
+                    default -> new ArrayList<>(List.of(random.nextDouble(), random.nextBoolean()));
+                });
+            }
+            Event event = new Event(events.get(i).getType(), payload);
+            bodies[i] = objectMapper.writeValueAsBytes(event);
+            binaryBodies[i] = ByteBuffer.wrap(BinaryEventFormat.encode(List.of(event)));
+        }
+    }
+
+    private byte[] nextBody() {
+        byte[] body = bodies[next];
+        next = (next + 1) % EVENT_COUNT;
+        return body;
+    }
+
+    private ByteBuffer nextBinaryBody() {
+        ByteBuffer body = binaryBodies[next];
+        next = (next + 1) % EVENT_COUNT;
+        return body;
+    }
+
+    @Benchmark
+    public Event dataBinding() throws IOException {
+        return objectMapper.readValue(nextBody(), Event.class);
+    }
+
+    @Benchmark
+    public Event streaming() throws IOException {
+        return fullReader.read(new ByteArrayInputStream(nextBody()), snapshot);
+    }
+
+    @Benchmark
+    public Event streamingProjected() throws IOException {
+        return projectingReader.read(new ByteArrayInputStream(nextBody()), snapshot);
+    }
+
+    @Benchmark
+    public Event binary() {
+        return fullReader.readBinaryEvent(nextBinaryBody(), snapshot);
+    }
+
+    @Benchmark
+    public Event binaryProjected() {
+        return projectingReader.readBinaryEvent(nextBinaryBody(), snapshot);
+    }
+}
@@ -0,0 +1,91 @@
+package com.ruleengine.evaluator;
+
+import com.ruleengine.evaluator.compiled.CompiledCondition;
+import com.ruleengine.evaluator.compiled.ConditionCompiler;
+import com.ruleengine.model.Condition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Authored versus adaptive order of AND/OR children on skewed traffic.
+ *
+ * The rule is written the way people tend to write it, with the expensive
+ * checks first: a user-agent regex and a keyword scan ahead of the cheap,
+ * highly selective amount and country tests. Traffic is skewed: most
+ * payments are small and domestic, so the cheap tests decide almost every
+ * event. The adaptive compiler learns this during setup.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AdaptiveOrderingBenchmark {
+
+    private static final String[] AGENTS = {
+            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 Chrome/120.0",
+            "Mozilla/5.0 (Macintosh; Intel Mac OS X 14_2) AppleWebKit/605.1.15 Safari/605.1",
+            "Mozilla/5.0 (Linux; Android 14) AppleWebKit/537.36 Mobile Safari/537.36",
+            "python-requests/2.31" };
+
+    @Param({ "false", "true" })
+    public boolean adaptive;
+
+    private CompiledCondition condition;
+    private List<Map<String, Object>> payloads;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Condition rule = Condition.and(List.of(
+                new Condition("userAgent", "matches", "^Mozilla/5\\.0 \\((Windows|Macintosh|Linux)[^)]*\\).*$"),
+                Condition.or(List.of(
+                        new Condition("note", "contains", "refund"),
+                        new Condition("note", "contains", "chargeback"),
+                        new Condition("country", "in", List.of("TR", "US", "DE", "GB")))),
+                new Condition("amount", ">", 5000),
+                new Condition("country", "!=", "TR")));
+        condition = (adaptive ? new ConditionCompiler(true, 64, 1000) : new ConditionCompiler()).compile(rule);
+
+        Random random = new Random(5);
+        payloads = new ArrayList<>();
+        for (int i = 0; i < 1024; i++) {
+            Map<String, Object> payload = new HashMap<>();
+            payload.put("userAgent", AGENTS[random.nextInt(10) < 9 ? random.nextInt(3) : 3]);
+            payload.put("note", "order " + random.nextInt(100_000) + (random.nextInt(50) == 0 ? " refund" : ""));
+            // 95% small payments, 90% domestic
+            payload.put("amount", random.nextInt(20) == 0 ? 5000 + random.nextInt(50_000) : random.nextInt(5000));
+            payload.put("country", random.nextInt(10) == 0 ? "US" : "TR");
+            payloads.add(payload);
+        }
+
+        // Let the adaptive order settle before measuring
+        for (int i = 0; i < 2_000_000; i++) {
+            condition.test(payloads.get(i & 1023));
+        }
+    }
+
+    @Benchmark
+    public boolean evaluate() {
+        Map<String, Object> payload = payloads.get(next);
+        next = (next + 1) & 1023;
+        return condition.test(payload);
+    }
+}
@@ -0,0 +1,109 @@
+package com.ruleengine.evaluator;
+
+import com.ruleengine.evaluator.compiled.CompiledCondition;
+import com.ruleengine.evaluator.compiled.ConditionCompiler;
+import com.ruleengine.model.Condition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deep AND/OR trees: binary trees of the given depth (2^depth leaves).
+ *
+ * <ul>
+ * <li>{@code AND}: every leaf matches, so the whole tree is visited.</li>
+ * <li>{@code OR}: every leaf fails, so the whole tree is visited and the
+ * interpreter builds a reason per node.</li>
+ * <li>{@code ALTERNATING}: AND and OR levels over mixed leaves, where
+ * short-circuiting prunes most of the tree.</li>
+ * </ul>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConditionTreeBenchmark {
+
+    public enum Shape {
+        AND, OR, ALTERNATING
+    }
+
+    @Param({ "2", "4", "8" })
+    public int depth;
+
+    @Param({ "AND", "OR", "ALTERNATING" })
+    public Shape shape;
+
+    private Condition condition;
+    private CompiledCondition compiled;
+    private ConditionEvaluator interpreter;
+    private Map<String, Object> payload;
+    private int nextLeaf;
+
+    @Setup
+    public void setUp() {
+        payload = new HashMap<>();
+        for (int i = 0; i < 64; i++) {
+            payload.put("f" + i, i);
+        }
+        nextLeaf = 0;
+        condition = tree(depth, 0);
+        compiled = new ConditionCompiler().compile(condition);
+        interpreter = new ConditionEvaluator();
+    }
+
+    private Condition tree(int remaining, int level) {
+        if (remaining == 0) {
+            return leaf();
+        }
+        List<Condition> children = new ArrayList<>(2);
+        children.add(tree(remaining - 1, level + 1));
+        children.add(tree(remaining - 1, level + 1));
+        boolean and = switch (shape) {
+            case AND -> true;
+            case OR -> false;
+            case ALTERNATING -> level % 2 == 0;
+        };
+        return and ? Condition.and(children) : Condition.or(children);
+    }
+
+    /**
+     * Leaves cycle through the payload fields so the trees are not just one
+     * repeated lookup.
+     */
+    private Condition leaf() {
+        int field = nextLeaf++ % 64;
+        boolean matches = switch (shape) {
+            case AND -> true;
+            case OR -> false;
+            case ALTERNATING -> field % 3 != 0;
+        };
+        return new Condition("f" + field, matches ? ">=" : ">", field);
+    }
+
+    @Benchmark
+    public EvaluationDetail interpreted() {
+        return interpreter.evaluate(condition, payload);
+    }
+
+    @Benchmark
+    public boolean compiled() {
+        return compiled.test(payload);
+    }
+}
@@ -0,0 +1,110 @@
+package com.ruleengine.evaluator;
+
+import com.ruleengine.evaluator.compiled.CompiledCondition;
+import com.ruleengine.evaluator.compiled.ConditionCompiler;
+import com.ruleengine.model.Condition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a single leaf per operator, interpreted by
+ * {@link ConditionEvaluator} versus compiled by {@link ConditionCompiler}.
+ *
+ * Each operator is measured on a payload it matches and on one it does not,
+ * since the failure path also builds the reason in the interpreter.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OperatorBenchmark {
+
+    private static final Map<String, Object> MATCHING = Map.of(
+            "amount", 250,
+            "risk", 0.1,
+            "role", "ADMIN",
+            "country", "TR",
+            "userAgent", "Mozilla/5.0 (compatible; Googlebot/2.1)",
+            "email", "alice@example.com",
+            "createdAt", "2024-06-01T12:00:00",
+            "expiresAt", "2024-01-01");
+
+    private static final Map<String, Object> FAILING = Map.of(
+            "amount", 50,
+            "risk", 0.9,
+            "role", "USER",
+            "country", "US",
+            "userAgent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64)",
+            "email", "bob@example",
+            "createdAt", "2023-01-01T12:00:00",
+            "expiresAt", "2030-01-01");
+
+    @Param({ "==", "!=", ">", ">=", "<", "<=", "contains", "startsWith", "endsWith", "in", "matches",
+            "dateBefore", "dateAfter" })
+    public String op;
+
+    @Param({ "true", "false" })
+    public boolean matching;
+
+    private Condition condition;
+    private CompiledCondition compiled;
+    private ConditionEvaluator interpreter;
+    private Map<String, Object> payload;
+
+    @Setup
+    public void setUp() {
+        condition = condition(op);
+        compiled = new ConditionCompiler().compile(condition);
+        interpreter = new ConditionEvaluator();
+        payload = matching ? MATCHING : FAILING;
+
+        // Guard against a payload that silently measures the wrong branch
+        if (compiled.test(payload) != matching || interpreter.evaluate(condition, payload).isMatched() != matching) {
+            throw new IllegalStateException(condition + " does not " + (matching ? "match" : "fail") + " its payload");
+        }
+    }
+
+    private static Condition condition(String op) {
+        return switch (op) {
+            case "==" -> new Condition("role", op, "ADMIN");
+            case "!=" -> new Condition("role", op, "USER");
+            case ">" -> new Condition("amount", op, 100);
+            case ">=" -> new Condition("amount", op, 250);
+            case "<" -> new Condition("risk", op, 0.5);
+            case "<=" -> new Condition("risk", op, 0.1);
+            case "contains" -> new Condition("userAgent", op, "bot");
+            case "startsWith" -> new Condition("userAgent", op, "Mozilla/5.0 (compatible");
+            case "endsWith" -> new Condition("email", op, ".com");
+            case "in" -> new Condition("country", op, List.of("TR", "DE", "NL", "GB"));
+            case "matches" -> new Condition("email", op, "^[\\w.]+@[\\w-]+\\.com$");
+            case "dateBefore" -> new Condition("expiresAt", op, "2025-01-01");
+            case "dateAfter" -> new Condition("createdAt", op, "2024-01-01T00:00:00");
+            default -> throw new IllegalArgumentException("Unknown operator: " + op);
+        };
+    }
+
+    @Benchmark
+    public EvaluationDetail interpreted() {
+        return interpreter.evaluate(condition, payload);
+    }
+
+    @Benchmark
+    public boolean compiled() {
+        return compiled.test(payload);
+    }
+}
@@ -0,0 +1,176 @@
+package com.ruleengine.load;
+
+import com.ruleengine.RuleEngineApplication;
+import com.ruleengine.action.ActionDispatcher;
+import com.ruleengine.action.ActionHandler;
+import com.ruleengine.model.ActionType;
+import com.ruleengine.model.Event;
+import com.ruleengine.model.Rule;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Load test of POST /events with platform versus virtual request threads.
+ *
+ * Starts the application in-process once per mode, registers a NOTIFY
+ * handler that blocks for a fixed time (a stand-in for a remote call),
+ * and drives it from N concurrent clients that each send events back to
+ * back. Prints throughput and latency percentiles per mode.
+ *
+ * Usage (arguments: clients, seconds, handler latency in ms):
+ * <pre>
+ * mvn -Pjmh compile exec:java -Dexec.mainClass=com.ruleengine.load.VirtualThreadLoadBenchmark \
+ *     -Dexec.args="10000 30 20"
+ * </pre>
+ * 10k clients need 10k sockets on each side; raise {@code ulimit -n} first.
+ */
+public class VirtualThreadLoadBenchmark {
+
+    private static final int MAX_LATENCY_MILLIS = 60_000;
+    private static final String EVENT = "{\"type\":\"LOAD\",\"payload\":{\"amount\":500}}";
+    private static final String RULE = "{\"name\":\"LoadRule\",\"priority\":1,"
+            + "\"when\":{\"field\":\"amount\",\"op\":\">\",\"value\":100},"
+            + "\"then\":{\"action\":\"NOTIFY\"}}";
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        int handlerMillis = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+
+        System.out.printf("%d clients, %ds per mode, %dms handler latency%n", clients, seconds, handlerMillis);
+        for (boolean virtual : new boolean[] { false, true }) {
+            Result result = run(virtual, clients, seconds, handlerMillis);
+            System.out.printf("%-8s %10.0f req/s  p50=%dms p99=%dms max=%dms errors=%d%n",
+                    virtual ? "virtual" : "platform", result.throughput, result.p50, result.p99, result.max,
+                    result.errors);
+        }
+    }
+
+    private static Result run(boolean virtual, int clients, int seconds, int handlerMillis) throws Exception {
+        // Command-line arguments, so they take precedence over application.yml
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(RuleEngineApplication.class).run(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtual,
+                "--server.tomcat.max-connections=" + (clients + 1000),
+                "--server.tomcat.accept-count=" + clients,
+                "--logging.level.com.ruleengine=WARN")) {
+            context.getBean(ActionDispatcher.class).registerHandler(new SimulatedIoHandler(handlerMillis));
+            String base = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+
+            try (ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+                HttpClient http = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .executor(clientThreads)
+                        .connectTimeout(Duration.ofSeconds(30))
+                        .build();
+                http.send(post(base + "/rules", RULE), HttpResponse.BodyHandlers.discarding());
+
+                // Warm up with a fraction of the clients, then measure
+                drive(http, base, clientThreads, Math.min(clients, 200), Math.max(3, seconds / 5));
+                return drive(http, base, clientThreads, clients, seconds);
+            }
+        }
+    }
+
+    private static Result drive(HttpClient http, String base, ExecutorService clientThreads, int clients,
+            int seconds) throws Exception {
+        HttpRequest request = post(base + "/events", EVENT);
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        LongAdder errors = new LongAdder();
+        // Latency histogram with 1ms buckets; the last bucket collects everything slower
+        AtomicLongArray histogram = new AtomicLongArray(MAX_LATENCY_MILLIS + 1);
+        List<Future<?>> running = new ArrayList<>();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < clients; i++) {
+            running.add(clientThreads.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    long began = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200) {
+                            errors.increment();
+                            continue;
+                        }
+                    } catch (Exception e) {
+                        errors.increment();
+                        continue;
+                    }
+                    long millis = (System.nanoTime() - began) / 1_000_000;
+                    histogram.incrementAndGet((int) Math.min(millis, MAX_LATENCY_MILLIS));
+                }
+            }));
+        }
+        for (Future<?> client : running) {
+            client.get();
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        long total = 0;
+        long max = 0;
+        for (int millis = 0; millis < histogram.length(); millis++) {
+            total += histogram.get(millis);
+            if (histogram.get(millis) > 0) {
+                max = millis;
+            }
+        }
+        return new Result(total / elapsedSeconds, percentile(histogram, total, 0.50),
+                percentile(histogram, total, 0.99), max, errors.sum());
+    }
+
+    private static HttpRequest post(String uri, String body) {
+        return HttpRequest.newBuilder(URI.create(uri))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(60))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static long percentile(AtomicLongArray histogram, long total, double fraction) {
+        long rank = (long) Math.ceil(fraction * total);
+        long seen = 0;
+        for (int millis = 0; millis < histogram.length(); millis++) {
+            seen += histogram.get(millis);
+            if (seen >= rank && seen > 0) {
+                return millis;
+            }
+        }
+        return 0;
+    }
+
+    private record Result(double throughput, long p50, long p99, long max, long errors) {
+    }
+
+    /**
+     * Blocks like a handler waiting on a remote service.
+     */
+    private record SimulatedIoHandler(int millis) implements ActionHandler {
+
+        @Override
+        public void execute(Event event, Rule matchedRule) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public ActionType getActionType() {
+            return ActionType.NOTIFY;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.ruleengine.model.entity;
+
+import com.ruleengine.model.ActionConfig;
+import com.ruleengine.model.ActionType;
+import com.ruleengine.model.Condition;
+import com.ruleengine.model.Rule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON mapping cost of the repository path: {@link RuleEntity#fromDomain}
+ * on write, {@link RuleEntity#toDomain} on every load, for rules with a
+ * growing number of leaf conditions.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RuleEntityBenchmark {
+
+    @Param({ "1", "16", "128" })
+    public int leaves;
+
+    private Rule rule;
+    private RuleEntity entity;
+
+    @Setup
+    public void setUp() {
+        List<Condition> any = new ArrayList<>(leaves);
+        for (int i = 0; i < leaves; i++) {
+            any.add(switch (i % 4) {
+                case 0 -> new Condition("amount", ">", 1000 * i);
+                case 1 -> new Condition("country", "in", List.of("TR", "US", "DE"));
+                case 2 -> new Condition("email", "endsWith", "@example.com");
+                default -> new Condition("createdAt", "dateAfter", "2024-01-01");
+            });
+        }
+        ActionConfig action = new ActionConfig(ActionType.NOTIFY, "Suspicious payment");
+
+        rule = new Rule("BenchmarkRule", 5, leaves == 1 ? any.get(0) : Condition.or(any), action);
+        rule.setEventTypes(List.of("PAYMENT", "TRANSFER"));
+        rule.setDescription("Mapping benchmark rule");
+        entity = RuleEntity.fromDomain(rule);
+    }
+
+    @Benchmark
+    public RuleEntity fromDomain() {
+        return RuleEntity.fromDomain(rule);
+    }
+
+    @Benchmark
+    public Rule toDomain() {
+        return entity.toDomain();
+    }
+
+    @Benchmark
+    public Rule roundTrip() {
+        return RuleEntity.fromDomain(rule).toDomain();
+    }
+}
@@ -0,0 +1,88 @@
+package com.ruleengine.action;
+
+import com.ruleengine.model.ActionType;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Settings for action dispatch ({@code rule-engine.actions.*}).
+ *
+ * Lane settings apply to every action type unless overridden under
+ * {@code types}, e.g. {@code rule-engine.actions.types.BLOCK_USER.workers}.
+ */
+@Component
+@ConfigurationProperties(prefix = "rule-engine.actions")
+public class ActionDispatchProperties {
+
+    private DispatchMode mode = DispatchMode.SYNC;
+    private Lane defaults = new Lane();
+    private Map<ActionType, Lane> types = new EnumMap<>(ActionType.class);
+
+    /**
+     * Effective lane settings for an action type.
+     */
+    public Lane laneFor(ActionType actionType) {
+        return types.getOrDefault(actionType, defaults);
+    }
+
+    public DispatchMode getMode() {
+        return mode;
+    }
+
+    public void setMode(DispatchMode mode) {
+        this.mode = mode;
+    }
+
+    public Lane getDefaults() {
+        return defaults;
+    }
+
+    public void setDefaults(Lane defaults) {
+        this.defaults = defaults;
+    }
+
+    public Map<ActionType, Lane> getTypes() {
+        return types;
+    }
+
+    public void setTypes(Map<ActionType, Lane> types) {
+        this.types = types;
+    }
+
+    /**
+     * Queue and worker settings of one action type.
+     */
+    public static class Lane {
+
+        private int workers = 2;
+        private int queueCapacity = 1000;
+        private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+        public int getWorkers() {
+            return workers;
+        }
+
+        public void setWorkers(int workers) {
+            this.workers = workers;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public OverflowPolicy getOverflowPolicy() {
+            return overflowPolicy;
+        }
+
+        public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+        }
+    }
+}
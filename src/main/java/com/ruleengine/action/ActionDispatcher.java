@@ -1,10 +1,14 @@
 package com.ruleengine.action;
 
+import com.ruleengine.metrics.LatencyHistogram;
 import com.ruleengine.model.ActionType;
 import com.ruleengine.model.Event;
 import com.ruleengine.model.Rule;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.EnumMap;
@@ -15,52 +19,139 @@ import java.util.Map;
  * Dispatches actions to their corresponding handlers.
  * 
  * Maintains a registry of ActionHandlers and routes execution requests
- * based on the ActionType defined in the rule.
+ * based on the ActionType defined in the rule. Each action type gets its
+ * own lane: in {@link DispatchMode#ASYNC} mode a bounded queue with its own
+ * workers, so a slow handler never blocks evaluation (unless its
+ * {@link OverflowPolicy} says so) or the other action types.
+ *
+ * The lanes are a map that is never modified once published: registering a
+ * handler publishes a copy, so dispatching reads them without locks.
  */
 @Component
 public class ActionDispatcher {
 
     private static final Logger logger = LoggerFactory.getLogger(ActionDispatcher.class);
 
-    private final Map<ActionType, ActionHandler> handlers = new EnumMap<>(ActionType.class);
+    private volatile Map<ActionType, ActionLane> lanes = new EnumMap<>(ActionType.class);
+    private final ActionDispatchProperties properties;
+    private final boolean virtualThreads;
+
+    /**
+     * Creates a synchronous dispatcher with default settings.
+     */
+    public ActionDispatcher(List<ActionHandler> handlerList) {
+        this(handlerList, new ActionDispatchProperties(), false);
+    }
 
     /**
      * Constructor injection collects all beans implementing ActionHandler
      * and registers them in the map.
+     *
+     * @param virtualThreads Run asynchronous handlers on virtual threads;
+     *                       follows the application-wide
+     *                       {@code spring.threads.virtual.enabled} switch
      */
-    public ActionDispatcher(List<ActionHandler> handlerList) {
+    @Autowired
+    public ActionDispatcher(List<ActionHandler> handlerList, ActionDispatchProperties properties,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.properties = properties;
+        this.virtualThreads = virtualThreads;
+        logger.info("Action dispatch mode: {} ({} threads)", properties.getMode(),
+                virtualThreads ? "virtual" : "platform");
         for (ActionHandler handler : handlerList) {
             registerHandler(handler);
         }
     }
 
     /**
-     * Registers a new action handler.
+     * Registers a new action handler. A handler already registered for the
+     * type stops taking actions once the new one is published, and finishes
+     * those it has queued.
      */
-    public void registerHandler(ActionHandler handler) {
+    public synchronized void registerHandler(ActionHandler handler) {
         logger.info("Registering action handler for type: {}", handler.getActionType());
-        handlers.put(handler.getActionType(), handler);
+        ActionLane lane = properties.getMode() == DispatchMode.ASYNC
+                ? new ActionLane(handler, properties.laneFor(handler.getActionType()), virtualThreads)
+                : new ActionLane(handler);
+        Map<ActionType, ActionLane> next = new EnumMap<>(lanes);
+        ActionLane previous = next.put(handler.getActionType(), lane);
+        lanes = next;
+        if (previous != null) {
+            previous.shutdown();
+        }
     }
 
     /**
      * Dispatches the action defined in the rule for the given event.
+     * In asynchronous mode this only queues the action.
      * 
      * @param actionType The type of action to execute
      * @param event      The event that triggered the rule
      * @param rule       The matching rule containing action configuration
      */
     public void dispatch(ActionType actionType, Event event, Rule rule) {
-        ActionHandler handler = handlers.get(actionType);
-
-        if (handler != null) {
-            try {
-                logger.debug("Dispatching action {} for rule {}", actionType, rule.getName());
-                handler.execute(event, rule);
-            } catch (Exception e) {
-                logger.error("Error executing action handler for type {}: {}", actionType, e.getMessage(), e);
-            }
+        ActionLane lane = lanes.get(actionType);
+
+        if (lane != null) {
+            logger.debug("Dispatching action {} for rule {}", actionType, rule.getName());
+            lane.dispatch(event, rule);
         } else {
             logger.warn("No handler registered for action type: {}", actionType);
         }
     }
+
+    /**
+     * Executes the action defined in the rule on the calling thread, even in
+     * asynchronous mode, and returns once its handler has finished. For
+     * callers that must not acknowledge an event before its actions ran.
+     *
+     * @param actionType The type of action to execute
+     * @param event      The event that triggered the rule
+     * @param rule       The matching rule containing action configuration
+     */
+    public void execute(ActionType actionType, Event event, Rule rule) {
+        ActionLane lane = lanes.get(actionType);
+
+        if (lane != null) {
+            logger.debug("Executing action {} for rule {}", actionType, rule.getName());
+            lane.run(event, rule);
+        } else {
+            logger.warn("No handler registered for action type: {}", actionType);
+        }
+    }
+
+    /**
+     * Returns dispatch statistics per registered action type.
+     */
+    public Map<ActionType, ActionStats> getStats() {
+        Map<ActionType, ActionStats> stats = new EnumMap<>(ActionType.class);
+        lanes.forEach((actionType, lane) -> stats.put(actionType, lane.getStats()));
+        return stats;
+    }
+
+    /**
+     * Returns dispatch statistics of one action type, or null if no handler
+     * is registered for it.
+     */
+    public ActionStats getStats(ActionType actionType) {
+        ActionLane lane = lanes.get(actionType);
+        return lane != null ? lane.getStats() : null;
+    }
+
+    /**
+     * Returns the handler latency of one action type, or null if no handler
+     * is registered for it.
+     */
+    public LatencyHistogram getHandlerLatency(ActionType actionType) {
+        ActionLane lane = lanes.get(actionType);
+        return lane != null ? lane.getHandlerLatency() : null;
+    }
+
+    /**
+     * Lets queued actions finish before the application stops.
+     */
+    @PreDestroy
+    public void shutdown() {
+        lanes.values().forEach(ActionLane::shutdown);
+    }
 }
@@ -0,0 +1,198 @@
+package com.ruleengine.action;
+
+import com.ruleengine.metrics.LatencyHistogram;
+import com.ruleengine.model.ActionType;
+import com.ruleengine.model.Event;
+import com.ruleengine.model.Rule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs the handler of one action type and records its statistics.
+ *
+ * In asynchronous mode the lane owns a fixed pool of workers fed by a
+ * bounded queue; when the queue is full, the lane's {@link OverflowPolicy}
+ * decides what happens. In synchronous mode handlers run on the caller and
+ * only handler latency is recorded.
+ */
+final class ActionLane {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActionLane.class);
+
+    private final ActionType actionType;
+    private final ActionHandler handler;
+    private final ThreadPoolExecutor executor;
+    private final OverflowPolicy overflowPolicy;
+    private final int queueCapacity;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder callerRuns = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+    private final LatencyHistogram handlerLatency = new LatencyHistogram();
+
+    /**
+     * Creates a lane that runs the handler on the calling thread.
+     */
+    ActionLane(ActionHandler handler) {
+        this.actionType = handler.getActionType();
+        this.handler = handler;
+        this.executor = null;
+        this.overflowPolicy = null;
+        this.queueCapacity = 0;
+    }
+
+    /**
+     * Creates an asynchronous lane with its own queue and workers. With
+     * virtual threads, a handler blocked on I/O does not hold a platform
+     * thread, so a lane can afford many more workers.
+     */
+    ActionLane(ActionHandler handler, ActionDispatchProperties.Lane settings, boolean virtualThreads) {
+        this.actionType = handler.getActionType();
+        this.handler = handler;
+        this.overflowPolicy = settings.getOverflowPolicy();
+        this.queueCapacity = Math.max(1, settings.getQueueCapacity());
+
+        int workers = Math.max(1, settings.getWorkers());
+        String prefix = "action-" + actionType.name().toLowerCase().replace('_', '-') + "-";
+        ThreadFactory threads = virtualThreads
+                ? Thread.ofVirtual().name(prefix, 1).factory()
+                : Thread.ofPlatform().name(prefix, 1).daemon().factory();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threads, overflowHandler());
+    }
+
+    private RejectedExecutionHandler overflowHandler() {
+        return (task, pool) -> {
+            if (pool.isShutdown()) {
+                dropped.increment();
+                return;
+            }
+            switch (overflowPolicy) {
+                case BLOCK -> {
+                    try {
+                        // Bypasses the executor, so a shutdown while waiting
+                        // would strand the task in the queue
+                        pool.getQueue().put(task);
+                        if (pool.isShutdown() && pool.getQueue().remove(task)) {
+                            dropped.increment();
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        dropped.increment();
+                    }
+                }
+                case DROP_OLDEST -> {
+                    if (pool.getQueue().poll() != null) {
+                        dropped.increment();
+                    }
+                    pool.execute(task);
+                }
+                case CALLER_RUNS -> {
+                    callerRuns.increment();
+                    task.run();
+                }
+            }
+        };
+    }
+
+    /**
+     * Runs or queues the action for the given event and rule.
+     */
+    void dispatch(Event event, Rule rule) {
+        submitted.increment();
+        if (executor == null) {
+            execute(event, rule);
+            return;
+        }
+        long enqueued = System.nanoTime();
+        try {
+            executor.execute(() -> {
+                long waited = System.nanoTime() - enqueued;
+                waitNanos.add(waited);
+                maxWaitNanos.accumulate(waited);
+                execute(event, rule);
+            });
+        } catch (RejectedExecutionException e) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Runs the action on the calling thread, whatever the lane's mode.
+     */
+    void run(Event event, Rule rule) {
+        submitted.increment();
+        execute(event, rule);
+    }
+
+    private void execute(Event event, Rule rule) {
+        long start = System.nanoTime();
+        try {
+            handler.execute(event, rule);
+            completed.increment();
+        } catch (Exception e) {
+            failed.increment();
+            logger.error("Error executing action handler for type {}: {}", actionType, e.getMessage(), e);
+        } finally {
+            handlerLatency.record(System.nanoTime() - start);
+        }
+    }
+
+    LatencyHistogram getHandlerLatency() {
+        return handlerLatency;
+    }
+
+    ActionStats getStats() {
+        ActionStats stats = new ActionStats();
+        stats.setMode(executor != null ? DispatchMode.ASYNC : DispatchMode.SYNC);
+        stats.setOverflowPolicy(overflowPolicy);
+        stats.setQueueDepth(executor != null ? executor.getQueue().size() : 0);
+        stats.setQueueCapacity(queueCapacity);
+        stats.setSubmitted(submitted.sum());
+        stats.setCompleted(completed.sum());
+        stats.setFailed(failed.sum());
+        stats.setDropped(dropped.sum());
+        stats.setCallerRuns(callerRuns.sum());
+
+        long started = completed.sum() + failed.sum();
+        stats.setAvgWaitMicros(started > 0 && executor != null ? waitNanos.sum() / started / 1000 : 0);
+        stats.setMaxWaitMicros(maxWaitNanos.get() / 1000);
+        stats.setAvgHandlerMicros(handlerLatency.getMeanNanos() / 1000);
+        stats.setP99HandlerMicros(handlerLatency.percentileNanos(0.99) / 1000);
+        stats.setMaxHandlerMicros(handlerLatency.getMaxNanos() / 1000);
+        return stats;
+    }
+
+    /**
+     * Stops accepting actions and waits briefly for queued ones to finish.
+     */
+    void shutdown() {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                int discarded = executor.shutdownNow().size();
+                dropped.add(discarded);
+                logger.warn("Dropped {} queued {} actions at shutdown", discarded, actionType);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            dropped.add(executor.shutdownNow().size());
+        }
+    }
+}
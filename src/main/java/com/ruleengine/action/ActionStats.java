@@ -0,0 +1,154 @@
+package com.ruleengine.action;
+
+/**
+ * Counters and timings of one action type's dispatch lane.
+ *
+ * Wait time is how long an action sat in the queue before a worker picked
+ * it up (asynchronous mode only); handler time is the handler's own run
+ * time. Times are in microseconds.
+ */
+public class ActionStats {
+    private DispatchMode mode;
+    private OverflowPolicy overflowPolicy;
+    private int queueDepth;
+    private int queueCapacity;
+    private long submitted;
+    private long completed;
+    private long failed;
+    private long dropped;
+    private long callerRuns;
+    private long avgWaitMicros;
+    private long maxWaitMicros;
+    private long avgHandlerMicros;
+    private long p99HandlerMicros;
+    private long maxHandlerMicros;
+
+    public ActionStats() {
+    }
+
+    // Getters and Setters
+    public DispatchMode getMode() {
+        return mode;
+    }
+
+    public void setMode(DispatchMode mode) {
+        this.mode = mode;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    public void setQueueDepth(int queueDepth) {
+        this.queueDepth = queueDepth;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public long getSubmitted() {
+        return submitted;
+    }
+
+    public void setSubmitted(long submitted) {
+        this.submitted = submitted;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(long completed) {
+        this.completed = completed;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+
+    public long getDropped() {
+        return dropped;
+    }
+
+    public void setDropped(long dropped) {
+        this.dropped = dropped;
+    }
+
+    public long getCallerRuns() {
+        return callerRuns;
+    }
+
+    public void setCallerRuns(long callerRuns) {
+        this.callerRuns = callerRuns;
+    }
+
+    public long getAvgWaitMicros() {
+        return avgWaitMicros;
+    }
+
+    public void setAvgWaitMicros(long avgWaitMicros) {
+        this.avgWaitMicros = avgWaitMicros;
+    }
+
+    public long getMaxWaitMicros() {
+        return maxWaitMicros;
+    }
+
+    public void setMaxWaitMicros(long maxWaitMicros) {
+        this.maxWaitMicros = maxWaitMicros;
+    }
+
+    public long getAvgHandlerMicros() {
+        return avgHandlerMicros;
+    }
+
+    public void setAvgHandlerMicros(long avgHandlerMicros) {
+        this.avgHandlerMicros = avgHandlerMicros;
+    }
+
+    public long getP99HandlerMicros() {
+        return p99HandlerMicros;
+    }
+
+    public void setP99HandlerMicros(long p99HandlerMicros) {
+        this.p99HandlerMicros = p99HandlerMicros;
+    }
+
+    public long getMaxHandlerMicros() {
+        return maxHandlerMicros;
+    }
+
+    public void setMaxHandlerMicros(long maxHandlerMicros) {
+        this.maxHandlerMicros = maxHandlerMicros;
+    }
+
+    @Override
+    public String toString() {
+        return "ActionStats{" +
+                "mode=" + mode +
+                ", queueDepth=" + queueDepth +
+                ", submitted=" + submitted +
+                ", completed=" + completed +
+                ", failed=" + failed +
+                ", dropped=" + dropped +
+                ", callerRuns=" + callerRuns +
+                '}';
+    }
+}
@@ -0,0 +1,19 @@
+package com.ruleengine.action;
+
+/**
+ * How {@link ActionDispatcher} runs action handlers.
+ */
+public enum DispatchMode {
+
+    /**
+     * Run the handler on the calling (request) thread.
+     */
+    SYNC,
+
+    /**
+     * Queue the action on its type's bounded lane and return immediately.
+     * Each action type has its own queue and workers, so a slow handler
+     * only backs up its own type.
+     */
+    ASYNC
+}
@@ -0,0 +1,22 @@
+package com.ruleengine.action;
+
+/**
+ * What an asynchronous action lane does when its queue is full.
+ */
+public enum OverflowPolicy {
+
+    /**
+     * Wait for queue space. No action is lost; the caller is slowed down.
+     */
+    BLOCK,
+
+    /**
+     * Discard the oldest queued action to make room for the new one.
+     */
+    DROP_OLDEST,
+
+    /**
+     * Run the handler on the calling thread.
+     */
+    CALLER_RUNS
+}
@@ -1,6 +1,7 @@
 package com.ruleengine.action.handlers;
 
 import com.ruleengine.action.ActionHandler;
+import com.ruleengine.journal.EvaluationJournal;
 import com.ruleengine.model.ActionType;
 import com.ruleengine.model.Event;
 import com.ruleengine.model.Rule;
@@ -13,6 +14,12 @@ public class BlockUserHandler implements ActionHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(BlockUserHandler.class);
 
+    private final EvaluationJournal journal;
+
+    public BlockUserHandler(EvaluationJournal journal) {
+        this.journal = journal;
+    }
+
     @Override
     public void execute(Event event, Rule matchedRule) {
         String message = matchedRule.getThen().getMessage();
@@ -21,7 +28,10 @@ public class BlockUserHandler implements ActionHandler {
         }
 
         logger.warn("EXECUTING BLOCK_USER ACTION: {}", message);
-        logger.warn("Context - Event Type: {}, Payload: {}", event.getType(), event.getPayload());
+        // With the journal enabled, the payload is in the journal record
+        if (!journal.isEnabled()) {
+            logger.warn("Context - Event Type: {}, Payload: {}", event.getType(), event.getPayload());
+        }
 
         // In a real application, this would call a UserService or separate API
         // For this engine demo, we log the side-effect
@@ -1,6 +1,7 @@
 package com.ruleengine.action.handlers;
 
 import com.ruleengine.action.ActionHandler;
+import com.ruleengine.journal.EvaluationJournal;
 import com.ruleengine.model.ActionType;
 import com.ruleengine.model.Event;
 import com.ruleengine.model.Rule;
@@ -13,8 +14,20 @@ public class LogEventHandler implements ActionHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(LogEventHandler.class);
 
+    private final EvaluationJournal journal;
+
+    public LogEventHandler(EvaluationJournal journal) {
+        this.journal = journal;
+    }
+
     @Override
     public void execute(Event event, Rule matchedRule) {
+        // The journal already holds the match and the payload
+        if (journal.isEnabled()) {
+            logger.debug("AUDIT LOG: Rule '{}' matched event '{}' (journaled)",
+                    matchedRule.getName(), event.getType());
+            return;
+        }
         logger.info("AUDIT LOG: Rule '{}' matched event '{}'. Data: {}",
                 matchedRule.getName(), event.getType(), event.getPayload());
     }
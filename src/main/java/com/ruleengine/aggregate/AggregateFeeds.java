@@ -0,0 +1,112 @@
+package com.ruleengine.aggregate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The windows each event type feeds, for one rule set: those over its own
+ * type plus those over {@link AggregateSpec#ANY_TYPE}. Immutable.
+ */
+public final class AggregateFeeds {
+
+    private static final SlidingWindow[] NONE = new SlidingWindow[0];
+
+    public static final AggregateFeeds EMPTY = new AggregateFeeds(List.of());
+
+    private final List<SlidingWindow> windows;
+    private final Map<String, SlidingWindow[]> windowsByType = new HashMap<>();
+    private final SlidingWindow[] anyTypeWindows;
+    private final Map<String, Set<String>> fieldsByType = new HashMap<>();
+    private final Set<String> anyTypeFields;
+    private final Set<String> fields;
+
+    private AggregateFeeds(Collection<SlidingWindow> windows) {
+        this.windows = List.copyOf(windows);
+        List<SlidingWindow> anyType = new ArrayList<>();
+        Map<String, List<SlidingWindow>> byType = new HashMap<>();
+        for (SlidingWindow window : this.windows) {
+            String eventType = window.getSpec().getEventType();
+            if (AggregateSpec.ANY_TYPE.equals(eventType)) {
+                anyType.add(window);
+            } else {
+                byType.computeIfAbsent(eventType, type -> new ArrayList<>()).add(window);
+            }
+        }
+        this.anyTypeWindows = anyType.toArray(NONE);
+        this.anyTypeFields = fieldsOf(anyType);
+        byType.forEach((eventType, typed) -> {
+            typed.addAll(anyType);
+            windowsByType.put(eventType, typed.toArray(NONE));
+            fieldsByType.put(eventType, fieldsOf(typed));
+        });
+        this.fields = fieldsOf(this.windows);
+    }
+
+    /**
+     * Indexes the windows of a rule set, each once.
+     */
+    public static AggregateFeeds of(Collection<SlidingWindow> windows) {
+        return windows.isEmpty() ? EMPTY : new AggregateFeeds(new LinkedHashSet<>(windows));
+    }
+
+    private static Set<String> fieldsOf(List<SlidingWindow> windows) {
+        Set<String> fields = new LinkedHashSet<>();
+        for (SlidingWindow window : windows) {
+            fields.add(window.getSpec().getKeyField());
+            if (window.getSpec().getField() != null) {
+                fields.add(window.getSpec().getField());
+            }
+        }
+        return Collections.unmodifiableSet(fields);
+    }
+
+    /**
+     * Records an event in every window its type feeds.
+     *
+     * @param now Evaluation time, in milliseconds
+     */
+    public void record(String eventType, Map<String, Object> payload, long now) {
+        SlidingWindow[] fed = eventType != null ? windowsByType.get(eventType) : null;
+        for (SlidingWindow window : fed != null ? fed : anyTypeWindows) {
+            window.record(payload, now);
+        }
+    }
+
+    /**
+     * Whether windows over this very type exist, besides those over every
+     * type.
+     */
+    public boolean feeds(String eventType) {
+        return eventType != null && windowsByType.containsKey(eventType);
+    }
+
+    /**
+     * Payload fields the windows fed by a type read: key and aggregated
+     * fields. For null, those of the windows over every type.
+     */
+    public Set<String> fieldsFedBy(String eventType) {
+        Set<String> typed = eventType != null ? fieldsByType.get(eventType) : null;
+        return typed != null ? typed : anyTypeFields;
+    }
+
+    /**
+     * Payload fields any window reads.
+     */
+    public Set<String> getFields() {
+        return fields;
+    }
+
+    public List<SlidingWindow> getWindows() {
+        return windows;
+    }
+
+    public boolean isEmpty() {
+        return windows.isEmpty();
+    }
+}
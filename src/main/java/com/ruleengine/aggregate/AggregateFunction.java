@@ -0,0 +1,33 @@
+package com.ruleengine.aggregate;
+
+/**
+ * Functions of an aggregate operand over the events in its window.
+ */
+public enum AggregateFunction {
+
+    /**
+     * Number of events; with a field, of events where it is numeric.
+     */
+    COUNT,
+
+    /**
+     * Sum of the field; 0 over no events.
+     */
+    SUM,
+
+    /**
+     * Mean of the field; no value over no events.
+     */
+    AVG;
+
+    /**
+     * Value of the function for a window's totals, or NaN if it has none.
+     */
+    double apply(long count, double sum) {
+        return switch (this) {
+            case COUNT -> count;
+            case SUM -> sum;
+            case AVG -> count == 0 ? Double.NaN : sum / count;
+        };
+    }
+}
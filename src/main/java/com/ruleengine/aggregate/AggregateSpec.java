@@ -0,0 +1,125 @@
+package com.ruleengine.aggregate;
+
+import com.ruleengine.evaluator.Dates;
+import com.ruleengine.exception.InvalidConditionException;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A parsed aggregate operand, written in place of a field name:
+ *
+ * <pre>
+ * count(LOGIN_FAILED by userId over 10m)
+ * count(amount of PAYMENT by userId over 1h)   events with a numeric amount
+ * sum(amount of PAYMENT by user.id over 24h)
+ * avg(amount of * by userId over 7d)           * = events of every type
+ * </pre>
+ *
+ * The window is a duration in the units of relative dates (ms, s, m, h, d,
+ * w). The key field is read from the events counted and from the event
+ * being evaluated, which sees the aggregate of its own key.
+ */
+public final class AggregateSpec {
+
+    /**
+     * Event type of windows fed by events of every type.
+     */
+    public static final String ANY_TYPE = "*";
+
+    private static final Pattern START = Pattern.compile("\\s*(count|sum|avg)\\s*\\(.*", Pattern.DOTALL);
+    private static final Pattern SPEC = Pattern.compile(
+            "\\s*(count|sum|avg)\\s*\\(\\s*(?:(\\S+)\\s+of\\s+)?(\\S+)\\s+by\\s+(\\S+)\\s+over\\s+(\\S+)\\s*\\)\\s*");
+
+    private final String expression;
+    private final AggregateFunction function;
+    private final String eventType;
+    private final String field;
+    private final String keyField;
+    private final long windowMillis;
+
+    private AggregateSpec(String expression, AggregateFunction function, String eventType, String field,
+            String keyField, long windowMillis) {
+        this.expression = expression;
+        this.function = function;
+        this.eventType = eventType;
+        this.field = field;
+        this.keyField = keyField;
+        this.windowMillis = windowMillis;
+    }
+
+    /**
+     * Parses a condition's field as an aggregate operand.
+     *
+     * @return The operand, or null if the field is a plain field name
+     * @throws InvalidConditionException If the field starts like an
+     *                                   aggregate but is not a valid one
+     */
+    public static AggregateSpec parse(String expression) {
+        if (expression == null || !START.matcher(expression).matches()) {
+            return null;
+        }
+        Matcher matcher = SPEC.matcher(expression);
+        if (!matcher.matches()) {
+            throw new InvalidConditionException("Invalid aggregate '" + expression + "': expected e.g. "
+                    + "count(LOGIN_FAILED by userId over 10m) or sum(amount of PAYMENT by userId over 1h)");
+        }
+        AggregateFunction function = AggregateFunction.valueOf(matcher.group(1).toUpperCase());
+        String field = matcher.group(2);
+        if (field == null && function != AggregateFunction.COUNT) {
+            throw new InvalidConditionException("Aggregate '" + expression + "' needs a field: "
+                    + matcher.group(1) + "(<field> of " + matcher.group(3) + " by ...)");
+        }
+        // Same units as relative dates
+        long windowMillis = Dates.relativeOffset("now+" + matcher.group(5));
+        if (windowMillis == Dates.INVALID || windowMillis <= 0) {
+            throw new InvalidConditionException("Invalid window in aggregate '" + expression
+                    + "': expected a positive duration such as 500ms, 30s, 10m, 24h, 7d or 1w");
+        }
+        return new AggregateSpec(expression.trim(), function, matcher.group(3), field, matcher.group(4),
+                windowMillis);
+    }
+
+    /**
+     * Identity of the window state: operands that differ only in their
+     * function share one window.
+     */
+    String windowKey() {
+        return eventType + '\u0000' + (field != null ? field : "") + '\u0000' + keyField + '\u0000' + windowMillis;
+    }
+
+    public String getExpression() {
+        return expression;
+    }
+
+    public AggregateFunction getFunction() {
+        return function;
+    }
+
+    /**
+     * Type of the events aggregated, or {@link #ANY_TYPE}.
+     */
+    public String getEventType() {
+        return eventType;
+    }
+
+    /**
+     * Field summed or averaged, or null for a plain count.
+     */
+    public String getField() {
+        return field;
+    }
+
+    public String getKeyField() {
+        return keyField;
+    }
+
+    public long getWindowMillis() {
+        return windowMillis;
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+}
@@ -0,0 +1,67 @@
+package com.ruleengine.aggregate;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Window state of the aggregate operands of all rules.
+ *
+ * Operands over the same events, key and duration share one
+ * {@link SlidingWindow}, so re-registering a rule, or adding another rule
+ * over the same window, keeps the counts seen so far. Windows no rule uses
+ * any more are dropped when a new rule set is published.
+ */
+@Component
+public class AggregateStore {
+
+    private final int buckets;
+    private final int maxKeys;
+    private final ConcurrentMap<String, SlidingWindow> windows = new ConcurrentHashMap<>();
+
+    public AggregateStore() {
+        this(60, 100_000);
+    }
+
+    /**
+     * @param buckets Buckets per window: the window slides in steps of its
+     *                duration divided by this
+     * @param maxKeys Keys tracked per window at most
+     */
+    @Autowired
+    public AggregateStore(@Value("${rule-engine.aggregates.buckets:60}") int buckets,
+            @Value("${rule-engine.aggregates.max-keys:100000}") int maxKeys) {
+        this.buckets = Math.max(1, buckets);
+        this.maxKeys = Math.max(1, maxKeys);
+    }
+
+    /**
+     * Returns the window of an operand, created on first use.
+     */
+    public SlidingWindow window(AggregateSpec spec) {
+        return windows.computeIfAbsent(spec.windowKey(), key -> new SlidingWindow(spec, buckets, maxKeys));
+    }
+
+    /**
+     * Drops the windows not in use.
+     *
+     * @param inUse Windows of the published rules
+     */
+    public void retain(Collection<SlidingWindow> inUse) {
+        Set<SlidingWindow> used = Collections.newSetFromMap(new IdentityHashMap<>());
+        used.addAll(inUse);
+        windows.values().removeIf(window -> !used.contains(window));
+    }
+
+    public List<SlidingWindow> getWindows() {
+        return List.copyOf(windows.values());
+    }
+}
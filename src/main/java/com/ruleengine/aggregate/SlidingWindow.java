@@ -0,0 +1,343 @@
+package com.ruleengine.aggregate;
+
+import com.ruleengine.evaluator.compiled.FieldPath;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sliding-window totals of one event type per key, shared by the aggregate
+ * operands that differ only in their function.
+ *
+ * Each key keeps a ring of time buckets holding the count (and sum) of the
+ * events recorded in them, plus running totals: recording and reading are
+ * O(1), apart from subtracting the buckets that expired since the key was
+ * last touched. The window slides by whole buckets, so an event leaves it
+ * up to one bucket width after the window duration.
+ *
+ * Keys live in open-addressing tables of primitive hashes, split into
+ * stripes with their own lock. Integral numbers are keyed by their value,
+ * so 42 and 42L are the same key. A key whose whole window has expired is
+ * idle; each record evicts idle keys from the least recently updated end,
+ * and a stripe at its share of {@code max-keys} evicts its least recently
+ * updated key, idle or not.
+ */
+public final class SlidingWindow {
+
+    private static final int STRIPES = 16;
+    // Idle keys evicted per record, at most
+    private static final int EVICTIONS_PER_RECORD = 2;
+
+    private final AggregateSpec spec;
+    private final FieldPath keyPath;
+    private final FieldPath valuePath;
+    private final int buckets;
+    private final long bucketMillis;
+    private final int maxKeysPerStripe;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final LongAdder evicted = new LongAdder();
+
+    /**
+     * @param buckets Number of buckets the window is split into
+     * @param maxKeys Keys tracked at most
+     */
+    SlidingWindow(AggregateSpec spec, int buckets, int maxKeys) {
+        this.spec = spec;
+        this.keyPath = new FieldPath(spec.getKeyField());
+        this.valuePath = spec.getField() != null ? new FieldPath(spec.getField()) : null;
+        this.bucketMillis = Math.max(1, spec.getWindowMillis() / Math.max(1, buckets));
+        // Buckets of the configured width covering the window
+        this.buckets = (int) ((spec.getWindowMillis() + bucketMillis - 1) / bucketMillis);
+        this.maxKeysPerStripe = Math.max(1, (maxKeys + STRIPES - 1) / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Adds an event to the window of its key. Events without a key, and,
+     * with a field, without a numeric value, are not counted.
+     *
+     * @param now Evaluation time, in milliseconds
+     */
+    public void record(Map<String, Object> payload, long now) {
+        Object key = normalize(keyPath.resolve(payload));
+        if (key == null) {
+            return;
+        }
+        double value = 0;
+        if (valuePath != null) {
+            if (!(valuePath.resolve(payload) instanceof Number number)) {
+                return;
+            }
+            value = number.doubleValue();
+        }
+        long hash = hash(key);
+        Stripe stripe = stripes[(int) (hash >>> 60)];
+        synchronized (stripe) {
+            stripe.record(key, hash, value, bucket(now));
+        }
+    }
+
+    /**
+     * Value of a function over the window of the payload's key.
+     *
+     * @param now Evaluation time, in milliseconds
+     * @return The value, or NaN if the payload has no key or the function
+     *         has no value over an empty window
+     */
+    public double read(AggregateFunction function, Map<String, Object> payload, long now) {
+        Object key = normalize(keyPath.resolve(payload));
+        if (key == null) {
+            return Double.NaN;
+        }
+        long hash = hash(key);
+        Stripe stripe = stripes[(int) (hash >>> 60)];
+        synchronized (stripe) {
+            KeyState state = stripe.find(key, hash);
+            if (state == null) {
+                return function.apply(0, 0);
+            }
+            stripe.advance(state, bucket(now));
+            return function.apply(state.count, state.sum);
+        }
+    }
+
+    public AggregateSpec getSpec() {
+        return spec;
+    }
+
+    /**
+     * Number of keys tracked, idle ones not yet evicted included.
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Keys evicted, idle or over {@code max-keys}.
+     */
+    public long getEvicted() {
+        return evicted.sum();
+    }
+
+    private long bucket(long now) {
+        return Math.floorDiv(now, bucketMillis);
+    }
+
+    private static Object normalize(Object key) {
+        if (key instanceof Integer || key instanceof Short || key instanceof Byte) {
+            return ((Number) key).longValue();
+        }
+        return key;
+    }
+
+    private static long hash(Object key) {
+        long h = key instanceof Long value ? value : key.hashCode();
+        // murmur3 finalizer: spreads the bits used for stripe and slot
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Window state of one key, linked in its stripe's recency list.
+     */
+    private final class KeyState {
+
+        final Object key;
+        final long hash;
+        final int[] counts = new int[buckets];
+        final double[] sums = valuePath != null ? new double[buckets] : null;
+        long lastBucket;
+        long count;
+        double sum;
+        KeyState newer;
+        KeyState older;
+
+        KeyState(Object key, long hash, long bucket) {
+            this.key = key;
+            this.hash = hash;
+            this.lastBucket = bucket;
+        }
+    }
+
+    /**
+     * Linear-probing table of key states with backward-shift deletion, and
+     * a recency list from the most recently updated key ({@code newest}).
+     * Guarded by its own monitor.
+     */
+    private final class Stripe {
+
+        long[] hashes = new long[8];
+        KeyState[] states = new KeyState[8];
+        int size;
+        KeyState newest;
+        KeyState oldest;
+
+        void record(Object key, long hash, double value, long bucket) {
+            KeyState state = find(key, hash);
+            if (state == null) {
+                if (size >= maxKeysPerStripe) {
+                    remove(oldest);
+                }
+                state = new KeyState(key, hash, bucket);
+                insert(state);
+            } else {
+                // A clock that went back counts into the newest bucket
+                advance(state, Math.max(bucket, state.lastBucket));
+                unlink(state);
+            }
+            int slot = Math.floorMod(state.lastBucket, buckets);
+            state.counts[slot]++;
+            state.count++;
+            if (state.sums != null) {
+                state.sums[slot] += value;
+                state.sum += value;
+            }
+            linkNewest(state);
+            evictIdle(bucket);
+        }
+
+        /**
+         * Subtracts the buckets that left the window since the key was last
+         * touched.
+         */
+        void advance(KeyState state, long bucket) {
+            long gap = bucket - state.lastBucket;
+            if (gap <= 0) {
+                return;
+            }
+            if (gap >= buckets) {
+                Arrays.fill(state.counts, 0);
+                if (state.sums != null) {
+                    Arrays.fill(state.sums, 0);
+                }
+                state.count = 0;
+                state.sum = 0;
+            } else {
+                for (long b = state.lastBucket + 1; b <= bucket; b++) {
+                    int slot = Math.floorMod(b, buckets);
+                    state.count -= state.counts[slot];
+                    state.counts[slot] = 0;
+                    if (state.sums != null) {
+                        state.sum -= state.sums[slot];
+                        state.sums[slot] = 0;
+                    }
+                }
+                if (state.count == 0) {
+                    // No rounding residue over an empty window
+                    state.sum = 0;
+                }
+            }
+            state.lastBucket = bucket;
+        }
+
+        private void evictIdle(long bucket) {
+            for (int i = 0; i < EVICTIONS_PER_RECORD && oldest != null; i++) {
+                if (bucket - oldest.lastBucket < buckets) {
+                    return;
+                }
+                remove(oldest);
+            }
+        }
+
+        KeyState find(Object key, long hash) {
+            int mask = states.length - 1;
+            for (int slot = (int) hash & mask; states[slot] != null; slot = (slot + 1) & mask) {
+                if (hashes[slot] == hash && states[slot].key.equals(key)) {
+                    return states[slot];
+                }
+            }
+            return null;
+        }
+
+        private void insert(KeyState state) {
+            if ((size + 1) * 2 > states.length) {
+                resize();
+            }
+            put(state);
+            size++;
+        }
+
+        private void put(KeyState state) {
+            int mask = states.length - 1;
+            int slot = (int) state.hash & mask;
+            while (states[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            hashes[slot] = state.hash;
+            states[slot] = state;
+        }
+
+        private void resize() {
+            KeyState[] old = states;
+            hashes = new long[old.length * 2];
+            states = new KeyState[old.length * 2];
+            for (KeyState state : old) {
+                if (state != null) {
+                    put(state);
+                }
+            }
+        }
+
+        private void remove(KeyState state) {
+            int mask = states.length - 1;
+            int hole = (int) state.hash & mask;
+            while (states[hole] != state) {
+                hole = (hole + 1) & mask;
+            }
+            // Shift back the entries of the run after the hole that may
+            // move to it without passing their home slot
+            for (int slot = (hole + 1) & mask; states[slot] != null; slot = (slot + 1) & mask) {
+                int home = (int) hashes[slot] & mask;
+                if (((slot - home) & mask) >= ((slot - hole) & mask)) {
+                    hashes[hole] = hashes[slot];
+                    states[hole] = states[slot];
+                    hole = slot;
+                }
+            }
+            states[hole] = null;
+            size--;
+            unlink(state);
+            evicted.increment();
+        }
+
+        private void linkNewest(KeyState state) {
+            state.older = newest;
+            state.newer = null;
+            if (newest != null) {
+                newest.newer = state;
+            }
+            newest = state;
+            if (oldest == null) {
+                oldest = state;
+            }
+        }
+
+        private void unlink(KeyState state) {
+            if (state.newer != null) {
+                state.newer.older = state.older;
+            } else if (newest == state) {
+                newest = state.older;
+            }
+            if (state.older != null) {
+                state.older.newer = state.newer;
+            } else if (oldest == state) {
+                oldest = state.newer;
+            }
+            state.newer = null;
+            state.older = null;
+        }
+    }
+}
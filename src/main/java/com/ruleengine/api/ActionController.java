@@ -0,0 +1,33 @@
+package com.ruleengine.api;
+
+import com.ruleengine.action.ActionDispatcher;
+import com.ruleengine.action.ActionStats;
+import com.ruleengine.model.ActionType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * REST Controller for inspecting action dispatch.
+ */
+@RestController
+@RequestMapping("/actions")
+public class ActionController {
+
+    private final ActionDispatcher actionDispatcher;
+
+    public ActionController(ActionDispatcher actionDispatcher) {
+        this.actionDispatcher = actionDispatcher;
+    }
+
+    /**
+     * Gets queue depth, counters and timings per action type.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<Map<ActionType, ActionStats>> getStats() {
+        return ResponseEntity.ok(actionDispatcher.getStats());
+    }
+}
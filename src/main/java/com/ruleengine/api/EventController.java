@@ -1,22 +1,45 @@
 package com.ruleengine.api;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import com.ruleengine.action.ActionDispatcher;
+import com.ruleengine.engine.BatchEvaluator;
 import com.ruleengine.engine.RuleEngine;
+import com.ruleengine.engine.RuleRegistry;
+import com.ruleengine.engine.RuleSnapshot;
+import com.ruleengine.engine.TraceLevel;
+import com.ruleengine.exception.InvalidEventException;
+import com.ruleengine.ingest.BinaryEventFormat;
+import com.ruleengine.ingest.EventReader;
+import com.ruleengine.journal.EvaluationJournal;
 import com.ruleengine.model.ActionType;
+import com.ruleengine.model.BatchStats;
 import com.ruleengine.model.EvaluationResult;
 import com.ruleengine.model.Event;
 import com.ruleengine.model.Rule;
-import com.ruleengine.repository.RuleRepository;
-import jakarta.validation.Valid;
+import com.ruleengine.schema.SchemaRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.Optional;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * REST Controller for submitting events for evaluation.
@@ -29,40 +52,189 @@ public class EventController {
 
     private final RuleEngine ruleEngine;
     private final ActionDispatcher actionDispatcher;
-    private final RuleRepository ruleRepository;
+    private final RuleRegistry ruleRegistry;
+    private final BatchEvaluator batchEvaluator;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final SchemaRegistry schemaRegistry;
+    private final EventReader eventReader;
+    private final EvaluationJournal journal;
 
-    public EventController(RuleEngine ruleEngine, ActionDispatcher actionDispatcher, RuleRepository ruleRepository) {
+    public EventController(RuleEngine ruleEngine, ActionDispatcher actionDispatcher, RuleRegistry ruleRegistry,
+            BatchEvaluator batchEvaluator, ObjectMapper objectMapper, Validator validator,
+            SchemaRegistry schemaRegistry, EventReader eventReader, EvaluationJournal journal) {
         this.ruleEngine = ruleEngine;
         this.actionDispatcher = actionDispatcher;
-        this.ruleRepository = ruleRepository;
+        this.ruleRegistry = ruleRegistry;
+        this.batchEvaluator = batchEvaluator;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.schemaRegistry = schemaRegistry;
+        this.eventReader = eventReader;
+        this.journal = journal;
     }
 
     /**
      * Evaluates an event against all active rules and triggers actions.
+     * A malformed or invalid event, or one whose payload does not match the
+     * schema of its type, is rejected with 400.
+     *
+     * The body is read by {@link EventReader}, projected onto the fields
+     * the rules read if projection is enabled.
+     *
+     * @param trace Trace level for this request; the configured default if absent
      */
-    @PostMapping
-    public ResponseEntity<EvaluationResult> evaluateEvent(@Valid @RequestBody Event event) {
-        logger.info("Received event for evaluation: {}", event.getType());
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<EvaluationResult> evaluateEvent(InputStream body,
+            @RequestParam(required = false) TraceLevel trace) throws IOException {
+        // Pin one snapshot for reading, evaluation and dispatch
+        RuleSnapshot snapshot = ruleRegistry.current();
+        return ResponseEntity.ok(evaluate(snapshot, eventReader.read(body, snapshot), trace));
+    }
+
+    /**
+     * Evaluates one event encoded in {@link BinaryEventFormat}, decoded in
+     * place from the request bytes. A body larger than
+     * {@code rule-engine.ingest.max-binary-bytes} is rejected with 413.
+     *
+     * @param trace Trace level for this request; the configured default if absent
+     */
+    @PostMapping(consumes = BinaryEventFormat.MEDIA_TYPE)
+    public ResponseEntity<EvaluationResult> evaluateBinaryEvent(InputStream body,
+            @RequestParam(required = false) TraceLevel trace) throws IOException {
+        RuleSnapshot snapshot = ruleRegistry.current();
+        Event event = eventReader.readBinaryEvent(eventReader.readBinaryBody(body), snapshot);
+        return ResponseEntity.ok(evaluate(snapshot, event, trace));
+    }
+
+    private EvaluationResult evaluate(RuleSnapshot snapshot, Event event, TraceLevel trace) {
+        logger.debug("Received event for evaluation: {}", event.getType());
+        validate(event);
 
         // 1. Evaluate rules
-        EvaluationResult result = ruleEngine.evaluate(event);
+        EvaluationResult result = ruleEngine.evaluate(snapshot, event, false, trace);
 
         // 2. Dispatch actions for matched rules
+        dispatchActions(snapshot, event, result);
+
+        return result;
+    }
+
+    /**
+     * Evaluates a batch of events, given as a JSON array or as NDJSON (one
+     * event per line).
+     *
+     * All events are evaluated in parallel against the same rule snapshot.
+     * The response is NDJSON: one {@link EvaluationResult} per event in input
+     * order, streamed as they complete, followed by a final
+     * {@code {"stats": ...}} line. An invalid event yields an error result
+     * without failing the rest of the batch.
+     *
+     * @param trace Trace level for every event of the batch; the configured
+     *              default if absent
+     */
+    @PostMapping(path = "/batch",
+            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE },
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void evaluateBatch(InputStream body, HttpServletResponse response,
+            @RequestParam(required = false) TraceLevel trace) throws IOException {
+        RuleSnapshot snapshot = ruleRegistry.current();
+        logger.info("Received event batch (rule snapshot v{})", snapshot.getVersion());
+        evaluateBatch(snapshot, eventReader.readAll(body, snapshot), response, trace);
+    }
+
+    /**
+     * Evaluates a batch of events encoded in {@link BinaryEventFormat},
+     * decoded in place from the request bytes. The response is the same as
+     * for JSON batches. A body larger than
+     * {@code rule-engine.ingest.max-binary-bytes} is rejected with 413.
+     *
+     * @param trace Trace level for every event of the batch; the configured
+     *              default if absent
+     */
+    @PostMapping(path = "/batch", consumes = BinaryEventFormat.MEDIA_TYPE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void evaluateBinaryBatch(InputStream body, HttpServletResponse response,
+            @RequestParam(required = false) TraceLevel trace) throws IOException {
+        RuleSnapshot snapshot = ruleRegistry.current();
+        ByteBuffer bytes = eventReader.readBinaryBody(body);
+        logger.info("Received binary event batch of {} bytes (rule snapshot v{})", bytes.remaining(),
+                snapshot.getVersion());
+        evaluateBatch(snapshot, eventReader.readBinary(bytes, snapshot), response, trace);
+    }
+
+    private void evaluateBatch(RuleSnapshot snapshot, Iterator<Event> events, HttpServletResponse response,
+            TraceLevel trace) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        try (SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n")
+                .writeValues(response.getOutputStream())) {
+            BatchStats stats = batchEvaluator.evaluate(events,
+                    (event, now) -> evaluateValidated(snapshot, event, trace, now), result -> write(writer, result));
+            writer.write(Map.of("stats", stats));
+        }
+    }
+
+    private EvaluationResult evaluateValidated(RuleSnapshot snapshot, Event event, TraceLevel trace, long now) {
+        if (event == null) {
+            return EvaluationResult.error(null, "Invalid event: event is null");
+        }
+        try {
+            validate(event);
+        } catch (InvalidEventException e) {
+            return EvaluationResult.error(event.getType(), "Invalid event: " + e.getMessage());
+        }
+
+        EvaluationResult result = ruleEngine.evaluate(snapshot, event, false, trace, now);
+        dispatchActions(snapshot, event, result);
+        return result;
+    }
+
+    /**
+     * Checks the bean constraints of an event, then its payload against the
+     * schema of its type.
+     *
+     * @throws InvalidEventException If either check fails
+     */
+    private void validate(Event event) {
+        Set<ConstraintViolation<Event>> violations = validator.validate(event);
+        if (!violations.isEmpty()) {
+            throw new InvalidEventException(violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+        schemaRegistry.validate(event);
+    }
+
+    private static void write(SequenceWriter writer, Object value) {
+        try {
+            writer.write(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Journals the event with the matched rules, then dispatches their
+     * actions; rules are looked up in the snapshot the event was evaluated
+     * against.
+     */
+    private void dispatchActions(RuleSnapshot snapshot, Event event, EvaluationResult result) {
         if (result.isSuccess() && !result.getMatchedRules().isEmpty()) {
+            List<Rule> matched = new ArrayList<>(result.getMatchedRules().size());
             for (String ruleName : result.getMatchedRules()) {
-                Optional<Rule> ruleOpt = ruleRepository.getRule(ruleName);
-
-                ruleOpt.ifPresent(rule -> {
-                    if (rule.getThen() != null) {
-                        ActionType actionType = rule.getThen().getAction();
-                        if (actionType != null) {
-                            actionDispatcher.dispatch(actionType, event, rule);
-                        }
+                snapshot.getRule(ruleName).ifPresent(matched::add);
+            }
+            journal.append(event, matched);
+
+            for (Rule rule : matched) {
+                if (rule.getThen() != null) {
+                    ActionType actionType = rule.getThen().getAction();
+                    if (actionType != null) {
+                        actionDispatcher.dispatch(actionType, event, rule);
                     }
-                });
+                }
             }
         }
-
-        return ResponseEntity.ok(result);
     }
 }
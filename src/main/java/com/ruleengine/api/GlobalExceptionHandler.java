@@ -1,16 +1,22 @@
 package com.ruleengine.api;
 
 import com.ruleengine.exception.InvalidConditionException;
+import com.ruleengine.exception.InvalidEventException;
+import com.ruleengine.exception.InvalidSchemaException;
+import com.ruleengine.exception.PayloadTooLargeException;
 import com.ruleengine.exception.RuleEngineException;
 import com.ruleengine.model.EvaluationResult;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * Global exception handler for the Rule Engine API.
@@ -23,6 +29,32 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(HttpStatus.BAD_REQUEST, ex.getMessage());
     }
 
+    @ExceptionHandler({ InvalidEventException.class, InvalidSchemaException.class })
+    public ResponseEntity<Object> handleInvalidInput(RuleEngineException ex) {
+        return buildErrorResponse(HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+
+    /**
+     * A request parameter that does not convert, e.g. {@code ?trace=bogus}.
+     * Names the parameter and, for enums, the accepted values.
+     */
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<Object> handleArgumentTypeMismatch(MethodArgumentTypeMismatchException ex) {
+        String message = "Invalid value '" + ex.getValue() + "' for parameter '" + ex.getName() + "'";
+        Class<?> type = ex.getRequiredType();
+        if (type != null && type.isEnum()) {
+            message += "; expected one of " + Arrays.stream(type.getEnumConstants())
+                    .map(constant -> ((Enum<?>) constant).name())
+                    .collect(Collectors.joining(", "));
+        }
+        return buildErrorResponse(HttpStatus.BAD_REQUEST, message);
+    }
+
+    @ExceptionHandler(PayloadTooLargeException.class)
+    public ResponseEntity<Object> handlePayloadTooLarge(PayloadTooLargeException ex) {
+        return buildErrorResponse(HttpStatus.PAYLOAD_TOO_LARGE, ex.getMessage());
+    }
+
     @ExceptionHandler(RuleEngineException.class)
     public ResponseEntity<Object> handleRuleEngineException(RuleEngineException ex) {
         return buildErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR, ex.getMessage());
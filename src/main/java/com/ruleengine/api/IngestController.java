@@ -0,0 +1,32 @@
+package com.ruleengine.api;
+
+import com.ruleengine.ingest.log.LogIngestor;
+import com.ruleengine.ingest.log.PartitionStats;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST Controller for monitoring non-HTTP event ingestion.
+ */
+@RestController
+@RequestMapping("/ingest")
+public class IngestController {
+
+    private final LogIngestor logIngestor;
+
+    public IngestController(LogIngestor logIngestor) {
+        this.logIngestor = logIngestor;
+    }
+
+    /**
+     * Gets the progress of every event log partition.
+     */
+    @GetMapping("/log/partitions")
+    public ResponseEntity<List<PartitionStats>> getLogPartitions() {
+        return ResponseEntity.ok(logIngestor.getStats());
+    }
+}
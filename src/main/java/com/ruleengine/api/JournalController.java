@@ -0,0 +1,61 @@
+package com.ruleengine.api;
+
+import com.ruleengine.journal.EvaluationJournal;
+import com.ruleengine.journal.JournalRecord;
+import com.ruleengine.journal.JournalStats;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * REST Controller for reading the evaluation journal.
+ */
+@RestController
+@RequestMapping("/journal")
+public class JournalController {
+
+    private final EvaluationJournal journal;
+
+    public JournalController(EvaluationJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Gets the journal's write statistics.
+     */
+    @GetMapping
+    public ResponseEntity<JournalStats> getStats() {
+        return ResponseEntity.ok(journal.getStats());
+    }
+
+    /**
+     * Gets the segment names, oldest first.
+     */
+    @GetMapping("/segments")
+    public ResponseEntity<List<String>> getSegments() throws IOException {
+        return ResponseEntity.ok(journal.getSegments());
+    }
+
+    /**
+     * Decodes the records of a segment.
+     *
+     * @param offset Index of the first record returned
+     * @param limit  Maximum number of records returned
+     */
+    @GetMapping("/segments/{segment}")
+    public ResponseEntity<List<JournalRecord>> getRecords(@PathVariable String segment,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "1000") int limit) throws IOException {
+        return journal.read(segment)
+                .map(records -> records.subList(Math.min(Math.max(offset, 0), records.size()),
+                        Math.min(Math.max(offset, 0) + Math.max(limit, 0), records.size())))
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
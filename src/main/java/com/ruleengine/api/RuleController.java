@@ -1,7 +1,10 @@
 package com.ruleengine.api;
 
+import com.ruleengine.engine.RuleRegistry;
+import com.ruleengine.metrics.EngineMetrics;
+import com.ruleengine.metrics.RuleRanking;
 import com.ruleengine.model.Rule;
-import com.ruleengine.repository.RuleRepository;
+import com.ruleengine.model.RuleStats;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -16,10 +19,12 @@ import java.util.List;
 @RequestMapping("/rules")
 public class RuleController {
 
-    private final RuleRepository ruleRepository;
+    private final RuleRegistry ruleRegistry;
+    private final EngineMetrics engineMetrics;
 
-    public RuleController(RuleRepository ruleRepository) {
-        this.ruleRepository = ruleRepository;
+    public RuleController(RuleRegistry ruleRegistry, EngineMetrics engineMetrics) {
+        this.ruleRegistry = ruleRegistry;
+        this.engineMetrics = engineMetrics;
     }
 
     /**
@@ -27,7 +32,7 @@ public class RuleController {
      */
     @PostMapping
     public ResponseEntity<Rule> addRule(@Valid @RequestBody Rule rule) {
-        ruleRepository.addRule(rule);
+        ruleRegistry.addRule(rule);
         return new ResponseEntity<>(rule, HttpStatus.CREATED);
     }
 
@@ -36,7 +41,7 @@ public class RuleController {
      */
     @GetMapping
     public ResponseEntity<List<Rule>> getAllRules() {
-        return ResponseEntity.ok(ruleRepository.getAllRulesIncludingDisabled());
+        return ResponseEntity.ok(ruleRegistry.current().getAllRules());
     }
 
     /**
@@ -44,17 +49,42 @@ public class RuleController {
      */
     @GetMapping("/{name}")
     public ResponseEntity<Rule> getRule(@PathVariable String name) {
-        return ruleRepository.getRule(name)
+        return ruleRegistry.current().getRule(name)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Gets evaluation counts, match ratio, errors and sampled cost of a rule.
+     */
+    @GetMapping("/{name}/stats")
+    public ResponseEntity<RuleStats> getRuleStats(@PathVariable String name) {
+        if (ruleRegistry.current().getRule(name).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(engineMetrics.getRuleStats(name));
+    }
+
+    /**
+     * Lists the most expensive current rules, most expensive first.
+     *
+     * @param limit Number of rules to return
+     * @param by    Ranking: estimated total cost (default), mean or p99 cost
+     */
+    @GetMapping("/stats/top")
+    public ResponseEntity<List<RuleStats>> getMostExpensiveRules(
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(defaultValue = "TOTAL") RuleRanking by) {
+        List<String> ruleNames = ruleRegistry.current().getAllRules().stream().map(Rule::getName).toList();
+        return ResponseEntity.ok(engineMetrics.getMostExpensiveRules(ruleNames, limit, by));
+    }
+
     /**
      * Deletes a rule by name.
      */
     @DeleteMapping("/{name}")
     public ResponseEntity<Void> deleteRule(@PathVariable String name) {
-        if (ruleRepository.removeRule(name) != null) {
+        if (ruleRegistry.removeRule(name).isPresent()) {
             return ResponseEntity.noContent().build();
         }
         return ResponseEntity.notFound().build();
@@ -0,0 +1,62 @@
+package com.ruleengine.api;
+
+import com.ruleengine.model.EventSchema;
+import com.ruleengine.schema.SchemaRegistry;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for managing event payload schemas.
+ */
+@RestController
+@RequestMapping("/schemas")
+public class SchemaController {
+
+    private final SchemaRegistry schemaRegistry;
+
+    public SchemaController(SchemaRegistry schemaRegistry) {
+        this.schemaRegistry = schemaRegistry;
+    }
+
+    /**
+     * Registers or replaces the schema of an event type.
+     */
+    @PostMapping
+    public ResponseEntity<EventSchema> addSchema(@Valid @RequestBody EventSchema schema) {
+        schemaRegistry.register(schema);
+        return new ResponseEntity<>(schema, HttpStatus.CREATED);
+    }
+
+    /**
+     * Gets all schemas.
+     */
+    @GetMapping
+    public ResponseEntity<List<EventSchema>> getAllSchemas() {
+        return ResponseEntity.ok(schemaRegistry.getSchemas());
+    }
+
+    /**
+     * Gets the schema of an event type.
+     */
+    @GetMapping("/{eventType}")
+    public ResponseEntity<EventSchema> getSchema(@PathVariable String eventType) {
+        return schemaRegistry.getSchema(eventType)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Deletes the schema of an event type.
+     */
+    @DeleteMapping("/{eventType}")
+    public ResponseEntity<Void> deleteSchema(@PathVariable String eventType) {
+        if (schemaRegistry.remove(eventType)) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.notFound().build();
+    }
+}
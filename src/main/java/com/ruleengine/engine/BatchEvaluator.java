@@ -0,0 +1,201 @@
+package com.ruleengine.engine;
+
+import com.ruleengine.metrics.LatencyHistogram;
+import com.ruleengine.model.BatchStats;
+import com.ruleengine.model.EvaluationResult;
+import com.ruleengine.model.Event;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Evaluates streams of events in parallel while emitting results in input
+ * order.
+ *
+ * Events are pulled from the source lazily and submitted to a fixed worker
+ * pool. At most {@code max-in-flight} events are pending at once: when the
+ * window is full the oldest one is awaited and handed to the sink, so memory
+ * stays bounded however long the input is and results come out in order.
+ * Latencies go to a fixed-size {@link LatencyHistogram} rather than being
+ * kept per event.
+ *
+ * Every event is evaluated at the batch's start time, so relative date
+ * conditions such as {@code now-24h} treat every event of a batch alike.
+ */
+@Component
+public class BatchEvaluator {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchEvaluator.class);
+
+    private final ExecutorService workers;
+    private final int maxInFlight;
+
+    public BatchEvaluator(@Value("${rule-engine.batch.parallelism:0}") int parallelism,
+            @Value("${rule-engine.batch.max-in-flight:1024}") int maxInFlight) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "rule-batch-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.maxInFlight = Math.max(1, maxInFlight);
+        logger.info("Batch evaluator started with {} workers, {} events in flight", threads, this.maxInFlight);
+    }
+
+    /**
+     * Evaluates one event of a batch.
+     */
+    @FunctionalInterface
+    public interface Evaluation {
+
+        /**
+         * @param now The batch's start time in epoch milliseconds, for
+         *            relative date operands and aggregate windows
+         */
+        EvaluationResult apply(Event event, long now);
+    }
+
+    /**
+     * Runs the evaluation over every event of the source and passes the
+     * results to the sink in input order.
+     *
+     * If the source fails (e.g. malformed input), the results of the events
+     * read so far are still emitted, followed by one error result, and the
+     * batch ends there. If the sink fails (e.g. the client went away), the
+     * events still waiting for a worker are cancelled, so no actions run for
+     * results nobody reads, and the exception propagates.
+     *
+     * @param events     The event source, read on the calling thread
+     * @param evaluation Evaluates one event; runs on the worker pool
+     * @param sink       Receives results in input order, on the calling thread
+     * @return Throughput and latency figures for the batch
+     */
+    public BatchStats evaluate(Iterator<Event> events, Evaluation evaluation, Consumer<EvaluationResult> sink) {
+        long start = System.nanoTime();
+        long now = System.currentTimeMillis();
+        Deque<Future<Timed>> pending = new ArrayDeque<>();
+        Recorder recorder = new Recorder();
+
+        try {
+            while (true) {
+                Event event;
+                try {
+                    if (!events.hasNext()) {
+                        break;
+                    }
+                    event = events.next();
+                } catch (RuntimeException e) {
+                    drain(pending, 0, sink, recorder);
+                    EvaluationResult error = EvaluationResult.error(null,
+                            "Malformed event at index " + recorder.count + ": " + e.getMessage());
+                    recorder.record(error, 0);
+                    sink.accept(error);
+                    return recorder.toStats(start);
+                }
+
+                Event submitted = event;
+                pending.add(workers.submit(() -> {
+                    long began = System.nanoTime();
+                    EvaluationResult result = evaluation.apply(submitted, now);
+                    return new Timed(result, System.nanoTime() - began);
+                }));
+                drain(pending, maxInFlight - 1, sink, recorder);
+            }
+
+            drain(pending, 0, sink, recorder);
+        } catch (RuntimeException | Error e) {
+            // Queued evaluations would still dispatch actions
+            for (Future<Timed> future : pending) {
+                future.cancel(false);
+            }
+            throw e;
+        }
+
+        BatchStats stats = recorder.toStats(start);
+        logger.info("Evaluated batch: {}", stats);
+        return stats;
+    }
+
+    /**
+     * Emits the oldest results until at most {@code keep} remain pending.
+     */
+    private static void drain(Deque<Future<Timed>> pending, int keep, Consumer<EvaluationResult> sink,
+            Recorder recorder) {
+        while (pending.size() > keep) {
+            Timed timed = await(pending.poll());
+            recorder.record(timed.result, timed.nanos);
+            sink.accept(timed.result);
+        }
+    }
+
+    private static Timed await(Future<Timed> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Timed(EvaluationResult.error(null, "Batch evaluation interrupted"), 0);
+        } catch (ExecutionException e) {
+            return new Timed(EvaluationResult.error(null, "Evaluation failed: " + e.getCause().getMessage()), 0);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    private record Timed(EvaluationResult result, long nanos) {
+    }
+
+    /**
+     * Accumulates per-event figures on the emitting thread.
+     */
+    private static final class Recorder {
+
+        private int count;
+        private int matched;
+        private int failed;
+        private final LatencyHistogram latencies = new LatencyHistogram();
+
+        void record(EvaluationResult result, long nanos) {
+            count++;
+            latencies.record(nanos);
+            if (!result.isSuccess()) {
+                failed++;
+            } else if (!result.getMatchedRules().isEmpty()) {
+                matched++;
+            }
+        }
+
+        BatchStats toStats(long startNanos) {
+            long elapsed = System.nanoTime() - startNanos;
+
+            BatchStats stats = new BatchStats();
+            stats.setTotalEvents(count);
+            stats.setMatchedEvents(matched);
+            stats.setFailedEvents(failed);
+            stats.setElapsedMs(elapsed / 1_000_000);
+            stats.setEventsPerSecond(elapsed > 0 ? count * 1e9 / elapsed : 0);
+            if (count > 0) {
+                stats.setAvgLatencyMicros(latencies.getMeanNanos() / 1000);
+                stats.setP50LatencyMicros(latencies.percentileNanos(0.50) / 1000);
+                stats.setP99LatencyMicros(latencies.percentileNanos(0.99) / 1000);
+                stats.setMaxLatencyMicros(latencies.getMaxNanos() / 1000);
+            }
+            return stats;
+        }
+    }
+}
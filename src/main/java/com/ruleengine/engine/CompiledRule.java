@@ -0,0 +1,170 @@
+package com.ruleengine.engine;
+
+import com.ruleengine.aggregate.AggregateSpec;
+import com.ruleengine.aggregate.SlidingWindow;
+import com.ruleengine.evaluator.compiled.AggregateCondition;
+import com.ruleengine.evaluator.compiled.AndCondition;
+import com.ruleengine.evaluator.compiled.CompiledCondition;
+import com.ruleengine.evaluator.compiled.LeafCondition;
+import com.ruleengine.evaluator.compiled.Operator;
+import com.ruleengine.evaluator.compiled.OrCondition;
+import com.ruleengine.exception.InvalidConditionException;
+import com.ruleengine.metrics.RuleCounters;
+import com.ruleengine.model.Condition;
+import com.ruleengine.model.Rule;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A rule paired with its compiled condition.
+ *
+ * The condition is null when the stored rule could not be compiled; such a
+ * rule stays visible through the API but is never evaluated.
+ *
+ * The rule also carries its {@link RuleCounters}, so the engine can count
+ * evaluations without looking the rule up by name, and the operators of its
+ * leaf conditions, counted per operator by
+ * {@link com.ruleengine.metrics.EngineMetrics}.
+ *
+ * For an aggregate operand, the rule reads the key field of the evaluated
+ * event; the windows it reads are fed by the engine ({@link RuleSnapshot}).
+ */
+public final class CompiledRule {
+
+    private final Rule rule;
+    private final CompiledCondition condition;
+    private final RuleCounters counters;
+    private final Set<String> referencedFields;
+    private final List<SlidingWindow> windows;
+    private final Operator[] leafOperators;
+
+    public CompiledRule(Rule rule, CompiledCondition condition) {
+        this(rule, condition, new RuleCounters());
+    }
+
+    public CompiledRule(Rule rule, CompiledCondition condition, RuleCounters counters) {
+        this.rule = rule;
+        this.condition = condition;
+        this.counters = counters;
+        Set<String> fields = new LinkedHashSet<>();
+        collectFields(rule.getWhen(), fields);
+        this.referencedFields = Collections.unmodifiableSet(fields);
+        List<SlidingWindow> found = new ArrayList<>();
+        collectWindows(condition, found);
+        this.windows = Collections.unmodifiableList(found);
+        List<Operator> operators = new ArrayList<>();
+        collectOperators(condition, operators);
+        this.leafOperators = operators.toArray(new Operator[0]);
+    }
+
+    private static void collectFields(Condition condition, Set<String> fields) {
+        if (condition == null) {
+            return;
+        }
+        if (condition.getField() != null) {
+            fields.add(aggregateKeyOr(condition.getField()));
+        }
+        if (condition.getAll() != null) {
+            condition.getAll().forEach(child -> collectFields(child, fields));
+        }
+        if (condition.getAny() != null) {
+            condition.getAny().forEach(child -> collectFields(child, fields));
+        }
+    }
+
+    private static String aggregateKeyOr(String field) {
+        try {
+            AggregateSpec aggregate = AggregateSpec.parse(field);
+            return aggregate != null ? aggregate.getKeyField() : field;
+        } catch (InvalidConditionException e) {
+            // Not compiled either; the rule is never evaluated
+            return field;
+        }
+    }
+
+    private static void collectWindows(CompiledCondition condition, List<SlidingWindow> windows) {
+        if (condition instanceof AggregateCondition aggregate) {
+            if (!windows.contains(aggregate.getWindow())) {
+                windows.add(aggregate.getWindow());
+            }
+        } else if (condition instanceof AndCondition and) {
+            for (CompiledCondition child : and.getChildren()) {
+                collectWindows(child, windows);
+            }
+        } else if (condition instanceof OrCondition or) {
+            for (CompiledCondition child : or.getChildren()) {
+                collectWindows(child, windows);
+            }
+        }
+    }
+
+    private static void collectOperators(CompiledCondition condition, List<Operator> operators) {
+        if (condition instanceof LeafCondition leaf) {
+            operators.add(leaf.getOperator());
+        } else if (condition instanceof AggregateCondition aggregate) {
+            operators.add(aggregate.getOperator());
+        } else if (condition instanceof AndCondition and) {
+            for (CompiledCondition child : and.getChildren()) {
+                collectOperators(child, operators);
+            }
+        } else if (condition instanceof OrCondition or) {
+            for (CompiledCondition child : or.getChildren()) {
+                collectOperators(child, operators);
+            }
+        }
+    }
+
+    public Rule getRule() {
+        return rule;
+    }
+
+    public String getName() {
+        return rule.getName();
+    }
+
+    public CompiledCondition getCondition() {
+        return condition;
+    }
+
+    public RuleCounters getCounters() {
+        return counters;
+    }
+
+    /**
+     * Dotted paths of the payload fields the rule's condition reads.
+     */
+    public Set<String> getReferencedFields() {
+        return referencedFields;
+    }
+
+    /**
+     * Windows of the rule's aggregate operands.
+     */
+    public List<SlidingWindow> getWindows() {
+        return windows;
+    }
+
+    /**
+     * Operator of each leaf condition of the rule, aggregate operands
+     * included; empty for a rule without a "when" clause.
+     */
+    public Operator[] getLeafOperators() {
+        return leafOperators;
+    }
+
+    /**
+     * True if the rule is enabled and its condition compiled.
+     */
+    public boolean isEvaluable() {
+        return rule.isEnabled() && condition != null;
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledRule{" + rule.getName() + ": " + condition + "}";
+    }
+}
@@ -0,0 +1,179 @@
+package com.ruleengine.engine;
+
+import com.ruleengine.engine.network.AlphaMemory;
+import com.ruleengine.engine.network.AlphaNetwork;
+import com.ruleengine.schema.RecordLayout;
+import com.ruleengine.schema.SlotRecord;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Reusable scratch space and output of one evaluation.
+ *
+ * Holds the matched-rule bitset and index array over the positions of the
+ * evaluated {@link RuleBucket}, plus the candidate bitset, alpha memory and
+ * schema record used while evaluating. Buffers only grow, so once sized for the largest
+ * bucket, evaluating into the same context allocates nothing.
+ *
+ * A context also carries the time relative date operands and aggregate
+ * windows resolve against: the system clock at each evaluation, or one
+ * instant pinned by a caller that evaluates a batch, so all of its events
+ * are judged against the same "now".
+ *
+ * A context is not thread-safe: a caller evaluating many events owns one,
+ * and {@link RuleEngine#evaluate} borrows one from an
+ * {@link EvaluationContextPool}. Its contents are valid until the next
+ * evaluation into it.
+ */
+public final class EvaluationContext {
+
+    private static final long UNPINNED = Long.MIN_VALUE;
+
+    private RuleBucket bucket;
+    private int words;
+    private long[] matches = new long[1];
+    private long[] errors = new long[1];
+    private long[] candidates = new long[1];
+    private int[] matchedPositions = new int[16];
+    private int matchCount;
+    private AlphaNetwork network;
+    private AlphaMemory memory;
+    private SlotRecord record;
+    private long pinnedNow = UNPINNED;
+
+    /**
+     * Evaluates the next events at the given instant instead of the system
+     * clock, until {@link #unpinClock()}.
+     */
+    public void pinClock(long epochMillis) {
+        this.pinnedNow = epochMillis;
+    }
+
+    /**
+     * Returns to reading the system clock at each evaluation.
+     */
+    public void unpinClock() {
+        this.pinnedNow = UNPINNED;
+    }
+
+    /**
+     * Epoch milliseconds the next evaluation runs at.
+     */
+    long now() {
+        return pinnedNow != UNPINNED ? pinnedNow : System.currentTimeMillis();
+    }
+
+    /**
+     * Clears the previous outcome and sizes the buffers for a bucket.
+     */
+    void begin(RuleBucket bucket) {
+        this.bucket = bucket;
+        this.words = (bucket.size() + 63) >>> 6;
+        if (matches.length < words) {
+            int capacity = Math.max(words, matches.length * 2);
+            matches = new long[capacity];
+            errors = new long[capacity];
+        } else {
+            Arrays.fill(matches, 0, words, 0L);
+            Arrays.fill(errors, 0, words, 0L);
+        }
+        matchCount = 0;
+    }
+
+    /**
+     * Candidate buffer with room for the current bucket's filter.
+     */
+    long[] candidates(int filterWords) {
+        if (candidates.length < filterWords) {
+            candidates = new long[Math.max(filterWords, candidates.length * 2)];
+        }
+        return candidates;
+    }
+
+    /**
+     * Alpha memory for the network, reset for a new payload.
+     */
+    AlphaMemory memory(AlphaNetwork network, Map<String, Object> payload, long now) {
+        if (this.network != network) {
+            this.network = network;
+            this.memory = network.newMemory();
+        }
+        return memory.reset(payload, now);
+    }
+
+    /**
+     * Record for decoding a payload of the layout, reused while the layout
+     * stays the same.
+     */
+    SlotRecord record(RecordLayout layout) {
+        if (record == null || record.getLayout() != layout) {
+            record = layout.newRecord();
+        }
+        return record;
+    }
+
+    void match(int position) {
+        matches[position >>> 6] |= 1L << position;
+        if (matchCount == matchedPositions.length) {
+            matchedPositions = Arrays.copyOf(matchedPositions, matchCount * 2);
+        }
+        matchedPositions[matchCount++] = position;
+    }
+
+    void error(int position) {
+        errors[position >>> 6] |= 1L << position;
+    }
+
+    boolean isError(int position) {
+        return (errors[position >>> 6] & (1L << position)) != 0;
+    }
+
+    /**
+     * The bucket the last evaluation ran against; positions refer to it.
+     */
+    public RuleBucket getBucket() {
+        return bucket;
+    }
+
+    public int getMatchCount() {
+        return matchCount;
+    }
+
+    /**
+     * Position of the i-th match, in evaluation order.
+     */
+    public int getMatchedPosition(int i) {
+        return matchedPositions[i];
+    }
+
+    /**
+     * The rule of the i-th match, in evaluation order.
+     */
+    public CompiledRule getMatchedRule(int i) {
+        return bucket.get(matchedPositions[i]);
+    }
+
+    public boolean isMatched(int position) {
+        return (matches[position >>> 6] & (1L << position)) != 0;
+    }
+
+    /**
+     * Matched-rule bitset over bucket positions. Only the first
+     * {@link #getWords()} longs belong to the last evaluation; do not modify.
+     */
+    public long[] getMatches() {
+        return matches;
+    }
+
+    public int getWords() {
+        return words;
+    }
+
+    /**
+     * Copies the matched positions into a new array.
+     */
+    public int[] toMatchedPositions() {
+        return Arrays.copyOf(matchedPositions, matchCount);
+    }
+}
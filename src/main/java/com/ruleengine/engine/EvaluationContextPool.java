@@ -0,0 +1,82 @@
+package com.ruleengine.engine;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A small, bounded pool of {@link EvaluationContext}s for callers that do
+ * not own one, such as request threads.
+ *
+ * A thread-local context would be allocated anew for every virtual thread,
+ * since those are not reused, and kept for every platform thread ever seen.
+ * The pool instead holds a few contexts in slots sized to the number of
+ * cores: a thread probes a handful of slots, starting at one picked from its
+ * id, and takes the first context it finds. A miss creates a context; a
+ * context returned when the probed slots are full is dropped. No locks are
+ * taken.
+ */
+final class EvaluationContextPool {
+
+    private static final int PROBES = 4;
+
+    private final AtomicReferenceArray<EvaluationContext> slots;
+    private final int mask;
+
+    EvaluationContextPool() {
+        this(Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    EvaluationContextPool(int capacity) {
+        int size = Math.max(PROBES, Integer.highestOneBit(Math.max(1, capacity - 1)) << 1);
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Takes a context from the pool, or creates one if none is free nearby.
+     * Pass it back to {@link #release} once its contents have been read.
+     */
+    EvaluationContext borrow() {
+        int start = start();
+        for (int i = 0; i < PROBES; i++) {
+            int slot = (start + i) & mask;
+            if (slots.get(slot) != null) {
+                EvaluationContext context = slots.getAndSet(slot, null);
+                if (context != null) {
+                    return context;
+                }
+            }
+        }
+        return new EvaluationContext();
+    }
+
+    /**
+     * Returns a borrowed context to the pool, or drops it if the pool is
+     * full. The caller must not use it afterwards.
+     */
+    void release(EvaluationContext context) {
+        int start = start();
+        for (int i = 0; i < PROBES; i++) {
+            if (slots.compareAndSet((start + i) & mask, null, context)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Number of pooled contexts; for tests and diagnostics.
+     */
+    int size() {
+        int pooled = 0;
+        for (int i = 0; i < slots.length(); i++) {
+            if (slots.get(i) != null) {
+                pooled++;
+            }
+        }
+        return pooled;
+    }
+
+    private int start() {
+        long id = Thread.currentThread().threadId();
+        return (int) (id ^ (id >>> 32)) * 0x9E3779B9 & mask;
+    }
+}
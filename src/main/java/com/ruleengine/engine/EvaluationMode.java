@@ -0,0 +1,20 @@
+package com.ruleengine.engine;
+
+/**
+ * How {@link RuleEngine} evaluates the rules of a bucket.
+ */
+public enum EvaluationMode {
+
+    /**
+     * Each rule's compiled condition tree is evaluated on its own.
+     * Identical leaves in different rules are evaluated again.
+     */
+    SEQUENTIAL,
+
+    /**
+     * Rules are evaluated through the snapshot's alpha network: each
+     * distinct leaf test runs at most once per event and its result is
+     * shared by every rule that uses it.
+     */
+    NETWORK
+}
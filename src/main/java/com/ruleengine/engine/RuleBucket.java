@@ -0,0 +1,64 @@
+package com.ruleengine.engine;
+
+import com.ruleengine.engine.index.CandidateFilter;
+import com.ruleengine.engine.network.NetworkCondition;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The rules that can fire for one event type, in evaluation order.
+ *
+ * Holds each rule's compiled condition (sequential mode) and, at the same
+ * position, its condition wired into the snapshot's alpha network
+ * (network mode), plus the index-based {@link CandidateFilter} that skips
+ * rules whose guard cannot hold.
+ */
+public final class RuleBucket {
+
+    private final List<CompiledRule> rules;
+    private final NetworkCondition[] network;
+    private final CandidateFilter filter;
+    private final Set<String> referencedFields;
+
+    RuleBucket(List<CompiledRule> rules, NetworkCondition[] network) {
+        this.rules = Collections.unmodifiableList(rules);
+        this.network = network;
+        this.filter = CandidateFilter.build(rules.stream().map(CompiledRule::getCondition).toList());
+        Set<String> fields = new LinkedHashSet<>();
+        rules.forEach(rule -> fields.addAll(rule.getReferencedFields()));
+        this.referencedFields = Collections.unmodifiableSet(fields);
+    }
+
+    public List<CompiledRule> getRules() {
+        return rules;
+    }
+
+    public int size() {
+        return rules.size();
+    }
+
+    /**
+     * Payload fields read by any rule of the bucket.
+     */
+    public Set<String> getReferencedFields() {
+        return referencedFields;
+    }
+
+    CompiledRule get(int index) {
+        return rules.get(index);
+    }
+
+    NetworkCondition networkCondition(int index) {
+        return network[index];
+    }
+
+    /**
+     * The bucket's candidate filter, or null if no rule is indexed.
+     */
+    public CandidateFilter getFilter() {
+        return filter;
+    }
+}
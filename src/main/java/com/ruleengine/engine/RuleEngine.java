@@ -1,38 +1,77 @@
 package com.ruleengine.engine;
 
-import com.ruleengine.evaluator.ConditionEvaluator;
-import com.ruleengine.evaluator.EvaluationDetail;
+import com.ruleengine.aggregate.AggregateFeeds;
+import com.ruleengine.engine.index.CandidateFilter;
+import com.ruleengine.engine.network.AlphaMemory;
+import com.ruleengine.evaluator.compiled.CompiledCondition;
+import com.ruleengine.metrics.EngineMetrics;
 import com.ruleengine.model.EvaluationResult;
 import com.ruleengine.model.Event;
-import com.ruleengine.model.Rule;
 import com.ruleengine.model.RuleTrace;
-import com.ruleengine.repository.RuleRepository;
+import com.ruleengine.schema.RecordLayout;
+import com.ruleengine.schema.SchemaRegistry;
+import com.ruleengine.schema.SlotRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
+import java.util.Map;
 
 /**
  * The core rule engine that evaluates events against registered rules.
  * 
  * Features:
  * - Evaluates rules in priority order (lower priority value = runs first)
+ * - Only evaluates rules scoped to the event's type (plus wildcard rules)
+ * - Sequential or alpha-network evaluation (see {@link EvaluationMode})
+ * - Skips rules whose indexed guard cannot hold (see {@link CandidateFilter})
+ * - Evaluates pre-compiled conditions (see {@link com.ruleengine.evaluator.compiled.ConditionCompiler})
  * - Supports short-circuit mode (stop on first match)
- * - Stateless operation (v1)
- * - Thread-safe
+ * - Configurable trace detail, with lazily built failure reasons (see {@link TraceLevel})
+ * - Records latency per event type, per-rule counters and sampled per-rule cost (see {@link EngineMetrics})
+ * - Decodes payloads of event types with a schema into slot-indexed records (see {@link SchemaRegistry})
+ * - Stateless apart from the sliding windows of aggregate operands, which every
+ *   evaluated event feeds before its rules run (see {@link AggregateFeeds})
+ * - Thread-safe: reads an immutable {@link RuleSnapshot}, never the database
  */
 @Component
 public class RuleEngine {
 
     private static final Logger logger = LoggerFactory.getLogger(RuleEngine.class);
 
-    private final RuleRepository ruleRepository;
-    private final ConditionEvaluator conditionEvaluator;
+    private final RuleRegistry ruleRegistry;
+    private final EvaluationMode defaultMode;
+    private final TraceLevel defaultTraceLevel;
+    private final EngineMetrics metrics;
+    private final SchemaRegistry schemas;
+    private final EvaluationContextPool contexts = new EvaluationContextPool();
 
-    public RuleEngine(RuleRepository ruleRepository, ConditionEvaluator conditionEvaluator) {
-        this.ruleRepository = ruleRepository;
-        this.conditionEvaluator = conditionEvaluator;
+    public RuleEngine(RuleRegistry ruleRegistry, EvaluationMode defaultMode) {
+        this(ruleRegistry, defaultMode, TraceLevel.FULL, null);
+    }
+
+    public RuleEngine(RuleRegistry ruleRegistry, EvaluationMode defaultMode, TraceLevel defaultTraceLevel,
+            EngineMetrics metrics) {
+        this(ruleRegistry, defaultMode, defaultTraceLevel, metrics, null);
+    }
+
+    /**
+     * @param metrics Receives latency and per-rule counts, or null to record
+     *                nothing
+     * @param schemas Event schemas, or null to evaluate every payload as a map
+     */
+    @Autowired
+    public RuleEngine(RuleRegistry ruleRegistry,
+            @Value("${rule-engine.evaluation-mode:SEQUENTIAL}") EvaluationMode defaultMode,
+            @Value("${rule-engine.trace-level:FULL}") TraceLevel defaultTraceLevel,
+            EngineMetrics metrics, SchemaRegistry schemas) {
+        this.ruleRegistry = ruleRegistry;
+        this.defaultMode = defaultMode;
+        this.defaultTraceLevel = defaultTraceLevel;
+        this.metrics = metrics;
+        this.schemas = schemas;
     }
 
     /**
@@ -54,52 +93,265 @@ public class RuleEngine {
      * @return The evaluation result
      */
     public EvaluationResult evaluate(Event event, boolean stopOnFirstMatch) {
-        long startTime = System.currentTimeMillis();
+        return evaluate(ruleRegistry.current(), event, stopOnFirstMatch);
+    }
 
-        logger.info("Evaluating event: type={}", event.getType());
+    /**
+     * Evaluates an event against the rules of a specific snapshot.
+     * Callers that look up matched rules afterwards should pass the same
+     * snapshot so both steps see the same rule set.
+     *
+     * @param snapshot         The rule snapshot to evaluate against
+     * @param event            The event to evaluate
+     * @param stopOnFirstMatch If true, stops after the first matching rule
+     * @return The evaluation result
+     */
+    public EvaluationResult evaluate(RuleSnapshot snapshot, Event event, boolean stopOnFirstMatch) {
+        return evaluate(snapshot, event, stopOnFirstMatch, defaultMode);
+    }
 
-        EvaluationResult result = new EvaluationResult(event.getType());
+    /**
+     * Evaluates an event against the rules of a specific snapshot using the
+     * given evaluation mode. Both modes produce the same matches and traces.
+     *
+     * @param snapshot         The rule snapshot to evaluate against
+     * @param event            The event to evaluate
+     * @param stopOnFirstMatch If true, stops after the first matching rule
+     * @param mode             Sequential or alpha-network evaluation
+     * @return The evaluation result
+     */
+    public EvaluationResult evaluate(RuleSnapshot snapshot, Event event, boolean stopOnFirstMatch,
+            EvaluationMode mode) {
+        return evaluate(snapshot, event, stopOnFirstMatch, mode, defaultTraceLevel);
+    }
 
-        try {
-            List<Rule> rules = ruleRepository.getAllRules();
-            result.setTotalRulesEvaluated(rules.size());
+    /**
+     * Evaluates an event against the rules of a snapshot with the given
+     * trace level (null for the configured default).
+     *
+     * @param snapshot         The rule snapshot to evaluate against
+     * @param event            The event to evaluate
+     * @param stopOnFirstMatch If true, stops after the first matching rule
+     * @param traceLevel       How much trace to record, or null for the default
+     * @return The evaluation result
+     */
+    public EvaluationResult evaluate(RuleSnapshot snapshot, Event event, boolean stopOnFirstMatch,
+            TraceLevel traceLevel) {
+        return evaluate(snapshot, event, stopOnFirstMatch, defaultMode, traceLevel);
+    }
+
+    /**
+     * Evaluates an event against the rules of a snapshot with the given mode
+     * and trace level (null for the configured default).
+     *
+     * @param snapshot         The rule snapshot to evaluate against
+     * @param event            The event to evaluate
+     * @param stopOnFirstMatch If true, stops after the first matching rule
+     * @param mode             Sequential or alpha-network evaluation
+     * @param traceLevel       How much trace to record, or null for the default
+     * @return The evaluation result
+     */
+    public EvaluationResult evaluate(RuleSnapshot snapshot, Event event, boolean stopOnFirstMatch,
+            EvaluationMode mode, TraceLevel traceLevel) {
+        return evaluate(snapshot, event, stopOnFirstMatch, mode, traceLevel, System.currentTimeMillis());
+    }
 
-            logger.debug("Found {} active rules to evaluate", rules.size());
+    /**
+     * Evaluates an event against the rules of a snapshot at a given time,
+     * e.g. the start of the batch it belongs to.
+     *
+     * @param snapshot         The rule snapshot to evaluate against
+     * @param event            The event to evaluate
+     * @param stopOnFirstMatch If true, stops after the first matching rule
+     * @param traceLevel       How much trace to record, or null for the default
+     * @param now              Epoch milliseconds that relative date operands
+     *                         and aggregate windows resolve against
+     * @return The evaluation result
+     */
+    public EvaluationResult evaluate(RuleSnapshot snapshot, Event event, boolean stopOnFirstMatch,
+            TraceLevel traceLevel, long now) {
+        return evaluate(snapshot, event, stopOnFirstMatch, defaultMode, traceLevel, now);
+    }
 
-            for (Rule rule : rules) {
-                try {
-                    boolean matches = evaluateRule(rule, event, result);
+    /**
+     * Evaluates an event against the rules of a snapshot with the given mode
+     * and trace level (null for the configured default), at a given time.
+     *
+     * @param now Epoch milliseconds that relative date operands and
+     *            aggregate windows resolve against
+     */
+    public EvaluationResult evaluate(RuleSnapshot snapshot, Event event, boolean stopOnFirstMatch,
+            EvaluationMode mode, TraceLevel traceLevel, long now) {
+        TraceLevel level = traceLevel != null ? traceLevel : defaultTraceLevel;
+        long startTime = System.nanoTime();
+
+        logger.debug("Evaluating event: type={}", event.getType());
+
+        EvaluationResult result = new EvaluationResult(event.getType());
 
-                    if (matches) {
-                        logger.info("Rule '{}' matched event type '{}'",
-                                rule.getName(), event.getType());
-                        result.addMatch(rule);
+        EvaluationContext context = contexts.borrow();
+        context.pinClock(now);
+        try {
+            evaluateInto(snapshot, event, stopOnFirstMatch, mode, context);
 
-                        if (stopOnFirstMatch) {
-                            logger.debug("Short-circuit: stopping after first match");
-                            break;
-                        }
+            // Build the result view: matches and trace in evaluation order
+            RuleBucket bucket = context.getBucket();
+            result.setTotalRulesEvaluated(bucket.size());
+            if (level == TraceLevel.FULL) {
+                int end = stopOnFirstMatch && context.getMatchCount() > 0
+                        ? context.getMatchedPosition(0) + 1
+                        : bucket.size();
+                for (int i = 0; i < end; i++) {
+                    if (!context.isError(i)) {
+                        traceRule(bucket.get(i), context.isMatched(i), event, result, level, now);
                     }
-                } catch (Exception e) {
-                    logger.error("Error evaluating rule '{}': {}", rule.getName(), e.getMessage());
-                    // Continue with next rule
+                }
+            }
+            for (int i = 0; i < context.getMatchCount(); i++) {
+                CompiledRule rule = context.getMatchedRule(i);
+                logger.debug("Rule '{}' matched event type '{}'", rule.getName(), event.getType());
+                result.addMatch(rule.getRule());
+                if (level == TraceLevel.MATCHES_ONLY) {
+                    traceRule(rule, true, event, result, level, now);
                 }
             }
 
         } catch (Exception e) {
             logger.error("Error during rule evaluation: {}", e.getMessage());
             return EvaluationResult.error(event.getType(), e.getMessage());
+        } finally {
+            context.unpinClock();
+            contexts.release(context);
         }
 
-        long executionTime = System.currentTimeMillis() - startTime;
+        long executionTime = (System.nanoTime() - startTime) / 1_000_000;
         result.setExecutionTimeMs(executionTime);
 
-        logger.info("Evaluation complete: {} rules matched in {}ms",
+        logger.debug("Evaluation complete: {} rules matched in {}ms",
                 result.getMatchedRules().size(), executionTime);
 
         return result;
     }
 
+    /**
+     * Low-level entry point: evaluates an event into a reusable context
+     * without building an {@link EvaluationResult}, traces or log output.
+     * Matches are read from the context as a bitset or index array over the
+     * positions of {@link EvaluationContext#getBucket()}. With a warmed-up
+     * context this path allocates nothing per event. Relative dates and
+     * aggregate windows resolve against the time pinned on the context
+     * ({@link EvaluationContext#pinClock}), or the system clock.
+     *
+     * @param snapshot The rule snapshot to evaluate against
+     * @param event    The event to evaluate
+     * @param context  Receives the matches; overwritten on every call
+     * @return The number of matched rules
+     */
+    public int evaluateInto(RuleSnapshot snapshot, Event event, EvaluationContext context) {
+        return evaluateInto(snapshot, event, false, defaultMode, context);
+    }
+
+    /**
+     * Core evaluation loop shared by all entry points. A rule whose
+     * condition throws is logged, marked as an error and treated as not
+     * matching.
+     *
+     * @throws com.ruleengine.exception.InvalidEventException If the event's
+     *         type has a schema and its payload does not match it
+     */
+    int evaluateInto(RuleSnapshot snapshot, Event event, boolean stopOnFirstMatch, EvaluationMode mode,
+            EvaluationContext context) {
+        if (metrics == null) {
+            return runRules(snapshot, event, stopOnFirstMatch, mode, context);
+        }
+        long start = System.nanoTime();
+        int matched = runRules(snapshot, event, stopOnFirstMatch, mode, context);
+        metrics.recordEvaluation(event.getType(), System.nanoTime() - start);
+        return matched;
+    }
+
+    private int runRules(RuleSnapshot snapshot, Event event, boolean stopOnFirstMatch, EvaluationMode mode,
+            EvaluationContext context) {
+        RuleBucket bucket = snapshot.getBucketFor(event.getType());
+        Map<String, Object> payload = event.getPayload();
+        RecordLayout layout = schemas != null ? schemas.getLayout(event.getType()) : null;
+        if (layout != null) {
+            SlotRecord record = context.record(layout);
+            layout.decodeInto(payload, record);
+            payload = record;
+        }
+        long now = context.now();
+        AggregateFeeds feeds = snapshot.getAggregateFeeds();
+        if (!feeds.isEmpty()) {
+            feeds.record(event.getType(), payload, now);
+        }
+        context.begin(bucket);
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Found {} active rules to evaluate for type {} ({} mode)",
+                    bucket.size(), event.getType(), mode);
+        }
+
+        AlphaMemory memory = mode == EvaluationMode.NETWORK
+                ? context.memory(snapshot.getNetwork(), payload, now)
+                : null;
+
+        CandidateFilter filter = bucket.getFilter();
+        if (filter == null) {
+            for (int i = 0; i < bucket.size(); i++) {
+                if (testRule(bucket, i, payload, now, memory, context) && stopOnFirstMatch) {
+                    break;
+                }
+            }
+            return context.getMatchCount();
+        }
+
+        // Visit only the candidates; rules whose guard cannot hold are skipped
+        long[] candidates = context.candidates(filter.getWords());
+        filter.select(payload, candidates);
+        for (int word = 0; word < filter.getWords(); word++) {
+            for (long bits = candidates[word]; bits != 0; bits &= bits - 1) {
+                int i = (word << 6) + Long.numberOfTrailingZeros(bits);
+                if (testRule(bucket, i, payload, now, memory, context) && stopOnFirstMatch) {
+                    return context.getMatchCount();
+                }
+            }
+        }
+        return context.getMatchCount();
+    }
+
+    private boolean testRule(RuleBucket bucket, int position, Map<String, Object> payload, long now,
+            AlphaMemory memory, EvaluationContext context) {
+        CompiledRule rule = bucket.get(position);
+        boolean sampled = metrics != null && metrics.sample();
+        long start = sampled ? System.nanoTime() : 0;
+        try {
+            boolean matches = memory != null
+                    ? bucket.networkCondition(position).test(memory)
+                    : rule.getCondition().test(payload, now);
+            if (matches) {
+                context.match(position);
+            }
+            if (metrics != null) {
+                rule.getCounters().recordEvaluation(matches);
+                metrics.recordLeafTests(rule.getLeafOperators());
+            }
+            return matches;
+        } catch (Exception e) {
+            logger.error("Error evaluating rule '{}': {}", rule.getName(), e.getMessage());
+            context.error(position);
+            if (metrics != null) {
+                rule.getCounters().recordError();
+                metrics.recordException(e);
+            }
+            return false;
+        } finally {
+            if (sampled) {
+                rule.getCounters().recordCost(System.nanoTime() - start);
+            }
+        }
+    }
+
     /**
      * Evaluates a single rule against an event.
      * 
@@ -107,21 +359,30 @@ public class RuleEngine {
      * @param event The event to evaluate against
      * @return true if the rule's condition is satisfied
      */
-    private boolean evaluateRule(Rule rule, Event event, EvaluationResult result) {
-        if (rule.getWhen() == null) {
-            // Rule with no condition always matches
-            result.addTrace(new RuleTrace(rule.getName(), true));
-            return true;
-        }
-
-        EvaluationDetail detail = conditionEvaluator.evaluate(rule.getWhen(), event.getPayload());
+    private boolean evaluateRule(CompiledRule rule, Event event, EvaluationResult result) {
+        // Rules without a "when" clause compile to CompiledCondition.ALWAYS
+        long now = System.currentTimeMillis();
+        boolean matches = rule.getCondition().test(event.getPayload(), now);
+        traceRule(rule, matches, event, result, TraceLevel.FULL, now);
+        return matches;
+    }
 
-        if (detail.isMatched()) {
-            result.addTrace(new RuleTrace(rule.getName(), true));
-            return true;
-        } else {
-            result.addTrace(new RuleTrace(rule.getName(), false, detail.getReason()));
-            return false;
+    /**
+     * Records the outcome of a rule in the result trace, as far as the trace
+     * level asks for. Failure reasons come from the rule's own compiled
+     * condition, whichever mode decided the match, and are only built when
+     * the trace is read.
+     */
+    private void traceRule(CompiledRule rule, boolean matches, Event event, EvaluationResult result,
+            TraceLevel level, long now) {
+        if (matches) {
+            if (level != TraceLevel.NONE) {
+                result.addTrace(new RuleTrace(rule.getName(), true));
+            }
+        } else if (level == TraceLevel.FULL) {
+            CompiledCondition condition = rule.getCondition();
+            Map<String, Object> payload = event.getPayload();
+            result.addTrace(RuleTrace.failed(rule.getName(), () -> condition.explainFailure(payload, now)));
         }
     }
 
@@ -133,14 +394,15 @@ public class RuleEngine {
      * @return The evaluation result
      */
     public EvaluationResult evaluateWithRule(Event event, String ruleName) {
-        long startTime = System.currentTimeMillis();
+        long startTime = System.nanoTime();
         EvaluationResult result = new EvaluationResult(event.getType());
 
-        ruleRepository.getRule(ruleName).ifPresentOrElse(
+        ruleRegistry.current().getCompiledRule(ruleName).ifPresentOrElse(
                 rule -> {
                     result.setTotalRulesEvaluated(1);
-                    if (rule.isEnabled() && evaluateRule(rule, event, result)) {
-                        result.addMatch(rule);
+                    if (rule.isEvaluable() && rule.getRule().appliesTo(event.getType())
+                            && evaluateRule(rule, event, result)) {
+                        result.addMatch(rule.getRule());
                     }
                 },
                 () -> {
@@ -148,7 +410,7 @@ public class RuleEngine {
                     result.setErrorMessage("Rule not found: " + ruleName);
                 });
 
-        result.setExecutionTimeMs(System.currentTimeMillis() - startTime);
+        result.setExecutionTimeMs((System.nanoTime() - startTime) / 1_000_000);
         return result;
     }
 }
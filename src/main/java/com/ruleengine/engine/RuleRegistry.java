@@ -0,0 +1,120 @@
+package com.ruleengine.engine;
+
+import com.ruleengine.evaluator.compiled.ConditionCompiler;
+import com.ruleengine.exception.RuleEngineException;
+import com.ruleengine.metrics.EngineMetrics;
+import com.ruleengine.model.Rule;
+import com.ruleengine.repository.RuleRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Owns the current {@link RuleSnapshot}.
+ *
+ * Rules are loaded from the database once at startup. Every write compiles
+ * the rule, stores it in the database and then publishes a new snapshot with
+ * a single atomic swap, so evaluations read a consistent, pre-compiled rule
+ * set without locks and without touching the database.
+ */
+@Component
+public class RuleRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(RuleRegistry.class);
+
+    private final RuleRepository ruleRepository;
+    private final ConditionCompiler conditionCompiler;
+    private final EngineMetrics metrics;
+    private final AtomicReference<RuleSnapshot> snapshot = new AtomicReference<>(RuleSnapshot.empty());
+
+    public RuleRegistry(RuleRepository ruleRepository, ConditionCompiler conditionCompiler) {
+        this(ruleRepository, conditionCompiler, new EngineMetrics());
+    }
+
+    @Autowired
+    public RuleRegistry(RuleRepository ruleRepository, ConditionCompiler conditionCompiler, EngineMetrics metrics) {
+        this.ruleRepository = ruleRepository;
+        this.conditionCompiler = conditionCompiler;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Rebuilds the snapshot from the database. Stored rules that no longer
+     * compile are kept visible but excluded from evaluation.
+     */
+    @PostConstruct
+    public synchronized void reload() {
+        List<CompiledRule> rules = new ArrayList<>();
+        for (Rule rule : ruleRepository.getAllRulesIncludingDisabled()) {
+            try {
+                rules.add(compile(rule));
+            } catch (RuleEngineException e) {
+                logger.error("Rule '{}' could not be compiled and will not be evaluated: {}",
+                        rule.getName(), e.getMessage());
+                rules.add(new CompiledRule(rule, null, metrics.ruleCounters(rule.getName())));
+            }
+        }
+        long nextVersion = snapshot.get().getVersion() + 1;
+        publish(new RuleSnapshot(nextVersion, rules));
+    }
+
+    /**
+     * Returns the snapshot to evaluate against. Never null.
+     */
+    public RuleSnapshot current() {
+        return snapshot.get();
+    }
+
+    /**
+     * Compiles and persists a rule (insert or replace), then publishes a
+     * snapshot containing it. Invalid conditions are rejected before
+     * anything is written.
+     *
+     * @throws com.ruleengine.exception.InvalidConditionException if the condition cannot be compiled
+     */
+    public synchronized Rule addRule(Rule rule) {
+        CompiledRule compiled = compile(rule);
+        ruleRepository.addRule(rule);
+        publish(snapshot.get().withRule(compiled));
+        return rule;
+    }
+
+    /**
+     * Deletes a rule and publishes a snapshot without it.
+     *
+     * @return The removed rule, or empty if no rule had that name
+     */
+    public synchronized Optional<Rule> removeRule(String ruleName) {
+        Rule removed = ruleRepository.removeRule(ruleName);
+        if (removed != null) {
+            publish(snapshot.get().withoutRule(ruleName));
+        }
+        return Optional.ofNullable(removed);
+    }
+
+    private CompiledRule compile(Rule rule) {
+        return new CompiledRule(rule, conditionCompiler.compile(rule.getWhen()), metrics.ruleCounters(rule.getName()));
+    }
+
+    private void publish(RuleSnapshot next) {
+        snapshot.set(next);
+        // Windows and counters of removed rules are released with the snapshot
+        conditionCompiler.getAggregates().retain(next.getAggregateFeeds().getWindows());
+        Set<String> names = new HashSet<>();
+        for (Rule rule : next.getAllRules()) {
+            names.add(rule.getName());
+        }
+        metrics.retainRules(names);
+        logger.info("Published rule snapshot v{} ({} rules, {} active, {} alpha nodes)",
+                next.getVersion(), next.size(), next.getActiveRules().size(), next.getNetwork().size());
+    }
+}
@@ -0,0 +1,239 @@
+package com.ruleengine.engine;
+
+import com.ruleengine.aggregate.AggregateFeeds;
+import com.ruleengine.aggregate.SlidingWindow;
+import com.ruleengine.engine.network.AlphaNetwork;
+import com.ruleengine.engine.network.NetworkCondition;
+import com.ruleengine.model.Rule;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Immutable, versioned view of the rule set used for evaluation.
+ *
+ * A snapshot is built once per write (add/delete) and then shared by all
+ * evaluating threads without locking. Writers never modify a published
+ * snapshot; they derive a new one and swap it in through {@link RuleRegistry}.
+ *
+ * Active rules are grouped into per-event-type buckets. The bucket for a
+ * type holds the rules scoped to that type merged with the wildcard rules
+ * (no declared types), already in evaluation order, so an event only
+ * touches rules that can fire for it.
+ *
+ * The snapshot also owns the {@link AlphaNetwork} over all active rules,
+ * used by {@link EvaluationMode#NETWORK}, and the {@link AggregateFeeds}
+ * telling which sliding windows of the active rules an event type feeds.
+ */
+public final class RuleSnapshot {
+
+    /**
+     * Evaluation order: lower priority value first, rule name as tie-breaker
+     * so the order is deterministic across rebuilds.
+     */
+    static final Comparator<CompiledRule> EVALUATION_ORDER = Comparator
+            .comparingInt((CompiledRule compiled) -> compiled.getRule().getPriority())
+            .thenComparing(CompiledRule::getName);
+
+    private final long version;
+    private final List<Rule> allRules;
+    private final List<CompiledRule> activeRules;
+    private final AlphaNetwork network;
+    private final RuleBucket wildcardBucket;
+    private final Map<String, RuleBucket> bucketsByEventType;
+    private final Map<String, CompiledRule> rulesByName;
+    private final Set<String> referencedFields;
+    private final AggregateFeeds aggregateFeeds;
+
+    RuleSnapshot(long version, Collection<CompiledRule> rules) {
+        List<CompiledRule> sorted = new ArrayList<>(rules);
+        sorted.sort(EVALUATION_ORDER);
+
+        Map<String, CompiledRule> byName = new LinkedHashMap<>();
+        List<Rule> all = new ArrayList<>();
+        List<CompiledRule> active = new ArrayList<>();
+        for (CompiledRule compiled : sorted) {
+            byName.put(compiled.getName(), compiled);
+            all.add(compiled.getRule());
+            if (compiled.isEvaluable()) {
+                active.add(compiled);
+            }
+        }
+
+        this.version = version;
+        this.allRules = Collections.unmodifiableList(all);
+        this.activeRules = Collections.unmodifiableList(active);
+        this.rulesByName = Collections.unmodifiableMap(byName);
+        Set<String> fields = new LinkedHashSet<>();
+        active.forEach(compiled -> fields.addAll(compiled.getReferencedFields()));
+        this.referencedFields = Collections.unmodifiableSet(fields);
+        List<SlidingWindow> windows = new ArrayList<>();
+        active.forEach(compiled -> windows.addAll(compiled.getWindows()));
+        this.aggregateFeeds = AggregateFeeds.of(windows);
+
+        AlphaNetwork alphaNetwork = new AlphaNetwork();
+        Map<CompiledRule, NetworkCondition> wired = new IdentityHashMap<>();
+        for (CompiledRule compiled : active) {
+            wired.put(compiled, alphaNetwork.add(compiled.getCondition()));
+        }
+        this.network = alphaNetwork.seal();
+
+        this.wildcardBucket = bucket(active, wired, null);
+        this.bucketsByEventType = buildBuckets(active, wired);
+    }
+
+    private static Map<String, RuleBucket> buildBuckets(List<CompiledRule> active,
+            Map<CompiledRule, NetworkCondition> wired) {
+        Set<String> eventTypes = new LinkedHashSet<>();
+        for (CompiledRule compiled : active) {
+            if (!compiled.getRule().appliesToAllEventTypes()) {
+                eventTypes.addAll(compiled.getRule().getEventTypes());
+            }
+        }
+
+        Map<String, RuleBucket> buckets = new HashMap<>();
+        for (String eventType : eventTypes) {
+            buckets.put(eventType, bucket(active, wired, eventType));
+        }
+        return Collections.unmodifiableMap(buckets);
+    }
+
+    /**
+     * Rules that apply to the given event type (wildcard rules only if null),
+     * keeping evaluation order.
+     */
+    private static RuleBucket bucket(List<CompiledRule> active, Map<CompiledRule, NetworkCondition> wired,
+            String eventType) {
+        List<CompiledRule> rules = new ArrayList<>();
+        List<NetworkCondition> network = new ArrayList<>();
+        for (CompiledRule compiled : active) {
+            Rule rule = compiled.getRule();
+            if (eventType != null ? rule.appliesTo(eventType) : rule.appliesToAllEventTypes()) {
+                rules.add(compiled);
+                network.add(wired.get(compiled));
+            }
+        }
+        return new RuleBucket(rules, network.toArray(new NetworkCondition[0]));
+    }
+
+    /**
+     * Creates the empty snapshot published before rules are loaded.
+     */
+    static RuleSnapshot empty() {
+        return new RuleSnapshot(0, List.of());
+    }
+
+    /**
+     * Returns a new snapshot with the given rule added (or replaced by name).
+     */
+    RuleSnapshot withRule(CompiledRule rule) {
+        Map<String, CompiledRule> rules = new LinkedHashMap<>(rulesByName);
+        rules.put(rule.getName(), rule);
+        return new RuleSnapshot(version + 1, rules.values());
+    }
+
+    /**
+     * Returns a new snapshot without the named rule.
+     */
+    RuleSnapshot withoutRule(String ruleName) {
+        Map<String, CompiledRule> rules = new LinkedHashMap<>(rulesByName);
+        rules.remove(ruleName);
+        return new RuleSnapshot(version + 1, rules.values());
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Enabled, successfully compiled rules in evaluation order.
+     */
+    public List<CompiledRule> getActiveRules() {
+        return activeRules;
+    }
+
+    /**
+     * Active rules that can fire for an event of the given type: the rules
+     * scoped to that type plus the wildcard rules, in evaluation order.
+     */
+    public List<CompiledRule> getRulesFor(String eventType) {
+        return getBucketFor(eventType).getRules();
+    }
+
+    /**
+     * Bucket holding the rules that can fire for the given event type.
+     */
+    public RuleBucket getBucketFor(String eventType) {
+        RuleBucket bucket = eventType != null ? bucketsByEventType.get(eventType) : null;
+        return bucket != null ? bucket : wildcardBucket;
+    }
+
+    /**
+     * Payload fields read by any active rule, whatever its event types.
+     */
+    public Set<String> getReferencedFields() {
+        return referencedFields;
+    }
+
+    /**
+     * Whether some rule is scoped to the given event type, i.e. whether the
+     * type has a bucket of its own rather than the wildcard bucket.
+     */
+    public boolean hasBucketFor(String eventType) {
+        return eventType != null && bucketsByEventType.containsKey(eventType);
+    }
+
+    /**
+     * Sliding windows of the active rules' aggregate operands, by the event
+     * type that feeds them.
+     */
+    public AggregateFeeds getAggregateFeeds() {
+        return aggregateFeeds;
+    }
+
+    /**
+     * Alpha network shared by all buckets of this snapshot.
+     */
+    public AlphaNetwork getNetwork() {
+        return network;
+    }
+
+    /**
+     * All rules, including disabled ones, in evaluation order.
+     */
+    public List<Rule> getAllRules() {
+        return allRules;
+    }
+
+    public Optional<Rule> getRule(String name) {
+        CompiledRule compiled = rulesByName.get(name);
+        return compiled != null ? Optional.of(compiled.getRule()) : Optional.empty();
+    }
+
+    /**
+     * Returns the compiled form of a rule, if present.
+     */
+    public Optional<CompiledRule> getCompiledRule(String name) {
+        return Optional.ofNullable(rulesByName.get(name));
+    }
+
+    public int size() {
+        return allRules.size();
+    }
+
+    @Override
+    public String toString() {
+        return "RuleSnapshot{version=" + version + ", rules=" + allRules.size() +
+                ", active=" + activeRules.size() + ", alphaNodes=" + network.size() + "}";
+    }
+}
@@ -0,0 +1,24 @@
+package com.ruleengine.engine;
+
+/**
+ * How much per-rule trace an evaluation records in its result.
+ */
+public enum TraceLevel {
+
+    /**
+     * No trace; only matched rules and actions are reported.
+     */
+    NONE,
+
+    /**
+     * A trace entry for each matched rule.
+     */
+    MATCHES_ONLY,
+
+    /**
+     * A trace entry for every evaluated rule, with a failure reason for each
+     * miss. Reasons are built only when read (e.g. when the result is
+     * serialized), never on the evaluation path itself.
+     */
+    FULL
+}
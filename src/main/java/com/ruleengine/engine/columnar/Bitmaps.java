@@ -0,0 +1,61 @@
+package com.ruleengine.engine.columnar;
+
+import java.util.Arrays;
+
+/**
+ * Helpers for selection bitmaps: one bit per row, packed into longs.
+ */
+final class Bitmaps {
+
+    private Bitmaps() {
+    }
+
+    static int words(int bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    static long[] empty(int bits) {
+        return new long[words(bits)];
+    }
+
+    /**
+     * Bitmap with the first {@code bits} bits set.
+     */
+    static long[] full(int bits) {
+        long[] bitmap = new long[words(bits)];
+        Arrays.fill(bitmap, -1L);
+        if ((bits & 63) != 0) {
+            bitmap[bitmap.length - 1] = (1L << bits) - 1;
+        }
+        return bitmap;
+    }
+
+    static void set(long[] bitmap, int bit) {
+        bitmap[bit >>> 6] |= 1L << bit;
+    }
+
+    static boolean get(long[] bitmap, int bit) {
+        return (bitmap[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    static void and(long[] target, long[] other) {
+        for (int i = 0; i < target.length; i++) {
+            target[i] &= other[i];
+        }
+    }
+
+    static void or(long[] target, long[] other) {
+        for (int i = 0; i < target.length; i++) {
+            target[i] |= other[i];
+        }
+    }
+
+    static boolean isEmpty(long[] bitmap) {
+        for (long word : bitmap) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,105 @@
+package com.ruleengine.engine.columnar;
+
+import com.ruleengine.evaluator.compiled.LeafCondition;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The values of one field across a batch of events.
+ *
+ * Besides the raw values, numbers are stored in a primitive double array
+ * and every value's string form is dictionary-encoded on first use, so
+ * numeric and equality comparisons loop over primitive arrays. Null and
+ * numeric rows are tracked in bitmaps.
+ */
+public final class Column {
+
+    private static final int NULL_CODE = -1;
+    private static final int UNKNOWN_CODE = -2;
+
+    private final Object[] values;
+    private final long[] nulls;
+    private final long[] numeric;
+    private final long[] oversized;
+    private final double[] numbers;
+    private Map<String, Integer> dictionary;
+    private int[] codes;
+
+    Column(Object[] values) {
+        this.values = values;
+        this.nulls = Bitmaps.empty(values.length);
+        this.numeric = Bitmaps.empty(values.length);
+        this.oversized = Bitmaps.empty(values.length);
+        this.numbers = new double[values.length];
+
+        for (int row = 0; row < values.length; row++) {
+            Object value = values[row];
+            if (value == null) {
+                Bitmaps.set(nulls, row);
+            } else if (value instanceof Number) {
+                Bitmaps.set(numeric, row);
+                numbers[row] = ((Number) value).doubleValue();
+            } else if (value instanceof String && ((String) value).length() > LeafCondition.MAX_INPUT_LENGTH) {
+                Bitmaps.set(oversized, row); // Fails every comparison, like in the row engine
+            }
+        }
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    Object value(int row) {
+        return values[row];
+    }
+
+    long[] nulls() {
+        return nulls;
+    }
+
+    long[] numeric() {
+        return numeric;
+    }
+
+    long[] oversized() {
+        return oversized;
+    }
+
+    double[] numbers() {
+        return numbers;
+    }
+
+    /**
+     * Dictionary code of each row's string form (null rows get no code).
+     */
+    int[] codes() {
+        if (codes == null) {
+            encode();
+        }
+        return codes;
+    }
+
+    /**
+     * Dictionary code of a string, or a code no row has if it never occurs.
+     */
+    int code(String text) {
+        if (codes == null) {
+            encode();
+        }
+        Integer code = dictionary.get(text);
+        return code != null ? code : UNKNOWN_CODE;
+    }
+
+    private void encode() {
+        Map<String, Integer> encoded = new HashMap<>();
+        int[] rowCodes = new int[values.length];
+        for (int row = 0; row < values.length; row++) {
+            Object value = values[row];
+            rowCodes[row] = value == null ? NULL_CODE
+                    : encoded.computeIfAbsent(value.toString(), k -> encoded.size());
+        }
+        dictionary = encoded;
+        codes = rowCodes;
+    }
+}
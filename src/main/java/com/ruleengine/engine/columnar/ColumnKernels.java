@@ -0,0 +1,132 @@
+package com.ruleengine.engine.columnar;
+
+import com.ruleengine.evaluator.compiled.LeafCondition;
+
+/**
+ * Column-at-a-time implementations of leaf conditions.
+ *
+ * Each kernel returns the bitmap of rows the leaf holds for, with exactly
+ * the semantics of {@link LeafCondition#testActual(Object, long)}.
+ */
+final class ColumnKernels {
+
+    private ColumnKernels() {
+    }
+
+    /**
+     * @param now Epoch milliseconds a relative date operand resolves against
+     */
+    static long[] select(LeafCondition leaf, Column column, long now) {
+        return switch (leaf.getOperator()) {
+            case GREATER_THAN, GREATER_OR_EQUAL, LESS_THAN, LESS_OR_EQUAL -> compare(leaf, column);
+            case EQUALS -> equals(leaf.getExpectedValue(), column);
+            case NOT_EQUALS -> notEquals(leaf.getExpectedValue(), column);
+            case IN -> in((Iterable<?>) leaf.getExpectedValue(), column);
+            default -> generic(leaf, column, now);
+        };
+    }
+
+    /**
+     * Numeric comparison over the double column; only numeric rows qualify.
+     */
+    private static long[] compare(LeafCondition leaf, Column column) {
+        double threshold = ((Number) leaf.getExpectedValue()).doubleValue();
+        double[] numbers = column.numbers();
+        long[] numeric = column.numeric();
+        long[] rows = new long[numeric.length];
+
+        for (int word = 0; word < numeric.length; word++) {
+            long selected = 0;
+            for (long bits = numeric[word]; bits != 0; bits &= bits - 1) {
+                int bit = Long.numberOfTrailingZeros(bits);
+                int cmp = Double.compare(numbers[(word << 6) + bit], threshold);
+                boolean holds = switch (leaf.getOperator()) {
+                    case GREATER_THAN -> cmp > 0;
+                    case GREATER_OR_EQUAL -> cmp >= 0;
+                    case LESS_THAN -> cmp < 0;
+                    default -> cmp <= 0;
+                };
+                if (holds) {
+                    selected |= 1L << bit;
+                }
+            }
+            rows[word] = selected;
+        }
+        return rows;
+    }
+
+    /**
+     * Rows equal to the constant under the engine's equality: null only
+     * equals null, numbers compare by double value, everything else by
+     * string form. Oversized strings are not excluded here.
+     */
+    private static long[] equalTo(Object expected, Column column) {
+        if (expected == null) {
+            return column.nulls().clone();
+        }
+
+        int size = column.size();
+        long[] rows = Bitmaps.empty(size);
+        boolean numericExpected = expected instanceof Number;
+        double number = numericExpected ? ((Number) expected).doubleValue() : 0;
+        int code = column.code(expected.toString());
+        int[] codes = column.codes();
+        double[] numbers = column.numbers();
+        long[] numeric = column.numeric();
+
+        for (int row = 0; row < size; row++) {
+            boolean equal = numericExpected && Bitmaps.get(numeric, row)
+                    ? numbers[row] == number
+                    : codes[row] == code;
+            if (equal) {
+                Bitmaps.set(rows, row);
+            }
+        }
+        return rows;
+    }
+
+    private static long[] equals(Object expected, Column column) {
+        long[] rows = equalTo(expected, column);
+        clear(rows, column.oversized());
+        return rows;
+    }
+
+    private static long[] notEquals(Object expected, Column column) {
+        long[] rows = Bitmaps.full(column.size());
+        clear(rows, equalTo(expected, column));
+        clear(rows, column.oversized());
+        return rows;
+    }
+
+    /**
+     * A null row never matches 'in', even if the list contains null.
+     */
+    private static long[] in(Iterable<?> items, Column column) {
+        long[] rows = Bitmaps.empty(column.size());
+        for (Object item : items) {
+            Bitmaps.or(rows, equalTo(item, column));
+        }
+        clear(rows, column.nulls());
+        clear(rows, column.oversized());
+        return rows;
+    }
+
+    private static void clear(long[] rows, long[] excluded) {
+        for (int word = 0; word < rows.length; word++) {
+            rows[word] &= ~excluded[word];
+        }
+    }
+
+    /**
+     * Applies the compiled leaf to each value of the column.
+     */
+    private static long[] generic(LeafCondition leaf, Column column, long now) {
+        long[] rows = Bitmaps.empty(column.size());
+        for (int row = 0; row < column.size(); row++) {
+            if (leaf.testActual(column.value(row), now)) {
+                Bitmaps.set(rows, row);
+            }
+        }
+        return rows;
+    }
+}
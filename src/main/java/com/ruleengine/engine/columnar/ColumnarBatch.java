@@ -0,0 +1,76 @@
+package com.ruleengine.engine.columnar;
+
+import com.ruleengine.evaluator.compiled.FieldPath;
+import com.ruleengine.model.Event;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A batch of events transposed into one {@link Column} per field.
+ *
+ * Only the fields the rules read are extracted; each payload is resolved
+ * once per field here, and rule evaluation then works on the columns.
+ */
+public final class ColumnarBatch {
+
+    private final int size;
+    private final Map<String, Column> columns;
+    private final Map<String, long[]> rowsByEventType;
+
+    private ColumnarBatch(int size, Map<String, Column> columns, Map<String, long[]> rowsByEventType) {
+        this.size = size;
+        this.columns = columns;
+        this.rowsByEventType = rowsByEventType;
+    }
+
+    /**
+     * Transposes the events, extracting the given fields.
+     */
+    public static ColumnarBatch of(List<Event> events, Collection<FieldPath> paths) {
+        int size = events.size();
+
+        Map<String, long[]> rowsByEventType = new HashMap<>();
+        for (int row = 0; row < size; row++) {
+            String eventType = events.get(row).getType();
+            if (eventType != null) {
+                Bitmaps.set(rowsByEventType.computeIfAbsent(eventType, k -> Bitmaps.empty(size)), row);
+            }
+        }
+
+        Map<String, Column> columns = new HashMap<>();
+        for (FieldPath path : paths) {
+            if (columns.containsKey(path.getPath())) {
+                continue;
+            }
+            Object[] values = new Object[size];
+            for (int row = 0; row < size; row++) {
+                Map<String, Object> payload = events.get(row).getPayload();
+                values[row] = payload != null ? path.resolve(payload) : null;
+            }
+            columns.put(path.getPath(), new Column(values));
+        }
+        return new ColumnarBatch(size, columns, rowsByEventType);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Column of a field extracted for this batch, or null if it was not.
+     */
+    public Column getColumn(String path) {
+        return columns.get(path);
+    }
+
+    /**
+     * Rows whose event has the given type (shared, do not modify).
+     */
+    long[] rowsOfType(String eventType) {
+        long[] rows = rowsByEventType.get(eventType);
+        return rows != null ? rows : Bitmaps.empty(size);
+    }
+}
@@ -0,0 +1,208 @@
+package com.ruleengine.engine.columnar;
+
+import com.ruleengine.aggregate.AggregateFeeds;
+import com.ruleengine.engine.CompiledRule;
+import com.ruleengine.engine.RuleRegistry;
+import com.ruleengine.engine.RuleSnapshot;
+import com.ruleengine.evaluator.compiled.AggregateCondition;
+import com.ruleengine.evaluator.compiled.AndCondition;
+import com.ruleengine.evaluator.compiled.CompiledCondition;
+import com.ruleengine.evaluator.compiled.FieldPath;
+import com.ruleengine.evaluator.compiled.LeafCondition;
+import com.ruleengine.evaluator.compiled.OrCondition;
+import com.ruleengine.model.Event;
+import com.ruleengine.model.Rule;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Evaluates all active rules against a batch of events column by column.
+ *
+ * The batch is transposed into a {@link ColumnarBatch}; each rule's
+ * condition tree is then evaluated once for the whole batch. Leaves run as
+ * loops over a column and produce selection bitmaps, which AND/OR nodes
+ * combine word by word. Numeric comparisons and equality run on primitive
+ * arrays; other operators apply the compiled leaf to each value of the
+ * column. Identical leaves shared by several rules are evaluated once.
+ *
+ * Aggregate operands depend on the events before them, so they are
+ * evaluated row by row first: each event feeds the windows, then the
+ * operands are read for it, exactly as the row engine does.
+ *
+ * Matches are the same as evaluating each event with the row engine; this
+ * path produces no traces or failure reasons. Intended for offline scoring
+ * and large batches.
+ */
+@Component
+public class ColumnarEvaluator {
+
+    private final RuleRegistry ruleRegistry;
+
+    public ColumnarEvaluator(RuleRegistry ruleRegistry) {
+        this.ruleRegistry = ruleRegistry;
+    }
+
+    /**
+     * Evaluates the events against the current rule snapshot.
+     */
+    public ColumnarResult evaluate(List<Event> events) {
+        return evaluate(ruleRegistry.current(), events);
+    }
+
+    /**
+     * Evaluates the events against the active rules of a snapshot.
+     */
+    public ColumnarResult evaluate(RuleSnapshot snapshot, List<Event> events) {
+        List<CompiledRule> rules = snapshot.getActiveRules();
+        List<FieldPath> paths = new ArrayList<>();
+        for (CompiledRule rule : rules) {
+            collectPaths(rule.getCondition(), paths);
+        }
+
+        ColumnarBatch batch = ColumnarBatch.of(events, paths);
+        // One "now" for relative date conditions across the whole batch
+        long now = System.currentTimeMillis();
+        Map<CompiledCondition, long[]> aggregateRows = aggregate(snapshot.getAggregateFeeds(), rules, events, now);
+        return new ColumnarResult(rules, match(rules, batch, aggregateRows, now));
+    }
+
+    /**
+     * Feeds the events to the aggregate windows in order and selects, for
+     * each aggregate operand, the rows it holds for.
+     */
+    private static Map<CompiledCondition, long[]> aggregate(AggregateFeeds feeds, List<CompiledRule> rules,
+            List<Event> events, long now) {
+        Map<CompiledCondition, long[]> rowsByOperand = new IdentityHashMap<>();
+        if (feeds.isEmpty()) {
+            return rowsByOperand;
+        }
+        for (CompiledRule rule : rules) {
+            collectAggregates(rule.getCondition(), rowsByOperand, events.size());
+        }
+        for (int row = 0; row < events.size(); row++) {
+            Event event = events.get(row);
+            feeds.record(event.getType(), event.getPayload(), now);
+            for (Map.Entry<CompiledCondition, long[]> operand : rowsByOperand.entrySet()) {
+                if (operand.getKey().test(event.getPayload(), now)) {
+                    Bitmaps.set(operand.getValue(), row);
+                }
+            }
+        }
+        return rowsByOperand;
+    }
+
+    private static void collectAggregates(CompiledCondition condition, Map<CompiledCondition, long[]> rows,
+            int size) {
+        if (condition instanceof AggregateCondition) {
+            rows.computeIfAbsent(condition, operand -> Bitmaps.empty(size));
+        } else if (condition instanceof AndCondition) {
+            for (CompiledCondition child : ((AndCondition) condition).getChildren()) {
+                collectAggregates(child, rows, size);
+            }
+        } else if (condition instanceof OrCondition) {
+            for (CompiledCondition child : ((OrCondition) condition).getChildren()) {
+                collectAggregates(child, rows, size);
+            }
+        }
+    }
+
+    /**
+     * Per-event bitmaps of the positions of matching rules.
+     */
+    private static long[][] match(List<CompiledRule> rules, ColumnarBatch batch,
+            Map<CompiledCondition, long[]> aggregateRows, long now) {
+        Map<String, long[]> leafCache = new HashMap<>();
+        long[][] matchesByEvent = new long[batch.size()][Bitmaps.words(rules.size())];
+
+        for (int position = 0; position < rules.size(); position++) {
+            CompiledRule compiled = rules.get(position);
+            long[] scope = scope(compiled.getRule(), batch);
+            if (scope != null && Bitmaps.isEmpty(scope)) {
+                continue;
+            }
+
+            long[] selection = select(compiled.getCondition(), batch, leafCache, aggregateRows, now);
+            if (scope != null) {
+                Bitmaps.and(selection, scope);
+            }
+
+            // Transpose the rule's row selection into per-event rule bitmaps
+            for (int word = 0; word < selection.length; word++) {
+                for (long bits = selection[word]; bits != 0; bits &= bits - 1) {
+                    Bitmaps.set(matchesByEvent[(word << 6) + Long.numberOfTrailingZeros(bits)], position);
+                }
+            }
+        }
+        return matchesByEvent;
+    }
+
+    /**
+     * Rows whose event type the rule applies to, or null for wildcard rules.
+     */
+    private static long[] scope(Rule rule, ColumnarBatch batch) {
+        if (rule.appliesToAllEventTypes()) {
+            return null;
+        }
+        long[] rows = Bitmaps.empty(batch.size());
+        for (String eventType : rule.getEventTypes()) {
+            Bitmaps.or(rows, batch.rowsOfType(eventType));
+        }
+        return rows;
+    }
+
+    private static void collectPaths(CompiledCondition condition, List<FieldPath> paths) {
+        if (condition instanceof LeafCondition) {
+            paths.add(((LeafCondition) condition).getPath());
+        } else if (condition instanceof AndCondition) {
+            for (CompiledCondition child : ((AndCondition) condition).getChildren()) {
+                collectPaths(child, paths);
+            }
+        } else if (condition instanceof OrCondition) {
+            for (CompiledCondition child : ((OrCondition) condition).getChildren()) {
+                collectPaths(child, paths);
+            }
+        }
+    }
+
+    /**
+     * Selection bitmap of the rows satisfying a condition. Always returns a
+     * fresh bitmap the caller may modify.
+     */
+    private static long[] select(CompiledCondition condition, ColumnarBatch batch, Map<String, long[]> leafCache,
+            Map<CompiledCondition, long[]> aggregateRows, long now) {
+        if (condition instanceof LeafCondition leaf) {
+            long[] rows = leafCache.computeIfAbsent(leaf.getKey(),
+                    k -> ColumnKernels.select(leaf, batch.getColumn(leaf.getPath().getPath()), now));
+            return rows.clone();
+        }
+        if (condition instanceof AggregateCondition) {
+            return aggregateRows.get(condition).clone();
+        }
+        if (condition instanceof AndCondition) {
+            long[] rows = Bitmaps.full(batch.size());
+            for (CompiledCondition child : ((AndCondition) condition).getChildren()) {
+                if (Bitmaps.isEmpty(rows)) {
+                    break;
+                }
+                Bitmaps.and(rows, select(child, batch, leafCache, aggregateRows, now));
+            }
+            return rows;
+        }
+        if (condition instanceof OrCondition) {
+            long[] rows = Bitmaps.empty(batch.size());
+            for (CompiledCondition child : ((OrCondition) condition).getChildren()) {
+                Bitmaps.or(rows, select(child, batch, leafCache, aggregateRows, now));
+            }
+            return rows;
+        }
+        if (condition == CompiledCondition.ALWAYS) {
+            return Bitmaps.full(batch.size());
+        }
+        throw new IllegalArgumentException("Unsupported condition node: " + condition);
+    }
+}
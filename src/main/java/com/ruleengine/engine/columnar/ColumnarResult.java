@@ -0,0 +1,58 @@
+package com.ruleengine.engine.columnar;
+
+import com.ruleengine.engine.CompiledRule;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Matches of a columnar evaluation: for every event, a bitmap over the
+ * positions of the evaluated rules (the snapshot's active rules, in
+ * evaluation order).
+ */
+public final class ColumnarResult {
+
+    private final List<CompiledRule> rules;
+    private final long[][] matchesByEvent;
+
+    ColumnarResult(List<CompiledRule> rules, long[][] matchesByEvent) {
+        this.rules = rules;
+        this.matchesByEvent = matchesByEvent;
+    }
+
+    public int getEventCount() {
+        return matchesByEvent.length;
+    }
+
+    /**
+     * Rules the bit positions refer to.
+     */
+    public List<CompiledRule> getRules() {
+        return rules;
+    }
+
+    /**
+     * Matched-rule bitmap of one event (shared, do not modify).
+     */
+    public long[] getMatches(int event) {
+        return matchesByEvent[event];
+    }
+
+    public boolean isMatch(int event, int rulePosition) {
+        return Bitmaps.get(matchesByEvent[event], rulePosition);
+    }
+
+    /**
+     * Names of the rules an event matched, in evaluation order.
+     */
+    public List<String> getMatchedRules(int event) {
+        List<String> names = new ArrayList<>();
+        long[] matches = matchesByEvent[event];
+        for (int word = 0; word < matches.length; word++) {
+            for (long bits = matches[word]; bits != 0; bits &= bits - 1) {
+                names.add(rules.get((word << 6) + Long.numberOfTrailingZeros(bits)).getName());
+            }
+        }
+        return names;
+    }
+}
@@ -0,0 +1,171 @@
+package com.ruleengine.engine.index;
+
+import com.ruleengine.evaluator.compiled.AndCondition;
+import com.ruleengine.evaluator.compiled.CompiledCondition;
+import com.ruleengine.evaluator.compiled.LeafCondition;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Selects the candidate rules of a bucket for one event.
+ *
+ * At build time every rule is assigned at most one guard: a leaf its
+ * condition requires that one of the {@link CandidateIndex} kinds can look
+ * up. Rules without a usable guard are always candidates. Per event, the
+ * candidate set is the unguarded rules plus whatever the indexes return,
+ * as a bitset over bucket positions, so iterating it preserves priority
+ * order.
+ */
+public final class CandidateFilter {
+
+    private final long[] unguarded;
+    private final CandidateIndex[] indexes;
+    private final int guardedRules;
+
+    private CandidateFilter(long[] unguarded, CandidateIndex[] indexes, int guardedRules) {
+        this.unguarded = unguarded;
+        this.indexes = indexes;
+        this.guardedRules = guardedRules;
+    }
+
+    /**
+     * Builds the filter for the given conditions (in bucket order).
+     *
+     * @return The filter, or null if no rule can be guarded by an index
+     */
+    public static CandidateFilter build(List<CompiledCondition> conditions) {
+        long[] unguarded = new long[words(conditions.size())];
+        Map<String, EqualityIndex.Builder> equality = new LinkedHashMap<>();
+        Map<String, RangeIndex.Builder> range = new LinkedHashMap<>();
+        Map<String, StringMatchIndex.Builder> strings = new LinkedHashMap<>();
+        int guarded = 0;
+
+        for (int position = 0; position < conditions.size(); position++) {
+            LeafCondition guard = chooseGuard(conditions.get(position));
+            if (guard == null) {
+                unguarded[position >>> 6] |= 1L << position;
+                continue;
+            }
+            String field = guard.getPath().getPath();
+            if (EqualityIndex.supports(guard)) {
+                equality.computeIfAbsent(field, k -> new EqualityIndex.Builder(guard.getPath())).add(guard, position);
+            } else if (RangeIndex.supports(guard)) {
+                range.computeIfAbsent(field, k -> new RangeIndex.Builder(guard.getPath())).add(guard, position);
+            } else {
+                strings.computeIfAbsent(field, k -> new StringMatchIndex.Builder(guard.getPath()))
+                        .add(guard, position);
+            }
+            guarded++;
+        }
+
+        if (guarded == 0) {
+            return null;
+        }
+
+        List<CandidateIndex> indexes = new ArrayList<>();
+        equality.values().forEach(builder -> indexes.add(builder.build()));
+        range.values().forEach(builder -> indexes.add(builder.build()));
+        strings.values().forEach(builder -> indexes.add(builder.build()));
+        return new CandidateFilter(unguarded, indexes.toArray(new CandidateIndex[0]), guarded);
+    }
+
+    /**
+     * Picks the guard for a rule. Equality guards are preferred since they
+     * are usually the most selective, then numeric ranges, then string
+     * patterns.
+     */
+    private static LeafCondition chooseGuard(CompiledCondition condition) {
+        List<LeafCondition> required = requiredLeaves(condition);
+        for (LeafCondition leaf : required) {
+            if (EqualityIndex.supports(leaf)) {
+                return leaf;
+            }
+        }
+        for (LeafCondition leaf : required) {
+            if (RangeIndex.supports(leaf)) {
+                return leaf;
+            }
+        }
+        for (LeafCondition leaf : required) {
+            if (StringMatchIndex.supports(leaf)) {
+                return leaf;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Leaves that must hold for the condition to match: the condition itself
+     * if it is a leaf, the required leaves of every conjunct of an AND, and
+     * nothing for OR (no single leaf is required).
+     */
+    static List<LeafCondition> requiredLeaves(CompiledCondition condition) {
+        List<LeafCondition> leaves = new ArrayList<>();
+        collectRequired(condition, leaves);
+        return leaves;
+    }
+
+    private static void collectRequired(CompiledCondition condition, List<LeafCondition> leaves) {
+        if (condition instanceof LeafCondition leaf) {
+            leaves.add(leaf);
+        } else if (condition instanceof AndCondition and) {
+            for (CompiledCondition child : and.getChildren()) {
+                collectRequired(child, leaves);
+            }
+        }
+    }
+
+    /**
+     * Returns the candidate bitset for a payload.
+     */
+    public long[] select(Map<String, Object> payload) {
+        long[] candidates = new long[unguarded.length];
+        select(payload, candidates);
+        return candidates;
+    }
+
+    /**
+     * Writes the candidate bitset for a payload into a caller-owned array
+     * of at least {@link #getWords()} longs, so evaluation can reuse it.
+     */
+    public void select(Map<String, Object> payload, long[] candidates) {
+        System.arraycopy(unguarded, 0, candidates, 0, unguarded.length);
+        for (CandidateIndex index : indexes) {
+            index.collect(payload, candidates);
+        }
+    }
+
+    /**
+     * Checks a position in a bitset returned by {@link #select(Map)}.
+     */
+    public static boolean isCandidate(long[] candidates, int position) {
+        return (candidates[position >>> 6] & (1L << position)) != 0;
+    }
+
+    public int getGuardedRules() {
+        return guardedRules;
+    }
+
+    /**
+     * Length of a candidate bitset, in longs.
+     */
+    public int getWords() {
+        return unguarded.length;
+    }
+
+    public int getIndexCount() {
+        return indexes.length;
+    }
+
+    static int words(int bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    @Override
+    public String toString() {
+        return "CandidateFilter{guardedRules=" + guardedRules + ", indexes=" + indexes.length + "}";
+    }
+}
@@ -0,0 +1,20 @@
+package com.ruleengine.engine.index;
+
+import java.util.Map;
+
+/**
+ * Pre-filter over the rules of a bucket.
+ *
+ * Each indexed rule is guarded by one leaf that every match of the rule
+ * requires (the leaf itself, or a conjunct of a top-level AND). An index
+ * sets the candidate bit of every guarded rule whose guard may hold for
+ * the payload. It may over-approximate, never under-approximate: candidates
+ * are still fully evaluated, rules it leaves out cannot match.
+ */
+public interface CandidateIndex {
+
+    /**
+     * Sets the bits (bucket positions) of rules whose guard may be satisfied.
+     */
+    void collect(Map<String, Object> payload, long[] candidates);
+}
@@ -0,0 +1,144 @@
+package com.ruleengine.engine.index;
+
+import com.ruleengine.evaluator.compiled.FieldPath;
+import com.ruleengine.evaluator.compiled.LeafCondition;
+import com.ruleengine.evaluator.compiled.Operator;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hash index over {@code ==} and {@code in} guards on one field.
+ *
+ * Maps each expected value to the rules it guards, so one lookup per event
+ * yields every rule whose equality guard can hold. Keys follow the
+ * interpreter's equality rules: numbers compare by value, everything else
+ * by string form, and a number equals a string with the same text. A
+ * number is therefore keyed both by value and by text, and a numeric
+ * looking string also by its parsed value; the extra keys only widen the
+ * candidate set.
+ */
+public final class EqualityIndex implements CandidateIndex {
+
+    private final FieldPath path;
+    private final Map<String, int[]> byText;
+    private final LongObjectMap<int[]> byNumber;
+
+    private EqualityIndex(FieldPath path, Map<String, int[]> byText, LongObjectMap<int[]> byNumber) {
+        this.path = path;
+        this.byText = byText;
+        this.byNumber = byNumber;
+    }
+
+    /**
+     * Checks if a leaf can guard a rule in this index.
+     */
+    static boolean supports(LeafCondition leaf) {
+        return (leaf.getOperator() == Operator.EQUALS && leaf.getExpectedValue() != null)
+                || leaf.getOperator() == Operator.IN;
+    }
+
+    @Override
+    public void collect(Map<String, Object> payload, long[] candidates) {
+        Object actual = path.resolve(payload);
+        if (actual == null) {
+            return; // Indexed guards never match a missing field
+        }
+        if (actual instanceof Number) {
+            mark(byNumber.get(numberKey(((Number) actual).doubleValue())), candidates);
+        } else {
+            mark(byText.get(actual.toString()), candidates);
+        }
+    }
+
+    private static void mark(int[] positions, long[] candidates) {
+        if (positions != null) {
+            for (int position : positions) {
+                candidates[position >>> 6] |= 1L << position;
+            }
+        }
+    }
+
+    /**
+     * Normalizes a double so that values equal under {@code ==} share a key
+     * (0.0 and -0.0); NaN is canonicalized by doubleToLongBits.
+     */
+    static long numberKey(double value) {
+        return value == 0.0 ? 0L : Double.doubleToLongBits(value);
+    }
+
+    public FieldPath getPath() {
+        return path;
+    }
+
+    @Override
+    public String toString() {
+        return "EqualityIndex{" + path + ", textKeys=" + byText.size() + ", numberKeys=" + byNumber.size() + "}";
+    }
+
+    /**
+     * Collects guards for one field and builds the index.
+     */
+    static final class Builder {
+
+        private final FieldPath path;
+        private final Map<String, List<Integer>> byText = new HashMap<>();
+        private final Map<Long, List<Integer>> byNumber = new HashMap<>();
+
+        Builder(FieldPath path) {
+            this.path = path;
+        }
+
+        void add(LeafCondition leaf, int position) {
+            if (leaf.getOperator() == Operator.IN) {
+                for (Object item : (Iterable<?>) leaf.getExpectedValue()) {
+                    addValue(item, position);
+                }
+            } else {
+                addValue(leaf.getExpectedValue(), position);
+            }
+        }
+
+        private void addValue(Object value, int position) {
+            if (value == null) {
+                return; // Never equal to a present field
+            }
+            String text = value.toString();
+            byText.computeIfAbsent(text, k -> new ArrayList<>()).add(position);
+            if (value instanceof Number) {
+                addNumber(((Number) value).doubleValue(), position);
+            } else if (value instanceof String) {
+                Double parsed = parseNumber(text);
+                if (parsed != null) {
+                    addNumber(parsed, position);
+                }
+            }
+        }
+
+        private void addNumber(double number, int position) {
+            byNumber.computeIfAbsent(numberKey(number), k -> new ArrayList<>()).add(position);
+        }
+
+        private static Double parseNumber(String text) {
+            try {
+                return Double.parseDouble(text);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        EqualityIndex build() {
+            Map<String, int[]> text = new HashMap<>();
+            byText.forEach((key, positions) -> text.put(key, toArray(positions)));
+            LongObjectMap<int[]> numbers = new LongObjectMap<>(byNumber.size());
+            byNumber.forEach((key, positions) -> numbers.put(key, toArray(positions)));
+            return new EqualityIndex(path, text, numbers);
+        }
+
+        private static int[] toArray(List<Integer> positions) {
+            return positions.stream().mapToInt(Integer::intValue).distinct().toArray();
+        }
+    }
+}
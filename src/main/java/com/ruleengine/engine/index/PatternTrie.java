@@ -0,0 +1,159 @@
+package com.ruleengine.engine.index;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Character trie over rule patterns, each pattern tagged with the bucket
+ * positions it guards.
+ *
+ * Used directly for prefix lookups (patterns inserted as-is) and suffix
+ * lookups (patterns inserted reversed). With failure links it is an
+ * Aho-Corasick automaton, reporting every pattern that occurs anywhere in
+ * the input in one left-to-right scan.
+ */
+final class PatternTrie {
+
+    private static final int[] NO_POSITIONS = new int[0];
+
+    private final Node root;
+
+    private PatternTrie(Node root) {
+        this.root = root;
+    }
+
+    /**
+     * Marks the patterns that are a prefix of the text, or a suffix of it
+     * if the trie was built from reversed patterns.
+     */
+    void markPrefixes(String text, boolean reversed, long[] candidates) {
+        Node node = root;
+        mark(node.positions, candidates);
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            node = node.child(text.charAt(reversed ? length - 1 - i : i));
+            if (node == null) {
+                return;
+            }
+            mark(node.positions, candidates);
+        }
+    }
+
+    /**
+     * Marks the patterns that occur anywhere in the text (Aho-Corasick scan).
+     */
+    void markOccurrences(String text, long[] candidates) {
+        mark(root.positions, candidates); // The empty pattern occurs in every text
+        Node node = root;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            Node next = node.child(c);
+            while (next == null && node != root) {
+                node = node.fail;
+                next = node.child(c);
+            }
+            node = next != null ? next : root;
+            for (Node out = node.positions.length > 0 ? node : node.output; out != null; out = out.output) {
+                mark(out.positions, candidates);
+            }
+        }
+    }
+
+    private static void mark(int[] positions, long[] candidates) {
+        for (int position : positions) {
+            candidates[position >>> 6] |= 1L << position;
+        }
+    }
+
+    private static final class Node {
+
+        private char[] labels = new char[0];
+        private Node[] children = new Node[0];
+        private int[] positions = NO_POSITIONS;
+        /** Longest proper suffix of this node's string that is also in the trie. */
+        private Node fail;
+        /** Nearest node on the failure chain that ends a pattern. */
+        private Node output;
+
+        Node child(char c) {
+            int i = Arrays.binarySearch(labels, c);
+            return i >= 0 ? children[i] : null;
+        }
+    }
+
+    /**
+     * Collects patterns and builds the trie.
+     */
+    static final class Builder {
+
+        private final BuildNode root = new BuildNode();
+
+        void add(String pattern, int position, boolean reversed) {
+            BuildNode node = root;
+            int length = pattern.length();
+            for (int i = 0; i < length; i++) {
+                char c = pattern.charAt(reversed ? length - 1 - i : i);
+                node = node.children.computeIfAbsent(c, k -> new BuildNode());
+            }
+            node.positions.add(position);
+        }
+
+        PatternTrie build() {
+            Node built = freeze(root);
+            linkFailures(built);
+            return new PatternTrie(built);
+        }
+
+        private static Node freeze(BuildNode source) {
+            Node node = new Node();
+            node.positions = source.positions.stream().mapToInt(Integer::intValue).toArray();
+            node.labels = new char[source.children.size()];
+            node.children = new Node[source.children.size()];
+            int i = 0;
+            for (Map.Entry<Character, BuildNode> entry : source.children.entrySet()) {
+                node.labels[i] = entry.getKey();
+                node.children[i] = freeze(entry.getValue());
+                i++;
+            }
+            return node;
+        }
+
+        /**
+         * Breadth-first pass setting failure and output links.
+         */
+        private static void linkFailures(Node root) {
+            Deque<Node> queue = new ArrayDeque<>();
+            for (Node child : root.children) {
+                child.fail = root;
+                queue.add(child);
+            }
+            while (!queue.isEmpty()) {
+                Node node = queue.poll();
+                for (int i = 0; i < node.labels.length; i++) {
+                    char c = node.labels[i];
+                    Node child = node.children[i];
+                    Node fallback = node.fail;
+                    while (fallback.child(c) == null && fallback != root) {
+                        fallback = fallback.fail;
+                    }
+                    Node target = fallback.child(c);
+                    child.fail = target != null ? target : root;
+                    // The root's (empty) patterns are reported once per scan, not per character
+                    child.output = child.fail != root && child.fail.positions.length > 0
+                            ? child.fail : child.fail.output;
+                    queue.add(child);
+                }
+            }
+        }
+    }
+
+    private static final class BuildNode {
+        private final Map<Character, BuildNode> children = new TreeMap<>();
+        private final List<Integer> positions = new ArrayList<>();
+    }
+}
@@ -0,0 +1,173 @@
+package com.ruleengine.engine.index;
+
+import com.ruleengine.evaluator.compiled.FieldPath;
+import com.ruleengine.evaluator.compiled.LeafCondition;
+import com.ruleengine.evaluator.compiled.Operator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interval index over {@code >, >=, <, <=} guards on one numeric field.
+ *
+ * Thresholds are kept per operator in primitive double arrays sorted in
+ * {@link Double#compare(double, double)} order, the order the interpreter
+ * compares in. For an actual value x, the satisfied guards of each operator
+ * form a prefix or suffix of its array, found with one binary search, so a
+ * lookup costs O(log n + k) for k satisfied guards.
+ */
+public final class RangeIndex implements CandidateIndex {
+
+    private final FieldPath path;
+    private final Thresholds greaterThan;
+    private final Thresholds greaterOrEqual;
+    private final Thresholds lessThan;
+    private final Thresholds lessOrEqual;
+
+    private RangeIndex(FieldPath path, Thresholds greaterThan, Thresholds greaterOrEqual,
+            Thresholds lessThan, Thresholds lessOrEqual) {
+        this.path = path;
+        this.greaterThan = greaterThan;
+        this.greaterOrEqual = greaterOrEqual;
+        this.lessThan = lessThan;
+        this.lessOrEqual = lessOrEqual;
+    }
+
+    /**
+     * Checks if a leaf can guard a rule in this index.
+     */
+    static boolean supports(LeafCondition leaf) {
+        return switch (leaf.getOperator()) {
+            case GREATER_THAN, GREATER_OR_EQUAL, LESS_THAN, LESS_OR_EQUAL -> true;
+            default -> false;
+        };
+    }
+
+    @Override
+    public void collect(Map<String, Object> payload, long[] candidates) {
+        Object actual = path.resolve(payload);
+        if (!(actual instanceof Number)) {
+            return; // Numeric guards only hold for numbers
+        }
+        double x = ((Number) actual).doubleValue();
+
+        // t < x holds for the prefix before the first t >= x, and so on
+        greaterThan.markPrefix(greaterThan.lowerBound(x), candidates);
+        greaterOrEqual.markPrefix(greaterOrEqual.upperBound(x), candidates);
+        lessThan.markSuffix(lessThan.upperBound(x), candidates);
+        lessOrEqual.markSuffix(lessOrEqual.lowerBound(x), candidates);
+    }
+
+    public FieldPath getPath() {
+        return path;
+    }
+
+    @Override
+    public String toString() {
+        return "RangeIndex{" + path + ", >" + greaterThan.size() + ", >=" + greaterOrEqual.size()
+                + ", <" + lessThan.size() + ", <=" + lessOrEqual.size() + "}";
+    }
+
+    /**
+     * Sorted thresholds of one operator with the bucket positions they guard.
+     */
+    private static final class Thresholds {
+
+        private final double[] values;
+        private final int[] positions;
+
+        Thresholds(List<double[]> entries) {
+            entries.sort((a, b) -> Double.compare(a[0], b[0]));
+            values = new double[entries.size()];
+            positions = new int[entries.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = entries.get(i)[0];
+                positions[i] = (int) entries.get(i)[1];
+            }
+        }
+
+        int size() {
+            return values.length;
+        }
+
+        /**
+         * Index of the first threshold t with compare(t, x) >= 0.
+         */
+        int lowerBound(double x) {
+            int low = 0;
+            int high = values.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (Double.compare(values[mid], x) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Index of the first threshold t with compare(t, x) > 0.
+         */
+        int upperBound(double x) {
+            int low = 0;
+            int high = values.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (Double.compare(values[mid], x) <= 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        void markPrefix(int end, long[] candidates) {
+            for (int i = 0; i < end; i++) {
+                candidates[positions[i] >>> 6] |= 1L << positions[i];
+            }
+        }
+
+        void markSuffix(int start, long[] candidates) {
+            for (int i = start; i < positions.length; i++) {
+                candidates[positions[i] >>> 6] |= 1L << positions[i];
+            }
+        }
+    }
+
+    /**
+     * Collects guards for one field and builds the index.
+     */
+    static final class Builder {
+
+        private final FieldPath path;
+        private final List<double[]> greaterThan = new ArrayList<>();
+        private final List<double[]> greaterOrEqual = new ArrayList<>();
+        private final List<double[]> lessThan = new ArrayList<>();
+        private final List<double[]> lessOrEqual = new ArrayList<>();
+
+        Builder(FieldPath path) {
+            this.path = path;
+        }
+
+        void add(LeafCondition leaf, int position) {
+            double[] entry = { ((Number) leaf.getExpectedValue()).doubleValue(), position };
+            Operator operator = leaf.getOperator();
+            switch (operator) {
+                case GREATER_THAN -> greaterThan.add(entry);
+                case GREATER_OR_EQUAL -> greaterOrEqual.add(entry);
+                case LESS_THAN -> lessThan.add(entry);
+                case LESS_OR_EQUAL -> lessOrEqual.add(entry);
+                default -> throw new IllegalArgumentException("Not a range operator: " + operator);
+            }
+        }
+
+        RangeIndex build() {
+            return new RangeIndex(path, new Thresholds(greaterThan), new Thresholds(greaterOrEqual),
+                    new Thresholds(lessThan), new Thresholds(lessOrEqual));
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.ruleengine.engine.index;
+
+import com.ruleengine.evaluator.compiled.FieldPath;
+import com.ruleengine.evaluator.compiled.LeafCondition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Multi-pattern index over contains, startsWith and endsWith guards on one
+ * field.
+ *
+ * All needles of the field are compiled into one Aho-Corasick automaton and
+ * all prefixes and suffixes into tries, so the field's value is scanned once
+ * per event for each kind instead of once per rule.
+ */
+public final class StringMatchIndex implements CandidateIndex {
+
+    private final FieldPath path;
+    private final PatternTrie needles;
+    private final int[] containsPositions;
+    private final PatternTrie prefixes;
+    private final PatternTrie suffixes;
+
+    private StringMatchIndex(FieldPath path, PatternTrie needles, int[] containsPositions,
+            PatternTrie prefixes, PatternTrie suffixes) {
+        this.path = path;
+        this.needles = needles;
+        this.containsPositions = containsPositions;
+        this.prefixes = prefixes;
+        this.suffixes = suffixes;
+    }
+
+    /**
+     * Checks if a leaf can guard a rule in this index. Contains needs a
+     * string needle; a non-string value only tests list membership.
+     */
+    static boolean supports(LeafCondition leaf) {
+        return switch (leaf.getOperator()) {
+            case CONTAINS -> leaf.getExpectedValue() instanceof String;
+            case STARTS_WITH, ENDS_WITH -> leaf.getExpectedValue() != null;
+            default -> false;
+        };
+    }
+
+    @Override
+    public void collect(Map<String, Object> payload, long[] candidates) {
+        Object actual = path.resolve(payload);
+        if (actual == null) {
+            return;
+        }
+
+        if (actual instanceof String) {
+            needles.markOccurrences((String) actual, candidates);
+        } else if (actual instanceof Iterable) {
+            // Contains on a list tests membership; leave those rules to the evaluator
+            for (int position : containsPositions) {
+                candidates[position >>> 6] |= 1L << position;
+            }
+        }
+
+        String text = actual.toString();
+        prefixes.markPrefixes(text, false, candidates);
+        suffixes.markPrefixes(text, true, candidates);
+    }
+
+    public FieldPath getPath() {
+        return path;
+    }
+
+    @Override
+    public String toString() {
+        return "StringMatchIndex{" + path + ", contains=" + containsPositions.length + "}";
+    }
+
+    /**
+     * Collects guards for one field and builds the index.
+     */
+    static final class Builder {
+
+        private final FieldPath path;
+        private final PatternTrie.Builder needles = new PatternTrie.Builder();
+        private final List<Integer> containsPositions = new ArrayList<>();
+        private final PatternTrie.Builder prefixes = new PatternTrie.Builder();
+        private final PatternTrie.Builder suffixes = new PatternTrie.Builder();
+
+        Builder(FieldPath path) {
+            this.path = path;
+        }
+
+        void add(LeafCondition leaf, int position) {
+            String pattern = leaf.getExpectedValue().toString();
+            switch (leaf.getOperator()) {
+                case CONTAINS -> {
+                    needles.add(pattern, position, false);
+                    containsPositions.add(position);
+                }
+                case STARTS_WITH -> prefixes.add(pattern, position, false);
+                case ENDS_WITH -> suffixes.add(pattern, position, true);
+                default -> throw new IllegalArgumentException("Not a string operator: " + leaf.getOperator());
+            }
+        }
+
+        StringMatchIndex build() {
+            return new StringMatchIndex(path, needles.build(),
+                    containsPositions.stream().mapToInt(Integer::intValue).toArray(),
+                    prefixes.build(), suffixes.build());
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.ruleengine.engine.network;
+
+import com.ruleengine.evaluator.compiled.LeafCondition;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Per-event memo of alpha node results.
+ *
+ * Two bit vectors indexed by alpha node id: one marks nodes already
+ * evaluated for this event, the other holds their results. Each node is
+ * evaluated lazily, at most once per event, however many rules use it.
+ */
+public final class AlphaMemory {
+
+    private final LeafCondition[] nodes;
+    private final long[] evaluated;
+    private final long[] results;
+    private Map<String, Object> payload;
+    private long now;
+
+    AlphaMemory(LeafCondition[] nodes) {
+        this.nodes = nodes;
+        int words = (nodes.length + 63) >>> 6;
+        this.evaluated = new long[words];
+        this.results = new long[words];
+    }
+
+    /**
+     * Prepares the memo for a new event evaluated at {@code now} (epoch
+     * milliseconds).
+     */
+    public AlphaMemory reset(Map<String, Object> payload, long now) {
+        this.payload = payload;
+        this.now = now;
+        Arrays.fill(evaluated, 0L);
+        return this;
+    }
+
+    /**
+     * Returns the result of alpha node {@code id}, evaluating it on first use.
+     */
+    boolean test(int id) {
+        int word = id >>> 6;
+        long bit = 1L << id;
+        if ((evaluated[word] & bit) != 0) {
+            return (results[word] & bit) != 0;
+        }
+        boolean result = nodes[id].test(payload, now);
+        evaluated[word] |= bit;
+        if (result) {
+            results[word] |= bit;
+        } else {
+            results[word] &= ~bit;
+        }
+        return result;
+    }
+
+    public Map<String, Object> getPayload() {
+        return payload;
+    }
+
+    public long getNow() {
+        return now;
+    }
+}
@@ -0,0 +1,117 @@
+package com.ruleengine.engine.network;
+
+import com.ruleengine.evaluator.compiled.AggregateCondition;
+import com.ruleengine.evaluator.compiled.AndCondition;
+import com.ruleengine.evaluator.compiled.CompiledCondition;
+import com.ruleengine.evaluator.compiled.LeafCondition;
+import com.ruleengine.evaluator.compiled.OrCondition;
+import com.ruleengine.exception.RuleEngineException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Discrimination network over the leaf conditions of a rule snapshot.
+ *
+ * Every distinct (field, operator, value) test becomes one alpha node with
+ * a dense id. Rule conditions are rewired into {@link NetworkCondition}
+ * trees that reference those ids, so a test shared by many rules is
+ * evaluated once per event and its result read from the
+ * {@link AlphaMemory}. Cost per event then scales with the number of
+ * distinct predicates actually reached, not with the total rule count.
+ * Aggregate operands read per-key window state rather than the payload
+ * alone and are evaluated in place, not shared.
+ *
+ * Built once per snapshot; immutable afterwards.
+ */
+public final class AlphaNetwork {
+
+    private final List<LeafCondition> nodes = new ArrayList<>();
+    private final Map<String, Integer> idsByKey = new HashMap<>();
+    private int leafReferences;
+    private LeafCondition[] nodeArray;
+
+    /**
+     * Wires a compiled condition into the network, sharing any leaf that is
+     * already present. Must be called before the network is used.
+     */
+    public NetworkCondition add(CompiledCondition condition) {
+        if (nodeArray != null) {
+            throw new IllegalStateException("Network is already sealed");
+        }
+        return wire(condition);
+    }
+
+    private NetworkCondition wire(CompiledCondition condition) {
+        if (condition == CompiledCondition.ALWAYS) {
+            return NetworkCondition.ALWAYS;
+        }
+        if (condition instanceof LeafCondition leaf) {
+            leafReferences++;
+            Integer id = idsByKey.get(leaf.getKey());
+            if (id == null) {
+                id = nodes.size();
+                nodes.add(leaf);
+                idsByKey.put(leaf.getKey(), id);
+            }
+            return new NetworkCondition.AlphaRef(id);
+        }
+        if (condition instanceof AggregateCondition aggregate) {
+            return new NetworkCondition.Direct(aggregate);
+        }
+        if (condition instanceof AndCondition and) {
+            return new NetworkCondition.AllOf(wireAll(and.getChildren()));
+        }
+        if (condition instanceof OrCondition or) {
+            return new NetworkCondition.AnyOf(wireAll(or.getChildren()));
+        }
+        throw new RuleEngineException("Unsupported condition node: " + condition.getClass().getSimpleName());
+    }
+
+    private NetworkCondition[] wireAll(CompiledCondition[] children) {
+        NetworkCondition[] wired = new NetworkCondition[children.length];
+        for (int i = 0; i < children.length; i++) {
+            wired[i] = wire(children[i]);
+        }
+        return wired;
+    }
+
+    /**
+     * Freezes the set of alpha nodes. Called once the snapshot is built.
+     */
+    public AlphaNetwork seal() {
+        nodeArray = nodes.toArray(new LeafCondition[0]);
+        return this;
+    }
+
+    /**
+     * Creates an empty memo sized for this network.
+     */
+    public AlphaMemory newMemory() {
+        if (nodeArray == null) {
+            throw new IllegalStateException("Network is not sealed");
+        }
+        return new AlphaMemory(nodeArray);
+    }
+
+    /**
+     * Number of distinct alpha nodes.
+     */
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Number of leaf conditions across all wired rules, before sharing.
+     */
+    public int getLeafReferences() {
+        return leafReferences;
+    }
+
+    @Override
+    public String toString() {
+        return "AlphaNetwork{nodes=" + nodes.size() + ", leafReferences=" + leafReferences + "}";
+    }
+}
@@ -0,0 +1,110 @@
+package com.ruleengine.engine.network;
+
+import com.ruleengine.evaluator.compiled.CompiledCondition;
+
+/**
+ * A rule's condition wired to shared alpha nodes.
+ *
+ * Leaves are references into the {@link AlphaNetwork}; AND/OR nodes combine
+ * the memoized alpha results with the same short-circuit order as the
+ * compiled condition tree they were built from.
+ */
+public interface NetworkCondition {
+
+    NetworkCondition ALWAYS = memory -> true;
+
+    boolean test(AlphaMemory memory);
+
+    /**
+     * Reference to a single alpha node.
+     */
+    final class AlphaRef implements NetworkCondition {
+
+        private final int id;
+
+        AlphaRef(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public boolean test(AlphaMemory memory) {
+            return memory.test(id);
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        @Override
+        public String toString() {
+            return "#" + id;
+        }
+    }
+
+    /**
+     * A compiled condition evaluated on the payload, outside the alpha
+     * nodes.
+     */
+    final class Direct implements NetworkCondition {
+
+        private final CompiledCondition condition;
+
+        Direct(CompiledCondition condition) {
+            this.condition = condition;
+        }
+
+        @Override
+        public boolean test(AlphaMemory memory) {
+            return condition.test(memory.getPayload(), memory.getNow());
+        }
+
+        @Override
+        public String toString() {
+            return condition.toString();
+        }
+    }
+
+    /**
+     * All children must match.
+     */
+    final class AllOf implements NetworkCondition {
+
+        private final NetworkCondition[] children;
+
+        AllOf(NetworkCondition[] children) {
+            this.children = children;
+        }
+
+        @Override
+        public boolean test(AlphaMemory memory) {
+            for (NetworkCondition child : children) {
+                if (!child.test(memory)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * At least one child must match.
+     */
+    final class AnyOf implements NetworkCondition {
+
+        private final NetworkCondition[] children;
+
+        AnyOf(NetworkCondition[] children) {
+            this.children = children;
+        }
+
+        @Override
+        public boolean test(AlphaMemory memory) {
+            for (NetworkCondition child : children) {
+                if (child.test(memory)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
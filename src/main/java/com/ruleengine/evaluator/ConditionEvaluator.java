@@ -6,10 +6,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
 /**
@@ -25,26 +23,41 @@ public class ConditionEvaluator {
 
     private static final Logger logger = LoggerFactory.getLogger(ConditionEvaluator.class);
 
+    private static final int MAX_CACHED_PATTERNS = 1024;
+
+    /** Compiled "matches" patterns by source; patterns come from rules, not events */
+    private final Map<String, Pattern> patterns = new ConcurrentHashMap<>();
+
     /**
-     * Evaluates a condition against the given payload.
+     * Evaluates a condition against the given payload at the current system
+     * time.
      */
     public EvaluationDetail evaluate(Condition condition, Map<String, Object> payload) {
+        return evaluate(condition, payload, System.currentTimeMillis());
+    }
+
+    /**
+     * Evaluates a condition against the given payload.
+     *
+     * @param now Epoch milliseconds that relative date operands resolve against
+     */
+    public EvaluationDetail evaluate(Condition condition, Map<String, Object> payload, long now) {
         if (condition == null) {
             throw new InvalidConditionException("Condition cannot be null");
         }
 
         if (condition.isSimple()) {
-            return evaluateSimple(condition, payload);
+            return evaluateSimple(condition, payload, now);
         } else if (condition.isAnd()) {
-            return evaluateAnd(condition, payload);
+            return evaluateAnd(condition, payload, now);
         } else if (condition.isOr()) {
-            return evaluateOr(condition, payload);
+            return evaluateOr(condition, payload, now);
         } else {
             throw new InvalidConditionException("Invalid condition: must be simple, AND, or OR");
         }
     }
 
-    private EvaluationDetail evaluateSimple(Condition condition, Map<String, Object> payload) {
+    private EvaluationDetail evaluateSimple(Condition condition, Map<String, Object> payload, long now) {
         String field = condition.getField();
         String op = condition.getOp();
         Object expectedValue = condition.getValue();
@@ -57,7 +70,7 @@ public class ConditionEvaluator {
 
         boolean result;
         try {
-            result = compare(actualValue, op, expectedValue);
+            result = compare(actualValue, op, expectedValue, now);
         } catch (Exception e) {
             return new EvaluationDetail(false, "Error in comparison for field '" + field + "': " + e.getMessage());
         }
@@ -71,9 +84,9 @@ public class ConditionEvaluator {
         }
     }
 
-    private EvaluationDetail evaluateAnd(Condition condition, Map<String, Object> payload) {
+    private EvaluationDetail evaluateAnd(Condition condition, Map<String, Object> payload, long now) {
         for (Condition subCondition : condition.getAll()) {
-            EvaluationDetail result = evaluate(subCondition, payload);
+            EvaluationDetail result = evaluate(subCondition, payload, now);
             if (!result.isMatched()) {
                 return result; // Short-circuit: return failure detail
             }
@@ -81,10 +94,10 @@ public class ConditionEvaluator {
         return new EvaluationDetail(true);
     }
 
-    private EvaluationDetail evaluateOr(Condition condition, Map<String, Object> payload) {
+    private EvaluationDetail evaluateOr(Condition condition, Map<String, Object> payload, long now) {
         StringBuilder failureReasons = new StringBuilder();
         for (Condition subCondition : condition.getAny()) {
-            EvaluationDetail result = evaluate(subCondition, payload);
+            EvaluationDetail result = evaluate(subCondition, payload, now);
             if (result.isMatched()) {
                 return new EvaluationDetail(true); // Short-circuit: return match
             }
@@ -126,7 +139,7 @@ public class ConditionEvaluator {
     private static final int MAX_INPUT_LENGTH = 1000;
 
     @SuppressWarnings("unchecked")
-    private boolean compare(Object actual, String op, Object expected) {
+    private boolean compare(Object actual, String op, Object expected, long now) {
         // Handle null cases
         if (actual == null) {
             return switch (op) {
@@ -154,8 +167,8 @@ public class ConditionEvaluator {
             case "endsWith" -> endsWithCheck(actual, expected);
             case "in" -> inCheck(actual, expected);
             case "matches" -> regexCheck(actual, expected);
-            case "dateBefore" -> dateCheck(actual, expected, "<");
-            case "dateAfter" -> dateCheck(actual, expected, ">");
+            case "dateBefore" -> dateCheck(actual, expected, "<", now);
+            case "dateAfter" -> dateCheck(actual, expected, ">", now);
             default -> throw new InvalidConditionException("Unsupported operator: " + op);
         };
     }
@@ -236,21 +249,30 @@ public class ConditionEvaluator {
     }
 
     private boolean regexCheck(Object actual, Object expected) {
-        return Pattern.matches(expected.toString(), actual.toString());
+        String regex = expected.toString();
+        Pattern pattern = patterns.get(regex);
+        if (pattern == null) {
+            if (patterns.size() >= MAX_CACHED_PATTERNS) {
+                patterns.clear();
+            }
+            pattern = Pattern.compile(regex);
+            patterns.put(regex, pattern);
+        }
+        return pattern.matcher(actual.toString()).matches();
     }
 
-    private boolean dateCheck(Object actual, Object expected, String op) {
-        try {
-            // Attempt to parse as LocalDateTime first (includes time)
-            LocalDateTime actualDt = LocalDateTime.parse(actual.toString(), DateTimeFormatter.ISO_DATE_TIME);
-            LocalDateTime expectedDt = LocalDateTime.parse(expected.toString(), DateTimeFormatter.ISO_DATE_TIME);
-
-            return op.equals(">") ? actualDt.isAfter(expectedDt) : actualDt.isBefore(expectedDt);
-        } catch (Exception e) {
-            // Fallback to LocalDate if LocalDateTime parsing fails (date only)
-            LocalDate actualD = LocalDate.parse(actual.toString());
-            LocalDate expectedD = LocalDate.parse(expected.toString());
-            return op.equals(">") ? actualD.isAfter(expectedD) : actualD.isBefore(expectedD);
+    private boolean dateCheck(Object actual, Object expected, String op, long now) {
+        long relative = expected instanceof String ? Dates.relativeOffset((String) expected) : Dates.INVALID;
+        long expectedMillis = relative != Dates.INVALID
+                ? now + relative
+                : Dates.toEpochMillis(expected);
+        if (expectedMillis == Dates.INVALID) {
+            throw new InvalidConditionException("Invalid date operand: '" + expected + "'");
+        }
+        long actualMillis = Dates.toEpochMillis(actual);
+        if (actualMillis == Dates.INVALID) {
+            throw new InvalidConditionException(Dates.notADate(actual));
         }
+        return op.equals(">") ? actualMillis > expectedMillis : actualMillis < expectedMillis;
     }
 }
@@ -0,0 +1,236 @@
+package com.ruleengine.evaluator;
+
+/**
+ * Parsing of dateBefore / dateAfter operands to epoch milliseconds.
+ *
+ * A date is either a number of milliseconds since the epoch or an ISO-8601
+ * string: {@code 2024-01-01}, {@code 2024-01-01T10:15},
+ * {@code 2024-01-01T10:15:30.250} with an optional {@code Z} or
+ * {@code +03:00} offset. Values without an offset are taken as UTC and
+ * date-only values as midnight. Precision is one millisecond.
+ *
+ * Nothing here throws: invalid input yields {@link #INVALID}, so payloads
+ * with bad dates cost no exception construction.
+ */
+public final class Dates {
+
+    /** Returned for values that are not dates. */
+    public static final long INVALID = Long.MIN_VALUE;
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+    private static final long DAYS_0000_TO_1970 = 719_528L;
+
+    private Dates() {
+    }
+
+    /**
+     * Epoch milliseconds of a number or ISO string, or {@link #INVALID}.
+     */
+    public static long toEpochMillis(Object value) {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof Number) {
+            double millis = ((Number) value).doubleValue();
+            return Double.isFinite(millis) && Math.abs(millis) < 9.0e18 ? (long) Math.floor(millis) : INVALID;
+        }
+        if (value instanceof CharSequence) {
+            return parseIso((CharSequence) value);
+        }
+        return INVALID;
+    }
+
+    /**
+     * Epoch milliseconds of an ISO date or date-time, or {@link #INVALID}.
+     */
+    public static long parseIso(CharSequence text) {
+        int length = text.length();
+        if (length < 10 || text.charAt(4) != '-' || text.charAt(7) != '-') {
+            return INVALID;
+        }
+        int year = digits(text, 0, 4);
+        int month = digits(text, 5, 2);
+        int day = digits(text, 8, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)) {
+            return INVALID;
+        }
+        long millis = epochDay(year, month, day) * MILLIS_PER_DAY;
+        if (length == 10) {
+            return millis;
+        }
+
+        // Time: THH:mm[:ss[.fraction]]
+        if (length < 16 || text.charAt(10) != 'T' || text.charAt(13) != ':') {
+            return INVALID;
+        }
+        int hour = digits(text, 11, 2);
+        int minute = digits(text, 14, 2);
+        if (hour < 0 || hour > 23 || minute < 0 || minute > 59) {
+            return INVALID;
+        }
+        millis += hour * 3_600_000L + minute * 60_000L;
+        int position = 16;
+        if (position < length && text.charAt(position) == ':') {
+            int second = digits(text, position + 1, 2);
+            if (second < 0 || second > 59) {
+                return INVALID;
+            }
+            millis += second * 1000L;
+            position += 3;
+            if (position < length && text.charAt(position) == '.') {
+                int start = ++position;
+                int fraction = 0;
+                while (position < length && isDigit(text.charAt(position))) {
+                    if (position - start < 3) {
+                        fraction = fraction * 10 + text.charAt(position) - '0';
+                    }
+                    position++;
+                }
+                int count = position - start;
+                if (count == 0 || count > 9) {
+                    return INVALID;
+                }
+                for (int i = count; i < 3; i++) {
+                    fraction *= 10;
+                }
+                millis += fraction;
+            }
+        }
+        if (position == length) {
+            return millis;
+        }
+
+        // Offset: Z, +HH, +HHMM or +HH:MM
+        char sign = text.charAt(position);
+        if (sign == 'Z' && position + 1 == length) {
+            return millis;
+        }
+        if (sign != '+' && sign != '-') {
+            return INVALID;
+        }
+        int remaining = length - position - 1;
+        int offsetHours = digits(text, position + 1, 2);
+        int offsetMinutes;
+        if (remaining == 2) {
+            offsetMinutes = 0;
+        } else if (remaining == 4) {
+            offsetMinutes = digits(text, position + 3, 2);
+        } else if (remaining == 5 && text.charAt(position + 3) == ':') {
+            offsetMinutes = digits(text, position + 4, 2);
+        } else {
+            return INVALID;
+        }
+        if (offsetHours < 0 || offsetHours > 18 || offsetMinutes < 0 || offsetMinutes > 59) {
+            return INVALID;
+        }
+        long offset = offsetHours * 3_600_000L + offsetMinutes * 60_000L;
+        return sign == '+' ? millis - offset : millis + offset;
+    }
+
+    /**
+     * True for a relative operand: {@code now}, or {@code now} plus or minus
+     * an amount in ms, s, m, h, d or w, e.g. {@code now-24h}.
+     */
+    public static boolean isRelative(String text) {
+        return relativeOffset(text) != INVALID;
+    }
+
+    /**
+     * Offset from the current time of a relative operand, in milliseconds,
+     * or {@link #INVALID} if the text is not one.
+     */
+    public static long relativeOffset(String text) {
+        if (text == null || !text.startsWith("now")) {
+            return INVALID;
+        }
+        int length = text.length();
+        if (length == 3) {
+            return 0;
+        }
+        char sign = text.charAt(3);
+        if (sign != '+' && sign != '-') {
+            return INVALID;
+        }
+        int position = 4;
+        long amount = 0;
+        while (position < length && isDigit(text.charAt(position))) {
+            if (position - 4 >= 9) {
+                return INVALID;
+            }
+            amount = amount * 10 + text.charAt(position) - '0';
+            position++;
+        }
+        if (position == 4) {
+            return INVALID;
+        }
+        long unit = switch (text.substring(position)) {
+            case "ms" -> 1L;
+            case "s" -> 1000L;
+            case "m" -> 60_000L;
+            case "h" -> 3_600_000L;
+            case "d" -> MILLIS_PER_DAY;
+            case "w" -> 7 * MILLIS_PER_DAY;
+            default -> 0L;
+        };
+        if (unit == 0) {
+            return INVALID;
+        }
+        return sign == '+' ? amount * unit : -amount * unit;
+    }
+
+    /**
+     * Error reported when a payload value is not a date.
+     */
+    public static String notADate(Object value) {
+        return "Not a date: '" + value + "' (expected ISO-8601 or epoch millis)";
+    }
+
+    private static int digits(CharSequence text, int start, int count) {
+        if (start + count > text.length()) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            char c = text.charAt(i);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            value = value * 10 + c - '0';
+        }
+        return value;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> isLeapYear(year) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    private static boolean isLeapYear(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    /**
+     * Same arithmetic as {@link java.time.LocalDate#toEpochDay()} for
+     * non-negative years.
+     */
+    private static long epochDay(int year, int month, int day) {
+        long total = 365L * year;
+        total += (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+        total += (367 * month - 362) / 12;
+        total += day - 1;
+        if (month > 2) {
+            total--;
+            if (!isLeapYear(year)) {
+                total--;
+            }
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+}
@@ -0,0 +1,111 @@
+package com.ruleengine.evaluator.compiled;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Learns a cheaper evaluation order for the children of an AND or OR node.
+ *
+ * A random sample of evaluations runs every child instead of
+ * short-circuiting, timing each one and counting how often it is decisive
+ * (false under AND, true under OR). Every {@code reorderInterval} samples
+ * the children are sorted by expected cost per decision, mean cost divided
+ * by the decisive rate, which is the optimal order for independent
+ * predicates: AND tries the cheapest, most-often-false child first, OR the
+ * cheapest, most-often-true. Children that were never decisive keep their
+ * authored order at the end. Statistics are then halved, so the order
+ * follows drifting traffic.
+ *
+ * Conjunction and disjunction do not depend on operand order and compiled
+ * conditions have no side effects, so reordering never changes a result.
+ * Failure reasons are still built from the authored order by the owning
+ * node.
+ */
+final class AdaptiveOrder {
+
+    private final CompiledCondition[] children;
+    private final boolean conjunction;
+    private final int sampleMask;
+    private final int reorderInterval;
+
+    private final AtomicLongArray costNanos;
+    private final AtomicLongArray decisive;
+    private final AtomicLong samples = new AtomicLong();
+    private volatile CompiledCondition[] order;
+
+    /**
+     * @param conjunction     True for AND, false for OR
+     * @param sampleMask      Profile an evaluation when random bits under
+     *                        this mask are zero (one in mask + 1)
+     * @param reorderInterval Samples between two reorderings
+     */
+    AdaptiveOrder(CompiledCondition[] children, boolean conjunction, int sampleMask, int reorderInterval) {
+        this.children = children;
+        this.conjunction = conjunction;
+        this.sampleMask = sampleMask;
+        this.reorderInterval = Math.max(1, reorderInterval);
+        this.costNanos = new AtomicLongArray(children.length);
+        this.decisive = new AtomicLongArray(children.length);
+        this.order = children;
+    }
+
+    boolean test(Map<String, Object> payload, long now) {
+        if ((ThreadLocalRandom.current().nextInt() & sampleMask) == 0) {
+            return profile(payload, now);
+        }
+        for (CompiledCondition child : order) {
+            if (child.test(payload, now) != conjunction) {
+                return !conjunction;
+            }
+        }
+        return conjunction;
+    }
+
+    private boolean profile(Map<String, Object> payload, long now) {
+        boolean result = conjunction;
+        for (int i = 0; i < children.length; i++) {
+            long start = System.nanoTime();
+            boolean outcome = children[i].test(payload, now);
+            costNanos.addAndGet(i, System.nanoTime() - start);
+            if (outcome != conjunction) {
+                decisive.incrementAndGet(i);
+                result = !conjunction;
+            }
+        }
+        if (samples.incrementAndGet() % reorderInterval == 0) {
+            reorder();
+        }
+        return result;
+    }
+
+    private synchronized void reorder() {
+        double[] rank = new double[children.length];
+        Integer[] positions = new Integer[children.length];
+        for (int i = 0; i < children.length; i++) {
+            long decisions = decisive.get(i);
+            // Expected cost per decisive outcome; +1ns keeps free children ordered by rate
+            rank[i] = decisions > 0
+                    ? (costNanos.get(i) + 1.0) / decisions
+                    : Double.POSITIVE_INFINITY;
+            positions[i] = i;
+            costNanos.set(i, costNanos.get(i) / 2);
+            decisive.set(i, decisions / 2);
+        }
+
+        // Stable sort: ties and never-decisive children keep authored order
+        Arrays.sort(positions, Comparator.comparingDouble(i -> rank[i]));
+        CompiledCondition[] next = new CompiledCondition[children.length];
+        for (int i = 0; i < next.length; i++) {
+            next[i] = children[positions[i]];
+        }
+        order = next;
+    }
+
+    CompiledCondition[] getOrder() {
+        return order.clone();
+    }
+}
@@ -0,0 +1,81 @@
+package com.ruleengine.evaluator.compiled;
+
+import com.ruleengine.aggregate.AggregateFunction;
+import com.ruleengine.aggregate.AggregateSpec;
+import com.ruleengine.aggregate.SlidingWindow;
+
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compares the value of an aggregate operand, e.g.
+ * {@code count(LOGIN_FAILED by userId over 10m) >= 3}, for the key of the
+ * evaluated event. The window is read at the evaluation time; the engine
+ * has already recorded the event itself.
+ *
+ * The comparison is the leaf the operand's condition would compile to,
+ * applied to the aggregate value instead of a field: a count is a long, a
+ * sum or mean a double, and a mean over no events is missing (null).
+ */
+public final class AggregateCondition implements CompiledCondition {
+
+    /**
+     * Operators an aggregate can be compared with.
+     */
+    static final Set<Operator> OPERATORS = EnumSet.of(Operator.EQUALS, Operator.NOT_EQUALS,
+            Operator.GREATER_THAN, Operator.GREATER_OR_EQUAL, Operator.LESS_THAN, Operator.LESS_OR_EQUAL,
+            Operator.IN);
+
+    private final AggregateSpec spec;
+    private final SlidingWindow window;
+    private final LeafCondition comparison;
+    private final String symbol;
+
+    AggregateCondition(AggregateSpec spec, SlidingWindow window, LeafCondition comparison, String symbol) {
+        this.spec = spec;
+        this.window = window;
+        this.comparison = comparison;
+        this.symbol = symbol;
+    }
+
+    @Override
+    public boolean test(Map<String, Object> payload, long now) {
+        double value = window.read(spec.getFunction(), payload, now);
+        if (!Double.isNaN(value) && comparison instanceof NumericConditions.NumericCondition numeric) {
+            return numeric.compare(value);
+        }
+        return comparison.testActual(box(value), now);
+    }
+
+    private Object box(double value) {
+        if (Double.isNaN(value)) {
+            return null;
+        }
+        return spec.getFunction() == AggregateFunction.COUNT ? (Object) (long) value : (Object) value;
+    }
+
+    @Override
+    public String explainFailure(Map<String, Object> payload, long now) {
+        Object actual = box(window.read(spec.getFunction(), payload, now));
+        return String.format("Condition '%s %s %s' failed. Actual: '%s'",
+                spec, symbol, comparison.getExpectedValue(), actual);
+    }
+
+    public AggregateSpec getSpec() {
+        return spec;
+    }
+
+    public Operator getOperator() {
+        return comparison.getOperator();
+    }
+
+    public SlidingWindow getWindow() {
+        return window;
+    }
+
+    @Override
+    public String toString() {
+        return spec + " " + symbol + " " + comparison.expected;
+    }
+}
@@ -0,0 +1,68 @@
+package com.ruleengine.evaluator.compiled;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Conjunction of compiled conditions, evaluated with short-circuit on the
+ * first non-match: left to right, or in a learned order when adaptive
+ * ordering is on (see {@link AdaptiveOrder}). Failure reasons always follow
+ * the authored order.
+ */
+public final class AndCondition implements CompiledCondition {
+
+    private final CompiledCondition[] children;
+    private final AdaptiveOrder adaptiveOrder;
+
+    AndCondition(CompiledCondition[] children) {
+        this(children, null);
+    }
+
+    /**
+     * @param adaptiveOrder Learns the evaluation order, or null to keep the
+     *                      authored order
+     */
+    AndCondition(CompiledCondition[] children, AdaptiveOrder adaptiveOrder) {
+        this.children = children;
+        this.adaptiveOrder = adaptiveOrder;
+    }
+
+    @Override
+    public boolean test(Map<String, Object> payload, long now) {
+        if (adaptiveOrder != null) {
+            return adaptiveOrder.test(payload, now);
+        }
+        for (CompiledCondition child : children) {
+            if (!child.test(payload, now)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String explainFailure(Map<String, Object> payload, long now) {
+        for (CompiledCondition child : children) {
+            if (!child.test(payload, now)) {
+                return child.explainFailure(payload, now);
+            }
+        }
+        return null;
+    }
+
+    public CompiledCondition[] getChildren() {
+        return children.clone();
+    }
+
+    /**
+     * Children in the order {@link #test} currently tries them.
+     */
+    public CompiledCondition[] getEvaluationOrder() {
+        return adaptiveOrder != null ? adaptiveOrder.getOrder() : children.clone();
+    }
+
+    @Override
+    public String toString() {
+        return "AND" + Arrays.toString(children);
+    }
+}
@@ -0,0 +1,65 @@
+package com.ruleengine.evaluator.compiled;
+
+import java.util.Map;
+
+/**
+ * A condition tree compiled from a {@link com.ruleengine.model.Condition}.
+ *
+ * Nodes are immutable and specialized per operator: field paths are split
+ * and constant operands coerced once, when the rule is registered. The
+ * matching semantics are those of
+ * {@link com.ruleengine.evaluator.ConditionEvaluator}, which stays the
+ * reference implementation.
+ */
+public interface CompiledCondition {
+
+    /**
+     * Condition used for rules without a "when" clause.
+     */
+    CompiledCondition ALWAYS = new CompiledCondition() {
+        @Override
+        public boolean test(Map<String, Object> payload, long now) {
+            return true;
+        }
+
+        @Override
+        public String explainFailure(Map<String, Object> payload, long now) {
+            return null;
+        }
+
+        @Override
+        public String toString() {
+            return "ALWAYS";
+        }
+    };
+
+    /**
+     * Evaluates the condition at the current system time.
+     */
+    default boolean test(Map<String, Object> payload) {
+        return test(payload, System.currentTimeMillis());
+    }
+
+    /**
+     * Evaluates the condition. Never throws for type mismatches; a
+     * comparison that cannot be performed simply does not match.
+     *
+     * @param now Epoch milliseconds that relative date operands and aggregate
+     *            windows resolve against
+     */
+    boolean test(Map<String, Object> payload, long now);
+
+    /**
+     * Builds the failure reason at the current system time.
+     */
+    default String explainFailure(Map<String, Object> payload) {
+        return explainFailure(payload, System.currentTimeMillis());
+    }
+
+    /**
+     * Builds the failure reason for a payload this condition does not match
+     * at {@code now}. Only called on the (cold) trace path; the text is
+     * identical to the one produced by the interpreter.
+     */
+    String explainFailure(Map<String, Object> payload, long now);
+}
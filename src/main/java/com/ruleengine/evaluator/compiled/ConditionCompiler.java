@@ -0,0 +1,221 @@
+package com.ruleengine.evaluator.compiled;
+
+import com.ruleengine.aggregate.AggregateSpec;
+import com.ruleengine.aggregate.AggregateStore;
+import com.ruleengine.evaluator.Dates;
+import com.ruleengine.exception.InvalidConditionException;
+import com.ruleengine.model.Condition;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Compiles {@link Condition} trees into {@link CompiledCondition} nodes.
+ *
+ * Runs once per rule when it is registered. Conditions that could never be
+ * evaluated (unknown operator, wrong operand type, malformed tree) are
+ * rejected here with an {@link InvalidConditionException} instead of
+ * failing silently on every event.
+ *
+ * With adaptive ordering on, every AND/OR node learns the order in which to
+ * try its children from the traffic it sees (see {@link AdaptiveOrder}).
+ *
+ * Regex patterns are compiled here too, once per rule, for the configured
+ * {@link RegexEngine}.
+ *
+ * A field written as an aggregate operand (see {@link AggregateSpec})
+ * compiles to an {@link AggregateCondition} over its window in the
+ * {@link AggregateStore}.
+ */
+@Component
+public class ConditionCompiler {
+
+    private final boolean adaptiveOrdering;
+    private final int sampleMask;
+    private final int reorderInterval;
+    private final RegexEngine regexEngine;
+    private final AggregateStore aggregates;
+
+    /**
+     * Creates a compiler that keeps the authored order of AND/OR children.
+     */
+    public ConditionCompiler() {
+        this(false, 64, 1000);
+    }
+
+    public ConditionCompiler(boolean adaptiveOrdering, int sampleRate, int reorderInterval) {
+        this(adaptiveOrdering, sampleRate, reorderInterval, RegexEngine.JDK);
+    }
+
+    public ConditionCompiler(boolean adaptiveOrdering, int sampleRate, int reorderInterval, RegexEngine regexEngine) {
+        this(adaptiveOrdering, sampleRate, reorderInterval, regexEngine, new AggregateStore());
+    }
+
+    /**
+     * @param adaptiveOrdering Reorder AND/OR children by observed cost and
+     *                         selectivity
+     * @param sampleRate       Profile one in this many evaluations of a node,
+     *                         rounded up to a power of two
+     * @param reorderInterval  Profiled evaluations between two reorderings
+     * @param regexEngine      Engine that runs {@code matches} patterns
+     * @param aggregates       Windows of aggregate operands
+     */
+    @Autowired
+    public ConditionCompiler(@Value("${rule-engine.adaptive-ordering.enabled:false}") boolean adaptiveOrdering,
+            @Value("${rule-engine.adaptive-ordering.sample-rate:64}") int sampleRate,
+            @Value("${rule-engine.adaptive-ordering.reorder-interval:1000}") int reorderInterval,
+            @Value("${rule-engine.regex-engine:JDK}") RegexEngine regexEngine, AggregateStore aggregates) {
+        this.adaptiveOrdering = adaptiveOrdering;
+        this.regexEngine = regexEngine;
+        this.aggregates = aggregates;
+        this.sampleMask = sampleRate <= 1 ? 0 : Integer.highestOneBit(sampleRate - 1) * 2 - 1;
+        this.reorderInterval = reorderInterval;
+    }
+
+    /**
+     * Compiles a condition tree. A null condition compiles to
+     * {@link CompiledCondition#ALWAYS}, matching the engine's handling of
+     * rules without a "when" clause.
+     */
+    public CompiledCondition compile(Condition condition) {
+        if (condition == null) {
+            return CompiledCondition.ALWAYS;
+        }
+        return compileNode(condition);
+    }
+
+    private CompiledCondition compileNode(Condition condition) {
+        if (condition == null) {
+            throw new InvalidConditionException("Condition cannot be null");
+        }
+
+        if (condition.isSimple()) {
+            return compileLeaf(condition);
+        } else if (condition.isAnd()) {
+            CompiledCondition[] children = compileChildren(condition.getAll());
+            // A single-child AND is just its child; reasons are identical
+            return children.length == 1 ? children[0] : new AndCondition(children, adaptiveOrder(children, true));
+        } else if (condition.isOr()) {
+            CompiledCondition[] children = compileChildren(condition.getAny());
+            return new OrCondition(children, adaptiveOrder(children, false));
+        } else {
+            throw new InvalidConditionException("Invalid condition: must be simple, AND, or OR");
+        }
+    }
+
+    private AdaptiveOrder adaptiveOrder(CompiledCondition[] children, boolean conjunction) {
+        return adaptiveOrdering && children.length > 1
+                ? new AdaptiveOrder(children, conjunction, sampleMask, reorderInterval)
+                : null;
+    }
+
+    private CompiledCondition[] compileChildren(List<Condition> conditions) {
+        CompiledCondition[] children = new CompiledCondition[conditions.size()];
+        for (int i = 0; i < children.length; i++) {
+            children[i] = compileNode(conditions.get(i));
+        }
+        return children;
+    }
+
+    private CompiledCondition compileLeaf(Condition condition) {
+        String symbol = condition.getOp();
+        Operator operator = Operator.fromSymbol(symbol);
+        if (operator == null) {
+            throw new InvalidConditionException("Unsupported operator: " + symbol);
+        }
+        AggregateSpec aggregate = AggregateSpec.parse(condition.getField());
+        if (aggregate == null) {
+            return compileComparison(condition, operator);
+        }
+        if (!AggregateCondition.OPERATORS.contains(operator)) {
+            throw new InvalidConditionException("Operator '" + symbol + "' cannot be applied to aggregate '"
+                    + aggregate + "'");
+        }
+        LeafCondition comparison = compileComparison(condition, operator);
+        return new AggregateCondition(aggregate, aggregates.window(aggregate), comparison, symbol);
+    }
+
+    private LeafCondition compileComparison(Condition condition, Operator operator) {
+        String symbol = condition.getOp();
+        FieldPath path = new FieldPath(condition.getField());
+        Object value = condition.getValue();
+
+        return switch (operator) {
+            case EQUALS -> new EqualityConditions.Equals(path, symbol, value);
+            case NOT_EQUALS -> new EqualityConditions.NotEquals(path, symbol, value);
+            case GREATER_THAN -> new NumericConditions.GreaterThan(path, symbol, requireNumber(condition));
+            case GREATER_OR_EQUAL -> new NumericConditions.GreaterOrEqual(path, symbol, requireNumber(condition));
+            case LESS_THAN -> new NumericConditions.LessThan(path, symbol, requireNumber(condition));
+            case LESS_OR_EQUAL -> new NumericConditions.LessOrEqual(path, symbol, requireNumber(condition));
+            case CONTAINS -> new StringConditions.Contains(path, symbol, value);
+            case STARTS_WITH -> new StringConditions.StartsWith(path, symbol, requireValue(condition));
+            case ENDS_WITH -> new StringConditions.EndsWith(path, symbol, requireValue(condition));
+            case MATCHES -> new StringConditions.Matches(path, symbol, requireValue(condition), compilePattern(condition));
+            case IN -> new EqualityConditions.In(path, symbol, requireIterable(condition));
+            case DATE_BEFORE -> new DateConditions.Before(path, symbol, requireDate(condition));
+            case DATE_AFTER -> new DateConditions.After(path, symbol, requireDate(condition));
+        };
+    }
+
+    /**
+     * Windows of the aggregate operands compiled so far.
+     */
+    public AggregateStore getAggregates() {
+        return aggregates;
+    }
+
+    private Object requireValue(Condition condition) {
+        if (condition.getValue() == null) {
+            throw new InvalidConditionException(
+                    "Operator '" + condition.getOp() + "' on field '" + condition.getField() + "' requires a value");
+        }
+        return condition.getValue();
+    }
+
+    private Object requireDate(Condition condition) {
+        Object value = requireValue(condition);
+        boolean relative = value instanceof String && Dates.isRelative((String) value);
+        if (!relative && Dates.toEpochMillis(value) == Dates.INVALID) {
+            throw new InvalidConditionException(
+                    "Operator '" + condition.getOp() + "' on field '" + condition.getField()
+                            + "' requires an ISO-8601 date, epoch millis or a relative time such as now-24h");
+        }
+        return value;
+    }
+
+    private Predicate<String> compilePattern(Condition condition) {
+        String regex = condition.getValue().toString();
+        Pattern pattern;
+        try {
+            pattern = Pattern.compile(regex);
+        } catch (PatternSyntaxException e) {
+            throw new InvalidConditionException(
+                    "Invalid regex for field '" + condition.getField() + "': " + e.getMessage(), e);
+        }
+        if (regexEngine == RegexEngine.LINEAR) {
+            return LinearRegex.compile(regex)::matches;
+        }
+        return pattern.asMatchPredicate();
+    }
+
+    private Number requireNumber(Condition condition) {
+        if (!(condition.getValue() instanceof Number)) {
+            throw new InvalidConditionException(
+                    "Operator '" + condition.getOp() + "' on field '" + condition.getField()
+                            + "' requires a numeric value");
+        }
+        return (Number) condition.getValue();
+    }
+
+    private Iterable<?> requireIterable(Condition condition) {
+        if (!(condition.getValue() instanceof Iterable)) {
+            throw new InvalidConditionException("'in' operator requires Iterable expected value");
+        }
+        return (Iterable<?>) condition.getValue();
+    }
+}
@@ -0,0 +1,89 @@
+package com.ruleengine.evaluator.compiled;
+
+/**
+ * A constant operand coerced once at compile time.
+ *
+ * Holds the original value plus its string form and, for numbers, its
+ * primitive double value, so equality checks do not convert the expected
+ * side on every event.
+ */
+final class Constant {
+
+    private final Object value;
+    private final String text;
+    private final boolean numeric;
+    private final double number;
+    private final String key;
+
+    Constant(Object value) {
+        this.value = value;
+        this.text = value != null ? value.toString() : null;
+        this.numeric = value instanceof Number;
+        this.number = numeric ? ((Number) value).doubleValue() : 0;
+        this.key = keyOf(value);
+    }
+
+    /**
+     * Builds a key that is equal for two constants only if they behave the
+     * same in every comparison: the string form alone is not enough, since
+     * 10 and "10" differ under equality, and list elements keep their types.
+     * Each element key is length-prefixed, so an element containing the
+     * separators cannot pass for several elements.
+     */
+    private static String keyOf(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof Iterable) {
+            StringBuilder key = new StringBuilder("[");
+            for (Object item : (Iterable<?>) value) {
+                String itemKey = keyOf(item);
+                key.append(itemKey.length()).append(':').append(itemKey).append(',');
+            }
+            return key.append(']').toString();
+        }
+        return value.getClass().getName() + ':' + value;
+    }
+
+    String key() {
+        return key;
+    }
+
+    Object value() {
+        return value;
+    }
+
+    String text() {
+        return text;
+    }
+
+    boolean isNumeric() {
+        return numeric;
+    }
+
+    double number() {
+        return number;
+    }
+
+    /**
+     * Equality with the interpreter's semantics: numbers compare by double
+     * value, everything else by string form.
+     */
+    boolean matches(Object actual) {
+        if (actual == null) {
+            return value == null;
+        }
+        if (value == null) {
+            return false;
+        }
+        if (numeric && actual instanceof Number) {
+            return ((Number) actual).doubleValue() == number;
+        }
+        return actual.toString().equals(text);
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(value);
+    }
+}
@@ -0,0 +1,79 @@
+package com.ruleengine.evaluator.compiled;
+
+import com.ruleengine.evaluator.Dates;
+
+/**
+ * Leaf nodes for dateBefore and dateAfter.
+ *
+ * The expected date is parsed once, to epoch milliseconds or, for a
+ * relative operand such as {@code now-24h}, to an offset from the
+ * evaluation time. Each event then costs one exception-free parse
+ * of the payload value (see {@link Dates}) and a long comparison.
+ */
+final class DateConditions {
+
+    private DateConditions() {
+    }
+
+    abstract static class DateCondition extends LeafCondition {
+
+        private final boolean after;
+        private final boolean relative;
+        private final long millis;
+
+        /**
+         * @param expected A date or relative operand already validated by
+         *                 {@link ConditionCompiler}
+         */
+        DateCondition(FieldPath path, Operator operator, String symbol, Object expected, boolean after) {
+            super(path, operator, symbol, expected);
+            this.after = after;
+            long offset = expected instanceof String ? Dates.relativeOffset((String) expected) : Dates.INVALID;
+            this.relative = offset != Dates.INVALID;
+            this.millis = relative ? offset : Dates.toEpochMillis(expected);
+        }
+
+        @Override
+        final boolean testValue(Object actual, long now) {
+            long actualMillis = Dates.toEpochMillis(actual);
+            if (actualMillis == Dates.INVALID) {
+                return false;
+            }
+            long expectedMillis = relative ? now + millis : millis;
+            return after ? actualMillis > expectedMillis : actualMillis < expectedMillis;
+        }
+
+        @Override
+        final String describeError(Object actual) {
+            return Dates.toEpochMillis(actual) == Dates.INVALID ? Dates.notADate(actual) : null;
+        }
+
+        /**
+         * True if the operand is relative to the evaluation time.
+         */
+        public boolean isRelative() {
+            return relative;
+        }
+
+        /**
+         * Expected epoch milliseconds, or the offset from now if relative.
+         */
+        public long getMillis() {
+            return millis;
+        }
+    }
+
+    static final class Before extends DateCondition {
+
+        Before(FieldPath path, String symbol, Object expected) {
+            super(path, Operator.DATE_BEFORE, symbol, expected, false);
+        }
+    }
+
+    static final class After extends DateCondition {
+
+        After(FieldPath path, String symbol, Object expected) {
+            super(path, Operator.DATE_AFTER, symbol, expected, true);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.ruleengine.evaluator.compiled;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Leaf nodes for ==, != and in.
+ */
+final class EqualityConditions {
+
+    private EqualityConditions() {
+    }
+
+    static final class Equals extends LeafCondition {
+
+        Equals(FieldPath path, String symbol, Object expected) {
+            super(path, Operator.EQUALS, symbol, expected);
+        }
+
+        @Override
+        boolean testNull() {
+            return expected.value() == null;
+        }
+
+        @Override
+        boolean testValue(Object actual, long now) {
+            return expected.matches(actual);
+        }
+    }
+
+    static final class NotEquals extends LeafCondition {
+
+        NotEquals(FieldPath path, String symbol, Object expected) {
+            super(path, Operator.NOT_EQUALS, symbol, expected);
+        }
+
+        @Override
+        boolean testNull() {
+            return expected.value() != null;
+        }
+
+        @Override
+        boolean testValue(Object actual, long now) {
+            return !expected.matches(actual);
+        }
+    }
+
+    static final class In extends LeafCondition {
+
+        private final Constant[] items;
+
+        In(FieldPath path, String symbol, Iterable<?> expected) {
+            super(path, Operator.IN, symbol, expected);
+            List<Constant> constants = new ArrayList<>();
+            for (Object item : expected) {
+                constants.add(new Constant(item));
+            }
+            this.items = constants.toArray(new Constant[0]);
+        }
+
+        @Override
+        boolean testValue(Object actual, long now) {
+            for (Constant item : items) {
+                if (item.matches(actual)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
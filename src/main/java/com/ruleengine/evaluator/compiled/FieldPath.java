@@ -0,0 +1,85 @@
+package com.ruleengine.evaluator.compiled;
+
+import com.ruleengine.schema.RecordLayout;
+import com.ruleengine.schema.SlotRecord;
+
+import java.util.Map;
+
+/**
+ * A pre-split, dot-separated field reference (e.g. "user.address.city").
+ *
+ * On a {@link SlotRecord} a declared field is read from its slot. The slot
+ * is looked up on first use and cached against the record's layout; a
+ * path used with several layouts keeps the first binding, apart from a
+ * newer layout of the same event type, and looks the others up by name.
+ */
+public final class FieldPath {
+
+    private final String path;
+    private final String[] segments;
+    // Racy but safe: Binding is immutable
+    private Binding binding;
+
+    public FieldPath(String path) {
+        this.path = path;
+        this.segments = path.split("\\.");
+    }
+
+    /**
+     * Resolves the value at this path, or null if any segment is missing
+     * or an intermediate value is not a map.
+     */
+    @SuppressWarnings("unchecked")
+    public Object resolve(Map<String, Object> payload) {
+        if (payload instanceof SlotRecord) {
+            SlotRecord record = (SlotRecord) payload;
+            int slot = slotIn(record.getLayout());
+            if (slot >= 0) {
+                return record.value(slot);
+            }
+            payload = record.getPayload();
+        }
+        if (payload == null) {
+            return null;
+        }
+        Object current = payload.get(segments[0]);
+        for (int i = 1; i < segments.length; i++) {
+            if (!(current instanceof Map)) {
+                return null;
+            }
+            current = ((Map<String, Object>) current).get(segments[i]);
+        }
+        return current;
+    }
+
+    /**
+     * Slot of this path in a layout, or -1 if the layout does not declare it.
+     */
+    public int slotIn(RecordLayout layout) {
+        Binding bound = binding;
+        if (bound != null && bound.layout == layout) {
+            return bound.slot;
+        }
+        int slot = layout.slotOf(path);
+        if (bound == null || bound.layout.getEventType().equals(layout.getEventType())) {
+            binding = new Binding(layout, slot);
+        }
+        return slot;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public String[] getSegments() {
+        return segments.clone();
+    }
+
+    @Override
+    public String toString() {
+        return path;
+    }
+
+    private record Binding(RecordLayout layout, int slot) {
+    }
+}
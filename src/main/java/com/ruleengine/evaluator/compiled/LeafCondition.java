@@ -0,0 +1,131 @@
+package com.ruleengine.evaluator.compiled;
+
+import com.ruleengine.schema.SlotRecord;
+
+import java.util.Map;
+
+/**
+ * Base class for single-field comparisons.
+ *
+ * Handles the parts shared by all operators: resolving the field, null
+ * values and the input length limit. Subclasses only implement the
+ * comparison for a non-null actual value.
+ */
+public abstract class LeafCondition implements CompiledCondition {
+
+    /**
+     * Same limit as the interpreter (ReDoS protection for string operators).
+     */
+    public static final int MAX_INPUT_LENGTH = 1000;
+
+    private static final String TOO_LONG_MESSAGE =
+            "Input string too long for validation (Limit: " + MAX_INPUT_LENGTH + ")";
+
+    protected final FieldPath path;
+    protected final Operator operator;
+    protected final Constant expected;
+    private final String symbol;
+
+    LeafCondition(FieldPath path, Operator operator, String symbol, Object expected) {
+        this.path = path;
+        this.operator = operator;
+        this.symbol = symbol;
+        this.expected = new Constant(expected);
+    }
+
+    @Override
+    public final boolean test(Map<String, Object> payload, long now) {
+        if (payload instanceof SlotRecord) {
+            return testRecord((SlotRecord) payload, now);
+        }
+        return testActual(path.resolve(payload), now);
+    }
+
+    /**
+     * Evaluates against a schema-decoded payload. Operators with a faster
+     * form for typed slots override this; the result must be the same as
+     * {@code testActual(path.resolve(record), now)}.
+     */
+    boolean testRecord(SlotRecord record, long now) {
+        return testActual(path.resolve(record), now);
+    }
+
+    /**
+     * Applies this comparison to an already resolved field value.
+     *
+     * @param now Epoch milliseconds a relative date operand resolves against
+     */
+    public final boolean testActual(Object actual, long now) {
+        if (actual == null) {
+            return testNull();
+        }
+        if (actual instanceof String && ((String) actual).length() > MAX_INPUT_LENGTH) {
+            return false;
+        }
+        return testValue(actual, now);
+    }
+
+    /**
+     * Result for a missing (null) field. Only equality operators can match.
+     */
+    boolean testNull() {
+        return false;
+    }
+
+    /**
+     * Compares a non-null value that passed the length check.
+     */
+    abstract boolean testValue(Object actual, long now);
+
+    /**
+     * Returns the error message the interpreter would report for this value,
+     * or null if the comparison is well-defined and simply false.
+     */
+    String describeError(Object actual) {
+        return null;
+    }
+
+    @Override
+    public String explainFailure(Map<String, Object> payload, long now) {
+        Object actual = path.resolve(payload);
+        String error = null;
+        if (actual != null) {
+            if (actual instanceof String && ((String) actual).length() > MAX_INPUT_LENGTH) {
+                error = TOO_LONG_MESSAGE;
+            } else {
+                error = describeError(actual);
+            }
+        }
+        if (error != null) {
+            return "Error in comparison for field '" + path + "': " + error;
+        }
+        return String.format("Condition '%s %s %s' failed. Actual: '%s'",
+                path, symbol, expected.value(), actual);
+    }
+
+    public FieldPath getPath() {
+        return path;
+    }
+
+    public Operator getOperator() {
+        return operator;
+    }
+
+    public Object getExpectedValue() {
+        return expected.value();
+    }
+
+    /**
+     * Identity of the test this leaf performs: two leaves with equal keys
+     * always return the same result for the same payload, so they can be
+     * evaluated once and shared across rules.
+     */
+    public String getKey() {
+        return path.getPath() + '\u0000' + operator.name() + '\u0000' + expected.key();
+    }
+
+    @Override
+    public String toString() {
+        return path + " " + symbol + " " + expected;
+    }
+}
@@ -0,0 +1,659 @@
+package com.ruleengine.evaluator.compiled;
+
+import com.ruleengine.exception.InvalidConditionException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A regular expression matcher whose running time is linear in the input.
+ *
+ * The pattern is compiled to a Thompson NFA and run as a set of states
+ * advanced one code point at a time, so each input character costs at most
+ * one step per NFA state and nothing backtracks: {@code (a+)+b} on a
+ * thousand {@code a}s is a thousand steps, not 2^1000.
+ *
+ * Supports the part of Java's syntax that needs no backtracking: literals
+ * and escaped metacharacters, {@code .}, classes with ranges and negation,
+ * {@code \d \w \s} and their negations, {@code ^ $}, capturing,
+ * non-capturing and named groups, alternation, and greedy or reluctant
+ * {@code * + ? {n} {n,} {n,m}}. Within that subset, {@link #matches} gives
+ * the same answer as {@link java.util.regex.Pattern#matches}, including the
+ * line-terminator rules of {@code .} and {@code $}. Anything else
+ * (backreferences, lookaround, possessive quantifiers, inline flags,
+ * nested classes, {@code \b} and other letter escapes, anchors inside a
+ * repeated group) is rejected by {@link #compile}.
+ *
+ * Patterns must already be valid Java patterns; {@link #compile} does not
+ * report syntax errors precisely.
+ */
+final class LinearRegex {
+
+    /** Largest accepted program, in instructions; counted repetition is expanded. */
+    static final int MAX_PROGRAM_SIZE = 10_000;
+
+    private static final int MAX_CODE_POINT = Character.MAX_CODE_POINT;
+
+    private static final int CHAR = 0;
+    private static final int CLASS = 1;
+    private static final int SPLIT = 2;
+    private static final int JUMP = 3;
+    private static final int BEGIN = 4;
+    private static final int END = 5;
+    private static final int MATCH = 6;
+
+    private static final int[] DIGIT = { '0', '9' };
+    private static final int[] WORD = { '0', '9', 'A', 'Z', '_', '_', 'a', 'z' };
+    private static final int[] SPACE = { '\t', '\r', ' ', ' ' };
+    // Everything but Java's line terminators: \n \r U+0085 U+2028 U+2029
+    private static final int[] DOT = complement(new int[] { '\n', '\n', '\r', '\r', 0x85, 0x85, 0x2028, 0x2029 });
+
+    private final String pattern;
+    private final int[] op;
+    private final int[] arg1;
+    private final int[] arg2;
+    private final int[][] classes;
+
+    private LinearRegex(String pattern, Program program) {
+        this.pattern = pattern;
+        this.op = Arrays.copyOf(program.op, program.size);
+        this.arg1 = Arrays.copyOf(program.arg1, program.size);
+        this.arg2 = Arrays.copyOf(program.arg2, program.size);
+        this.classes = program.classes.toArray(new int[0][]);
+    }
+
+    /**
+     * Compiles a pattern, rejecting it with an
+     * {@link InvalidConditionException} if it uses a feature outside the
+     * supported subset.
+     */
+    static LinearRegex compile(String pattern) {
+        Node root = new Parser(pattern).parse();
+        Program program = new Program(pattern);
+        program.emit(root);
+        program.add(MATCH, 0, 0);
+        return new LinearRegex(pattern, program);
+    }
+
+    /**
+     * True if the whole input matches the pattern.
+     */
+    boolean matches(CharSequence input) {
+        int length = input.length();
+        int size = op.length;
+        int[] current = new int[size];
+        int[] next = new int[size];
+        int[] mark = new int[size];
+        int[] stack = new int[size];
+
+        int generation = 1;
+        int count = follow(0, 0, input, current, 0, mark, generation, stack);
+        int position = 0;
+        while (count > 0) {
+            if (position == length) {
+                for (int i = 0; i < count; i++) {
+                    if (op[current[i]] == MATCH) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            int codePoint = Character.codePointAt(input, position);
+            int nextPosition = position + Character.charCount(codePoint);
+            generation++;
+            int nextCount = 0;
+            for (int i = 0; i < count; i++) {
+                int pc = current[i];
+                boolean step = switch (op[pc]) {
+                    case CHAR -> codePoint == arg1[pc];
+                    case CLASS -> contains(classes[arg1[pc]], codePoint);
+                    default -> false;
+                };
+                if (step) {
+                    nextCount = follow(pc + 1, nextPosition, input, next, nextCount, mark, generation, stack);
+                }
+            }
+
+            int[] swap = current;
+            current = next;
+            next = swap;
+            count = nextCount;
+            position = nextPosition;
+        }
+        return false;
+    }
+
+    /**
+     * Adds the states reachable from {@code start} without consuming input
+     * to {@code list}, following jumps, splits and assertions that hold at
+     * {@code position}. Returns the new list size.
+     */
+    private int follow(int start, int position, CharSequence input, int[] list, int count,
+            int[] mark, int generation, int[] stack) {
+        int top = 0;
+        if (mark[start] != generation) {
+            mark[start] = generation;
+            stack[top++] = start;
+        }
+        while (top > 0) {
+            int pc = stack[--top];
+            int successor = -1;
+            int alternative = -1;
+            switch (op[pc]) {
+                case JUMP -> successor = arg1[pc];
+                case SPLIT -> {
+                    successor = arg1[pc];
+                    alternative = arg2[pc];
+                }
+                case BEGIN -> successor = position == 0 ? pc + 1 : -1;
+                case END -> successor = atEnd(input, position) ? pc + 1 : -1;
+                default -> list[count++] = pc;
+            }
+            if (alternative >= 0 && mark[alternative] != generation) {
+                mark[alternative] = generation;
+                stack[top++] = alternative;
+            }
+            if (successor >= 0 && mark[successor] != generation) {
+                mark[successor] = generation;
+                stack[top++] = successor;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Java's {@code $} without MULTILINE: the end of input, or just before
+     * a line terminator that ends it.
+     */
+    private static boolean atEnd(CharSequence input, int position) {
+        int length = input.length();
+        if (position == length) {
+            return true;
+        }
+        if (position == length - 2) {
+            return input.charAt(position) == '\r' && input.charAt(position + 1) == '\n';
+        }
+        if (position != length - 1) {
+            return false;
+        }
+        char c = input.charAt(position);
+        if (c == '\n') {
+            // Not between the two characters of \r\n
+            return position == 0 || input.charAt(position - 1) != '\r';
+        }
+        return c == '\r' || c == '\u0085' || (c | 1) == '\u2029';
+    }
+
+    private static boolean contains(int[] ranges, int codePoint) {
+        for (int i = 0; i < ranges.length; i += 2) {
+            if (codePoint < ranges[i]) {
+                return false;
+            }
+            if (codePoint <= ranges[i + 1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sorts and merges a list of inclusive [low, high] pairs.
+     */
+    private static int[] normalize(List<int[]> items) {
+        List<int[]> sorted = new ArrayList<>(items);
+        sorted.sort((a, b) -> Integer.compare(a[0], b[0]));
+        int[] ranges = new int[sorted.size() * 2];
+        int size = 0;
+        for (int[] item : sorted) {
+            if (size > 0 && item[0] <= ranges[size - 1] + 1) {
+                ranges[size - 1] = Math.max(ranges[size - 1], item[1]);
+            } else {
+                ranges[size++] = item[0];
+                ranges[size++] = item[1];
+            }
+        }
+        return Arrays.copyOf(ranges, size);
+    }
+
+    private static int[] complement(int[] ranges) {
+        int[] result = new int[ranges.length + 2];
+        int size = 0;
+        int low = 0;
+        for (int i = 0; i < ranges.length; i += 2) {
+            if (ranges[i] > low) {
+                result[size++] = low;
+                result[size++] = ranges[i] - 1;
+            }
+            low = ranges[i + 1] + 1;
+        }
+        if (low <= MAX_CODE_POINT) {
+            result[size++] = low;
+            result[size++] = MAX_CODE_POINT;
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    String getPattern() {
+        return pattern;
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+
+    private static InvalidConditionException unsupported(String pattern, String feature) {
+        return new InvalidConditionException(
+                "Regex '" + pattern + "' is not supported by the linear regex engine: " + feature);
+    }
+
+    // --- Syntax tree ---
+
+    private sealed interface Node permits Literal, CharClass, Begin, End, Sequence, Alternation, Repeat {
+    }
+
+    private record Literal(int codePoint) implements Node {
+    }
+
+    private record CharClass(int[] ranges) implements Node {
+    }
+
+    private record Begin() implements Node {
+    }
+
+    private record End() implements Node {
+    }
+
+    private record Sequence(List<Node> items) implements Node {
+    }
+
+    private record Alternation(List<Node> alternatives) implements Node {
+    }
+
+    /** {@code max} is -1 for unbounded. */
+    private record Repeat(Node body, int min, int max) implements Node {
+    }
+
+    /**
+     * Recursive-descent parser over the pattern's code points.
+     */
+    private static final class Parser {
+
+        private static final int MAX_COUNT = 1000;
+
+        private final String pattern;
+        private final int[] input;
+        private int position;
+
+        Parser(String pattern) {
+            this.pattern = pattern;
+            this.input = pattern.codePoints().toArray();
+        }
+
+        Node parse() {
+            Node root = alternation();
+            if (position < input.length) {
+                throw unsupported(pattern, "unbalanced ')'");
+            }
+            return root;
+        }
+
+        private Node alternation() {
+            List<Node> alternatives = new ArrayList<>();
+            alternatives.add(sequence());
+            while (peek('|')) {
+                position++;
+                alternatives.add(sequence());
+            }
+            return alternatives.size() == 1 ? alternatives.get(0) : new Alternation(alternatives);
+        }
+
+        private Node sequence() {
+            List<Node> items = new ArrayList<>();
+            while (position < input.length && input[position] != '|' && input[position] != ')') {
+                items.add(quantified(atom()));
+            }
+            return items.size() == 1 ? items.get(0) : new Sequence(items);
+        }
+
+        private Node atom() {
+            int c = input[position++];
+            return switch (c) {
+                case '(' -> group();
+                case '[' -> new CharClass(charClass());
+                case '.' -> new CharClass(DOT);
+                case '^' -> new Begin();
+                case '$' -> new End();
+                case '\\' -> set(escape());
+                case '*', '+', '?', '{' -> throw unsupported(pattern, "dangling quantifier");
+                default -> new Literal(c);
+            };
+        }
+
+        private Node group() {
+            if (peek('?')) {
+                position++;
+                if (peek(':')) {
+                    position++;
+                } else if (peek('<') && position + 1 < input.length
+                        && input[position + 1] != '=' && input[position + 1] != '!') {
+                    // Named group: the name does not affect matching
+                    while (position < input.length && input[position] != '>') {
+                        position++;
+                    }
+                    position++;
+                } else {
+                    throw unsupported(pattern, "lookaround, inline flags and other (?...) groups");
+                }
+            }
+            Node body = alternation();
+            if (!peek(')')) {
+                throw unsupported(pattern, "unbalanced '('");
+            }
+            position++;
+            return body;
+        }
+
+        private Node quantified(Node atom) {
+            if (position >= input.length) {
+                return atom;
+            }
+            int min;
+            int max;
+            switch (input[position]) {
+                case '*' -> {
+                    min = 0;
+                    max = -1;
+                }
+                case '+' -> {
+                    min = 1;
+                    max = -1;
+                }
+                case '?' -> {
+                    min = 0;
+                    max = 1;
+                }
+                case '{' -> {
+                    return counted(atom);
+                }
+                default -> {
+                    return atom;
+                }
+            }
+            position++;
+            return repeat(atom, min, max);
+        }
+
+        private Node counted(Node atom) {
+            position++;
+            int min = number();
+            int max = min;
+            if (peek(',')) {
+                position++;
+                max = peek('}') ? -1 : number();
+            }
+            if (!peek('}')) {
+                throw unsupported(pattern, "malformed {n,m} repetition");
+            }
+            position++;
+            return repeat(atom, min, max);
+        }
+
+        private int number() {
+            int start = position;
+            long value = 0;
+            while (position < input.length && input[position] >= '0' && input[position] <= '9') {
+                value = Math.min(value * 10 + input[position] - '0', Integer.MAX_VALUE);
+                position++;
+            }
+            if (position == start) {
+                throw unsupported(pattern, "malformed {n,m} repetition");
+            }
+            if (value > MAX_COUNT) {
+                throw unsupported(pattern, "repetition count above " + MAX_COUNT);
+            }
+            return (int) value;
+        }
+
+        private Node repeat(Node atom, int min, int max) {
+            // java.util.regex leaves a loop after an iteration that matched
+            // nothing, which differs from the NFA only when that empty match
+            // depends on position
+            if (max != 1 && containsAnchor(atom)) {
+                throw unsupported(pattern, "anchor inside a repeated group");
+            }
+            // Reluctant quantifiers accept the same inputs as greedy ones
+            if (peek('?')) {
+                position++;
+            } else if (peek('+')) {
+                throw unsupported(pattern, "possessive quantifier");
+            }
+            if (position < input.length && "*+?{".indexOf(input[position]) >= 0) {
+                throw unsupported(pattern, "repeated quantifier");
+            }
+            return new Repeat(atom, min, max);
+        }
+
+        private int[] charClass() {
+            boolean negated = peek('^');
+            if (negated) {
+                position++;
+            }
+            if (peek(']')) {
+                throw unsupported(pattern, "']' at the start of a class");
+            }
+            List<int[]> items = new ArrayList<>();
+            while (true) {
+                if (position >= input.length) {
+                    throw unsupported(pattern, "unclosed class");
+                }
+                int c = input[position++];
+                if (c == ']') {
+                    break;
+                }
+                if (c == '[') {
+                    throw unsupported(pattern, "nested class or union");
+                }
+                if (c == '&' && peek('&')) {
+                    throw unsupported(pattern, "class intersection");
+                }
+                int[] item = c == '\\' ? escape() : new int[] { c, c };
+                if (peek('-') && position + 1 < input.length && input[position + 1] != ']') {
+                    position++;
+                    int h = input[position++];
+                    if (h == '[') {
+                        throw unsupported(pattern, "nested class or union");
+                    }
+                    int[] high = h == '\\' ? escape() : new int[] { h, h };
+                    if (!single(item) || !single(high)) {
+                        throw unsupported(pattern, "range bounded by a class");
+                    }
+                    item = new int[] { item[0], high[0] };
+                }
+                for (int i = 0; i < item.length; i += 2) {
+                    items.add(new int[] { item[i], item[i + 1] });
+                }
+            }
+            int[] ranges = normalize(items);
+            return negated ? complement(ranges) : ranges;
+        }
+
+        /**
+         * Parses the escape after a backslash into a set of ranges.
+         */
+        private int[] escape() {
+            if (position >= input.length) {
+                throw unsupported(pattern, "trailing backslash");
+            }
+            int c = input[position++];
+            return switch (c) {
+                case 'd' -> DIGIT;
+                case 'D' -> complement(DIGIT);
+                case 'w' -> WORD;
+                case 'W' -> complement(WORD);
+                case 's' -> SPACE;
+                case 'S' -> complement(SPACE);
+                case 't' -> new int[] { '\t', '\t' };
+                case 'n' -> new int[] { '\n', '\n' };
+                case 'r' -> new int[] { '\r', '\r' };
+                case 'f' -> new int[] { '\f', '\f' };
+                case 'a' -> new int[] { 7, 7 };
+                case 'e' -> new int[] { 27, 27 };
+                case 'x' -> hexEscape();
+                case 'u' -> {
+                    int value = hex(4);
+                    yield new int[] { value, value };
+                }
+                default -> {
+                    if (Character.isLetterOrDigit(c)) {
+                        throw unsupported(pattern, "escape \\" + Character.toString(c));
+                    }
+                    yield new int[] { c, c };
+                }
+            };
+        }
+
+        private int[] hexEscape() {
+            int value;
+            if (peek('{')) {
+                position++;
+                int start = position;
+                while (position < input.length && input[position] != '}') {
+                    position++;
+                }
+                int end = position;
+                position = start;
+                value = hex(end - start);
+                position++;
+            } else {
+                value = hex(2);
+            }
+            return new int[] { value, value };
+        }
+
+        private int hex(int digits) {
+            if (digits < 1 || digits > 6 || position + digits > input.length) {
+                throw unsupported(pattern, "malformed hexadecimal escape");
+            }
+            int value = 0;
+            for (int i = 0; i < digits; i++) {
+                int digit = Character.digit(input[position++], 16);
+                if (digit < 0) {
+                    throw unsupported(pattern, "malformed hexadecimal escape");
+                }
+                value = value * 16 + digit;
+            }
+            if (value > MAX_CODE_POINT) {
+                throw unsupported(pattern, "malformed hexadecimal escape");
+            }
+            return value;
+        }
+
+        private static boolean containsAnchor(Node node) {
+            return switch (node) {
+                case Begin begin -> true;
+                case End end -> true;
+                case Sequence sequence -> sequence.items().stream().anyMatch(Parser::containsAnchor);
+                case Alternation alternation -> alternation.alternatives().stream().anyMatch(Parser::containsAnchor);
+                case Repeat repeat -> containsAnchor(repeat.body());
+                default -> false;
+            };
+        }
+
+        private Node set(int[] ranges) {
+            return single(ranges) ? new Literal(ranges[0]) : new CharClass(ranges);
+        }
+
+        private static boolean single(int[] ranges) {
+            return ranges.length == 2 && ranges[0] == ranges[1];
+        }
+
+        private boolean peek(int c) {
+            return position < input.length && input[position] == c;
+        }
+    }
+
+    /**
+     * Growable instruction arrays for the NFA under construction.
+     */
+    private static final class Program {
+
+        private final String pattern;
+        private int[] op = new int[16];
+        private int[] arg1 = new int[16];
+        private int[] arg2 = new int[16];
+        private int size;
+        private final List<int[]> classes = new ArrayList<>();
+
+        Program(String pattern) {
+            this.pattern = pattern;
+        }
+
+        void emit(Node node) {
+            switch (node) {
+                case Literal literal -> add(CHAR, literal.codePoint(), 0);
+                case CharClass charClass -> {
+                    classes.add(charClass.ranges());
+                    add(CLASS, classes.size() - 1, 0);
+                }
+                case Begin begin -> add(BEGIN, 0, 0);
+                case End end -> add(END, 0, 0);
+                case Sequence sequence -> sequence.items().forEach(this::emit);
+                case Alternation alternation -> emitAlternation(alternation.alternatives());
+                case Repeat repeat -> emitRepeat(repeat);
+            }
+        }
+
+        private void emitAlternation(List<Node> alternatives) {
+            List<Integer> exits = new ArrayList<>();
+            for (int i = 0; i < alternatives.size() - 1; i++) {
+                int split = add(SPLIT, size + 1, 0);
+                emit(alternatives.get(i));
+                exits.add(add(JUMP, 0, 0));
+                arg2[split] = size;
+            }
+            emit(alternatives.get(alternatives.size() - 1));
+            for (int exit : exits) {
+                arg1[exit] = size;
+            }
+        }
+
+        private void emitRepeat(Repeat repeat) {
+            for (int i = 0; i < repeat.min(); i++) {
+                emit(repeat.body());
+            }
+            if (repeat.max() < 0) {
+                int loop = add(SPLIT, size + 1, 0);
+                emit(repeat.body());
+                add(JUMP, loop, 0);
+                arg2[loop] = size;
+                return;
+            }
+            List<Integer> splits = new ArrayList<>();
+            for (int i = repeat.min(); i < repeat.max(); i++) {
+                splits.add(add(SPLIT, size + 1, 0));
+                emit(repeat.body());
+            }
+            for (int split : splits) {
+                arg2[split] = size;
+            }
+        }
+
+        int add(int code, int first, int second) {
+            if (size == MAX_PROGRAM_SIZE) {
+                throw unsupported(pattern, "pattern expands to more than " + MAX_PROGRAM_SIZE + " states");
+            }
+            if (size == op.length) {
+                op = Arrays.copyOf(op, size * 2);
+                arg1 = Arrays.copyOf(arg1, size * 2);
+                arg2 = Arrays.copyOf(arg2, size * 2);
+            }
+            op[size] = code;
+            arg1[size] = first;
+            arg2[size] = second;
+            return size++;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.ruleengine.evaluator.compiled;
+
+import com.ruleengine.schema.SlotRecord;
+
+/**
+ * Leaf nodes for >, >=, < and <=. The expected value is a primitive double;
+ * comparison follows {@link Double#compare(double, double)} like the
+ * interpreter. On a schema-decoded payload, numeric fields are compared
+ * straight from their primitive slot.
+ */
+final class NumericConditions {
+
+    private static final String NOT_A_NUMBER = "Numeric comparison requires numbers";
+
+    private NumericConditions() {
+    }
+
+    abstract static class NumericCondition extends LeafCondition {
+
+        final double threshold;
+
+        NumericCondition(FieldPath path, Operator operator, String symbol, Object expected) {
+            super(path, operator, symbol, expected);
+            this.threshold = this.expected.number();
+        }
+
+        @Override
+        final boolean testValue(Object actual, long now) {
+            return actual instanceof Number && compare(((Number) actual).doubleValue());
+        }
+
+        @Override
+        final boolean testRecord(SlotRecord record, long now) {
+            int slot = path.slotIn(record.getLayout());
+            if (slot < 0 || !record.getLayout().isNumeric(slot)) {
+                return super.testRecord(record, now);
+            }
+            return record.isPresent(slot) ? compare(record.doubleValue(slot)) : testNull();
+        }
+
+        /**
+         * Compares a numeric field value with the threshold.
+         */
+        abstract boolean compare(double value);
+
+        @Override
+        String describeError(Object actual) {
+            return actual instanceof Number ? null : NOT_A_NUMBER;
+        }
+
+        public double getThreshold() {
+            return threshold;
+        }
+    }
+
+    static final class GreaterThan extends NumericCondition {
+
+        GreaterThan(FieldPath path, String symbol, Object expected) {
+            super(path, Operator.GREATER_THAN, symbol, expected);
+        }
+
+        @Override
+        boolean compare(double value) {
+            return Double.compare(value, threshold) > 0;
+        }
+    }
+
+    static final class GreaterOrEqual extends NumericCondition {
+
+        GreaterOrEqual(FieldPath path, String symbol, Object expected) {
+            super(path, Operator.GREATER_OR_EQUAL, symbol, expected);
+        }
+
+        @Override
+        boolean compare(double value) {
+            return Double.compare(value, threshold) >= 0;
+        }
+    }
+
+    static final class LessThan extends NumericCondition {
+
+        LessThan(FieldPath path, String symbol, Object expected) {
+            super(path, Operator.LESS_THAN, symbol, expected);
+        }
+
+        @Override
+        boolean compare(double value) {
+            return Double.compare(value, threshold) < 0;
+        }
+    }
+
+    static final class LessOrEqual extends NumericCondition {
+
+        LessOrEqual(FieldPath path, String symbol, Object expected) {
+            super(path, Operator.LESS_OR_EQUAL, symbol, expected);
+        }
+
+        @Override
+        boolean compare(double value) {
+            return Double.compare(value, threshold) <= 0;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.ruleengine.evaluator.compiled;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Operators supported by compiled conditions.
+ *
+ * The operator string of a condition is resolved to one of these constants
+ * once, at compile time, so no string switching happens per event.
+ */
+public enum Operator {
+
+    EQUALS("==", "="),
+    NOT_EQUALS("!=", "<>"),
+    GREATER_THAN(">"),
+    GREATER_OR_EQUAL(">="),
+    LESS_THAN("<"),
+    LESS_OR_EQUAL("<="),
+    CONTAINS("contains"),
+    STARTS_WITH("startsWith"),
+    ENDS_WITH("endsWith"),
+    IN("in"),
+    MATCHES("matches"),
+    DATE_BEFORE("dateBefore"),
+    DATE_AFTER("dateAfter");
+
+    private static final Map<String, Operator> BY_SYMBOL = new HashMap<>();
+
+    static {
+        for (Operator operator : values()) {
+            for (String symbol : operator.symbols) {
+                BY_SYMBOL.put(symbol, operator);
+            }
+        }
+    }
+
+    private final String[] symbols;
+
+    Operator(String... symbols) {
+        this.symbols = symbols;
+    }
+
+    /**
+     * Canonical symbol, as used in rule JSON.
+     */
+    public String getSymbol() {
+        return symbols[0];
+    }
+
+    /**
+     * Resolves an operator symbol (including aliases such as "=" and "<>").
+     *
+     * @return The operator, or null if the symbol is not supported
+     */
+    public static Operator fromSymbol(String symbol) {
+        return symbol == null ? null : BY_SYMBOL.get(symbol);
+    }
+}
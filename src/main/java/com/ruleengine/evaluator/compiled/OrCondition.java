@@ -0,0 +1,70 @@
+package com.ruleengine.evaluator.compiled;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Disjunction of compiled conditions, evaluated with short-circuit on the
+ * first match: left to right, or in a learned order when adaptive ordering
+ * is on (see {@link AdaptiveOrder}). Failure reasons always follow the
+ * authored order.
+ */
+public final class OrCondition implements CompiledCondition {
+
+    private final CompiledCondition[] children;
+    private final AdaptiveOrder adaptiveOrder;
+
+    OrCondition(CompiledCondition[] children) {
+        this(children, null);
+    }
+
+    /**
+     * @param adaptiveOrder Learns the evaluation order, or null to keep the
+     *                      authored order
+     */
+    OrCondition(CompiledCondition[] children, AdaptiveOrder adaptiveOrder) {
+        this.children = children;
+        this.adaptiveOrder = adaptiveOrder;
+    }
+
+    @Override
+    public boolean test(Map<String, Object> payload, long now) {
+        if (adaptiveOrder != null) {
+            return adaptiveOrder.test(payload, now);
+        }
+        for (CompiledCondition child : children) {
+            if (child.test(payload, now)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String explainFailure(Map<String, Object> payload, long now) {
+        StringBuilder failureReasons = new StringBuilder();
+        for (CompiledCondition child : children) {
+            if (child.test(payload, now)) {
+                return null;
+            }
+            failureReasons.append("[").append(child.explainFailure(payload, now)).append("] ");
+        }
+        return "No condition in OR group matched. Details: " + failureReasons;
+    }
+
+    public CompiledCondition[] getChildren() {
+        return children.clone();
+    }
+
+    /**
+     * Children in the order {@link #test} currently tries them.
+     */
+    public CompiledCondition[] getEvaluationOrder() {
+        return adaptiveOrder != null ? adaptiveOrder.getOrder() : children.clone();
+    }
+
+    @Override
+    public String toString() {
+        return "OR" + Arrays.toString(children);
+    }
+}
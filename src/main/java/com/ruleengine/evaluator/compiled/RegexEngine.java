@@ -0,0 +1,22 @@
+package com.ruleengine.evaluator.compiled;
+
+/**
+ * How {@code matches} conditions run their pattern.
+ */
+public enum RegexEngine {
+
+    /**
+     * {@link java.util.regex.Pattern}. Accepts every Java pattern, but
+     * backtracks: a pattern such as {@code (a+)+b} can take exponential time
+     * on a short input.
+     */
+    JDK,
+
+    /**
+     * {@link LinearRegex}, a Thompson NFA simulation whose running time is
+     * linear in the input length. Only accepts the subset of Java syntax it
+     * can run with identical results; other patterns are rejected when the
+     * rule is registered.
+     */
+    LINEAR
+}
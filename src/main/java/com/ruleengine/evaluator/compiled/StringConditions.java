@@ -0,0 +1,117 @@
+package com.ruleengine.evaluator.compiled;
+
+import java.util.function.Predicate;
+
+/**
+ * Leaf nodes for contains, startsWith, endsWith and matches.
+ */
+final class StringConditions {
+
+    private StringConditions() {
+    }
+
+    static final class Contains extends LeafCondition {
+
+        private final String needle;
+
+        Contains(FieldPath path, String symbol, Object expected) {
+            super(path, Operator.CONTAINS, symbol, expected);
+            this.needle = expected instanceof String ? (String) expected : null;
+        }
+
+        @Override
+        boolean testValue(Object actual, long now) {
+            if (actual instanceof String && needle != null) {
+                return ((String) actual).contains(needle);
+            }
+            if (actual instanceof Iterable) {
+                for (Object item : (Iterable<?>) actual) {
+                    if (expected.matches(item)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        @Override
+        String describeError(Object actual) {
+            if ((actual instanceof String && needle != null) || actual instanceof Iterable) {
+                return null;
+            }
+            return "Contains requires String or Iterable";
+        }
+
+        /**
+         * The substring searched for, or null if the expected value is not
+         * a string (list membership only).
+         */
+        public String getNeedle() {
+            return needle;
+        }
+    }
+
+    static final class StartsWith extends LeafCondition {
+
+        private final String prefix;
+
+        StartsWith(FieldPath path, String symbol, Object expected) {
+            super(path, Operator.STARTS_WITH, symbol, expected);
+            this.prefix = this.expected.text();
+        }
+
+        @Override
+        boolean testValue(Object actual, long now) {
+            return actual.toString().startsWith(prefix);
+        }
+
+        public String getPrefix() {
+            return prefix;
+        }
+    }
+
+    static final class EndsWith extends LeafCondition {
+
+        private final String suffix;
+
+        EndsWith(FieldPath path, String symbol, Object expected) {
+            super(path, Operator.ENDS_WITH, symbol, expected);
+            this.suffix = this.expected.text();
+        }
+
+        @Override
+        boolean testValue(Object actual, long now) {
+            return actual.toString().endsWith(suffix);
+        }
+
+        public String getSuffix() {
+            return suffix;
+        }
+    }
+
+    /**
+     * Full-match regex test. The pattern is compiled once by
+     * {@link ConditionCompiler}, which also rejects invalid patterns, so
+     * there is nothing left to fail per event.
+     */
+    static final class Matches extends LeafCondition {
+
+        private final String regex;
+        private final Predicate<String> matcher;
+
+        Matches(FieldPath path, String symbol, Object expected, Predicate<String> matcher) {
+            super(path, Operator.MATCHES, symbol, expected);
+            this.regex = this.expected.text();
+            this.matcher = matcher;
+        }
+
+        @Override
+        boolean testValue(Object actual, long now) {
+            return matcher.test(actual.toString());
+        }
+
+        public String getRegex() {
+            return regex;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.ruleengine.exception;
+
+/**
+ * Exception thrown when an event payload does not match the schema of its type.
+ */
+public class InvalidEventException extends RuleEngineException {
+
+    public InvalidEventException(String message) {
+        super(message);
+    }
+}
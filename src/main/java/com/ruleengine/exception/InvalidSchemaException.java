@@ -0,0 +1,11 @@
+package com.ruleengine.exception;
+
+/**
+ * Exception thrown when an event schema definition is invalid.
+ */
+public class InvalidSchemaException extends RuleEngineException {
+
+    public InvalidSchemaException(String message) {
+        super(message);
+    }
+}
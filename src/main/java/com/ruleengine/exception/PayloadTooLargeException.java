@@ -0,0 +1,11 @@
+package com.ruleengine.exception;
+
+/**
+ * Exception thrown when a request body exceeds the configured size limit.
+ */
+public class PayloadTooLargeException extends RuleEngineException {
+
+    public PayloadTooLargeException(String message) {
+        super(message);
+    }
+}
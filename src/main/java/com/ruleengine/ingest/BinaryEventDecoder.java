@@ -0,0 +1,271 @@
+package com.ruleengine.ingest;
+
+import com.ruleengine.exception.InvalidEventException;
+import com.ruleengine.model.Event;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Decodes a {@link BinaryEventFormat} stream in place, one record per
+ * {@link #next()}.
+ *
+ * Values are read with absolute gets on the buffer. A member the projection
+ * drops is skipped by its length prefix without being decoded, so it costs
+ * no allocation however large it is; member names are matched as bytes and
+ * kept members get the projection's own name strings.
+ *
+ * Arrays and objects nest at most {@link #MAX_DEPTH} levels, so a hostile
+ * record cannot exhaust the stack: the decoder recurses two frames per level,
+ * and the limit stays well within a default 1 MB thread stack even before the
+ * JIT compiles it.
+ */
+final class BinaryEventDecoder implements Iterator<Event> {
+
+    static final int MAX_DEPTH = 256;
+
+    private final ByteBuffer buffer;
+    private final int limit;
+    private final EventReader.Projections projections;
+    private int position;
+    // Read cursor within the current record
+    private int cursor;
+    private int recordEnd;
+    // Containers open at the cursor
+    private int depth;
+
+    BinaryEventDecoder(ByteBuffer buffer, EventReader.Projections projections) {
+        this.buffer = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+        this.position = buffer.position();
+        this.limit = buffer.limit();
+        this.projections = projections;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return position < limit;
+    }
+
+    /**
+     * @throws InvalidEventException If the record is malformed. A record
+     *                               with a malformed body is skipped; one
+     *                               whose length exceeds the input ends
+     *                               the stream
+     */
+    @Override
+    public Event next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        int start = position;
+        // Nothing is readable after a bad record length
+        position = limit;
+
+        cursor = start;
+        recordEnd = limit;
+        depth = 0;
+        int length = readInt();
+        if (length < 0 || length > limit - cursor) {
+            throw malformed(start, "record length " + length + " exceeds the input");
+        }
+        recordEnd = cursor + length;
+        position = recordEnd;
+
+        Event event = new Event();
+        event.setType(readName());
+        byte tag = readByte();
+        if (tag == BinaryEventFormat.OBJECT) {
+            event.setPayload(readObject(projections.of(event.getType())));
+        } else if (tag != BinaryEventFormat.NULL) {
+            throw malformed(cursor - 1, "payload must be an object");
+        }
+        if (cursor != recordEnd) {
+            throw malformed(cursor, "record has " + (recordEnd - cursor) + " trailing bytes");
+        }
+        return event;
+    }
+
+    private Object readValue(FieldProjection projection) {
+        byte tag = readByte();
+        switch (tag) {
+            case BinaryEventFormat.NULL:
+                return null;
+            case BinaryEventFormat.FALSE:
+                return Boolean.FALSE;
+            case BinaryEventFormat.TRUE:
+                return Boolean.TRUE;
+            case BinaryEventFormat.INT32:
+                return readInt();
+            case BinaryEventFormat.INT64:
+                require(8);
+                long value = buffer.getLong(cursor);
+                cursor += 8;
+                return value;
+            case BinaryEventFormat.FLOAT64:
+                require(8);
+                double number = buffer.getDouble(cursor);
+                cursor += 8;
+                return number;
+            case BinaryEventFormat.STRING:
+                return readString(readLength());
+            case BinaryEventFormat.ARRAY:
+                return readArray();
+            case BinaryEventFormat.OBJECT:
+                return readObject(projection);
+            default:
+                throw malformed(cursor - 1, "unknown tag " + tag);
+        }
+    }
+
+    private List<Object> readArray() {
+        enter();
+        int end = containerEnd();
+        int count = readCount(end);
+        List<Object> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            list.add(readValue(FieldProjection.ALL));
+        }
+        checkEnd(end);
+        depth--;
+        return list;
+    }
+
+    private Map<String, Object> readObject(FieldProjection projection) {
+        enter();
+        int end = containerEnd();
+        int count = readCount(end);
+        Map<String, Object> map = new LinkedHashMap<>();
+        boolean all = projection.isAll();
+        for (int i = 0; i < count; i++) {
+            int length = readUnsignedShort();
+            require(length);
+            int name = cursor;
+            cursor += length;
+            if (all) {
+                map.put(decode(name, length), readValue(FieldProjection.ALL));
+                continue;
+            }
+            int member = projection.memberIndex(buffer, name, length);
+            if (member < 0) {
+                skipValue();
+            } else {
+                map.put(projection.memberName(member), readValue(projection.memberAt(member)));
+            }
+        }
+        checkEnd(end);
+        depth--;
+        return map;
+    }
+
+    private void enter() {
+        if (++depth > MAX_DEPTH) {
+            throw malformed(cursor - 1, "nesting deeper than " + MAX_DEPTH + " levels");
+        }
+    }
+
+    private void skipValue() {
+        byte tag = readByte();
+        switch (tag) {
+            case BinaryEventFormat.NULL, BinaryEventFormat.FALSE, BinaryEventFormat.TRUE -> {
+            }
+            case BinaryEventFormat.INT32 -> skip(4);
+            case BinaryEventFormat.INT64, BinaryEventFormat.FLOAT64 -> skip(8);
+            case BinaryEventFormat.STRING, BinaryEventFormat.ARRAY, BinaryEventFormat.OBJECT -> skip(readLength());
+            default -> throw malformed(cursor - 1, "unknown tag " + tag);
+        }
+    }
+
+    private int containerEnd() {
+        int size = readLength();
+        require(size);
+        return cursor + size;
+    }
+
+    private int readCount(int end) {
+        int count = readInt();
+        // Every element takes at least one byte
+        if (count < 0 || count > end - cursor) {
+            throw malformed(cursor - 4, "element count " + count + " exceeds the container");
+        }
+        return count;
+    }
+
+    private void checkEnd(int end) {
+        if (cursor != end) {
+            throw malformed(cursor, "container size does not match its elements");
+        }
+    }
+
+    private String readName() {
+        int length = readUnsignedShort();
+        require(length);
+        String name = decode(cursor, length);
+        cursor += length;
+        return name;
+    }
+
+    private String readString(int length) {
+        require(length);
+        String value = decode(cursor, length);
+        cursor += length;
+        return value;
+    }
+
+    private String decode(int offset, int length) {
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + offset, length, StandardCharsets.UTF_8);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private byte readByte() {
+        require(1);
+        return buffer.get(cursor++);
+    }
+
+    private int readUnsignedShort() {
+        require(2);
+        int value = buffer.getShort(cursor) & 0xFFFF;
+        cursor += 2;
+        return value;
+    }
+
+    private int readInt() {
+        require(4);
+        int value = buffer.getInt(cursor);
+        cursor += 4;
+        return value;
+    }
+
+    private int readLength() {
+        int length = readInt();
+        if (length < 0) {
+            throw malformed(cursor - 4, "negative length " + length);
+        }
+        return length;
+    }
+
+    private void skip(int length) {
+        require(length);
+        cursor += length;
+    }
+
+    private void require(int length) {
+        if (length > recordEnd - cursor) {
+            throw malformed(cursor, "truncated record");
+        }
+    }
+
+    private static InvalidEventException malformed(int offset, String reason) {
+        return new InvalidEventException("Malformed binary event at byte " + offset + ": " + reason);
+    }
+}
@@ -0,0 +1,160 @@
+package com.ruleengine.ingest;
+
+import com.ruleengine.model.Event;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Compact, length-prefixed binary encoding of events, for high-volume
+ * producers; read by {@link EventReader#readBinary}.
+ *
+ * <pre>
+ * stream  := record*
+ * record  := u32 length, body (length bytes)
+ * body    := str16 type, value payload        (payload: object or null)
+ * value   := 0x00 null | 0x01 false | 0x02 true
+ *          | 0x03 i32 | 0x04 i64 | 0x05 f64   (IEEE 754)
+ *          | 0x06 u32 n, n bytes UTF-8         (string)
+ *          | 0x07 u32 size, u32 count, value*  (array)
+ *          | 0x08 u32 size, u32 count, (str16 name, value)*   (object)
+ * str16   := u16 n, n bytes UTF-8
+ * </pre>
+ *
+ * Integers are big-endian. The size of an array or object counts the bytes
+ * after it, so a reader skips a value it does not need without looking
+ * inside. Integers are decoded as {@link Integer} or {@link Long} and
+ * floating-point numbers as {@link Double}, as from JSON.
+ */
+public final class BinaryEventFormat {
+
+    /**
+     * Content type of request bodies in this format.
+     */
+    public static final String MEDIA_TYPE = "application/vnd.ruleengine.events";
+
+    static final byte NULL = 0x00;
+    static final byte FALSE = 0x01;
+    static final byte TRUE = 0x02;
+    static final byte INT32 = 0x03;
+    static final byte INT64 = 0x04;
+    static final byte FLOAT64 = 0x05;
+    static final byte STRING = 0x06;
+    static final byte ARRAY = 0x07;
+    static final byte OBJECT = 0x08;
+
+    private BinaryEventFormat() {
+    }
+
+    /**
+     * Encodes events as one stream.
+     *
+     * @throws IllegalArgumentException If a payload holds a value other than
+     *                                  null, a boolean, a number that fits
+     *                                  in a long or double, a string, a
+     *                                  collection or a map
+     */
+    public static byte[] encode(Collection<Event> events) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            DataOutputStream out = new DataOutputStream(bytes);
+            for (Event event : events) {
+                byte[] body = body(event);
+                out.writeInt(body.length);
+                out.write(body);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes a stream from the buffer's position to its limit, keeping
+     * every payload member. Requests go through {@link EventReader} instead,
+     * which validates against schemas and projects payloads.
+     *
+     * @return One event per record; {@code next()} throws
+     *         {@link com.ruleengine.exception.InvalidEventException} for a
+     *         malformed record
+     */
+    public static Iterator<Event> decode(ByteBuffer buffer) {
+        return new BinaryEventDecoder(buffer, EventReader.Projections.DISABLED);
+    }
+
+    private static byte[] body(Event event) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        writeName(out, event.getType() != null ? event.getType() : "");
+        writeValue(out, event.getPayload());
+        return bytes.toByteArray();
+    }
+
+    private static void writeName(DataOutputStream out, String name) throws IOException {
+        byte[] utf8 = name.getBytes(StandardCharsets.UTF_8);
+        if (utf8.length > 0xFFFF) {
+            throw new IllegalArgumentException("Name longer than 65535 bytes: " + name.substring(0, 32) + "...");
+        }
+        out.writeShort(utf8.length);
+        out.write(utf8);
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof Boolean) {
+            out.writeByte((Boolean) value ? TRUE : FALSE);
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short
+                || value instanceof Byte || value instanceof BigInteger && ((BigInteger) value).bitLength() < 64) {
+            long number = ((Number) value).longValue();
+            if (number == (int) number) {
+                out.writeByte(INT32);
+                out.writeInt((int) number);
+            } else {
+                out.writeByte(INT64);
+                out.writeLong(number);
+            }
+        } else if (value instanceof Double || value instanceof Float) {
+            out.writeByte(FLOAT64);
+            out.writeDouble(((Number) value).doubleValue());
+        } else if (value instanceof CharSequence || value instanceof Character) {
+            byte[] utf8 = value.toString().getBytes(StandardCharsets.UTF_8);
+            out.writeByte(STRING);
+            out.writeInt(utf8.length);
+            out.write(utf8);
+        } else if (value instanceof Collection) {
+            Collection<?> collection = (Collection<?>) value;
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream elements = new DataOutputStream(bytes);
+            elements.writeInt(collection.size());
+            for (Object element : collection) {
+                writeValue(elements, element);
+            }
+            out.writeByte(ARRAY);
+            out.writeInt(bytes.size());
+            bytes.writeTo(out);
+        } else if (value instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) value;
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream members = new DataOutputStream(bytes);
+            members.writeInt(map.size());
+            for (Map.Entry<?, ?> member : map.entrySet()) {
+                writeName(members, String.valueOf(member.getKey()));
+                writeValue(members, member.getValue());
+            }
+            out.writeByte(OBJECT);
+            out.writeInt(bytes.size());
+            bytes.writeTo(out);
+        } else {
+            throw new IllegalArgumentException("Cannot encode " + value.getClass().getSimpleName() + ": " + value);
+        }
+    }
+}
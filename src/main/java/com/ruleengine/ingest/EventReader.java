@@ -0,0 +1,423 @@
+package com.ruleengine.ingest;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ruleengine.engine.RuleSnapshot;
+import com.ruleengine.exception.InvalidEventException;
+import com.ruleengine.exception.PayloadTooLargeException;
+import com.ruleengine.model.Event;
+import com.ruleengine.model.FieldType;
+import com.ruleengine.schema.RecordLayout;
+import com.ruleengine.schema.SchemaRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Reads events from JSON with Jackson's streaming parser, or from the
+ * binary {@link BinaryEventFormat}.
+ *
+ * With projection enabled ({@code rule-engine.ingest.projection}), only
+ * the payload fields some rule of the event's type reads, plus the fields
+ * its schema declares, are materialized; other members are skipped without
+ * building their values. The projection follows the rule snapshot the
+ * events are evaluated against, so a rule sees every field it references
+ * and each aggregate window the fields it counts.
+ * It is chosen when "payload" is reached: if "type" comes first, from the
+ * rules of that type, otherwise from all rules.
+ *
+ * Action handlers receive the projected payload. With projection disabled
+ * the whole payload is read, exactly as data binding would read it into
+ * {@link Event}.
+ *
+ * Binary request bodies are decoded in place, so they are buffered whole;
+ * {@code rule-engine.ingest.max-binary-bytes} bounds them.
+ */
+@Component
+public class EventReader {
+
+    /**
+     * Default limit of a buffered binary request body: 16 MiB.
+     */
+    public static final int DEFAULT_MAX_BINARY_BYTES = 16 << 20;
+
+    private final JsonFactory factory;
+    private final SchemaRegistry schemaRegistry;
+    private final boolean projection;
+    private final boolean bigDecimals;
+    private final boolean bigIntegers;
+    private final boolean longs;
+    private final int maxBinaryBytes;
+    private volatile Projections cached;
+
+    public EventReader(ObjectMapper objectMapper, SchemaRegistry schemaRegistry, boolean projection) {
+        this(objectMapper, schemaRegistry, projection, DEFAULT_MAX_BINARY_BYTES);
+    }
+
+    /**
+     * @param maxBinaryBytes Largest binary request body accepted by
+     *                       {@link #readBinaryBody}
+     */
+    @Autowired
+    public EventReader(ObjectMapper objectMapper, SchemaRegistry schemaRegistry,
+            @Value("${rule-engine.ingest.projection:false}") boolean projection,
+            @Value("${rule-engine.ingest.max-binary-bytes:16777216}") int maxBinaryBytes) {
+        this.factory = objectMapper.getFactory();
+        this.schemaRegistry = schemaRegistry;
+        this.projection = projection;
+        // Same number types as untyped data binding
+        DeserializationConfig config = objectMapper.getDeserializationConfig();
+        this.bigDecimals = config.isEnabled(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+        this.bigIntegers = config.isEnabled(DeserializationFeature.USE_BIG_INTEGER_FOR_INTS);
+        this.longs = config.isEnabled(DeserializationFeature.USE_LONG_FOR_INTS);
+        this.maxBinaryBytes = Math.max(0, maxBinaryBytes);
+    }
+
+    /**
+     * Reads one event.
+     *
+     * @throws InvalidEventException If the body is empty, malformed or not
+     *                               an event
+     */
+    public Event read(InputStream body, RuleSnapshot snapshot) throws IOException {
+        try (JsonParser parser = factory.createParser(body)) {
+            if (parser.nextToken() == null) {
+                throw new InvalidEventException("Request body is empty");
+            }
+            Event event = readEvent(parser, projections(snapshot));
+            if (event == null) {
+                throw new InvalidEventException("Event is null");
+            }
+            return event;
+        } catch (JsonProcessingException e) {
+            throw new InvalidEventException("Malformed event: " + e.getOriginalMessage());
+        }
+    }
+
+    /**
+     * Reads a JSON array of events, or a sequence of events such as NDJSON,
+     * one event per call to {@link Iterator#next()}. A JSON null yields a
+     * null event.
+     *
+     * The iterator throws {@link InvalidEventException} for malformed input
+     * and {@link UncheckedIOException} if the body cannot be read; it
+     * closes the parser once exhausted.
+     */
+    public Iterator<Event> readAll(InputStream body, RuleSnapshot snapshot) throws IOException {
+        JsonParser parser = factory.createParser(body);
+        Projections projections = projections(snapshot);
+        return new Iterator<>() {
+
+            private boolean array;
+            private boolean started;
+            private boolean ready;
+            private JsonToken token;
+
+            @Override
+            public boolean hasNext() {
+                if (!ready) {
+                    token = advance();
+                    ready = true;
+                }
+                return token != null && !(array && token == JsonToken.END_ARRAY);
+            }
+
+            @Override
+            public Event next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                ready = false;
+                try {
+                    return readEvent(parser, projections);
+                } catch (JsonProcessingException e) {
+                    throw new InvalidEventException("Malformed event: " + e.getOriginalMessage());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            private JsonToken advance() {
+                try {
+                    JsonToken next = parser.nextToken();
+                    if (!started) {
+                        started = true;
+                        array = next == JsonToken.START_ARRAY;
+                        if (array) {
+                            next = parser.nextToken();
+                        }
+                    }
+                    if (next == null || (array && next == JsonToken.END_ARRAY)) {
+                        parser.close();
+                    }
+                    return next;
+                } catch (JsonProcessingException e) {
+                    throw new InvalidEventException("Malformed event: " + e.getOriginalMessage());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
+
+    /**
+     * Buffers a binary request body for {@link #readBinary}, reading at most
+     * one byte past the limit.
+     *
+     * @throws PayloadTooLargeException If the body is larger than
+     *                                  {@code max-binary-bytes}
+     */
+    public ByteBuffer readBinaryBody(InputStream body) throws IOException {
+        byte[] bytes = body.readNBytes(maxBinaryBytes == Integer.MAX_VALUE ? maxBinaryBytes : maxBinaryBytes + 1);
+        if (bytes.length > maxBinaryBytes) {
+            throw new PayloadTooLargeException("Request body exceeds " + maxBinaryBytes + " bytes");
+        }
+        return ByteBuffer.wrap(bytes);
+    }
+
+    /**
+     * Reads one event in {@link BinaryEventFormat} from the buffer's
+     * remaining bytes.
+     *
+     * @throws InvalidEventException If the buffer does not hold exactly one
+     *                               well-formed record
+     */
+    public Event readBinaryEvent(ByteBuffer buffer, RuleSnapshot snapshot) {
+        Iterator<Event> events = readBinary(buffer, snapshot);
+        if (!events.hasNext()) {
+            throw new InvalidEventException("Request body is empty");
+        }
+        Event event = events.next();
+        if (events.hasNext()) {
+            throw new InvalidEventException("Expected one event, got several");
+        }
+        return event;
+    }
+
+    /**
+     * Reads events in {@link BinaryEventFormat} from the buffer's remaining
+     * bytes, decoding in place. The buffer's position is left unchanged.
+     *
+     * The iterator throws {@link InvalidEventException} for a malformed
+     * record. The next call moves on to the following record, unless the
+     * record's length was unreadable, which ends the stream.
+     */
+    public Iterator<Event> readBinary(ByteBuffer buffer, RuleSnapshot snapshot) {
+        return new BinaryEventDecoder(buffer, projections(snapshot));
+    }
+
+    /**
+     * Reads the event starting at the parser's current token, leaving the
+     * parser on its last token.
+     */
+    private Event readEvent(JsonParser parser, Projections projections) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw new InvalidEventException("Event must be a JSON object, got: " + token);
+        }
+
+        Event event = new Event();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (name) {
+                case "type" -> event.setType(readType(parser, value));
+                case "payload" -> event.setPayload(readPayload(parser, value, projections.of(event.getType())));
+                default -> parser.skipChildren();
+            }
+        }
+        return event;
+    }
+
+    private static String readType(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (!token.isScalarValue()) {
+            throw new InvalidEventException("Event type must be a string");
+        }
+        return parser.getText();
+    }
+
+    private Map<String, Object> readPayload(JsonParser parser, JsonToken token, FieldProjection projection)
+            throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw new InvalidEventException("Event payload must be a JSON object");
+        }
+        return readObject(parser, projection);
+    }
+
+    private Map<String, Object> readObject(JsonParser parser, FieldProjection projection) throws IOException {
+        Map<String, Object> map = new LinkedHashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            FieldProjection member = projection.member(name);
+            parser.nextToken();
+            if (member == null) {
+                parser.skipChildren();
+            } else {
+                map.put(name, readValue(parser, member));
+            }
+        }
+        return map;
+    }
+
+    /**
+     * Reads the value at the current token. Only objects are projected;
+     * arrays and scalars are read whole, so a value of the wrong shape
+     * reaches conditions and schema validation as it was sent.
+     */
+    private Object readValue(JsonParser parser, FieldProjection projection) throws IOException {
+        JsonToken token = parser.currentToken();
+        switch (token) {
+            case START_OBJECT:
+                return readObject(parser, projection);
+            case START_ARRAY:
+                List<Object> list = new ArrayList<>();
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    list.add(readValue(parser, FieldProjection.ALL));
+                }
+                return list;
+            case VALUE_STRING:
+                return parser.getText();
+            case VALUE_NUMBER_INT:
+                if (bigIntegers) {
+                    return parser.getBigIntegerValue();
+                }
+                if (longs && parser.getNumberType() != JsonParser.NumberType.BIG_INTEGER) {
+                    return parser.getLongValue();
+                }
+                return parser.getNumberValue();
+            case VALUE_NUMBER_FLOAT:
+                return bigDecimals ? parser.getDecimalValue() : parser.getNumberValue();
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case VALUE_NULL:
+                return null;
+            case VALUE_EMBEDDED_OBJECT:
+                return parser.getEmbeddedObject();
+            default:
+                throw new InvalidEventException("Unexpected token in payload: " + token);
+        }
+    }
+
+    /**
+     * Projections for a snapshot and the current schemas, shared until
+     * either changes.
+     */
+    private Projections projections(RuleSnapshot snapshot) {
+        if (!projection) {
+            return Projections.DISABLED;
+        }
+        long schemaVersion = schemaRegistry.getVersion();
+        Projections current = cached;
+        if (current == null || current.snapshot != snapshot || current.schemaVersion != schemaVersion) {
+            current = new Projections(snapshot, schemaVersion, schemaRegistry);
+            cached = current;
+        }
+        return current;
+    }
+
+    /**
+     * Payload projection per event type for one rule snapshot.
+     */
+    static final class Projections {
+
+        static final Projections DISABLED = new Projections();
+
+        final RuleSnapshot snapshot;
+        final long schemaVersion;
+        final SchemaRegistry schemaRegistry;
+        // Type not known when the payload is reached: fields of every rule
+        // and schema
+        final FieldProjection any;
+        // Types with neither rules nor a schema of their own
+        final FieldProjection wildcard;
+        final ConcurrentMap<String, FieldProjection> byType = new ConcurrentHashMap<>();
+
+        private Projections() {
+            this.snapshot = null;
+            this.schemaVersion = -1;
+            this.schemaRegistry = null;
+            this.any = FieldProjection.ALL;
+            this.wildcard = FieldProjection.ALL;
+        }
+
+        Projections(RuleSnapshot snapshot, long schemaVersion, SchemaRegistry schemaRegistry) {
+            this.snapshot = snapshot;
+            this.schemaVersion = schemaVersion;
+            this.schemaRegistry = schemaRegistry;
+
+            Set<String> all = new LinkedHashSet<>(snapshot.getReferencedFields());
+            all.addAll(snapshot.getAggregateFeeds().getFields());
+            schemaRegistry.getSchemas()
+                    .forEach(schema -> addDeclared(schemaRegistry.getLayout(schema.getEventType()), all));
+            this.any = FieldProjection.of(all);
+            Set<String> wildcardFields = new LinkedHashSet<>(snapshot.getBucketFor(null).getReferencedFields());
+            wildcardFields.addAll(snapshot.getAggregateFeeds().fieldsFedBy(null));
+            this.wildcard = FieldProjection.of(wildcardFields);
+        }
+
+        FieldProjection of(String eventType) {
+            if (snapshot == null) {
+                return FieldProjection.ALL;
+            }
+            if (eventType == null) {
+                return any;
+            }
+            if (!snapshot.hasBucketFor(eventType) && schemaRegistry.getLayout(eventType) == null
+                    && !snapshot.getAggregateFeeds().feeds(eventType)) {
+                return wildcard;
+            }
+            return byType.computeIfAbsent(eventType, type -> {
+                Set<String> fields = new LinkedHashSet<>(snapshot.getBucketFor(type).getReferencedFields());
+                fields.addAll(snapshot.getAggregateFeeds().fieldsFedBy(type));
+                addDeclared(schemaRegistry.getLayout(type), fields);
+                return FieldProjection.of(fields);
+            });
+        }
+
+        /**
+         * Adds the leaf paths a schema declares; objects are kept through
+         * their members.
+         */
+        private static void addDeclared(RecordLayout layout, Set<String> fields) {
+            if (layout == null) {
+                return;
+            }
+            for (int slot = 0; slot < layout.size(); slot++) {
+                if (layout.getType(slot) != FieldType.OBJECT) {
+                    fields.add(layout.getPath(slot));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.ruleengine.ingest;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The part of a payload worth materializing: a tree over dotted field paths.
+ *
+ * A referenced path keeps its whole value, whatever it holds; the objects
+ * on the way to it keep only the members leading to referenced paths. So
+ * for {"user.country", "amount"} a payload keeps "amount" and the
+ * "country" member of "user", and drops everything else. Immutable.
+ */
+public final class FieldProjection {
+
+    /**
+     * Keeps every field.
+     */
+    public static final FieldProjection ALL = new FieldProjection(null);
+
+    /**
+     * Keeps no field.
+     */
+    public static final FieldProjection NONE = new FieldProjection(Map.of());
+
+    // null: keep the whole value
+    private final Map<String, FieldProjection> children;
+    // The members again, for lookups by encoded name
+    private final String[] names;
+    private final byte[][] encodedNames;
+    private final FieldProjection[] members;
+
+    private FieldProjection(Map<String, FieldProjection> children) {
+        this.children = children;
+        int count = children != null ? children.size() : 0;
+        this.names = new String[count];
+        this.encodedNames = new byte[count][];
+        this.members = new FieldProjection[count];
+        if (children != null) {
+            int i = 0;
+            for (Map.Entry<String, FieldProjection> child : children.entrySet()) {
+                names[i] = child.getKey();
+                encodedNames[i] = child.getKey().getBytes(StandardCharsets.UTF_8);
+                members[i] = child.getValue();
+                i++;
+            }
+        }
+    }
+
+    /**
+     * Projection keeping the given dotted paths.
+     */
+    public static FieldProjection of(Collection<String> paths) {
+        Node root = new Node();
+        for (String path : paths) {
+            Node node = root;
+            for (String segment : path.split("\\.")) {
+                if (node.whole) {
+                    break;
+                }
+                node = node.children.computeIfAbsent(segment, name -> new Node());
+            }
+            node.whole = true;
+            node.children.clear();
+        }
+        return root.whole ? ALL : root.children.isEmpty() ? NONE : root.freeze();
+    }
+
+    /**
+     * True if the value is kept whole.
+     */
+    public boolean isAll() {
+        return children == null;
+    }
+
+    /**
+     * Projection of a member of an object kept by this projection, or null
+     * if the member is dropped.
+     */
+    public FieldProjection member(String name) {
+        return children == null ? ALL : children.get(name);
+    }
+
+    /**
+     * Index of the member whose UTF-8 encoded name is at the given range of
+     * the buffer, or -1 if the member is dropped. Only for projections that
+     * do not keep the whole value.
+     */
+    int memberIndex(ByteBuffer buffer, int offset, int length) {
+        for (int i = 0; i < encodedNames.length; i++) {
+            byte[] name = encodedNames[i];
+            if (name.length == length && matches(buffer, offset, name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean matches(ByteBuffer buffer, int offset, byte[] name) {
+        for (int i = 0; i < name.length; i++) {
+            if (buffer.get(offset + i) != name[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    String memberName(int index) {
+        return names[index];
+    }
+
+    FieldProjection memberAt(int index) {
+        return members[index];
+    }
+
+    @Override
+    public String toString() {
+        return children == null ? "*" : children.toString();
+    }
+
+    private static final class Node {
+
+        final Map<String, Node> children = new HashMap<>();
+        boolean whole;
+
+        FieldProjection freeze() {
+            if (whole) {
+                return ALL;
+            }
+            Map<String, FieldProjection> frozen = new HashMap<>();
+            children.forEach((name, child) -> frozen.put(name, child.freeze()));
+            return new FieldProjection(Map.copyOf(frozen));
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.ruleengine.ingest.log;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Settings for event log ingestion ({@code rule-engine.ingest.log.*}).
+ */
+@Component
+@ConfigurationProperties(prefix = "rule-engine.ingest.log")
+public class LogIngestProperties {
+
+    private boolean enabled;
+    private String directory = "data/event-log";
+    private Duration pollInterval = Duration.ofMillis(200);
+    private int maxBatchBytes = 8 * 1024 * 1024;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public Duration getPollInterval() {
+        return pollInterval;
+    }
+
+    public void setPollInterval(Duration pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+
+    public int getMaxBatchBytes() {
+        return maxBatchBytes;
+    }
+
+    public void setMaxBatchBytes(int maxBatchBytes) {
+        this.maxBatchBytes = maxBatchBytes;
+    }
+}
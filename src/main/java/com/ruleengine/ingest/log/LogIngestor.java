@@ -0,0 +1,135 @@
+package com.ruleengine.ingest.log;
+
+import com.ruleengine.action.ActionDispatcher;
+import com.ruleengine.engine.RuleEngine;
+import com.ruleengine.engine.RuleRegistry;
+import com.ruleengine.ingest.EventReader;
+import com.ruleengine.journal.EvaluationJournal;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Feeds the engine from local event log files, without HTTP.
+ *
+ * Every subdirectory of {@code rule-engine.ingest.log.directory} is a
+ * partition of length-prefixed {@link com.ruleengine.ingest.BinaryEventFormat}
+ * segments (see {@link LogPartition}). Each partition is consumed on its
+ * own thread, so partitions progress in parallel and events within one
+ * keep their order; new partitions are picked up while running. Consumer
+ * positions are committed to each partition's {@code consumer.offset}
+ * after every batch, once its actions have run and its journal records are
+ * written, for at-least-once delivery across restarts.
+ */
+@Component
+public class LogIngestor {
+
+    private static final Logger logger = LoggerFactory.getLogger(LogIngestor.class);
+
+    private final LogIngestProperties properties;
+    private final RuleRegistry ruleRegistry;
+    private final RuleEngine ruleEngine;
+    private final EventReader eventReader;
+    private final ActionDispatcher actionDispatcher;
+    private final EvaluationJournal journal;
+    private final Map<String, PartitionConsumer> consumers = new ConcurrentHashMap<>();
+    private final Map<String, Thread> threads = new ConcurrentHashMap<>();
+    private ScheduledExecutorService discovery;
+
+    public LogIngestor(LogIngestProperties properties, RuleRegistry ruleRegistry, RuleEngine ruleEngine,
+            EventReader eventReader, ActionDispatcher actionDispatcher, EvaluationJournal journal) {
+        this.properties = properties;
+        this.ruleRegistry = ruleRegistry;
+        this.ruleEngine = ruleEngine;
+        this.eventReader = eventReader;
+        this.actionDispatcher = actionDispatcher;
+        this.journal = journal;
+    }
+
+    /**
+     * Starts watching the log directory for partitions, if enabled.
+     */
+    @PostConstruct
+    public synchronized void start() {
+        if (!properties.isEnabled() || discovery != null) {
+            return;
+        }
+        Path directory = Paths.get(properties.getDirectory());
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create event log directory " + directory, e);
+        }
+        logger.info("Ingesting event logs from {}", directory.toAbsolutePath());
+
+        discovery = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("log-ingest-discovery").daemon().factory());
+        discovery.scheduleWithFixedDelay(() -> discover(directory), 0,
+                properties.getPollInterval().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void discover(Path directory) {
+        try (Stream<Path> entries = Files.list(directory)) {
+            entries.filter(Files::isDirectory).forEach(this::consume);
+        } catch (IOException e) {
+            logger.warn("Cannot list event log directory {}: {}", directory, e.getMessage());
+        }
+    }
+
+    private void consume(Path directory) {
+        String name = directory.getFileName().toString();
+        consumers.computeIfAbsent(name, partition -> {
+            PartitionConsumer consumer = new PartitionConsumer(new LogPartition(directory), ruleRegistry,
+                    ruleEngine, eventReader, actionDispatcher, journal, properties);
+            threads.put(partition, Thread.ofPlatform().name("log-ingest-" + partition).daemon().start(consumer));
+            return consumer;
+        });
+    }
+
+    /**
+     * Progress of every partition's consumer, by partition name.
+     */
+    public List<PartitionStats> getStats() {
+        return consumers.values().stream()
+                .map(PartitionConsumer::getStats)
+                .sorted(Comparator.comparing(PartitionStats::getPartition))
+                .toList();
+    }
+
+    /**
+     * Stops the consumers after their current batch.
+     */
+    @PreDestroy
+    public synchronized void stop() {
+        if (discovery == null) {
+            return;
+        }
+        discovery.shutdownNow();
+        consumers.values().forEach(PartitionConsumer::stop);
+        for (Thread thread : threads.values()) {
+            try {
+                thread.join(properties.getPollInterval().toMillis() + 5_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        discovery = null;
+    }
+}
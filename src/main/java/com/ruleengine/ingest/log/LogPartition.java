@@ -0,0 +1,235 @@
+package com.ruleengine.ingest.log;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * One partition of an event log: a directory of segment files and the
+ * consumer's committed position.
+ *
+ * Segments ({@code *.log}) hold records of
+ * {@link com.ruleengine.ingest.BinaryEventFormat} back to back and are read
+ * in file name order, so writers name them with zero-padded sequence
+ * numbers. Writers only append to the last segment and create the next one
+ * once the previous is complete; a partly written record at the end of the
+ * last segment is simply not read yet. An incomplete record at the end of
+ * an earlier segment, left by a writer that crashed mid-append and moved
+ * on, can never complete: its bytes are skipped.
+ *
+ * Reads map a window of the current segment read-only and return the
+ * complete records in it without copying. Not thread-safe: one consumer
+ * per partition.
+ */
+final class LogPartition implements Closeable {
+
+    static final String SEGMENT_SUFFIX = ".log";
+    static final String OFFSET_FILE = "consumer.offset";
+
+    private final String name;
+    private final Path directory;
+    private FileChannel channel;
+    private String channelSegment;
+
+    LogPartition(Path directory) {
+        this.name = directory.getFileName().toString();
+        this.directory = directory;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    /**
+     * Records read by one call to {@link #read}, the position after them,
+     * and the bytes of incomplete records skipped to get there.
+     */
+    record Batch(ByteBuffer records, LogPosition next, long skippedBytes) {
+
+        boolean isEmpty() {
+            return !records.hasRemaining();
+        }
+    }
+
+    /**
+     * Reads the complete records after a position, at most {@code maxBytes}
+     * of them unless a single record is larger. Moves on to the next
+     * segment once the current one is consumed and a later one exists,
+     * skipping an incomplete record at its end.
+     *
+     * @return The records, possibly none, and the position after them
+     * @throws IllegalStateException If the segment is corrupt: a negative
+     *                               record length, or a position past the
+     *                               end of the segment
+     */
+    Batch read(LogPosition from, int maxBytes) throws IOException {
+        LogPosition position = from;
+        long skipped = 0;
+        while (true) {
+            if (position.segment() == null) {
+                String first = nextSegment(null);
+                if (first == null) {
+                    return new Batch(ByteBuffer.allocate(0), position, skipped);
+                }
+                position = new LogPosition(first, 0);
+            }
+
+            FileChannel segment = open(position.segment());
+            if (segment == null) {
+                // Deleted by retention: resume at the next segment
+                String next = nextSegment(position.segment());
+                if (next == null) {
+                    return new Batch(ByteBuffer.allocate(0), position, skipped);
+                }
+                position = new LogPosition(next, 0);
+                continue;
+            }
+
+            long size = segment.size();
+            if (position.offset() > size) {
+                throw new IllegalStateException("Position " + position + " is past the end of the segment ("
+                        + size + " bytes) in partition '" + name + "'");
+            }
+            if (position.offset() < size) {
+                ByteBuffer records = map(segment, position, size, maxBytes);
+                if (records.hasRemaining()) {
+                    return new Batch(records,
+                            new LogPosition(position.segment(), position.offset() + records.limit()), skipped);
+                }
+            }
+
+            String next = nextSegment(position.segment());
+            // Bytes appended after size() was read come first
+            if (next == null || segment.size() > size) {
+                return new Batch(ByteBuffer.allocate(0), position, skipped);
+            }
+            if (position.offset() < size) {
+                // The writer moved on: the incomplete tail never completes
+                skipped += size - position.offset();
+            }
+            position = new LogPosition(next, 0);
+        }
+    }
+
+    /**
+     * Maps the complete records from the position on. The returned buffer
+     * starts at the position and is limited to the last complete record.
+     */
+    private ByteBuffer map(FileChannel segment, LogPosition position, long size, int maxBytes) throws IOException {
+        long available = size - position.offset();
+        if (available < 4) {
+            return ByteBuffer.allocate(0);
+        }
+        MappedByteBuffer window = segment.map(FileChannel.MapMode.READ_ONLY, position.offset(),
+                Math.min(available, Math.max(maxBytes, 4)));
+
+        int end = 0;
+        while (window.limit() - end >= 4) {
+            int length = window.getInt(end);
+            if (length < 0) {
+                throw new IllegalStateException("Corrupt record length " + length + " at "
+                        + new LogPosition(position.segment(), position.offset() + end) + " in partition '" + name
+                        + "'");
+            }
+            if (length > window.limit() - end - 4) {
+                if (end == 0 && 4L + length <= available) {
+                    // A single record larger than the window
+                    return segment.map(FileChannel.MapMode.READ_ONLY, position.offset(), 4L + length);
+                }
+                break;
+            }
+            end += 4 + length;
+        }
+        window.limit(end);
+        return window;
+    }
+
+    /**
+     * The committed position, or the start of the partition if none.
+     */
+    LogPosition committed() throws IOException {
+        try {
+            String[] fields = Files.readString(directory.resolve(OFFSET_FILE), StandardCharsets.UTF_8).trim()
+                    .split("\t");
+            return new LogPosition(fields[0], Long.parseLong(fields[1]));
+        } catch (NoSuchFileException e) {
+            return LogPosition.START;
+        } catch (RuntimeException e) {
+            throw new IOException("Unreadable offset file in partition '" + name + "'", e);
+        }
+    }
+
+    /**
+     * Durably replaces the committed position: written to a temporary file,
+     * forced to disk, then moved over the offset file atomically.
+     */
+    void commit(LogPosition position) throws IOException {
+        if (position.segment() == null) {
+            return;
+        }
+        Path temporary = directory.resolve(OFFSET_FILE + ".tmp");
+        try (FileChannel out = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer bytes = ByteBuffer.wrap((position.segment() + "\t" + position.offset() + "\n")
+                    .getBytes(StandardCharsets.UTF_8));
+            while (bytes.hasRemaining()) {
+                out.write(bytes);
+            }
+            out.force(true);
+        }
+        Files.move(temporary, directory.resolve(OFFSET_FILE), StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Name of the first segment after the given one (or the first segment
+     * if null), or null if there is none.
+     */
+    private String nextSegment(String after) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<String> later = files.map(file -> file.getFileName().toString())
+                    .filter(file -> file.endsWith(SEGMENT_SUFFIX))
+                    .filter(file -> after == null || file.compareTo(after) > 0)
+                    .sorted()
+                    .limit(1)
+                    .toList();
+            return later.isEmpty() ? null : later.get(0);
+        }
+    }
+
+    /**
+     * Channel of a segment, kept open while the consumer is in it; null if
+     * the segment does not exist.
+     */
+    private FileChannel open(String segment) throws IOException {
+        if (!segment.equals(channelSegment)) {
+            close();
+            try {
+                channel = FileChannel.open(directory.resolve(segment), StandardOpenOption.READ);
+            } catch (NoSuchFileException e) {
+                return null;
+            }
+            channelSegment = segment;
+        }
+        return channel;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+            channelSegment = null;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.ruleengine.ingest.log;
+
+/**
+ * A consumer position in a partition: a segment file name and a byte
+ * offset within it. A null segment is the start of the partition.
+ */
+public record LogPosition(String segment, long offset) {
+
+    static final LogPosition START = new LogPosition(null, 0);
+
+    @Override
+    public String toString() {
+        return (segment != null ? segment : "<start>") + "@" + offset;
+    }
+}
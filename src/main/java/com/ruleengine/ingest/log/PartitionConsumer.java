@@ -0,0 +1,198 @@
+package com.ruleengine.ingest.log;
+
+import com.ruleengine.action.ActionDispatcher;
+import com.ruleengine.engine.CompiledRule;
+import com.ruleengine.engine.EvaluationContext;
+import com.ruleengine.engine.RuleEngine;
+import com.ruleengine.engine.RuleRegistry;
+import com.ruleengine.engine.RuleSnapshot;
+import com.ruleengine.exception.InvalidEventException;
+import com.ruleengine.ingest.EventReader;
+import com.ruleengine.journal.EvaluationJournal;
+import com.ruleengine.model.Event;
+import com.ruleengine.model.Rule;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Consumes one log partition on its own thread: reads a batch of records,
+ * evaluates every event and runs its actions, then commits the position
+ * after the batch. Actions run on the consumer thread whatever the dispatch
+ * mode, and journal records are flushed before the commit, so a crash
+ * before the commit replays the batch: evaluation, actions and journal are
+ * at least once. Journal records dropped under {@code overflow-policy:
+ * DROP_OLDEST} are the exception.
+ *
+ * Each batch is evaluated against one rule snapshot and one evaluation
+ * time, pinned on a context owned by the consumer, through
+ * {@link RuleEngine#evaluateInto}.
+ */
+final class PartitionConsumer implements Runnable {
+
+    private static final Logger logger = LoggerFactory.getLogger(PartitionConsumer.class);
+
+    private final LogPartition partition;
+    private final RuleRegistry ruleRegistry;
+    private final RuleEngine ruleEngine;
+    private final EventReader eventReader;
+    private final ActionDispatcher actionDispatcher;
+    private final EvaluationJournal journal;
+    private final LogIngestProperties properties;
+    private final EvaluationContext context = new EvaluationContext();
+
+    private volatile LogPosition position;
+    private volatile boolean running = true;
+    // Written by the consumer thread only
+    private volatile PartitionStats.State state = PartitionStats.State.RUNNING;
+    private volatile String error;
+    private volatile long batches;
+    private volatile long events;
+    private volatile long failedEvents;
+    private volatile long matchedRules;
+    private volatile long skippedBytes;
+
+    PartitionConsumer(LogPartition partition, RuleRegistry ruleRegistry, RuleEngine ruleEngine,
+            EventReader eventReader, ActionDispatcher actionDispatcher, EvaluationJournal journal,
+            LogIngestProperties properties) {
+        this.partition = partition;
+        this.ruleRegistry = ruleRegistry;
+        this.ruleEngine = ruleEngine;
+        this.eventReader = eventReader;
+        this.actionDispatcher = actionDispatcher;
+        this.journal = journal;
+        this.properties = properties;
+    }
+
+    @Override
+    public void run() {
+        logger.info("Consuming event log partition '{}'", partition.getName());
+        try {
+            while (running) {
+                try {
+                    if (!pollOnce()) {
+                        Thread.sleep(properties.getPollInterval().toMillis());
+                    }
+                } catch (IOException e) {
+                    logger.warn("I/O error in event log partition '{}', retrying: {}", partition.getName(),
+                            e.getMessage());
+                    Thread.sleep(properties.getPollInterval().toMillis());
+                }
+            }
+            state = PartitionStats.State.STOPPED;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            state = PartitionStats.State.STOPPED;
+        } catch (RuntimeException e) {
+            logger.error("Stopped consuming event log partition '{}'", partition.getName(), e);
+            error = e.getMessage();
+            state = PartitionStats.State.FAILED;
+        } finally {
+            try {
+                partition.close();
+            } catch (IOException e) {
+                logger.debug("Could not close partition '{}'", partition.getName(), e);
+            }
+        }
+    }
+
+    /**
+     * Reads, evaluates and commits one batch.
+     *
+     * @return False if there was nothing to read
+     */
+    boolean pollOnce() throws IOException {
+        if (position == null) {
+            position = partition.committed();
+        }
+        LogPartition.Batch batch = partition.read(position, properties.getMaxBatchBytes());
+        if (batch.skippedBytes() > 0) {
+            skippedBytes += batch.skippedBytes();
+            logger.warn("Skipped {} bytes of incomplete records before {} in partition '{}'", batch.skippedBytes(),
+                    batch.next(), partition.getName());
+        }
+        if (batch.isEmpty()) {
+            if (!batch.next().equals(position)) {
+                // Moved on to a new segment
+                position = batch.next();
+                partition.commit(position);
+            }
+            return false;
+        }
+
+        RuleSnapshot snapshot = ruleRegistry.current();
+        context.pinClock(System.currentTimeMillis());
+        try {
+            Iterator<Event> records = eventReader.readBinary(batch.records(), snapshot);
+            while (records.hasNext()) {
+                evaluate(snapshot, records);
+            }
+        } finally {
+            context.unpinClock();
+        }
+
+        if (journal.isEnabled()) {
+            journal.flush();
+        }
+        partition.commit(batch.next());
+        position = batch.next();
+        batches++;
+        return true;
+    }
+
+    private void evaluate(RuleSnapshot snapshot, Iterator<Event> records) {
+        events++;
+        Event event;
+        int matched;
+        try {
+            event = records.next();
+            if (event.getType() == null || event.getType().isBlank() || event.getPayload() == null) {
+                throw new InvalidEventException("Event type and payload are required");
+            }
+            matched = ruleEngine.evaluateInto(snapshot, event, context);
+        } catch (InvalidEventException e) {
+            failedEvents++;
+            logger.debug("Skipped invalid event in partition '{}': {}", partition.getName(), e.getMessage());
+            return;
+        }
+
+        matchedRules += matched;
+        if (matched > 0 && journal.isEnabled()) {
+            List<Rule> rules = new ArrayList<>(matched);
+            for (int i = 0; i < matched; i++) {
+                rules.add(context.getMatchedRule(i).getRule());
+            }
+            journal.append(event, rules);
+        }
+        for (int i = 0; i < matched; i++) {
+            CompiledRule compiled = context.getMatchedRule(i);
+            Rule rule = compiled.getRule();
+            if (rule.getThen() != null && rule.getThen().getAction() != null) {
+                actionDispatcher.execute(rule.getThen().getAction(), event, rule);
+            }
+        }
+    }
+
+    void stop() {
+        running = false;
+    }
+
+    PartitionStats getStats() {
+        PartitionStats stats = new PartitionStats();
+        stats.setPartition(partition.getName());
+        stats.setState(state);
+        LogPosition current = position;
+        stats.setPosition(current != null ? current.toString() : null);
+        stats.setBatches(batches);
+        stats.setEvents(events);
+        stats.setFailedEvents(failedEvents);
+        stats.setMatchedRules(matchedRules);
+        stats.setSkippedBytes(skippedBytes);
+        stats.setError(error);
+        return stats;
+    }
+}
@@ -0,0 +1,108 @@
+package com.ruleengine.ingest.log;
+
+/**
+ * Progress of one log partition's consumer.
+ *
+ * {@code position} is the committed position; events after it are
+ * evaluated again after a restart. {@code failedEvents} counts records that
+ * could not be decoded or did not match their event type's schema; they
+ * are skipped. {@code skippedBytes} counts the bytes of incomplete records
+ * left at the end of a segment the writer moved on from. A consumer in
+ * state FAILED hit a corrupt segment and has stopped; {@code error} says
+ * where.
+ */
+public class PartitionStats {
+
+    /**
+     * Consumer states.
+     */
+    public enum State {
+        RUNNING, FAILED, STOPPED
+    }
+
+    private String partition;
+    private State state;
+    private String position;
+    private long batches;
+    private long events;
+    private long failedEvents;
+    private long matchedRules;
+    private long skippedBytes;
+    private String error;
+
+    public PartitionStats() {
+    }
+
+    // Getters and Setters
+    public String getPartition() {
+        return partition;
+    }
+
+    public void setPartition(String partition) {
+        this.partition = partition;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public void setState(State state) {
+        this.state = state;
+    }
+
+    public String getPosition() {
+        return position;
+    }
+
+    public void setPosition(String position) {
+        this.position = position;
+    }
+
+    public long getBatches() {
+        return batches;
+    }
+
+    public void setBatches(long batches) {
+        this.batches = batches;
+    }
+
+    public long getEvents() {
+        return events;
+    }
+
+    public void setEvents(long events) {
+        this.events = events;
+    }
+
+    public long getFailedEvents() {
+        return failedEvents;
+    }
+
+    public void setFailedEvents(long failedEvents) {
+        this.failedEvents = failedEvents;
+    }
+
+    public long getMatchedRules() {
+        return matchedRules;
+    }
+
+    public void setMatchedRules(long matchedRules) {
+        this.matchedRules = matchedRules;
+    }
+
+    public long getSkippedBytes() {
+        return skippedBytes;
+    }
+
+    public void setSkippedBytes(long skippedBytes) {
+        this.skippedBytes = skippedBytes;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,305 @@
+package com.ruleengine.journal;
+
+import com.ruleengine.action.OverflowPolicy;
+import com.ruleengine.model.ActionType;
+import com.ruleengine.model.Event;
+import com.ruleengine.model.Rule;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Audit trail of evaluations, written off the request path.
+ *
+ * Every event that matched at least one rule is appended as one compact
+ * binary record ({@link JournalFormat}): evaluation time, event type,
+ * payload hash (and the payload, with {@code payload: FULL}), and the
+ * matched rules with their actions. Callers only queue the event; a single
+ * writer thread encodes the records and copies them into memory-mapped
+ * segments ({@link JournalWriter}). When enabled, the payload-logging action
+ * handlers leave the payload to the journal.
+ */
+@Component
+public class EvaluationJournal {
+
+    private static final Logger logger = LoggerFactory.getLogger(EvaluationJournal.class);
+
+    private final JournalProperties properties;
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private BlockingQueue<Entry> queue;
+    private JournalWriter writer;
+    private Thread writerThread;
+    private volatile boolean running;
+    // Written by the writer thread only
+    private volatile long records;
+    private volatile long bytes;
+
+    public EvaluationJournal(JournalProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * A record to write, or a flush barrier (event null) the writer counts
+     * down once every entry queued before it is handled.
+     */
+    private record Entry(long timestampNanos, Event event, String[] rules, ActionType[] actions,
+            CountDownLatch barrier) {
+
+        Entry(long timestampNanos, Event event, String[] rules, ActionType[] actions) {
+            this(timestampNanos, event, rules, actions, null);
+        }
+    }
+
+    /**
+     * Opens the journal directory and starts the writer thread, if enabled.
+     */
+    @PostConstruct
+    public synchronized void start() {
+        if (!properties.isEnabled() || running) {
+            return;
+        }
+        if (properties.getOverflowPolicy() == OverflowPolicy.CALLER_RUNS) {
+            throw new IllegalStateException("rule-engine.journal.overflow-policy CALLER_RUNS is not supported: "
+                    + "journal segments have a single writer");
+        }
+        Path directory = Paths.get(properties.getDirectory());
+        try {
+            writer = new JournalWriter(directory, properties);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open evaluation journal in " + directory, e);
+        }
+        queue = new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity()));
+        running = true;
+        writerThread = Thread.ofPlatform().name("evaluation-journal").daemon().start(this::writeLoop);
+        logger.info("Evaluation journal in {} (payload {}, compression {})", directory.toAbsolutePath(),
+                properties.getPayload(), properties.getCompression());
+    }
+
+    /**
+     * True if records are being written.
+     */
+    public boolean isEnabled() {
+        return running;
+    }
+
+    /**
+     * Queues a record of an evaluated event and the rules it matched. Does
+     * nothing if the journal is disabled or nothing matched.
+     *
+     * @param matched Matched rules in evaluation order
+     */
+    public void append(Event event, List<Rule> matched) {
+        if (!running || matched.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        String[] rules = new String[matched.size()];
+        ActionType[] actions = new ActionType[matched.size()];
+        for (int i = 0; i < rules.length; i++) {
+            Rule rule = matched.get(i);
+            rules[i] = rule.getName();
+            actions[i] = rule.getThen() != null ? rule.getThen().getAction() : null;
+        }
+        Entry entry = new Entry(now.getEpochSecond() * 1_000_000_000L + now.getNano(), event, rules, actions);
+
+        if (properties.getOverflowPolicy() == OverflowPolicy.BLOCK) {
+            try {
+                queue.put(entry);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                dropped.increment();
+            }
+            return;
+        }
+        while (!queue.offer(entry)) {
+            Entry oldest = queue.poll();
+            if (oldest != null && oldest.barrier() != null) {
+                // Only the writer releases a barrier: records before it may
+                // still sit in its batch. Queued again, it waits a little longer.
+                requeue(oldest);
+            } else if (oldest != null) {
+                dropped.increment();
+            }
+        }
+    }
+
+    private void requeue(Entry barrier) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                queue.put(barrier);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits until every record queued so far by any thread has been copied
+     * into its segment (or dropped under {@code overflow-policy:
+     * DROP_OLDEST}). Written records survive a crash of the process. The
+     * barrier this queues is released by the writer only, after the records
+     * ahead of it.
+     */
+    public void flush() {
+        if (!running) {
+            return;
+        }
+        Entry barrier = new Entry(0, null, null, null, new CountDownLatch(1));
+        try {
+            queue.put(barrier);
+            while (!barrier.barrier().await(100, TimeUnit.MILLISECONDS)) {
+                if (!writerThread.isAlive()) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeLoop() {
+        Bytes body = new Bytes();
+        DataOutputStream out = new DataOutputStream(body);
+        List<Entry> batch = new ArrayList<>();
+        try {
+            while (running || !queue.isEmpty()) {
+                Entry first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, 1023);
+                for (Entry entry : batch) {
+                    if (entry.barrier() != null) {
+                        entry.barrier().countDown();
+                    } else {
+                        write(entry, body, out);
+                    }
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                logger.error("Could not seal journal segment: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private void write(Entry entry, Bytes body, DataOutputStream out) {
+        Event event = entry.event();
+        body.reset();
+        try {
+            JournalFormat.writeBody(out, entry.timestampNanos(), event.getType(),
+                    PayloadHash.of(event.getPayload()), entry.rules(), entry.actions(),
+                    properties.getPayload() == JournalProperties.PayloadMode.FULL ? event : null);
+            writer.append(body.array(), body.size());
+            records++;
+            bytes += 4 + body.size();
+        } catch (IOException | RuntimeException e) {
+            failed.increment();
+            logger.error("Could not journal event '{}': {}", event.getType(), e.getMessage());
+        }
+    }
+
+    /**
+     * Journal segment names in write order, the one being written last.
+     */
+    public List<String> getSegments() throws IOException {
+        Path directory = Paths.get(properties.getDirectory());
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> JournalFormat.SEGMENT_NAME.matcher(name).matches())
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /**
+     * Decodes the records of one segment.
+     *
+     * @return The records, or empty if there is no such segment
+     */
+    public Optional<List<JournalRecord>> read(String segment) throws IOException {
+        if (!JournalFormat.SEGMENT_NAME.matcher(segment).matches()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(JournalFormat.read(Paths.get(properties.getDirectory()).resolve(segment)));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+    }
+
+    public JournalStats getStats() {
+        JournalStats stats = new JournalStats();
+        stats.setEnabled(running);
+        JournalWriter current = writer;
+        stats.setSegment(current != null ? current.getSegment() : null);
+        stats.setRecords(records);
+        stats.setBytes(bytes);
+        stats.setQueued(queue != null ? queue.size() : 0);
+        stats.setDropped(dropped.sum());
+        stats.setFailed(failed.sum());
+        return stats;
+    }
+
+    /**
+     * Writes out the queued records and seals the current segment.
+     */
+    @PreDestroy
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Output buffer whose bytes are read in place.
+     */
+    private static final class Bytes extends ByteArrayOutputStream {
+
+        byte[] array() {
+            return buf;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.ruleengine.journal;
+
+import com.ruleengine.exception.InvalidEventException;
+import com.ruleengine.ingest.BinaryEventFormat;
+import com.ruleengine.model.ActionType;
+import com.ruleengine.model.Event;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Binary layout of journal segments.
+ *
+ * <pre>
+ * segment := record* (zero bytes)*
+ * record  := u32 length, body (length bytes)
+ * body    := i64 time (ns since the epoch), str16 type, i64 payload hash,
+ *            u16 n, (str16 rule, str16 action)*    (action: "" if none)
+ *            u8 0 | u8 1, event                     (event: one record of
+ *                                                    {@link BinaryEventFormat})
+ * str16   := u16 n, n bytes UTF-8
+ * </pre>
+ *
+ * Integers are big-endian. Segments are preallocated, so the records of a
+ * segment still being written are followed by zero bytes; a zero length ends
+ * the segment. Sealed segments are truncated after their last record and
+ * may be gzip-compressed ({@code .jnl.gz}).
+ */
+public final class JournalFormat {
+
+    static final String SEGMENT_SUFFIX = ".jnl";
+    static final String COMPRESSED_SUFFIX = ".jnl.gz";
+    static final Pattern SEGMENT_NAME = Pattern.compile("\\d{20}\\.jnl(\\.gz)?");
+
+    private JournalFormat() {
+    }
+
+    static String segmentName(long sequence) {
+        return String.format("%020d", sequence) + SEGMENT_SUFFIX;
+    }
+
+    static long sequenceOf(String segment) {
+        return Long.parseLong(segment.substring(0, 20));
+    }
+
+    /**
+     * Writes the body of one record; the caller prefixes its length.
+     *
+     * @param event The event, or null to keep only the payload hash
+     */
+    static void writeBody(DataOutputStream out, long timestampNanos, String eventType, long payloadHash,
+            String[] rules, ActionType[] actions, Event event) throws IOException {
+        out.writeLong(timestampNanos);
+        writeString(out, eventType != null ? eventType : "");
+        out.writeLong(payloadHash);
+        if (rules.length > 0xFFFF) {
+            throw new IllegalArgumentException("More than 65535 matched rules: " + rules.length);
+        }
+        out.writeShort(rules.length);
+        for (int i = 0; i < rules.length; i++) {
+            writeString(out, rules[i]);
+            writeString(out, actions[i] != null ? actions[i].name() : "");
+        }
+        if (event == null) {
+            out.writeByte(0);
+        } else {
+            out.writeByte(1);
+            out.write(BinaryEventFormat.encode(List.of(event)));
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        if (utf8.length > 0xFFFF) {
+            throw new IllegalArgumentException("String longer than 65535 bytes: " + value.substring(0, 32) + "...");
+        }
+        out.writeShort(utf8.length);
+        out.write(utf8);
+    }
+
+    /**
+     * Reads every record of a segment file, compressed or not. A segment
+     * still being written is read up to its last complete record.
+     *
+     * @throws IOException If the file cannot be read or a record is corrupt
+     */
+    public static List<JournalRecord> read(Path segment) throws IOException {
+        if (segment.getFileName().toString().endsWith(COMPRESSED_SUFFIX)) {
+            try (InputStream in = new GZIPInputStream(Files.newInputStream(segment))) {
+                return decode(ByteBuffer.wrap(in.readAllBytes()), segment);
+            }
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            return decode(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), segment);
+        }
+    }
+
+    private static List<JournalRecord> decode(ByteBuffer buffer, Path segment) throws IOException {
+        List<JournalRecord> records = new ArrayList<>();
+        int end = end(buffer);
+        int position = 0;
+        while (position < end) {
+            int length = buffer.getInt(position);
+            try {
+                records.add(decodeBody(buffer.slice(position + 4, length)));
+            } catch (BufferUnderflowException | IllegalArgumentException | InvalidEventException e) {
+                throw new IOException("Corrupt journal record at " + segment.getFileName() + "@" + position, e);
+            }
+            position += 4 + length;
+        }
+        return records;
+    }
+
+    /**
+     * Offset after the last complete record: where the zero bytes or a
+     * partly written record start.
+     */
+    static int end(ByteBuffer buffer) {
+        int position = 0;
+        while (buffer.limit() - position >= 4) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || length > buffer.limit() - position - 4) {
+                break;
+            }
+            position += 4 + length;
+        }
+        return position;
+    }
+
+    private static JournalRecord decodeBody(ByteBuffer body) {
+        long timestampNanos = body.getLong();
+        String eventType = readString(body);
+        long payloadHash = body.getLong();
+        int count = Short.toUnsignedInt(body.getShort());
+        List<JournalRecord.Match> matches = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String rule = readString(body);
+            String action = readString(body);
+            matches.add(new JournalRecord.Match(rule, action.isEmpty() ? null : ActionType.valueOf(action)));
+        }
+        Map<String, Object> payload = null;
+        if (body.get() == 1) {
+            Iterator<Event> events = BinaryEventFormat.decode(body);
+            payload = events.next().getPayload();
+        }
+        return new JournalRecord(timestampNanos, eventType, payloadHash, payload, List.copyOf(matches));
+    }
+
+    private static String readString(ByteBuffer body) {
+        byte[] utf8 = new byte[Short.toUnsignedInt(body.getShort())];
+        body.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,108 @@
+package com.ruleengine.journal;
+
+import com.ruleengine.action.OverflowPolicy;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings for the evaluation journal ({@code rule-engine.journal.*}).
+ */
+@Component
+@ConfigurationProperties(prefix = "rule-engine.journal")
+public class JournalProperties {
+
+    /**
+     * What a journal record keeps of the event payload.
+     */
+    public enum PayloadMode {
+        /**
+         * A 64-bit hash of the payload.
+         */
+        HASH,
+
+        /**
+         * The hash and the payload itself.
+         */
+        FULL
+    }
+
+    /**
+     * How sealed segments are stored.
+     */
+    public enum Compression {
+        NONE, GZIP
+    }
+
+    private boolean enabled;
+    private String directory = "data/journal";
+    private PayloadMode payload = PayloadMode.HASH;
+    private Compression compression = Compression.NONE;
+    private int segmentBytes = 64 * 1024 * 1024;
+    private int maxSegments;
+    private int queueCapacity = 65_536;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public PayloadMode getPayload() {
+        return payload;
+    }
+
+    public void setPayload(PayloadMode payload) {
+        this.payload = payload;
+    }
+
+    public Compression getCompression() {
+        return compression;
+    }
+
+    public void setCompression(Compression compression) {
+        this.compression = compression;
+    }
+
+    public int getSegmentBytes() {
+        return segmentBytes;
+    }
+
+    public void setSegmentBytes(int segmentBytes) {
+        this.segmentBytes = segmentBytes;
+    }
+
+    public int getMaxSegments() {
+        return maxSegments;
+    }
+
+    public void setMaxSegments(int maxSegments) {
+        this.maxSegments = maxSegments;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+}
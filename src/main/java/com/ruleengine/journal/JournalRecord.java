@@ -0,0 +1,24 @@
+package com.ruleengine.journal;
+
+import com.ruleengine.model.ActionType;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One decoded journal record: an evaluated event and the rules it matched.
+ *
+ * @param timestampNanos Evaluation time in nanoseconds since the epoch
+ * @param payloadHash    64-bit hash of the payload, independent of member order
+ * @param payload        The payload, if the journal kept payloads; otherwise null
+ * @param matches        Matched rules in evaluation order
+ */
+public record JournalRecord(long timestampNanos, String eventType, long payloadHash, Map<String, Object> payload,
+        List<Match> matches) {
+
+    /**
+     * A matched rule and the action it triggered, null if none.
+     */
+    public record Match(String rule, ActionType action) {
+    }
+}
@@ -0,0 +1,79 @@
+package com.ruleengine.journal;
+
+/**
+ * Progress of the evaluation journal.
+ *
+ * {@code dropped} counts records discarded because the queue was full
+ * (overflow policy DROP_OLDEST); {@code failed} counts records that could
+ * not be written.
+ */
+public class JournalStats {
+
+    private boolean enabled;
+    private String segment;
+    private long records;
+    private long bytes;
+    private long queued;
+    private long dropped;
+    private long failed;
+
+    public JournalStats() {
+    }
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getSegment() {
+        return segment;
+    }
+
+    public void setSegment(String segment) {
+        this.segment = segment;
+    }
+
+    public long getRecords() {
+        return records;
+    }
+
+    public void setRecords(long records) {
+        this.records = records;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public void setBytes(long bytes) {
+        this.bytes = bytes;
+    }
+
+    public long getQueued() {
+        return queued;
+    }
+
+    public void setQueued(long queued) {
+        this.queued = queued;
+    }
+
+    public long getDropped() {
+        return dropped;
+    }
+
+    public void setDropped(long dropped) {
+        this.dropped = dropped;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public void setFailed(long failed) {
+        this.failed = failed;
+    }
+}
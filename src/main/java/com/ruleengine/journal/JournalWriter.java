@@ -0,0 +1,168 @@
+package com.ruleengine.journal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Appends records to memory-mapped journal segments, rotating to a new
+ * segment when the current one is full.
+ *
+ * A segment is created at its full size and mapped once; a record is copied
+ * into the mapping and its length written last, so a concurrent reader sees
+ * complete records only. Writes reach the page cache immediately and survive
+ * a crash of the process; they are forced to disk when a segment is sealed.
+ * Sealing truncates the segment after its last record and, if configured,
+ * gzips it. Not thread-safe: one writer thread.
+ */
+final class JournalWriter implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(JournalWriter.class);
+
+    private final Path directory;
+    private final JournalProperties properties;
+    private long sequence;
+    private volatile String segment;
+    private FileChannel channel;
+    private MappedByteBuffer mapped;
+
+    /**
+     * Seals the segments a previous run left open, then continues with a
+     * new segment after them.
+     */
+    JournalWriter(Path directory, JournalProperties properties) throws IOException {
+        this.directory = directory;
+        this.properties = properties;
+        Files.createDirectories(directory);
+        for (String existing : segments()) {
+            sequence = Math.max(sequence, JournalFormat.sequenceOf(existing) + 1);
+            if (existing.endsWith(JournalFormat.SEGMENT_SUFFIX)) {
+                recover(directory.resolve(existing));
+            }
+        }
+    }
+
+    /**
+     * Appends one record.
+     *
+     * @param body   Record body in {@link JournalFormat}
+     * @param length Number of bytes of the body to write
+     */
+    void append(byte[] body, int length) throws IOException {
+        int size = 4 + length;
+        if (mapped == null || mapped.remaining() < size) {
+            rotate(size);
+        }
+        int position = mapped.position();
+        mapped.put(position + 4, body, 0, length);
+        mapped.putInt(position, length);
+        mapped.position(position + size);
+    }
+
+    /**
+     * Name of the segment being written, null before the first record.
+     */
+    String getSegment() {
+        return segment;
+    }
+
+    private void rotate(int size) throws IOException {
+        sealCurrent();
+        segment = JournalFormat.segmentName(sequence++);
+        channel = FileChannel.open(directory.resolve(segment), StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(properties.getSegmentBytes(), size));
+        enforceRetention();
+    }
+
+    private void sealCurrent() throws IOException {
+        if (channel == null) {
+            return;
+        }
+        mapped.force();
+        channel.truncate(mapped.position());
+        channel.close();
+        Path sealed = directory.resolve(segment);
+        channel = null;
+        mapped = null;
+        segment = null;
+        compress(sealed);
+    }
+
+    /**
+     * Truncates a segment left open by a crash after its last complete
+     * record.
+     */
+    private void recover(Path path) throws IOException {
+        try (FileChannel open = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            int end = JournalFormat.end(open.map(FileChannel.MapMode.READ_ONLY, 0, open.size()));
+            if (end < open.size()) {
+                logger.info("Truncating journal segment {} after its last record ({} bytes)", path.getFileName(),
+                        end);
+                open.truncate(end);
+            }
+        }
+        compress(path);
+    }
+
+    private void compress(Path path) throws IOException {
+        if (properties.getCompression() != JournalProperties.Compression.GZIP) {
+            return;
+        }
+        String name = path.getFileName().toString();
+        Path compressed = directory.resolve(name.substring(0, name.length() - JournalFormat.SEGMENT_SUFFIX.length())
+                + JournalFormat.COMPRESSED_SUFFIX);
+        Path temporary = directory.resolve(compressed.getFileName() + ".tmp");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(temporary))) {
+            Files.copy(path, out);
+        }
+        Files.move(temporary, compressed, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        Files.delete(path);
+    }
+
+    /**
+     * Deletes the oldest segments beyond {@code max-segments}, the one being
+     * written included.
+     */
+    private void enforceRetention() throws IOException {
+        if (properties.getMaxSegments() <= 0) {
+            return;
+        }
+        List<String> all = segments();
+        for (int i = 0; i < all.size() - properties.getMaxSegments(); i++) {
+            Files.deleteIfExists(directory.resolve(all.get(i)));
+        }
+    }
+
+    /**
+     * Segment file names in write order.
+     */
+    private List<String> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> JournalFormat.SEGMENT_NAME.matcher(name).matches())
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /**
+     * Seals the segment being written.
+     */
+    @Override
+    public void close() throws IOException {
+        sealCurrent();
+    }
+}
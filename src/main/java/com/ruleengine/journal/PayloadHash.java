@@ -0,0 +1,75 @@
+package com.ruleengine.journal;
+
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 64-bit hash of a payload value, for journals that do not keep payloads.
+ *
+ * Maps hash the same whatever their member order, so a payload parsed
+ * twice hashes the same; list order counts. Integers hash by value whatever
+ * their Java type, but {@code 1} and {@code 1.0} differ, as they do in the
+ * binary event format. Not cryptographic.
+ */
+final class PayloadHash {
+
+    private static final long NULL = 0x6A09E667F3BCC908L;
+    private static final long FALSE = 0xBB67AE8584CAA73BL;
+    private static final long TRUE = 0x3C6EF372FE94F82BL;
+    private static final long INTEGER = 0xA54FF53A5F1D36F1L;
+    private static final long FLOAT = 0x510E527FADE682D1L;
+    private static final long STRING = 0x9B05688C2B3E6C1FL;
+    private static final long LIST = 0x1F83D9ABFB41BD6BL;
+    private static final long MAP = 0x5BE0CD19137E2179L;
+
+    private PayloadHash() {
+    }
+
+    static long of(Object value) {
+        if (value == null) {
+            return NULL;
+        }
+        if (value instanceof Boolean) {
+            return (Boolean) value ? TRUE : FALSE;
+        }
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte
+                || value instanceof BigInteger && ((BigInteger) value).bitLength() < 64) {
+            return mix(INTEGER ^ ((Number) value).longValue());
+        }
+        if (value instanceof Double || value instanceof Float) {
+            return mix(FLOAT ^ Double.doubleToLongBits(((Number) value).doubleValue()));
+        }
+        if (value instanceof Map) {
+            // Sum of member hashes: independent of iteration order
+            long hash = MAP + ((Map<?, ?>) value).size();
+            for (Map.Entry<?, ?> member : ((Map<?, ?>) value).entrySet()) {
+                hash += mix(of(String.valueOf(member.getKey())) * 31 + of(member.getValue()));
+            }
+            return mix(hash);
+        }
+        if (value instanceof Collection) {
+            long hash = LIST;
+            for (Object element : (Collection<?>) value) {
+                hash = hash * 31 + of(element);
+            }
+            return mix(hash);
+        }
+        // FNV-1a over the UTF-16 code units
+        String text = value.toString();
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < text.length(); i++) {
+            hash = (hash ^ text.charAt(i)) * 0x100000001B3L;
+        }
+        return mix(STRING ^ hash);
+    }
+
+    /**
+     * Finalizer of SplitMix64: spreads every input bit over the result.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
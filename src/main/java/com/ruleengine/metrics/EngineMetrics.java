@@ -0,0 +1,267 @@
+package com.ruleengine.metrics;
+
+import com.ruleengine.evaluator.compiled.Operator;
+import com.ruleengine.model.RuleStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Hot-path counters of the rule engine.
+ *
+ * Everything here is a striped {@link LongAdder} or a
+ * {@link LatencyHistogram}, so recording from many evaluating threads does
+ * not contend. The registry is independent of any metrics library; it is
+ * published to Micrometer by {@link EngineMetricsBinder}, which reads the
+ * counters when metrics are scraped.
+ *
+ * Event types come from clients, so at most {@code maxEventTypes} of them
+ * get their own histogram; the rest are recorded under {@link #OTHER}.
+ *
+ * Per-rule cost is profiled on a random sample of one in
+ * {@code profileSampleRate} rule evaluations, so timing two
+ * {@code nanoTime()} calls per rule stays affordable in production.
+ *
+ * Leaf tests are counted per operator from the leaves of each tested rule,
+ * so the compiled conditions themselves count nothing; leaves skipped by
+ * short-circuiting are counted as well.
+ */
+@Component
+public class EngineMetrics {
+
+    /**
+     * Tag for event types beyond the limit, and for events without a type.
+     */
+    public static final String OTHER = "other";
+
+    private final int maxEventTypes;
+    private final int sampleMask;
+    private final Map<String, LatencyHistogram> latencyByEventType = new ConcurrentHashMap<>();
+    private final Map<String, RuleCounters> countersByRule = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errorsByException = new ConcurrentHashMap<>();
+    private final LongAdder[] leafTestsByOperator = new LongAdder[Operator.values().length];
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    public EngineMetrics() {
+        this(100, 64);
+    }
+
+    /**
+     * @param profileSampleRate Profile one in this many rule evaluations,
+     *                          rounded up to a power of two; 0 disables
+     *                          profiling
+     */
+    @Autowired
+    public EngineMetrics(@Value("${rule-engine.metrics.max-event-types:100}") int maxEventTypes,
+            @Value("${rule-engine.metrics.profile-sample-rate:64}") int profileSampleRate) {
+        this.maxEventTypes = maxEventTypes;
+        this.sampleMask = profileSampleRate > 0 ? nextPowerOfTwo(profileSampleRate) - 1 : -1;
+        for (int i = 0; i < leafTestsByOperator.length; i++) {
+            leafTestsByOperator[i] = new LongAdder();
+        }
+    }
+
+    private static int nextPowerOfTwo(int n) {
+        return n <= 1 ? 1 : Integer.highestOneBit(n - 1) << 1;
+    }
+
+    /**
+     * Decides whether the current rule evaluation should be timed.
+     */
+    public boolean sample() {
+        return sampleMask >= 0 && (ThreadLocalRandom.current().nextInt() & sampleMask) == 0;
+    }
+
+    /**
+     * Records the time taken to evaluate one event.
+     */
+    public void recordEvaluation(String eventType, long nanos) {
+        LatencyHistogram histogram = eventType != null ? latencyByEventType.get(eventType) : null;
+        if (histogram == null) {
+            histogram = eventTypeHistogram(eventType);
+        }
+        histogram.record(nanos);
+    }
+
+    private LatencyHistogram eventTypeHistogram(String eventType) {
+        String key = eventType != null && latencyByEventType.size() < maxEventTypes ? eventType : OTHER;
+        return getOrCreate(latencyByEventType, key, LatencyHistogram::new,
+                (listener, histogram) -> listener.onEventType(key, histogram));
+    }
+
+    /**
+     * Records the leaf conditions of one tested rule.
+     *
+     * @param operators Operator of each leaf, see
+     *                  {@link com.ruleengine.engine.CompiledRule#getLeafOperators()}
+     */
+    public void recordLeafTests(Operator[] operators) {
+        for (Operator operator : operators) {
+            leafTestsByOperator[operator.ordinal()].increment();
+        }
+    }
+
+    /**
+     * Number of leaf conditions tested with an operator.
+     */
+    public long getLeafTests(Operator operator) {
+        return leafTestsByOperator[operator.ordinal()].sum();
+    }
+
+    /**
+     * Records an exception thrown while evaluating a rule condition.
+     */
+    public void recordException(Exception e) {
+        String type = e.getClass().getSimpleName();
+        getOrCreate(errorsByException, type, LongAdder::new,
+                (listener, counter) -> listener.onException(type, counter)).increment();
+    }
+
+    /**
+     * Returns the counters of the named rule, creating them on first use.
+     */
+    public RuleCounters ruleCounters(String ruleName) {
+        return getOrCreate(countersByRule, ruleName, RuleCounters::new,
+                (listener, counters) -> listener.onRule(ruleName, counters));
+    }
+
+    /**
+     * Drops the counters of rules not in the given set, e.g. deleted rules,
+     * and tells the listeners so their meters go too.
+     *
+     * @param ruleNames Names of the rules to keep
+     */
+    public synchronized void retainRules(Set<String> ruleNames) {
+        countersByRule.entrySet().removeIf(entry -> {
+            if (ruleNames.contains(entry.getKey())) {
+                return false;
+            }
+            for (Listener listener : listeners) {
+                listener.onRuleRemoved(entry.getKey(), entry.getValue());
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Returns the profile of the named rule (all zeros if it has not been
+     * evaluated).
+     */
+    public RuleStats getRuleStats(String ruleName) {
+        RuleCounters counters = countersByRule.get(ruleName);
+        RuleStats stats = new RuleStats();
+        stats.setRuleName(ruleName);
+        if (counters == null) {
+            return stats;
+        }
+        long evaluated = counters.getEvaluated();
+        stats.setEvaluated(evaluated);
+        stats.setMatched(counters.getMatched());
+        stats.setMatchRatio(evaluated > 0 ? (double) counters.getMatched() / evaluated : 0);
+        stats.setErrors(counters.getErrors());
+
+        LatencyHistogram cost = counters.getCost();
+        if (cost != null) {
+            stats.setSampled(cost.getCount());
+            stats.setMeanNanos(cost.getMeanNanos());
+            stats.setP50Nanos(cost.percentileNanos(0.5));
+            stats.setP99Nanos(cost.percentileNanos(0.99));
+            stats.setMaxNanos(cost.getMaxNanos());
+            stats.setEstimatedTotalNanos(cost.getMeanNanos() * evaluated);
+        }
+        return stats;
+    }
+
+    /**
+     * Returns the most expensive of the given rules, most expensive first.
+     * Rules without a sampled evaluation are left out.
+     */
+    public List<RuleStats> getMostExpensiveRules(Collection<String> ruleNames, int limit, RuleRanking ranking) {
+        Comparator<RuleStats> order = switch (ranking) {
+            case TOTAL -> Comparator.comparingLong(RuleStats::getEstimatedTotalNanos);
+            case MEAN -> Comparator.comparingLong(RuleStats::getMeanNanos);
+            case P99 -> Comparator.comparingLong(RuleStats::getP99Nanos);
+        };
+        List<RuleStats> profiled = new ArrayList<>();
+        for (String ruleName : ruleNames) {
+            RuleStats stats = getRuleStats(ruleName);
+            if (stats.getSampled() > 0) {
+                profiled.add(stats);
+            }
+        }
+        profiled.sort(order.reversed().thenComparing(RuleStats::getRuleName));
+        return profiled.subList(0, Math.min(Math.max(limit, 0), profiled.size()));
+    }
+
+    public Map<String, LatencyHistogram> getLatencyByEventType() {
+        return latencyByEventType;
+    }
+
+    public Map<String, RuleCounters> getCountersByRule() {
+        return countersByRule;
+    }
+
+    public Map<String, LongAdder> getErrorsByException() {
+        return errorsByException;
+    }
+
+    /**
+     * Registers a listener for new event types, rules and exception types.
+     * Entries that already exist are replayed to it first.
+     */
+    public synchronized void addListener(Listener listener) {
+        latencyByEventType.forEach(listener::onEventType);
+        countersByRule.forEach(listener::onRule);
+        errorsByException.forEach(listener::onException);
+        listeners.add(listener);
+    }
+
+    private <T> T getOrCreate(Map<String, T> map, String key, Supplier<T> factory,
+            BiConsumer<Listener, T> announce) {
+        T existing = map.get(key);
+        if (existing != null) {
+            return existing;
+        }
+        synchronized (this) {
+            existing = map.get(key);
+            if (existing != null) {
+                return existing;
+            }
+            T created = factory.get();
+            map.put(key, created);
+            for (Listener listener : listeners) {
+                announce.accept(listener, created);
+            }
+            return created;
+        }
+    }
+
+    /**
+     * Notified once for every new entry, so meters can be registered for
+     * rules and event types that appear at runtime, and once for every rule
+     * whose counters are dropped.
+     */
+    public interface Listener {
+
+        void onEventType(String eventType, LatencyHistogram latency);
+
+        void onRule(String ruleName, RuleCounters counters);
+
+        void onRuleRemoved(String ruleName, RuleCounters counters);
+
+        void onException(String exceptionType, LongAdder count);
+    }
+}
@@ -0,0 +1,166 @@
+package com.ruleengine.metrics;
+
+import com.ruleengine.action.ActionDispatcher;
+import com.ruleengine.action.ActionStats;
+import com.ruleengine.evaluator.compiled.Operator;
+import com.ruleengine.model.ActionType;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes {@link EngineMetrics}, per-operator counts and action dispatch
+ * statistics to Micrometer (and so to {@code /actuator/metrics}).
+ *
+ * All meters are function-based: they read the engine's own striped
+ * counters and histograms when scraped, so nothing here runs on the
+ * evaluation path. Meters of a rule are removed when the rule leaves the
+ * rule set.
+ */
+@Component
+public class EngineMetricsBinder implements MeterBinder {
+
+    private static final double[] PERCENTILES = { 0.5, 0.99 };
+    private static final LatencyHistogram EMPTY = new LatencyHistogram();
+
+    private final EngineMetrics metrics;
+    private final ActionDispatcher actionDispatcher;
+    private final Map<String, List<Meter>> ruleMeters = new ConcurrentHashMap<>();
+
+    public EngineMetricsBinder(EngineMetrics metrics, ActionDispatcher actionDispatcher) {
+        this.metrics = metrics;
+        this.actionDispatcher = actionDispatcher;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Operator operator : Operator.values()) {
+            FunctionCounter.builder("rule.engine.operator.evaluations", metrics,
+                            engineMetrics -> engineMetrics.getLeafTests(operator))
+                    .description("Leaf conditions of tested rules, by operator")
+                    .tag("operator", operator.getSymbol())
+                    .register(registry);
+        }
+
+        metrics.addListener(new EngineMetrics.Listener() {
+            @Override
+            public void onEventType(String eventType, LatencyHistogram latency) {
+                bindLatency(registry, "rule.engine.evaluation", "Time to evaluate one event",
+                        Tags.of("eventType", eventType), latency);
+            }
+
+            @Override
+            public void onRule(String ruleName, RuleCounters counters) {
+                Tags tags = Tags.of("rule", ruleName);
+                ruleMeters.put(ruleName, List.of(
+                        FunctionCounter.builder("rule.engine.rule.evaluated", counters, RuleCounters::getEvaluated)
+                                .description("Times the rule's condition was tested")
+                                .tags(tags).register(registry),
+                        FunctionCounter.builder("rule.engine.rule.matched", counters, RuleCounters::getMatched)
+                                .description("Times the rule matched")
+                                .tags(tags).register(registry),
+                        FunctionCounter.builder("rule.engine.rule.errors", counters, RuleCounters::getErrors)
+                                .description("Times the rule's condition threw")
+                                .tags(tags).register(registry)));
+            }
+
+            @Override
+            public void onRuleRemoved(String ruleName, RuleCounters counters) {
+                List<Meter> meters = ruleMeters.remove(ruleName);
+                if (meters != null) {
+                    meters.forEach(registry::remove);
+                }
+            }
+
+            @Override
+            public void onException(String exceptionType, LongAdder count) {
+                FunctionCounter.builder("rule.engine.evaluation.errors", count, LongAdder::sum)
+                        .description("Exceptions thrown by rule conditions")
+                        .tag("exception", exceptionType)
+                        .register(registry);
+            }
+        });
+
+        for (ActionType type : ActionType.values()) {
+            if (actionDispatcher.getStats(type) != null) {
+                bindActionType(registry, type);
+            }
+        }
+    }
+
+    private void bindActionType(MeterRegistry registry, ActionType type) {
+        Tags tags = Tags.of("type", type.name());
+        FunctionTimer.builder("rule.engine.action.handler", actionDispatcher,
+                        dispatcher -> latency(dispatcher, type).getCount(),
+                        dispatcher -> latency(dispatcher, type).getTotalNanos(), TimeUnit.NANOSECONDS)
+                .description("Action handler run time")
+                .tags(tags).register(registry);
+        for (double percentile : PERCENTILES) {
+            TimeGauge.builder("rule.engine.action.handler.percentile", actionDispatcher, TimeUnit.NANOSECONDS,
+                            dispatcher -> latency(dispatcher, type).percentileNanos(percentile))
+                    .tags(tags).tag("quantile", String.valueOf(percentile))
+                    .register(registry);
+        }
+        TimeGauge.builder("rule.engine.action.handler.max", actionDispatcher, TimeUnit.NANOSECONDS,
+                        dispatcher -> latency(dispatcher, type).getMaxNanos())
+                .tags(tags).register(registry);
+
+        FunctionCounter.builder("rule.engine.action.failures", actionDispatcher,
+                        stat(type, ActionStats::getFailed))
+                .description("Action handlers that threw")
+                .tags(tags).register(registry);
+        FunctionCounter.builder("rule.engine.action.dropped", actionDispatcher,
+                        stat(type, ActionStats::getDropped))
+                .description("Actions dropped by the overflow policy or at shutdown")
+                .tags(tags).register(registry);
+        Gauge.builder("rule.engine.action.queue.depth", actionDispatcher,
+                        stat(type, ActionStats::getQueueDepth))
+                .description("Actions waiting for a worker")
+                .tags(tags).register(registry);
+    }
+
+    private static void bindLatency(MeterRegistry registry, String name, String description, Tags tags,
+            LatencyHistogram latency) {
+        FunctionTimer.builder(name, latency, LatencyHistogram::getCount, LatencyHistogram::getTotalNanos,
+                        TimeUnit.NANOSECONDS)
+                .description(description)
+                .tags(tags).register(registry);
+        for (double percentile : PERCENTILES) {
+            TimeGauge.builder(name + ".percentile", latency, TimeUnit.NANOSECONDS,
+                            histogram -> histogram.percentileNanos(percentile))
+                    .tags(tags).tag("quantile", String.valueOf(percentile))
+                    .register(registry);
+        }
+        TimeGauge.builder(name + ".max", latency, TimeUnit.NANOSECONDS, LatencyHistogram::getMaxNanos)
+                .tags(tags).register(registry);
+    }
+
+    /**
+     * Handlers can be re-registered at runtime, so the current lane is looked
+     * up on every read.
+     */
+    private static LatencyHistogram latency(ActionDispatcher dispatcher, ActionType type) {
+        LatencyHistogram latency = dispatcher.getHandlerLatency(type);
+        return latency != null ? latency : EMPTY;
+    }
+
+    private static ToDoubleFunction<ActionDispatcher> stat(ActionType type, ToDoubleFunction<ActionStats> field) {
+        return dispatcher -> {
+            ActionStats stats = dispatcher.getStats(type);
+            return stats != null ? field.applyAsDouble(stats) : 0;
+        };
+    }
+}
@@ -0,0 +1,77 @@
+package com.ruleengine.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Evaluation counters of a single rule.
+ *
+ * Held by the compiled rule so the engine updates them without a lookup.
+ * Counters are keyed by rule name in {@link EngineMetrics}, so they keep
+ * counting when a rule is replaced; they are dropped when it is deleted.
+ *
+ * Cost is only measured for a sample of evaluations (see
+ * {@link EngineMetrics#sample()}); its histogram is created with the first
+ * sample, so rules that are never evaluated cost nothing.
+ */
+public final class RuleCounters {
+
+    private final LongAdder evaluated = new LongAdder();
+    private final LongAdder matched = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private volatile LatencyHistogram cost;
+
+    /**
+     * Records one evaluation that completed with the given outcome.
+     */
+    public void recordEvaluation(boolean matches) {
+        evaluated.increment();
+        if (matches) {
+            matched.increment();
+        }
+    }
+
+    /**
+     * Records one evaluation that threw.
+     */
+    public void recordError() {
+        evaluated.increment();
+        errors.increment();
+    }
+
+    /**
+     * Records the measured cost of one sampled evaluation.
+     */
+    public void recordCost(long nanos) {
+        LatencyHistogram histogram = cost;
+        if (histogram == null) {
+            histogram = createCost();
+        }
+        histogram.record(nanos);
+    }
+
+    private synchronized LatencyHistogram createCost() {
+        if (cost == null) {
+            cost = new LatencyHistogram();
+        }
+        return cost;
+    }
+
+    public long getEvaluated() {
+        return evaluated.sum();
+    }
+
+    public long getMatched() {
+        return matched.sum();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    /**
+     * Sampled evaluation cost, or null if no evaluation was sampled yet.
+     */
+    public LatencyHistogram getCost() {
+        return cost;
+    }
+}
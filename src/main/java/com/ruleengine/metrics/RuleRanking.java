@@ -0,0 +1,24 @@
+package com.ruleengine.metrics;
+
+/**
+ * How the "most expensive rules" listing is ordered.
+ */
+public enum RuleRanking {
+
+    /**
+     * Estimated total time spent in the rule: sampled mean times evaluations.
+     * Finds the rules that cost the most overall.
+     */
+    TOTAL,
+
+    /**
+     * Mean cost of one evaluation.
+     */
+    MEAN,
+
+    /**
+     * 99th percentile cost of one evaluation. Finds rules behind latency
+     * spikes even when they run rarely.
+     */
+    P99
+}
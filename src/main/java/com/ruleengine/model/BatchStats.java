@@ -0,0 +1,108 @@
+package com.ruleengine.model;
+
+/**
+ * Throughput and latency figures for one batch of events.
+ *
+ * Written as the last line of a batch response. Latencies are per event,
+ * measured around evaluation (and action dispatch), in microseconds.
+ */
+public class BatchStats {
+
+    private int totalEvents;
+    private int matchedEvents;
+    private int failedEvents;
+    private long elapsedMs;
+    private double eventsPerSecond;
+    private long avgLatencyMicros;
+    private long p50LatencyMicros;
+    private long p99LatencyMicros;
+    private long maxLatencyMicros;
+
+    public BatchStats() {
+    }
+
+    // Getters and Setters
+    public int getTotalEvents() {
+        return totalEvents;
+    }
+
+    public void setTotalEvents(int totalEvents) {
+        this.totalEvents = totalEvents;
+    }
+
+    public int getMatchedEvents() {
+        return matchedEvents;
+    }
+
+    public void setMatchedEvents(int matchedEvents) {
+        this.matchedEvents = matchedEvents;
+    }
+
+    public int getFailedEvents() {
+        return failedEvents;
+    }
+
+    public void setFailedEvents(int failedEvents) {
+        this.failedEvents = failedEvents;
+    }
+
+    public long getElapsedMs() {
+        return elapsedMs;
+    }
+
+    public void setElapsedMs(long elapsedMs) {
+        this.elapsedMs = elapsedMs;
+    }
+
+    public double getEventsPerSecond() {
+        return eventsPerSecond;
+    }
+
+    public void setEventsPerSecond(double eventsPerSecond) {
+        this.eventsPerSecond = eventsPerSecond;
+    }
+
+    public long getAvgLatencyMicros() {
+        return avgLatencyMicros;
+    }
+
+    public void setAvgLatencyMicros(long avgLatencyMicros) {
+        this.avgLatencyMicros = avgLatencyMicros;
+    }
+
+    public long getP50LatencyMicros() {
+        return p50LatencyMicros;
+    }
+
+    public void setP50LatencyMicros(long p50LatencyMicros) {
+        this.p50LatencyMicros = p50LatencyMicros;
+    }
+
+    public long getP99LatencyMicros() {
+        return p99LatencyMicros;
+    }
+
+    public void setP99LatencyMicros(long p99LatencyMicros) {
+        this.p99LatencyMicros = p99LatencyMicros;
+    }
+
+    public long getMaxLatencyMicros() {
+        return maxLatencyMicros;
+    }
+
+    public void setMaxLatencyMicros(long maxLatencyMicros) {
+        this.maxLatencyMicros = maxLatencyMicros;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchStats{" +
+                "totalEvents=" + totalEvents +
+                ", matchedEvents=" + matchedEvents +
+                ", failedEvents=" + failedEvents +
+                ", elapsedMs=" + elapsedMs +
+                ", eventsPerSecond=" + eventsPerSecond +
+                ", p99LatencyMicros=" + p99LatencyMicros +
+                '}';
+    }
+}
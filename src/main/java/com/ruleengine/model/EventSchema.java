@@ -0,0 +1,62 @@
+package com.ruleengine.model;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Declares the fields, types and nesting of the payloads of one event type.
+ *
+ * Payloads of a type with a schema are type-checked on arrival and decoded
+ * into slot-indexed records, so conditions read fields by index instead of
+ * walking nested maps. Fields not declared here are still available to
+ * rules, through the ordinary map lookup.
+ *
+ * Example:
+ * {
+ * "eventType": "PAYMENT",
+ * "fields": [
+ * { "name": "amount", "type": "DOUBLE", "required": true },
+ * { "name": "user", "type": "OBJECT", "fields": [ { "name": "country", "type": "STRING" } ] }
+ * ]
+ * }
+ */
+public class EventSchema {
+
+    @NotBlank(message = "Event type is required")
+    private String eventType;
+
+    @NotEmpty(message = "At least one field is required")
+    private List<FieldDefinition> fields = new ArrayList<>();
+
+    public EventSchema() {
+    }
+
+    public EventSchema(String eventType, List<FieldDefinition> fields) {
+        this.eventType = eventType;
+        this.fields = fields;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+
+    public List<FieldDefinition> getFields() {
+        return fields;
+    }
+
+    public void setFields(List<FieldDefinition> fields) {
+        this.fields = fields;
+    }
+
+    @Override
+    public String toString() {
+        return "EventSchema{eventType='" + eventType + "', fields=" + fields + "}";
+    }
+}
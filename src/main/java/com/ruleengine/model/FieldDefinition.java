@@ -0,0 +1,84 @@
+package com.ruleengine.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One field of an {@link EventSchema}.
+ *
+ * Example:
+ * {
+ * "name": "user",
+ * "type": "OBJECT",
+ * "fields": [ { "name": "country", "type": "STRING", "required": true } ]
+ * }
+ */
+public class FieldDefinition {
+
+    private String name;
+    private FieldType type;
+    private boolean required;
+    private List<FieldDefinition> fields = new ArrayList<>();
+
+    public FieldDefinition() {
+    }
+
+    public FieldDefinition(String name, FieldType type) {
+        this(name, type, false);
+    }
+
+    public FieldDefinition(String name, FieldType type, boolean required) {
+        this.name = name;
+        this.type = type;
+        this.required = required;
+    }
+
+    /**
+     * Nested object field.
+     */
+    public static FieldDefinition object(String name, List<FieldDefinition> fields) {
+        FieldDefinition definition = new FieldDefinition(name, FieldType.OBJECT);
+        definition.setFields(fields);
+        return definition;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public FieldType getType() {
+        return type;
+    }
+
+    public void setType(FieldType type) {
+        this.type = type;
+    }
+
+    /**
+     * If true, events without a value for this field are rejected.
+     */
+    public boolean isRequired() {
+        return required;
+    }
+
+    public void setRequired(boolean required) {
+        this.required = required;
+    }
+
+    public List<FieldDefinition> getFields() {
+        return fields;
+    }
+
+    public void setFields(List<FieldDefinition> fields) {
+        this.fields = fields != null ? fields : new ArrayList<>();
+    }
+
+    @Override
+    public String toString() {
+        return name + ":" + type + (fields.isEmpty() ? "" : fields.toString());
+    }
+}
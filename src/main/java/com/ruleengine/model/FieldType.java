@@ -0,0 +1,20 @@
+package com.ruleengine.model;
+
+/**
+ * Type of a field declared in an {@link EventSchema}.
+ */
+public enum FieldType {
+
+    /** Integral number (JSON integer); stored as a primitive long. */
+    LONG,
+
+    /** Any number; stored as a primitive double. */
+    DOUBLE,
+
+    STRING,
+
+    BOOLEAN,
+
+    /** Nested object whose own fields are declared in {@link FieldDefinition#getFields()}. */
+    OBJECT
+}
@@ -5,12 +5,15 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 
+import java.util.List;
+
 /**
  * Represents a rule in the rule engine.
  * 
  * A rule consists of:
  * - name: Unique identifier for the rule
  * - priority: Execution order (lower = higher priority)
+ * - eventTypes: Event types the rule applies to (empty = all types)
  * - when: Condition that must be satisfied
  * - then: Action to execute when condition is met
  * 
@@ -18,6 +21,7 @@ import jakarta.validation.constraints.Size;
  * {
  * "name": "BlockSuspiciousLogin",
  * "priority": 10,
+ * "eventTypes": ["LOGIN"],
  * "when": {
  * "all": [
  * { "field": "failCount", "op": ">=", "value": 3 },
@@ -38,6 +42,8 @@ public class Rule implements Comparable<Rule> {
 
     private int priority = 100; // Default priority (lower = runs first)
 
+    private List<@NotBlank(message = "Event type cannot be blank") String> eventTypes; // null/empty = all types
+
     @NotNull(message = "Condition (when) is required")
     private Condition when;
 
@@ -81,6 +87,28 @@ public class Rule implements Comparable<Rule> {
         this.priority = priority;
     }
 
+    public List<String> getEventTypes() {
+        return eventTypes;
+    }
+
+    public void setEventTypes(List<String> eventTypes) {
+        this.eventTypes = eventTypes;
+    }
+
+    /**
+     * Checks if the rule applies to every event type (no types declared).
+     */
+    public boolean appliesToAllEventTypes() {
+        return eventTypes == null || eventTypes.isEmpty();
+    }
+
+    /**
+     * Checks if the rule can fire for an event of the given type.
+     */
+    public boolean appliesTo(String eventType) {
+        return appliesToAllEventTypes() || eventTypes.contains(eventType);
+    }
+
     public Condition getWhen() {
         return when;
     }
@@ -116,6 +144,6 @@ public class Rule implements Comparable<Rule> {
     @Override
     public String toString() {
         return "Rule{name='" + name + "', priority=" + priority +
-                ", enabled=" + enabled + ", when=" + when + ", then=" + then + "}";
+                ", eventTypes=" + eventTypes + ", enabled=" + enabled + ", when=" + when + ", then=" + then + "}";
     }
 }
@@ -0,0 +1,128 @@
+package com.ruleengine.model;
+
+/**
+ * Profile of one rule since startup.
+ *
+ * Counts are exact. Costs are nanoseconds measured on a sample of
+ * evaluations; {@code estimatedTotalNanos} extrapolates the sampled mean to
+ * every evaluation and is what the "most expensive rules" listing ranks by
+ * default.
+ */
+public class RuleStats {
+
+    private String ruleName;
+    private long evaluated;
+    private long matched;
+    private double matchRatio;
+    private long errors;
+    private long sampled;
+    private long meanNanos;
+    private long p50Nanos;
+    private long p99Nanos;
+    private long maxNanos;
+    private long estimatedTotalNanos;
+
+    public RuleStats() {
+    }
+
+    // Getters and Setters
+    public String getRuleName() {
+        return ruleName;
+    }
+
+    public void setRuleName(String ruleName) {
+        this.ruleName = ruleName;
+    }
+
+    public long getEvaluated() {
+        return evaluated;
+    }
+
+    public void setEvaluated(long evaluated) {
+        this.evaluated = evaluated;
+    }
+
+    public long getMatched() {
+        return matched;
+    }
+
+    public void setMatched(long matched) {
+        this.matched = matched;
+    }
+
+    public double getMatchRatio() {
+        return matchRatio;
+    }
+
+    public void setMatchRatio(double matchRatio) {
+        this.matchRatio = matchRatio;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public void setErrors(long errors) {
+        this.errors = errors;
+    }
+
+    public long getSampled() {
+        return sampled;
+    }
+
+    public void setSampled(long sampled) {
+        this.sampled = sampled;
+    }
+
+    public long getMeanNanos() {
+        return meanNanos;
+    }
+
+    public void setMeanNanos(long meanNanos) {
+        this.meanNanos = meanNanos;
+    }
+
+    public long getP50Nanos() {
+        return p50Nanos;
+    }
+
+    public void setP50Nanos(long p50Nanos) {
+        this.p50Nanos = p50Nanos;
+    }
+
+    public long getP99Nanos() {
+        return p99Nanos;
+    }
+
+    public void setP99Nanos(long p99Nanos) {
+        this.p99Nanos = p99Nanos;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    public void setMaxNanos(long maxNanos) {
+        this.maxNanos = maxNanos;
+    }
+
+    public long getEstimatedTotalNanos() {
+        return estimatedTotalNanos;
+    }
+
+    public void setEstimatedTotalNanos(long estimatedTotalNanos) {
+        this.estimatedTotalNanos = estimatedTotalNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "RuleStats{" +
+                "ruleName='" + ruleName + '\'' +
+                ", evaluated=" + evaluated +
+                ", matched=" + matched +
+                ", errors=" + errors +
+                ", p99Nanos=" + p99Nanos +
+                ", estimatedTotalNanos=" + estimatedTotalNanos +
+                '}';
+    }
+}
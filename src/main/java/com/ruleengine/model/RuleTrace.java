@@ -1,5 +1,7 @@
 package com.ruleengine.model;
 
+import java.util.function.Supplier;
+
 /**
  * Captures detailed information about a single rule's execution.
  * Used for debugging why a rule matched or failed.
@@ -9,6 +11,7 @@ public class RuleTrace {
     private String ruleName;
     private boolean matched;
     private String failureReason; // e.g., "Condition failCount >= 3 failed: actual=1"
+    private Supplier<String> failureReasonSupplier;
 
     public RuleTrace() {
     }
@@ -24,6 +27,16 @@ public class RuleTrace {
         this.failureReason = failureReason;
     }
 
+    /**
+     * Creates the trace of a rule that did not match, building the failure
+     * reason only when it is first read.
+     */
+    public static RuleTrace failed(String ruleName, Supplier<String> failureReason) {
+        RuleTrace trace = new RuleTrace(ruleName, false);
+        trace.failureReasonSupplier = failureReason;
+        return trace;
+    }
+
     public String getRuleName() {
         return ruleName;
     }
@@ -41,11 +54,16 @@ public class RuleTrace {
     }
 
     public String getFailureReason() {
+        if (failureReasonSupplier != null) {
+            failureReason = failureReasonSupplier.get();
+            failureReasonSupplier = null;
+        }
         return failureReason;
     }
 
     public void setFailureReason(String failureReason) {
         this.failureReason = failureReason;
+        this.failureReasonSupplier = null;
     }
 
     @Override
@@ -53,6 +71,6 @@ public class RuleTrace {
         if (matched) {
             return "RuleTrace{" + ruleName + ": MATCH}";
         }
-        return "RuleTrace{" + ruleName + ": NO MATCH (" + failureReason + ")}";
+        return "RuleTrace{" + ruleName + ": NO MATCH (" + getFailureReason() + ")}";
     }
 }
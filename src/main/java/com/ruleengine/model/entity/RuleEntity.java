@@ -1,12 +1,15 @@
 package com.ruleengine.model.entity;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ruleengine.model.ActionConfig;
 import com.ruleengine.model.Condition;
 import com.ruleengine.model.Rule;
 import jakarta.persistence.*;
 
+import java.util.List;
+
 @Entity
 @Table(name = "rules")
 public class RuleEntity {
@@ -17,6 +20,9 @@ public class RuleEntity {
 
     private int priority;
 
+    @Column(columnDefinition = "TEXT")
+    private String eventTypesJson;
+
     @Column(columnDefinition = "TEXT")
     private String conditionJson;
 
@@ -29,6 +35,8 @@ public class RuleEntity {
 
     // Helper for JSON conversion
     private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final TypeReference<List<String>> EVENT_TYPES = new TypeReference<>() {
+    };
 
     public RuleEntity() {
     }
@@ -41,6 +49,9 @@ public class RuleEntity {
         entity.setDescription(rule.getDescription());
 
         try {
+            if (!rule.appliesToAllEventTypes()) {
+                entity.setEventTypesJson(objectMapper.writeValueAsString(rule.getEventTypes()));
+            }
             entity.setConditionJson(objectMapper.writeValueAsString(rule.getWhen()));
             entity.setActionJson(objectMapper.writeValueAsString(rule.getThen()));
         } catch (JsonProcessingException e) {
@@ -58,6 +69,9 @@ public class RuleEntity {
         rule.setDescription(this.description);
 
         try {
+            if (this.eventTypesJson != null && !this.eventTypesJson.isEmpty()) {
+                rule.setEventTypes(objectMapper.readValue(this.eventTypesJson, EVENT_TYPES));
+            }
             if (this.conditionJson != null && !this.conditionJson.isEmpty()) {
                 rule.setWhen(objectMapper.readValue(this.conditionJson, Condition.class));
             }
@@ -88,6 +102,14 @@ public class RuleEntity {
         this.priority = priority;
     }
 
+    public String getEventTypesJson() {
+        return eventTypesJson;
+    }
+
+    public void setEventTypesJson(String eventTypesJson) {
+        this.eventTypesJson = eventTypesJson;
+    }
+
     public String getConditionJson() {
         return conditionJson;
     }
@@ -0,0 +1,236 @@
+package com.ruleengine.schema;
+
+import com.ruleengine.exception.InvalidEventException;
+import com.ruleengine.exception.InvalidSchemaException;
+import com.ruleengine.model.EventSchema;
+import com.ruleengine.model.FieldDefinition;
+import com.ruleengine.model.FieldType;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Slot assignment of an {@link EventSchema}, and the decoder from payload
+ * maps to {@link SlotRecord}s.
+ *
+ * Every declared field, nested ones included, gets a slot numbered in
+ * declaration order; {@link #slotOf(String)} maps its dotted path (e.g.
+ * "user.country") to the slot. Immutable and thread-safe.
+ */
+public final class RecordLayout {
+
+    private final EventSchema schema;
+    private final String[] paths;
+    private final FieldType[] types;
+    private final Map<String, Integer> slots;
+    private final Level root;
+
+    private RecordLayout(EventSchema schema) {
+        this.schema = schema;
+        List<String> pathList = new ArrayList<>();
+        List<FieldType> typeList = new ArrayList<>();
+        this.root = level(schema.getFields(), "", pathList, typeList);
+        this.paths = pathList.toArray(new String[0]);
+        this.types = typeList.toArray(new FieldType[0]);
+        this.slots = new HashMap<>();
+        for (int slot = 0; slot < paths.length; slot++) {
+            slots.put(paths[slot], slot);
+        }
+    }
+
+    /**
+     * Builds the layout of a schema.
+     *
+     * @throws InvalidSchemaException If the schema has no event type, or a
+     *                                field with no name, a dotted or
+     *                                duplicate name, no type, or nested
+     *                                fields on a non-object type
+     */
+    public static RecordLayout of(EventSchema schema) {
+        if (schema == null || schema.getEventType() == null || schema.getEventType().isBlank()) {
+            throw new InvalidSchemaException("Schema requires an event type");
+        }
+        if (schema.getFields() == null || schema.getFields().isEmpty()) {
+            throw new InvalidSchemaException("Schema for '" + schema.getEventType() + "' declares no fields");
+        }
+        return new RecordLayout(schema);
+    }
+
+    private static Level level(List<FieldDefinition> fields, String prefix, List<String> paths,
+            List<FieldType> types) {
+        int count = fields.size();
+        Level level = new Level(count);
+        Set<String> names = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            FieldDefinition field = fields.get(i);
+            String name = field != null ? field.getName() : null;
+            if (name == null || name.isBlank() || name.contains(".")) {
+                throw new InvalidSchemaException("Invalid field name '" + name + "' in '" + prefix + "'");
+            }
+            String path = prefix + name;
+            if (!names.add(name)) {
+                throw new InvalidSchemaException("Duplicate field '" + path + "'");
+            }
+            if (field.getType() == null) {
+                throw new InvalidSchemaException("Field '" + path + "' has no type");
+            }
+            boolean object = field.getType() == FieldType.OBJECT;
+            if (object == field.getFields().isEmpty()) {
+                throw new InvalidSchemaException(object
+                        ? "Object field '" + path + "' declares no fields"
+                        : "Field '" + path + "' of type " + field.getType() + " cannot declare fields");
+            }
+
+            level.names[i] = name;
+            level.required[i] = field.isRequired();
+            level.slots[i] = paths.size();
+            paths.add(path);
+            types.add(field.getType());
+            if (object) {
+                level.children[i] = level(field.getFields(), path + ".", paths, types);
+            }
+        }
+        return level;
+    }
+
+    /**
+     * Slot of a dotted field path, or -1 if the schema does not declare it.
+     */
+    public int slotOf(String path) {
+        Integer slot = slots.get(path);
+        return slot != null ? slot : -1;
+    }
+
+    /**
+     * A new, empty record for this layout; fill it with {@link #decodeInto}.
+     */
+    public SlotRecord newRecord() {
+        return new SlotRecord(this, paths.length);
+    }
+
+    /**
+     * Decodes a payload into a new record.
+     *
+     * @throws InvalidEventException If the payload does not match the schema
+     */
+    public SlotRecord decode(Map<String, Object> payload) {
+        SlotRecord record = newRecord();
+        decodeInto(payload, record);
+        return record;
+    }
+
+    /**
+     * Decodes a payload into a record of this layout, overwriting every slot.
+     * Allocates nothing.
+     *
+     * @throws InvalidEventException If the payload does not match the schema
+     */
+    public void decodeInto(Map<String, Object> payload, SlotRecord record) {
+        record.payload = payload;
+        decode(root, payload, record);
+    }
+
+    /**
+     * Checks a payload against the schema without decoding it.
+     *
+     * @throws InvalidEventException If the payload does not match the schema
+     */
+    public void validate(Map<String, Object> payload) {
+        decode(root, payload, null);
+    }
+
+    private void decode(Level level, Map<?, ?> map, SlotRecord record) {
+        for (int i = 0; i < level.names.length; i++) {
+            int slot = level.slots[i];
+            Object value = map != null ? map.get(level.names[i]) : null;
+            if (value == null) {
+                // Required only where the enclosing object is present
+                if (map != null && level.required[i]) {
+                    throw new InvalidEventException("Missing required field '" + paths[slot] + "' for event type '"
+                            + schema.getEventType() + "'");
+                }
+            } else if (!accepts(types[slot], value)) {
+                throw new InvalidEventException("Field '" + paths[slot] + "' must be " + types[slot]
+                        + " for event type '" + schema.getEventType() + "', got: '" + value + "'");
+            }
+
+            if (record != null) {
+                record.values[slot] = value;
+                if (value instanceof Number) {
+                    Number number = (Number) value;
+                    record.longs[slot] = number.longValue();
+                    record.doubles[slot] = number.doubleValue();
+                }
+            }
+            if (level.children[i] != null) {
+                decode(level.children[i], (Map<?, ?>) value, record);
+            }
+        }
+    }
+
+    private static boolean accepts(FieldType type, Object value) {
+        return switch (type) {
+            case LONG -> value instanceof Long || value instanceof Integer
+                    || value instanceof Short || value instanceof Byte;
+            case DOUBLE -> value instanceof Number;
+            case STRING -> value instanceof String;
+            case BOOLEAN -> value instanceof Boolean;
+            case OBJECT -> value instanceof Map;
+        };
+    }
+
+    public String getEventType() {
+        return schema.getEventType();
+    }
+
+    public EventSchema getSchema() {
+        return schema;
+    }
+
+    public int size() {
+        return paths.length;
+    }
+
+    public String getPath(int slot) {
+        return paths[slot];
+    }
+
+    public FieldType getType(int slot) {
+        return types[slot];
+    }
+
+    /**
+     * True for LONG and DOUBLE slots, whose values are also held as
+     * primitives.
+     */
+    public boolean isNumeric(int slot) {
+        return types[slot] == FieldType.LONG || types[slot] == FieldType.DOUBLE;
+    }
+
+    @Override
+    public String toString() {
+        return "RecordLayout{eventType='" + schema.getEventType() + "', slots=" + paths.length + "}";
+    }
+
+    /**
+     * The fields of one object level, in declaration order.
+     */
+    private static final class Level {
+
+        final String[] names;
+        final int[] slots;
+        final boolean[] required;
+        final Level[] children;
+
+        Level(int count) {
+            names = new String[count];
+            slots = new int[count];
+            required = new boolean[count];
+            children = new Level[count];
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.ruleengine.schema;
+
+import com.ruleengine.model.Event;
+import com.ruleengine.model.EventSchema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Optional payload schemas, one per event type.
+ *
+ * Events of a type without a schema are evaluated from their payload maps
+ * as before. Schemas are held in memory; registering a schema for a type
+ * replaces the previous one.
+ */
+@Component
+public class SchemaRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaRegistry.class);
+
+    private final ConcurrentMap<String, RecordLayout> layouts = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * Registers or replaces the schema of an event type.
+     *
+     * @throws com.ruleengine.exception.InvalidSchemaException If the schema
+     *                                                         is invalid
+     */
+    public RecordLayout register(EventSchema schema) {
+        RecordLayout layout = RecordLayout.of(schema);
+        layouts.put(schema.getEventType(), layout);
+        version.incrementAndGet();
+        logger.info("Registered schema for event type '{}' ({} slots)", schema.getEventType(), layout.size());
+        return layout;
+    }
+
+    /**
+     * Removes the schema of an event type; its events go back to map lookups.
+     */
+    public boolean remove(String eventType) {
+        boolean removed = layouts.remove(eventType) != null;
+        if (removed) {
+            version.incrementAndGet();
+            logger.info("Removed schema for event type '{}'", eventType);
+        }
+        return removed;
+    }
+
+    /**
+     * Layout of an event type, or null if it has no schema.
+     */
+    public RecordLayout getLayout(String eventType) {
+        return eventType != null ? layouts.get(eventType) : null;
+    }
+
+    public Optional<EventSchema> getSchema(String eventType) {
+        return Optional.ofNullable(getLayout(eventType)).map(RecordLayout::getSchema);
+    }
+
+    public List<EventSchema> getSchemas() {
+        return layouts.values().stream()
+                .map(RecordLayout::getSchema)
+                .sorted(Comparator.comparing(EventSchema::getEventType))
+                .toList();
+    }
+
+    /**
+     * Incremented by every register and remove, so derived state (such as
+     * ingestion projections) can tell when to rebuild.
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Checks an event's payload against the schema of its type, if any.
+     *
+     * @throws com.ruleengine.exception.InvalidEventException If the payload
+     *                                                        does not match
+     */
+    public void validate(Event event) {
+        RecordLayout layout = getLayout(event.getType());
+        if (layout != null) {
+            layout.validate(event.getPayload());
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.ruleengine.schema;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An event payload decoded against a {@link RecordLayout}.
+ *
+ * Declared fields are held in flat arrays indexed by slot: the value
+ * itself, plus primitive long and double copies for numbers, so numeric
+ * conditions compare without unboxing or walking nested maps. As a
+ * {@link Map} the record is a read-only view of the original payload, so
+ * undeclared fields, failure reasons and action handlers see exactly what
+ * the event carried.
+ *
+ * Records are reused from event to event by the engine; a record is only
+ * valid until the next {@link RecordLayout#decodeInto} into it.
+ */
+public final class SlotRecord extends AbstractMap<String, Object> {
+
+    private final RecordLayout layout;
+    final Object[] values;
+    final long[] longs;
+    final double[] doubles;
+    Map<String, Object> payload = Collections.emptyMap();
+
+    SlotRecord(RecordLayout layout, int slots) {
+        this.layout = layout;
+        this.values = new Object[slots];
+        this.longs = new long[slots];
+        this.doubles = new double[slots];
+    }
+
+    public RecordLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     * The payload this record was decoded from.
+     */
+    public Map<String, Object> getPayload() {
+        return payload;
+    }
+
+    /**
+     * Value of a slot, or null if the field is absent.
+     */
+    public Object value(int slot) {
+        return values[slot];
+    }
+
+    public boolean isPresent(int slot) {
+        return values[slot] != null;
+    }
+
+    /**
+     * Value of a present numeric slot as a long.
+     */
+    public long longValue(int slot) {
+        return longs[slot];
+    }
+
+    /**
+     * Value of a present numeric slot as a double, as
+     * {@link Number#doubleValue()} would return it.
+     */
+    public double doubleValue(int slot) {
+        return doubles[slot];
+    }
+
+    @Override
+    public Object get(Object key) {
+        return payload.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return payload.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return payload.size();
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return Collections.unmodifiableMap(payload).entrySet();
+    }
+}
@@ -0,0 +1,272 @@
+package com.ruleengine.action;
+
+import com.ruleengine.model.ActionType;
+import com.ruleengine.model.Event;
+import com.ruleengine.model.Rule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ActionDispatcherTest {
+
+    private final Event event = new Event("LOGIN", Map.of());
+    private final Rule rule = new Rule("TestRule", 1, null, null);
+    private final List<ActionDispatcher> dispatchers = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        dispatchers.forEach(ActionDispatcher::shutdown);
+    }
+
+    @Test
+    void testSyncModeRunsOnCaller() {
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        ActionDispatcher dispatcher = new ActionDispatcher(List.of(
+                new TestHandler(ActionType.LOG_EVENT, () -> threads.add(Thread.currentThread()))));
+
+        dispatcher.dispatch(ActionType.LOG_EVENT, event, rule);
+
+        assertEquals(Set.of(Thread.currentThread()), threads);
+        assertEquals(1, dispatcher.getStats().get(ActionType.LOG_EVENT).getCompleted());
+        assertEquals(DispatchMode.SYNC, dispatcher.getStats().get(ActionType.LOG_EVENT).getMode());
+    }
+
+    @Test
+    void testHandlerLatencyAndFailuresPerType() {
+        ActionDispatcher dispatcher = new ActionDispatcher(List.of(
+                new TestHandler(ActionType.LOG_EVENT, () -> sleep(5)),
+                new TestHandler(ActionType.REJECT, () -> {
+                    throw new IllegalStateException("handler failed");
+                })));
+
+        for (int i = 0; i < 3; i++) {
+            dispatcher.dispatch(ActionType.LOG_EVENT, event, rule);
+            dispatcher.dispatch(ActionType.REJECT, event, rule);
+        }
+
+        assertEquals(3, dispatcher.getHandlerLatency(ActionType.LOG_EVENT).getCount());
+        assertTrue(dispatcher.getHandlerLatency(ActionType.LOG_EVENT).percentileNanos(0.99)
+                >= TimeUnit.MILLISECONDS.toNanos(5));
+        assertTrue(dispatcher.getStats(ActionType.LOG_EVENT).getP99HandlerMicros() >= 5000);
+        assertEquals(3, dispatcher.getStats(ActionType.REJECT).getFailed());
+        assertNull(dispatcher.getStats(ActionType.BLOCK_USER));
+        assertNull(dispatcher.getHandlerLatency(ActionType.BLOCK_USER));
+    }
+
+    @Test
+    void testSlowTypeDoesNotStallOtherTypes() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch logged = new CountDownLatch(10);
+        ActionDispatcher dispatcher = async(lane(1, 10, OverflowPolicy.DROP_OLDEST),
+                new TestHandler(ActionType.BLOCK_USER, () -> await(release)),
+                new TestHandler(ActionType.LOG_EVENT, logged::countDown));
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 10; i++) {
+            dispatcher.dispatch(ActionType.BLOCK_USER, event, rule);
+            dispatcher.dispatch(ActionType.LOG_EVENT, event, rule);
+        }
+
+        assertTrue(logged.await(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        assertTrue(dispatcher.getStats().get(ActionType.BLOCK_USER).getQueueDepth() > 0);
+        release.countDown();
+    }
+
+    @Test
+    void testDropOldestCountsDroppedActions() {
+        CountDownLatch release = new CountDownLatch(1);
+        ActionDispatcher dispatcher = async(lane(1, 2, OverflowPolicy.DROP_OLDEST),
+                new TestHandler(ActionType.SEND_ALERT, () -> await(release)));
+
+        for (int i = 0; i < 10; i++) {
+            dispatcher.dispatch(ActionType.SEND_ALERT, event, rule);
+        }
+
+        ActionStats stats = dispatcher.getStats().get(ActionType.SEND_ALERT);
+        assertEquals(10, stats.getSubmitted());
+        assertEquals(2, stats.getQueueDepth());
+        // One running, two queued, the rest dropped
+        assertEquals(7, stats.getDropped());
+        release.countDown();
+    }
+
+    @Test
+    void testCallerRunsWhenQueueIsFull() {
+        CountDownLatch release = new CountDownLatch(1);
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        ActionDispatcher dispatcher = async(lane(1, 1, OverflowPolicy.CALLER_RUNS),
+                new TestHandler(ActionType.NOTIFY, () -> {
+                    threads.add(Thread.currentThread());
+                    if (Thread.currentThread().getName().startsWith("action-")) {
+                        await(release);
+                    }
+                }));
+
+        for (int i = 0; i < 3; i++) {
+            dispatcher.dispatch(ActionType.NOTIFY, event, rule);
+        }
+
+        assertTrue(threads.contains(Thread.currentThread()));
+        assertEquals(1, dispatcher.getStats().get(ActionType.NOTIFY).getCallerRuns());
+        release.countDown();
+    }
+
+    @Test
+    void testBlockPolicyLosesNoActions() throws Exception {
+        CountDownLatch done = new CountDownLatch(50);
+        ActionDispatcher dispatcher = async(lane(2, 2, OverflowPolicy.BLOCK),
+                new TestHandler(ActionType.FLAG_FOR_REVIEW, done::countDown));
+
+        for (int i = 0; i < 50; i++) {
+            dispatcher.dispatch(ActionType.FLAG_FOR_REVIEW, event, rule);
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(0, dispatcher.getStats().get(ActionType.FLAG_FOR_REVIEW).getDropped());
+    }
+
+    @Test
+    void testBlockedActionIsDroppedWhenLaneShutsDown() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        LongAdder calls = new LongAdder();
+        ActionDispatcher dispatcher = async(lane(1, 1, OverflowPolicy.BLOCK),
+                new TestHandler(ActionType.FLAG_FOR_REVIEW, () -> {
+                    calls.increment();
+                    await(release);
+                    // Keeps the worker away from the queue while the blocked put returns
+                    sleep(200);
+                }));
+
+        // One running, one queued, the third waits for room
+        dispatcher.dispatch(ActionType.FLAG_FOR_REVIEW, event, rule);
+        dispatcher.dispatch(ActionType.FLAG_FOR_REVIEW, event, rule);
+        Thread blocked = Thread.ofPlatform().start(() -> dispatcher.dispatch(ActionType.FLAG_FOR_REVIEW, event, rule));
+        awaitState(blocked, Thread.State.WAITING);
+        Thread stopping = Thread.ofPlatform().start(dispatcher::shutdown);
+        awaitState(stopping, Thread.State.TIMED_WAITING);
+
+        release.countDown();
+        blocked.join();
+        stopping.join();
+
+        ActionStats stats = dispatcher.getStats().get(ActionType.FLAG_FOR_REVIEW);
+        assertEquals(2, stats.getCompleted());
+        assertEquals(1, stats.getDropped());
+        assertEquals(2, calls.sum());
+    }
+
+    @Test
+    void testAsyncHandlersCanRunOnVirtualThreads() throws Exception {
+        CountDownLatch done = new CountDownLatch(1);
+        Set<Boolean> virtual = ConcurrentHashMap.newKeySet();
+        ActionDispatchProperties properties = new ActionDispatchProperties();
+        properties.setMode(DispatchMode.ASYNC);
+        ActionDispatcher dispatcher = new ActionDispatcher(List.of(new TestHandler(ActionType.BLOCK_USER, () -> {
+            virtual.add(Thread.currentThread().isVirtual());
+            done.countDown();
+        })), properties, true);
+        dispatchers.add(dispatcher);
+
+        dispatcher.dispatch(ActionType.BLOCK_USER, event, rule);
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(Set.of(true), virtual);
+    }
+
+    @Test
+    void testHandlersCanBeReplacedWhileDispatching() throws Exception {
+        LongAdder executed = new LongAdder();
+        ActionDispatcher dispatcher = new ActionDispatcher(List.of(
+                new TestHandler(ActionType.LOG_EVENT, executed::increment)));
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Thread> threads = new ArrayList<>();
+        LongAdder dispatched = new LongAdder();
+        for (int t = 0; t < 4; t++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                while (running.get()) {
+                    dispatcher.dispatch(ActionType.LOG_EVENT, event, rule);
+                    dispatched.increment();
+                }
+            }));
+        }
+
+        for (int i = 0; i < 200; i++) {
+            dispatcher.registerHandler(new TestHandler(ActionType.values()[i % ActionType.values().length],
+                    executed::increment));
+        }
+        running.set(false);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Synchronous lanes run every action, whichever lane it reached
+        assertEquals(dispatched.sum(), executed.sum());
+        assertEquals(ActionType.values().length, dispatcher.getStats().size());
+    }
+
+    private ActionDispatcher async(ActionDispatchProperties.Lane settings, ActionHandler... handlers) {
+        ActionDispatchProperties properties = new ActionDispatchProperties();
+        properties.setMode(DispatchMode.ASYNC);
+        properties.setDefaults(settings);
+        ActionDispatcher dispatcher = new ActionDispatcher(List.of(handlers), properties, false);
+        dispatchers.add(dispatcher);
+        return dispatcher;
+    }
+
+    private static ActionDispatchProperties.Lane lane(int workers, int capacity, OverflowPolicy policy) {
+        ActionDispatchProperties.Lane lane = new ActionDispatchProperties.Lane();
+        lane.setWorkers(workers);
+        lane.setQueueCapacity(capacity);
+        lane.setOverflowPolicy(policy);
+        return lane;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitState(Thread thread, Thread.State state) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != state && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(state, thread.getState());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record TestHandler(ActionType actionType, Runnable body) implements ActionHandler {
+
+        @Override
+        public void execute(Event event, Rule matchedRule) {
+            body.run();
+        }
+
+        @Override
+        public ActionType getActionType() {
+            return actionType;
+        }
+    }
+}
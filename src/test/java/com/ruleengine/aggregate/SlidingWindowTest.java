@@ -0,0 +1,139 @@
+package com.ruleengine.aggregate;
+
+import com.ruleengine.exception.InvalidConditionException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlidingWindowTest {
+
+    private static final long MINUTE = 60_000;
+
+    @Test
+    void testCountsSlideOutOfTheWindow() {
+        // Ten one-minute buckets
+        SlidingWindow window = window("count(LOGIN_FAILED by userId over 10m)", 10, 1000);
+        window.record(Map.of("userId", "u1"), 0);
+        window.record(Map.of("userId", "u1"), MINUTE);
+        window.record(Map.of("userId", "u1"), 5 * MINUTE + 30_000);
+        window.record(Map.of("userId", "u2"), 5 * MINUTE);
+        window.record(Map.of("other", "u3"), 5 * MINUTE);
+
+        assertEquals(3, count(window, "u1", 6 * MINUTE));
+        assertEquals(1, count(window, "u2", 6 * MINUTE));
+        assertEquals(0, count(window, "u3", 6 * MINUTE));
+        assertEquals(2, count(window, "u1", 10 * MINUTE));
+        assertEquals(1, count(window, "u1", 11 * MINUTE));
+        assertEquals(0, count(window, "u1", 16 * MINUTE));
+        assertTrue(Double.isNaN(window.read(AggregateFunction.COUNT, Map.of(), 0)));
+
+        // Recorded again after expiring completely
+        window.record(Map.of("userId", "u1"), 60 * MINUTE);
+        assertEquals(1, count(window, "u1", 60 * MINUTE));
+    }
+
+    @Test
+    void testSumAndAverageShareTheWindow() {
+        AggregateStore store = new AggregateStore(60, 1000);
+        SlidingWindow sum = store.window(AggregateSpec.parse("sum(amount of PAYMENT by user.id over 1h)"));
+        SlidingWindow avg = store.window(AggregateSpec.parse("avg(amount of PAYMENT by user.id over 1h)"));
+        assertSame(sum, avg);
+        assertNotSame(sum, store.window(AggregateSpec.parse("sum(amount of PAYMENT by user.id over 2h)")));
+
+        Map<String, Object> user = Map.of("id", 7);
+        sum.record(Map.of("user", user, "amount", 10), 0);
+        sum.record(Map.of("user", user, "amount", 20.5), 0);
+        sum.record(Map.of("user", user, "amount", "x"), 0);
+        sum.record(Map.of("user", user), 0);
+
+        Map<String, Object> payload = Map.of("user", Map.of("id", 7L));
+        assertEquals(30.5, sum.read(AggregateFunction.SUM, payload, 0));
+        assertEquals(15.25, sum.read(AggregateFunction.AVG, payload, 0));
+        assertEquals(2, sum.read(AggregateFunction.COUNT, payload, 0));
+        Map<String, Object> other = Map.of("user", Map.of("id", 8));
+        assertEquals(0, sum.read(AggregateFunction.SUM, other, 0));
+        assertTrue(Double.isNaN(sum.read(AggregateFunction.AVG, other, 0)));
+        assertTrue(Double.isNaN(sum.read(AggregateFunction.AVG, payload, 2 * 60 * MINUTE)));
+    }
+
+    @Test
+    void testIdleKeysAreEvicted() {
+        SlidingWindow window = window("count(E by key over 1m)", 6, 100_000);
+        for (int i = 0; i < 1000; i++) {
+            window.record(Map.of("key", i), 0);
+        }
+        assertEquals(1000, window.size());
+
+        for (int i = 0; i < 1000; i++) {
+            window.record(Map.of("key", "new" + i), 2 * MINUTE);
+        }
+        assertEquals(1000, window.size());
+        assertEquals(1000, window.getEvicted());
+        assertEquals(1, count(window, "new0", 2 * MINUTE));
+    }
+
+    @Test
+    void testKeyLimitEvictsLeastRecentlyUpdated() {
+        // One key per stripe
+        SlidingWindow window = window("count(E by key over 1h)", 60, 16);
+        for (int i = 0; i < 1000; i++) {
+            window.record(Map.of("key", i), 0);
+        }
+        assertTrue(window.size() <= 16);
+        assertEquals(1, count(window, 999, 0));
+        assertEquals(0, count(window, 0, 0));
+    }
+
+    @Test
+    void testConcurrentRecordsAreCounted() throws InterruptedException {
+        SlidingWindow window = window("count(E by key over 1h)", 60, 100_000);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    window.record(Map.of("key", i % 100), i);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        double total = 0;
+        for (int key = 0; key < 100; key++) {
+            total += window.read(AggregateFunction.COUNT, Map.of("key", key), 10_000);
+        }
+        assertEquals(80_000, total);
+        assertEquals(100, window.size());
+    }
+
+    @Test
+    void testParse() {
+        AggregateSpec spec = AggregateSpec.parse(" count( LOGIN_FAILED by userId over 10m ) ");
+        assertEquals(AggregateFunction.COUNT, spec.getFunction());
+        assertEquals("LOGIN_FAILED", spec.getEventType());
+        assertNull(spec.getField());
+        assertEquals("userId", spec.getKeyField());
+        assertEquals(10 * MINUTE, spec.getWindowMillis());
+        assertEquals(AggregateSpec.ANY_TYPE, AggregateSpec.parse("avg(amount of * by userId over 7d)").getEventType());
+
+        assertNull(AggregateSpec.parse("userId"));
+        assertNull(AggregateSpec.parse("counter"));
+        assertThrows(InvalidConditionException.class, () -> AggregateSpec.parse("count(LOGIN_FAILED by userId)"));
+        assertThrows(InvalidConditionException.class, () -> AggregateSpec.parse("sum(PAYMENT by userId over 1h)"));
+        assertThrows(InvalidConditionException.class, () -> AggregateSpec.parse("count(E by userId over 10x)"));
+        assertThrows(InvalidConditionException.class, () -> AggregateSpec.parse("count(E by userId over 0m)"));
+    }
+
+    private static SlidingWindow window(String expression, int buckets, int maxKeys) {
+        return new SlidingWindow(AggregateSpec.parse(expression), buckets, maxKeys);
+    }
+
+    private static double count(SlidingWindow window, Object key, long now) {
+        String field = window.getSpec().getKeyField();
+        return window.read(AggregateFunction.COUNT, Map.of(field, key), now);
+    }
+}
@@ -0,0 +1,150 @@
+package com.ruleengine.engine;
+
+import com.ruleengine.model.BatchStats;
+import com.ruleengine.model.EvaluationResult;
+import com.ruleengine.model.Event;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchEvaluatorTest {
+
+    private final BatchEvaluator batchEvaluator = new BatchEvaluator(4, 8);
+
+    @AfterEach
+    void tearDown() {
+        batchEvaluator.shutdown();
+    }
+
+    @Test
+    void testResultsKeepInputOrder() {
+        List<Event> events = IntStream.range(0, 500)
+                .mapToObj(i -> new Event("E" + i, Map.of("i", i)))
+                .toList();
+        List<String> emitted = new ArrayList<>();
+
+        BatchStats stats = batchEvaluator.evaluate(events.iterator(), (event, now) -> {
+            // Uneven work so later events often finish first
+            LockSupport.parkNanos(ThreadLocalRandom.current().nextInt(200_000));
+            EvaluationResult result = new EvaluationResult(event.getType());
+            if ((int) event.getPayload().get("i") % 10 == 0) {
+                result.getMatchedRules().add("tenth");
+            }
+            return result;
+        }, result -> emitted.add(result.getEventType()));
+
+        assertEquals(events.stream().map(Event::getType).toList(), emitted);
+        assertEquals(500, stats.getTotalEvents());
+        assertEquals(50, stats.getMatchedEvents());
+        assertEquals(0, stats.getFailedEvents());
+        assertTrue(stats.getMaxLatencyMicros() >= stats.getP50LatencyMicros());
+    }
+
+    @Test
+    void testBoundsEventsInFlight() {
+        AtomicInteger read = new AtomicInteger();
+        AtomicInteger written = new AtomicInteger();
+        AtomicInteger maxAhead = new AtomicInteger();
+        Iterator<Event> source = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return read.get() < 200;
+            }
+
+            @Override
+            public Event next() {
+                maxAhead.accumulateAndGet(read.incrementAndGet() - written.get(), Math::max);
+                return new Event("E", Map.of());
+            }
+        };
+
+        batchEvaluator.evaluate(source, (event, now) -> new EvaluationResult(event.getType()),
+                result -> written.incrementAndGet());
+
+        assertEquals(200, written.get());
+        assertTrue(maxAhead.get() <= 8, "In flight: " + maxAhead.get());
+    }
+
+    @Test
+    void testSourceFailureEndsBatchWithError() {
+        Iterator<Event> source = new Iterator<>() {
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Event next() {
+                if (index == 3) {
+                    throw new IllegalStateException("Unexpected character");
+                }
+                return new Event("E" + index++, Map.of());
+            }
+        };
+        List<EvaluationResult> emitted = new ArrayList<>();
+
+        BatchStats stats = batchEvaluator.evaluate(source, (event, now) -> new EvaluationResult(event.getType()),
+                emitted::add);
+
+        assertEquals(4, emitted.size());
+        assertEquals("E2", emitted.get(2).getEventType());
+        assertFalse(emitted.get(3).isSuccess());
+        assertTrue(emitted.get(3).getErrorMessage().contains("index 3"));
+        assertEquals(1, stats.getFailedEvents());
+    }
+
+    @Test
+    void testSinkFailureCancelsEventsInFlight() {
+        BatchEvaluator single = new BatchEvaluator(1, 8);
+        AtomicInteger evaluated = new AtomicInteger();
+        List<Event> events = IntStream.range(0, 20)
+                .mapToObj(i -> new Event("E" + i, Map.of()))
+                .toList();
+        try {
+            assertThrows(IllegalStateException.class, () -> single.evaluate(events.iterator(), (event, now) -> {
+                evaluated.incrementAndGet();
+                LockSupport.parkNanos(10_000_000);
+                return new EvaluationResult(event.getType());
+            }, result -> {
+                throw new IllegalStateException("Client went away");
+            }));
+            LockSupport.parkNanos(100_000_000);
+            // The first result was read; at most the next one had started
+            assertTrue(evaluated.get() <= 2, "Evaluated: " + evaluated.get());
+        } finally {
+            single.shutdown();
+        }
+    }
+
+    @Test
+    void testLatencyFiguresAreOrdered() {
+        List<Event> events = IntStream.range(0, 2000)
+                .mapToObj(i -> new Event("E", Map.of("i", i)))
+                .toList();
+
+        BatchStats stats = batchEvaluator.evaluate(events.iterator(), (event, now) -> {
+            if ((int) event.getPayload().get("i") % 100 == 0) {
+                LockSupport.parkNanos(1_000_000);
+            }
+            return new EvaluationResult(event.getType());
+        }, result -> {
+        });
+
+        assertEquals(2000, stats.getTotalEvents());
+        assertTrue(stats.getP50LatencyMicros() <= stats.getP99LatencyMicros());
+        assertTrue(stats.getP99LatencyMicros() <= stats.getMaxLatencyMicros());
+        assertTrue(stats.getMaxLatencyMicros() >= 1000, "Max: " + stats.getMaxLatencyMicros());
+    }
+}
@@ -0,0 +1,70 @@
+package com.ruleengine.engine;
+
+import com.ruleengine.evaluator.compiled.ConditionCompiler;
+import com.ruleengine.model.ActionConfig;
+import com.ruleengine.model.ActionType;
+import com.ruleengine.model.Condition;
+import com.ruleengine.model.EvaluationResult;
+import com.ruleengine.model.Event;
+import com.ruleengine.model.Rule;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EvaluationContextPoolTest {
+
+    @Test
+    void testReleasedContextsAreReused() {
+        EvaluationContextPool pool = new EvaluationContextPool(4);
+        EvaluationContext first = pool.borrow();
+        EvaluationContext second = pool.borrow();
+        assertNotSame(first, second);
+
+        pool.release(first);
+        assertEquals(1, pool.size());
+        assertSame(first, pool.borrow());
+        assertEquals(0, pool.size());
+    }
+
+    @Test
+    void testPoolIsBounded() {
+        EvaluationContextPool pool = new EvaluationContextPool(4);
+        for (int i = 0; i < 100; i++) {
+            pool.release(new EvaluationContext());
+        }
+        assertEquals(4, pool.size());
+    }
+
+    @Test
+    void testConcurrentEvaluationsOnVirtualThreads() throws Exception {
+        Rule large = rule("Large", 1, new Condition("amount", ">", 100));
+        Rule small = rule("Small", 2, new Condition("amount", "<=", 100));
+        ConditionCompiler compiler = new ConditionCompiler();
+        RuleSnapshot snapshot = new RuleSnapshot(1, List.of(
+                new CompiledRule(large, compiler.compile(large.getWhen())),
+                new CompiledRule(small, compiler.compile(small.getWhen()))));
+        RuleEngine engine = new RuleEngine(null, EvaluationMode.SEQUENTIAL);
+
+        List<Future<EvaluationResult>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 10_000; i++) {
+                Event event = new Event("PAYMENT", Map.of("amount", i % 200));
+                results.add(executor.submit(() -> engine.evaluate(snapshot, event, false)));
+            }
+        }
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(List.of(i % 200 > 100 ? "Large" : "Small"), results.get(i).get().getMatchedRules());
+        }
+    }
+
+    private static Rule rule(String name, int priority, Condition when) {
+        return new Rule(name, priority, when, new ActionConfig(ActionType.LOG_EVENT));
+    }
+}
@@ -0,0 +1,436 @@
+package com.ruleengine.engine;
+
+import com.ruleengine.engine.network.AlphaMemory;
+import com.sun.management.ThreadMXBean;
+import com.ruleengine.evaluator.compiled.ConditionCompiler;
+import com.ruleengine.evaluator.compiled.Operator;
+import com.ruleengine.metrics.EngineMetrics;
+import com.ruleengine.metrics.LatencyHistogram;
+import com.ruleengine.metrics.RuleCounters;
+import com.ruleengine.metrics.RuleRanking;
+import com.ruleengine.model.ActionConfig;
+import com.ruleengine.model.ActionType;
+import com.ruleengine.model.Condition;
+import com.ruleengine.model.EvaluationResult;
+import com.ruleengine.model.Event;
+import com.ruleengine.model.EventSchema;
+import com.ruleengine.model.FieldDefinition;
+import com.ruleengine.model.FieldType;
+import com.ruleengine.model.Rule;
+import com.ruleengine.model.RuleStats;
+import com.ruleengine.model.RuleTrace;
+import com.ruleengine.schema.SchemaRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static com.ruleengine.testing.RandomRules.reasons;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RuleEngineTest {
+
+    private ConditionCompiler compiler;
+    private RuleEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        compiler = new ConditionCompiler();
+        engine = new RuleEngine(null, EvaluationMode.SEQUENTIAL);
+    }
+
+    @Test
+    void testNetworkSharesIdenticalLeaves() {
+        List<CompiledRule> rules = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            rules.add(rule("Rule" + i, i, Condition.and(List.of(
+                    new Condition("ipCountry", "!=", "TR"),
+                    new Condition("failCount", ">=", 3),
+                    new Condition("attempt", "==", i)))));
+        }
+        RuleSnapshot snapshot = new RuleSnapshot(1, rules);
+
+        // 2 shared leaves + 50 distinct ones
+        assertEquals(52, snapshot.getNetwork().size());
+        assertEquals(150, snapshot.getNetwork().getLeafReferences());
+
+        CountingPayload payload = new CountingPayload();
+        payload.put("ipCountry", "US");
+        payload.put("failCount", 5);
+        payload.put("attempt", 7);
+
+        RuleBucket bucket = snapshot.getBucketFor("LOGIN");
+        AlphaMemory memory = snapshot.getNetwork().newMemory().reset(payload, System.currentTimeMillis());
+        List<String> matched = new ArrayList<>();
+        for (int i = 0; i < bucket.size(); i++) {
+            if (bucket.networkCondition(i).test(memory)) {
+                matched.add(bucket.get(i).getName());
+            }
+        }
+
+        assertEquals(List.of("Rule7"), matched);
+        assertEquals(1, payload.reads("ipCountry"));
+        assertEquals(1, payload.reads("failCount"));
+    }
+
+    @Test
+    void testModesProduceSameResults() {
+        Random random = new Random(7);
+        List<CompiledRule> rules = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            rules.add(rule("Rule" + i, random.nextInt(20), randomCondition(random, 2)));
+        }
+        RuleSnapshot snapshot = new RuleSnapshot(1, rules);
+        assertTrue(snapshot.getNetwork().size() < snapshot.getNetwork().getLeafReferences());
+
+        for (int i = 0; i < 200; i++) {
+            Map<String, Object> payload = new HashMap<>();
+            payload.put("country", pick(random, "TR", "US", "DE"));
+            payload.put("failCount", random.nextInt(6));
+            payload.put("role", pick(random, "ADMIN", "USER"));
+            Event event = new Event("LOGIN", payload);
+
+            EvaluationResult sequential = engine.evaluate(snapshot, event, false, EvaluationMode.SEQUENTIAL);
+            EvaluationResult network = engine.evaluate(snapshot, event, false, EvaluationMode.NETWORK);
+
+            assertEquals(sequential.getMatchedRules(), network.getMatchedRules());
+            assertEquals(reasons(sequential), reasons(network));
+        }
+    }
+
+    @Test
+    void testTraceLevels() {
+        RuleSnapshot snapshot = new RuleSnapshot(1, List.of(
+                rule("Match", 1, new Condition("failCount", ">=", 3)),
+                rule("Miss", 2, new Condition("country", "==", "TR"))));
+        Event event = new Event("LOGIN", Map.of("failCount", 5, "country", "US"));
+
+        EvaluationResult none = engine.evaluate(snapshot, event, false, TraceLevel.NONE);
+        assertEquals(List.of("Match"), none.getMatchedRules());
+        assertTrue(none.getTrace().isEmpty());
+
+        EvaluationResult matchesOnly = engine.evaluate(snapshot, event, false, TraceLevel.MATCHES_ONLY);
+        assertEquals(List.of("Match"), matchesOnly.getTrace().stream().map(RuleTrace::getRuleName).toList());
+
+        EvaluationResult full = engine.evaluate(snapshot, event, false, TraceLevel.FULL);
+        assertEquals(2, full.getTrace().size());
+        assertEquals("Condition 'country == TR' failed. Actual: 'US'", full.getTrace().get(1).getFailureReason());
+    }
+
+    @Test
+    void testFailureReasonsBuiltOnlyWhenRead() {
+        List<CompiledRule> rules = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            rules.add(rule("Rule" + i, i, new Condition("country", "==", "TR")));
+        }
+        RuleSnapshot snapshot = new RuleSnapshot(1, rules);
+        CountingPayload payload = new CountingPayload();
+        payload.put("country", "US");
+
+        EvaluationResult result = engine.evaluate(snapshot, new Event("LOGIN", payload), false, TraceLevel.FULL);
+
+        // A single index lookup prunes every rule; no reason is built yet
+        assertEquals(1, payload.reads("country"));
+        assertEquals(50, result.getTrace().size());
+        assertEquals("Condition 'country == TR' failed. Actual: 'US'", result.getTrace().get(0).getFailureReason());
+        assertEquals(2, payload.reads("country"));
+    }
+
+    @Test
+    void testMetricsCountRulesErrorsAndLatency() {
+        EngineMetrics metrics = new EngineMetrics();
+        RuleEngine measured = new RuleEngine(null, EvaluationMode.SEQUENTIAL, TraceLevel.NONE, metrics);
+        RuleSnapshot snapshot = new RuleSnapshot(1, List.of(
+                counted(metrics, "Match", 1, new Condition("failCount", ">=", 3)),
+                counted(metrics, "Miss", 2, new Condition("failCount", "<", 3)),
+                counted(metrics, "Broken", 3, new Condition("unreadable", "!=", 1))));
+
+        for (int i = 0; i < 10; i++) {
+            measured.evaluate(snapshot, new Event("LOGIN", unreadable("failCount", 5)), false);
+        }
+        measured.evaluate(snapshot, new Event("LOGIN", unreadable("failCount", 1)), false);
+        measured.evaluate(snapshot, new Event(null, unreadable("failCount", 1)), false);
+
+        RuleCounters match = metrics.getCountersByRule().get("Match");
+        assertEquals(10, match.getEvaluated());
+        assertEquals(10, match.getMatched());
+        assertEquals(2, metrics.getCountersByRule().get("Miss").getMatched());
+        assertEquals(12, metrics.getCountersByRule().get("Broken").getErrors());
+        assertEquals(12, metrics.getErrorsByException().get("IllegalStateException").sum());
+        // The range index only hands "Match" the events it can match
+        assertEquals(10, metrics.getLeafTests(Operator.GREATER_OR_EQUAL));
+        assertEquals(2, metrics.getLeafTests(Operator.LESS_THAN));
+        // Counted by the engine's metrics only
+        assertEquals(0, new EngineMetrics().getLeafTests(Operator.GREATER_OR_EQUAL));
+
+        LatencyHistogram login = metrics.getLatencyByEventType().get("LOGIN");
+        assertEquals(11, login.getCount());
+        assertTrue(login.percentileNanos(0.99) > 0);
+        assertEquals(1, metrics.getLatencyByEventType().get(EngineMetrics.OTHER).getCount());
+    }
+
+    @Test
+    void testProfilingRanksRulesByCost() {
+        EngineMetrics metrics = new EngineMetrics(100, 1);
+        RuleEngine profiled = new RuleEngine(null, EvaluationMode.SEQUENTIAL, TraceLevel.NONE, metrics);
+        RuleSnapshot snapshot = new RuleSnapshot(1, List.of(
+                counted(metrics, "Fast", 1, new Condition("fast", "!=", 1)),
+                counted(metrics, "Slow", 2, new Condition("slow", "!=", 1))));
+
+        for (int i = 0; i < 20; i++) {
+            profiled.evaluate(snapshot, new Event("LOGIN", new SlowPayload()), false);
+        }
+
+        RuleStats slow = metrics.getRuleStats("Slow");
+        assertEquals(20, slow.getEvaluated());
+        assertEquals(20, slow.getSampled());
+        assertEquals(1.0, slow.getMatchRatio());
+        assertTrue(slow.getP50Nanos() >= TimeUnit.MILLISECONDS.toNanos(1), slow.toString());
+        assertTrue(slow.getEstimatedTotalNanos() >= TimeUnit.MILLISECONDS.toNanos(20), slow.toString());
+
+        for (RuleRanking ranking : RuleRanking.values()) {
+            List<RuleStats> top = metrics.getMostExpensiveRules(List.of("Fast", "Slow", "Unknown"), 1, ranking);
+            assertEquals(List.of("Slow"), top.stream().map(RuleStats::getRuleName).toList(), ranking.name());
+        }
+        assertEquals(0, metrics.getRuleStats("Unknown").getEvaluated());
+        assertFalse(new EngineMetrics(100, 0).sample());
+    }
+
+    @Test
+    void testEvaluateIntoReportsMatchesWithoutAllocating() {
+        Random random = new Random(11);
+        List<CompiledRule> rules = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            rules.add(rule("Rule" + i, random.nextInt(20), randomCondition(random, 2)));
+        }
+        rules.add(rule("Keyword", 0, new Condition("agent", "contains", "bot")));
+        RuleSnapshot snapshot = new RuleSnapshot(1, rules);
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("country", "TR");
+        payload.put("failCount", 4);
+        payload.put("role", "ADMIN");
+        payload.put("agent", "Googlebot/2.1");
+        Event event = new Event("LOGIN", payload);
+
+        EvaluationContext context = new EvaluationContext();
+        // Counters and latency recording must not allocate either. Sampled
+        // profiling is off: a rule's cost histogram grows its buckets lazily
+        RuleEngine measured = new RuleEngine(null, EvaluationMode.SEQUENTIAL, TraceLevel.FULL,
+                new EngineMetrics(100, 0));
+        for (RuleEngine candidate : List.of(engine, measured)) {
+            for (EvaluationMode mode : EvaluationMode.values()) {
+                EvaluationResult expected = candidate.evaluate(snapshot, event, false, mode);
+                candidate.evaluateInto(snapshot, event, false, mode, context);
+                List<String> matched = new ArrayList<>();
+                for (int i = 0; i < context.getMatchCount(); i++) {
+                    matched.add(context.getMatchedRule(i).getName());
+                    assertTrue(context.isMatched(context.getMatchedPosition(i)));
+                }
+                assertEquals(expected.getMatchedRules(), matched);
+
+                // Warm up: histogram buckets are created on first use
+                for (int i = 0; i < 10_000; i++) {
+                    candidate.evaluateInto(snapshot, event, false, mode, context);
+                }
+                ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+                long before = threads.getCurrentThreadAllocatedBytes();
+                for (int i = 0; i < 10_000; i++) {
+                    candidate.evaluateInto(snapshot, event, false, mode, context);
+                }
+                long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+                assertTrue(allocated < 1024, mode + " allocated " + allocated + " bytes");
+            }
+        }
+    }
+
+    @Test
+    void testSchemaRecordsMatchLikeMaps() {
+        SchemaRegistry schemas = new SchemaRegistry();
+        schemas.register(new EventSchema("LOGIN", List.of(
+                new FieldDefinition("country", FieldType.STRING),
+                new FieldDefinition("failCount", FieldType.LONG),
+                new FieldDefinition("role", FieldType.STRING))));
+        RuleEngine typed = new RuleEngine(null, EvaluationMode.SEQUENTIAL, TraceLevel.FULL, null, schemas);
+
+        Random random = new Random(5);
+        List<CompiledRule> rules = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            rules.add(rule("Rule" + i, random.nextInt(20), randomCondition(random, 3)));
+        }
+        RuleSnapshot snapshot = new RuleSnapshot(1, rules);
+
+        for (int i = 0; i < 50; i++) {
+            Map<String, Object> payload = new HashMap<>();
+            payload.put("country", pick(random, "TR", "US"));
+            payload.put("failCount", random.nextInt(6));
+            if (random.nextBoolean()) {
+                payload.put("role", pick(random, "ADMIN", "USER"));
+            }
+            Event event = new Event("LOGIN", payload);
+            for (EvaluationMode mode : EvaluationMode.values()) {
+                EvaluationResult expected = engine.evaluate(snapshot, event, false, mode);
+                EvaluationResult actual = typed.evaluate(snapshot, event, false, mode);
+                assertEquals(expected.getMatchedRules(), actual.getMatchedRules());
+                assertEquals(reasons(expected), reasons(actual));
+            }
+        }
+
+        // A payload of the wrong shape is an error, not a silent mismatch
+        EvaluationResult invalid = typed.evaluate(snapshot,
+                new Event("LOGIN", Map.of("failCount", "4")), false);
+        assertFalse(invalid.isSuccess());
+        assertTrue(invalid.getErrorMessage().contains("Field 'failCount' must be LONG"));
+
+        // Decoding reuses the context's record
+        Event event = new Event("LOGIN", new HashMap<>(Map.of("country", "US", "failCount", 4)));
+        EvaluationContext context = new EvaluationContext();
+        for (int i = 0; i < 10_000; i++) {
+            typed.evaluateInto(snapshot, event, context);
+        }
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < 10_000; i++) {
+            typed.evaluateInto(snapshot, event, context);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+        assertTrue(allocated < 1024, "allocated " + allocated + " bytes");
+    }
+
+    @Test
+    void testAggregateCountsEventsPerKey() {
+        long now = 1_700_000_000_000L;
+        for (EvaluationMode mode : EvaluationMode.values()) {
+            // Fresh windows per mode
+            compiler = new ConditionCompiler();
+            CompiledRule bruteForce = rule("Brute force", 1,
+                    new Condition("count(LOGIN_FAILED by userId over 10m)", ">=", 3));
+            bruteForce.getRule().setEventTypes(List.of("LOGIN_FAILED"));
+            CompiledRule bigSpender = rule("Big spender", 2, Condition.and(List.of(
+                    new Condition("sum(amount of PAYMENT by userId over 1h)", ">", 1000),
+                    new Condition("count(LOGIN_FAILED by userId over 10m)", ">=", 1))));
+            RuleSnapshot snapshot = new RuleSnapshot(1, List.of(bruteForce, bigSpender));
+            assertEquals(2, snapshot.getAggregateFeeds().getWindows().size());
+
+            List<List<String>> matched = new ArrayList<>();
+            for (String user : List.of("u1", "u1", "u2", "u1")) {
+                Event event = new Event("LOGIN_FAILED", Map.of("userId", user));
+                matched.add(engine.evaluate(snapshot, event, false, mode, null, now).getMatchedRules());
+            }
+            assertEquals(List.of(List.of(), List.of(), List.of(), List.of("Brute force")), matched, mode.name());
+
+            Event payment = new Event("PAYMENT", Map.of("userId", "u1", "amount", 1500));
+            assertEquals(List.of("Big spender"),
+                    engine.evaluate(snapshot, payment, false, mode, null, now).getMatchedRules());
+
+            EvaluationResult later = engine.evaluate(snapshot, new Event("LOGIN_FAILED", Map.of("userId", "u1")),
+                    false, mode, null, now + 11 * 60_000);
+            assertEquals(List.of("Big spender"), later.getMatchedRules());
+            assertEquals("Condition 'count(LOGIN_FAILED by userId over 10m) >= 3' failed. Actual: '1'",
+                    reasons(later).get(0));
+        }
+    }
+
+    @Test
+    void testContextPinsEvaluationTime() {
+        long now = 1_700_000_000_000L;
+        CompiledRule recent = rule("Recent", 1, new Condition("createdAt", "dateAfter", "now-24h"));
+        RuleSnapshot snapshot = new RuleSnapshot(1, List.of(recent));
+        Event event = new Event("LOGIN", Map.of("createdAt", now - 60 * 60_000));
+
+        EvaluationContext context = new EvaluationContext();
+        for (EvaluationMode mode : EvaluationMode.values()) {
+            context.pinClock(now);
+            assertEquals(1, engine.evaluateInto(snapshot, event, false, mode, context), mode.name());
+            context.pinClock(now + 2 * 24 * 60 * 60_000L);
+            assertEquals(0, engine.evaluateInto(snapshot, event, false, mode, context), mode.name());
+            // Unpinned, the system clock is long past the event
+            context.unpinClock();
+            assertEquals(0, engine.evaluateInto(snapshot, event, false, mode, context), mode.name());
+        }
+    }
+
+    private CompiledRule rule(String name, int priority, Condition when) {
+        Rule rule = new Rule(name, priority, when, new ActionConfig(ActionType.LOG_EVENT));
+        return new CompiledRule(rule, compiler.compile(when));
+    }
+
+    private CompiledRule counted(EngineMetrics metrics, String name, int priority, Condition when) {
+        Rule rule = new Rule(name, priority, when, new ActionConfig(ActionType.LOG_EVENT));
+        return new CompiledRule(rule, compiler.compile(when), metrics.ruleCounters(name));
+    }
+
+    private Condition randomCondition(Random random, int depth) {
+        if (depth == 0 || random.nextBoolean()) {
+            return switch (random.nextInt(3)) {
+                case 0 -> new Condition("country", random.nextBoolean() ? "==" : "!=", pick(random, "TR", "US"));
+                case 1 -> new Condition("failCount", ">=", random.nextInt(5));
+                default -> new Condition("role", "in", List.of(pick(random, "ADMIN", "USER")));
+            };
+        }
+        List<Condition> children = List.of(randomCondition(random, depth - 1), randomCondition(random, depth - 1));
+        return random.nextBoolean() ? Condition.and(children) : Condition.or(children);
+    }
+
+    private static String pick(Random random, String... values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    /**
+     * Payload whose "unreadable" field throws when read.
+     */
+    private static Map<String, Object> unreadable(String field, Object value) {
+        Map<String, Object> payload = new HashMap<>() {
+            @Override
+            public Object get(Object key) {
+                if ("unreadable".equals(key)) {
+                    throw new IllegalStateException("Field cannot be read");
+                }
+                return super.get(key);
+            }
+        };
+        payload.put(field, value);
+        return payload;
+    }
+
+    /**
+     * Payload whose "slow" field takes a millisecond to read.
+     */
+    private static class SlowPayload extends HashMap<String, Object> {
+
+        @Override
+        public Object get(Object key) {
+            if ("slow".equals(key)) {
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return super.get(key);
+        }
+    }
+
+    /**
+     * Payload that counts field reads, to observe how often leaves run.
+     */
+    private static class CountingPayload extends HashMap<String, Object> {
+
+        private final Map<Object, Integer> reads = new HashMap<>();
+
+        @Override
+        public Object get(Object key) {
+            reads.merge(key, 1, Integer::sum);
+            return super.get(key);
+        }
+
+        int reads(String field) {
+            return reads.getOrDefault(field, 0);
+        }
+    }
+}
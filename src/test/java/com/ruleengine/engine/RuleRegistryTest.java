@@ -0,0 +1,41 @@
+package com.ruleengine.engine;
+
+import com.ruleengine.evaluator.compiled.ConditionCompiler;
+import com.ruleengine.metrics.EngineMetrics;
+import com.ruleengine.model.ActionConfig;
+import com.ruleengine.model.ActionType;
+import com.ruleengine.model.Condition;
+import com.ruleengine.model.Rule;
+import com.ruleengine.repository.RuleRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RuleRegistryTest {
+
+    @Test
+    void testDeletedRulesDropTheirCounters() {
+        Rule kept = new Rule("Kept", 1, new Condition("amount", ">", 10), new ActionConfig(ActionType.LOG_EVENT));
+        Rule deleted = new Rule("Deleted", 2, new Condition("amount", "<", 0), new ActionConfig(ActionType.LOG_EVENT));
+        RuleRepository repository = mock(RuleRepository.class);
+        when(repository.getAllRulesIncludingDisabled()).thenReturn(List.of(kept, deleted));
+        when(repository.removeRule("Deleted")).thenReturn(deleted);
+        EngineMetrics metrics = new EngineMetrics();
+        RuleRegistry registry = new RuleRegistry(repository, new ConditionCompiler(), metrics);
+        registry.reload();
+        assertEquals(Set.of("Kept", "Deleted"), metrics.getCountersByRule().keySet());
+
+        // Replacing a rule keeps its counters
+        metrics.ruleCounters("Kept").recordEvaluation(true);
+        registry.addRule(new Rule("Kept", 1, new Condition("amount", ">", 20), null));
+        assertEquals(1, metrics.getCountersByRule().get("Kept").getMatched());
+
+        registry.removeRule("Deleted");
+        assertEquals(Set.of("Kept"), metrics.getCountersByRule().keySet());
+    }
+}
@@ -0,0 +1,125 @@
+package com.ruleengine.engine.columnar;
+
+import com.ruleengine.engine.EvaluationMode;
+import com.ruleengine.engine.RuleEngine;
+import com.ruleengine.engine.RuleSnapshot;
+import com.ruleengine.model.Condition;
+import com.ruleengine.model.Event;
+import com.ruleengine.model.Rule;
+import com.ruleengine.testing.RandomRules;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static com.ruleengine.testing.RandomRules.EVENT_TYPES;
+import static com.ruleengine.testing.RandomRules.snapshotOf;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Differential tests: the columnar path must match exactly the rules the
+ * row-at-a-time engine matches, for every event.
+ */
+class ColumnarEvaluatorTest {
+
+    private static final Object[] ACTUALS = { 10, 10L, 10.0, -0.0, 0, 5.5f, 1e6, Double.NaN, "10", "10.0",
+            "ADMIN", "USER", "A".repeat(1001), "VIP-MEMBER", "2024-06-01T12:00:00", "2023-12-31", true,
+            List.of("VIP", "NEW"), null };
+
+    private final RandomRules randomRules = new RandomRules();
+
+    @Test
+    void testMatchesAgreeWithRowEngine() {
+        Random random = new Random(7);
+        List<Rule> rules = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            Rule rule = new Rule();
+            rule.setName("Rule" + i);
+            rule.setPriority(random.nextInt(10));
+            rule.setWhen(randomRules.tree(random, 3));
+            if (random.nextInt(3) == 0) {
+                rule.setEventTypes(List.of(EVENT_TYPES[random.nextInt(EVENT_TYPES.length)]));
+            }
+            rules.add(rule);
+        }
+        RuleSnapshot snapshot = snapshotOf(rules);
+
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            Map<String, Object> payload = new HashMap<>();
+            for (String field : List.of("amount", "role", "tags", "createdAt")) {
+                payload.put(field, ACTUALS[random.nextInt(ACTUALS.length)]);
+            }
+            Map<String, Object> user = new HashMap<>();
+            user.put("country", ACTUALS[random.nextInt(ACTUALS.length)]);
+            payload.put("user", random.nextBoolean() ? user : "flat");
+            events.add(new Event(EVENT_TYPES[random.nextInt(EVENT_TYPES.length)], payload));
+        }
+
+        ColumnarResult result = new ColumnarEvaluator(null).evaluate(snapshot, events);
+        RuleEngine rowEngine = new RuleEngine(null, EvaluationMode.SEQUENTIAL);
+
+        assertEquals(events.size(), result.getEventCount());
+        int matches = 0;
+        for (int i = 0; i < events.size(); i++) {
+            List<String> expected = rowEngine.evaluate(snapshot, events.get(i), false).getMatchedRules();
+            assertEquals(expected, result.getMatchedRules(i), "Event " + events.get(i));
+            matches += expected.size();
+        }
+        assertTrue(matches > 0);
+    }
+
+    @Test
+    void testMatchBitmapPositionsFollowEvaluationOrder() {
+        Rule low = new Rule("Low", 1, new Condition("amount", ">", 100), null);
+        Rule high = new Rule("High", 5, new Condition("amount", ">", 10), null);
+        RuleSnapshot snapshot = snapshotOf(List.of(high, low));
+
+        ColumnarResult result = new ColumnarEvaluator(null).evaluate(snapshot, List.of(
+                new Event("PAYMENT", Map.of("amount", 500)),
+                new Event("PAYMENT", Map.of("amount", 50)),
+                new Event("PAYMENT", Map.of())));
+
+        assertEquals("Low", result.getRules().get(0).getName());
+        assertTrue(result.isMatch(0, 0));
+        assertTrue(result.isMatch(0, 1));
+        assertFalse(result.isMatch(1, 0));
+        assertTrue(result.isMatch(1, 1));
+        assertEquals(List.of(), result.getMatchedRules(2));
+    }
+
+    @Test
+    void testAggregatesAgreeWithRowEngine() {
+        Rule burst = new Rule("Burst", 1, new Condition("count(LOGIN by user.country over 1h)", ">=", 3), null);
+        burst.setEventTypes(List.of("LOGIN"));
+        Rule spend = new Rule("Spend", 2, Condition.or(List.of(
+                new Condition("avg(amount of * by role over 1h)", ">", 50),
+                new Condition("role", "==", "VIP"))), null);
+        List<Rule> rules = List.of(burst, spend);
+
+        Random random = new Random(3);
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Map<String, Object> payload = new HashMap<>();
+            payload.put("amount", random.nextInt(100));
+            payload.put("role", ACTUALS[random.nextInt(ACTUALS.length)]);
+            payload.put("user", Map.of("country", random.nextBoolean() ? "TR" : "US"));
+            events.add(new Event(EVENT_TYPES[random.nextInt(EVENT_TYPES.length)], payload));
+        }
+
+        // Separate snapshots, so each path feeds windows of its own
+        ColumnarResult result = new ColumnarEvaluator(null).evaluate(snapshotOf(rules), events);
+        RuleSnapshot rowSnapshot = snapshotOf(rules);
+        RuleEngine rowEngine = new RuleEngine(null, EvaluationMode.SEQUENTIAL);
+        int matches = 0;
+        for (int i = 0; i < events.size(); i++) {
+            List<String> expected = rowEngine.evaluate(rowSnapshot, events.get(i), false).getMatchedRules();
+            assertEquals(expected, result.getMatchedRules(i), "Event " + i);
+            matches += expected.size();
+        }
+        assertTrue(matches > 0);
+    }
+}
@@ -0,0 +1,158 @@
+package com.ruleengine.engine.index;
+
+import com.ruleengine.evaluator.compiled.CompiledCondition;
+import com.ruleengine.evaluator.compiled.ConditionCompiler;
+import com.ruleengine.model.Condition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CandidateFilterTest {
+
+    private static final Object[] VALUES = { 10, 10L, 10.0, -0.0, 0, "10", "10.0", "ADMIN", "true", true,
+            Double.NaN, "NaN", 1e20, List.of("A"), "" };
+
+    private ConditionCompiler compiler;
+
+    @BeforeEach
+    void setUp() {
+        compiler = new ConditionCompiler();
+    }
+
+    @Test
+    void testNeverPrunesMatchingRule() {
+        List<CompiledCondition> conditions = new ArrayList<>();
+        for (Object value : VALUES) {
+            conditions.add(compiler.compile(new Condition("field", "==", value)));
+            conditions.add(compiler.compile(new Condition("field", "in", Arrays.asList(value, "other", null))));
+            conditions.add(compiler.compile(Condition.and(List.of(
+                    new Condition("other", ">", 1),
+                    new Condition("field", "==", value)))));
+        }
+        conditions.add(compiler.compile(new Condition("field", "!=", "x")));
+        conditions.add(compiler.compile(new Condition("field", "==", null)));
+
+        CandidateFilter filter = CandidateFilter.build(conditions);
+        assertNotNull(filter);
+
+        List<Object> actuals = new ArrayList<>(Arrays.asList(VALUES));
+        actuals.add(null);
+        for (Object actual : actuals) {
+            Map<String, Object> payload = new HashMap<>();
+            payload.put("field", actual);
+            payload.put("other", 5);
+
+            long[] candidates = filter.select(payload);
+            for (int i = 0; i < conditions.size(); i++) {
+                if (conditions.get(i).test(payload)) {
+                    int position = i;
+                    assertTrue(CandidateFilter.isCandidate(candidates, i),
+                            () -> "Pruned matching rule " + conditions.get(position) + " for " + actual);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testSelectsOnlyMatchingMerchants() {
+        List<CompiledCondition> conditions = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            conditions.add(compiler.compile(Condition.and(List.of(
+                    new Condition("merchantId", "==", "M" + i),
+                    new Condition("amount", ">", 100)))));
+        }
+        conditions.add(compiler.compile(new Condition("amount", ">", 10_000)));
+
+        CandidateFilter filter = CandidateFilter.build(conditions);
+        assertEquals(5001, filter.getGuardedRules());
+
+        long[] candidates = filter.select(Map.of("merchantId", "M42", "amount", 500));
+        assertEquals(1, Arrays.stream(candidates).map(Long::bitCount).sum());
+        assertTrue(CandidateFilter.isCandidate(candidates, 42));
+
+        candidates = filter.select(Map.of("merchantId", "M42", "amount", 20_000));
+        assertEquals(2, Arrays.stream(candidates).map(Long::bitCount).sum());
+        assertTrue(CandidateFilter.isCandidate(candidates, 5000));
+    }
+
+    @Test
+    void testRangeGuardsNeverPruneMatchingRule() {
+        double[] thresholds = { -1, -0.0, 0, 3, 3.5, 1000, 5000, Double.NaN, Double.POSITIVE_INFINITY };
+        String[] ops = { ">", ">=", "<", "<=" };
+        List<CompiledCondition> conditions = new ArrayList<>();
+        for (double threshold : thresholds) {
+            for (String op : ops) {
+                conditions.add(compiler.compile(new Condition("amount", op, threshold)));
+            }
+        }
+        conditions.add(compiler.compile(new Condition("failCount", ">=", 3L)));
+
+        CandidateFilter filter = CandidateFilter.build(conditions);
+        assertEquals(conditions.size(), filter.getGuardedRules());
+
+        Object[] actuals = { -5, -0.0, 0, 0L, 3, 3.5f, 999.99, 1000, 5001L, Double.NaN,
+                Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, "1000", null };
+        for (Object actual : actuals) {
+            Map<String, Object> payload = new HashMap<>();
+            payload.put("amount", actual);
+            payload.put("failCount", actual);
+
+            long[] candidates = filter.select(payload);
+            for (int i = 0; i < conditions.size(); i++) {
+                // A range guard is exact: candidate if and only if it matches
+                assertEquals(conditions.get(i).test(payload), CandidateFilter.isCandidate(candidates, i),
+                        conditions.get(i) + " for " + actual);
+            }
+        }
+    }
+
+    @Test
+    void testStringGuardsNeverPruneMatchingRule() {
+        String[] patterns = { "", "a", "ab", "abc", "bc", "b", "c", "cab", "bot", "Bot", "crawler", "10" };
+        List<CompiledCondition> conditions = new ArrayList<>();
+        for (String pattern : patterns) {
+            conditions.add(compiler.compile(new Condition("userAgent", "contains", pattern)));
+            conditions.add(compiler.compile(new Condition("userAgent", "startsWith", pattern)));
+            conditions.add(compiler.compile(new Condition("userAgent", "endsWith", pattern)));
+        }
+        conditions.add(compiler.compile(new Condition("userAgent", "endsWith", 10)));
+
+        CandidateFilter filter = CandidateFilter.build(conditions);
+        assertEquals(conditions.size(), filter.getGuardedRules());
+
+        Object[] actuals = { "", "abcab", "xxabcxx", "cabbc", "Googlebot/2.1", "crawler-bot", "Mozilla", 10,
+                3.10, List.of("abc", "bot"), List.of(), null };
+        for (Object actual : actuals) {
+            Map<String, Object> payload = new HashMap<>();
+            payload.put("userAgent", actual);
+
+            long[] candidates = filter.select(payload);
+            for (int i = 0; i < conditions.size(); i++) {
+                boolean matches = conditions.get(i).test(payload);
+                String message = conditions.get(i) + " for " + actual;
+                if (actual instanceof Iterable) {
+                    // List membership is over-approximated, never pruned
+                    assertTrue(!matches || CandidateFilter.isCandidate(candidates, i), message);
+                } else {
+                    assertEquals(matches, CandidateFilter.isCandidate(candidates, i), message);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testNoFilterWithoutIndexableGuards() {
+        assertNull(CandidateFilter.build(List.of(
+                compiler.compile(new Condition("amount", "!=", 5)),
+                compiler.compile(Condition.or(List.of(
+                        new Condition("role", "==", "A"),
+                        new Condition("role", "==", "B")))))));
+    }
+}
@@ -117,6 +117,32 @@ class ConditionEvaluatorTest {
         assertTrue(evaluator.evaluate(condition, payload).isMatched());
     }
 
+    @Test
+    void testDateAcceptsEpochMillisAndMixedPrecision() {
+        Condition condition = new Condition("expiryDate", "dateAfter", "2024-01-01");
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("expiryDate", "2024-01-01T00:00:01");
+        assertTrue(evaluator.evaluate(condition, payload).isMatched());
+
+        payload.put("expiryDate", 1704067200000L); // 2024-01-01T00:00:00Z
+        assertFalse(evaluator.evaluate(condition, payload).isMatched());
+
+        payload.put("expiryDate", "2024-01-01T02:00:00+03:00");
+        assertFalse(evaluator.evaluate(condition, payload).isMatched());
+    }
+
+    @Test
+    void testRelativeDate() {
+        long now = Dates.parseIso("2024-06-02T12:00:00Z");
+        Condition condition = new Condition("lastLogin", "dateBefore", "now-7d");
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("lastLogin", "2024-05-20");
+        assertTrue(evaluator.evaluate(condition, payload, now).isMatched());
+
+        payload.put("lastLogin", "2024-05-30");
+        assertFalse(evaluator.evaluate(condition, payload, now).isMatched());
+    }
+
     @Test
     void testListContains() {
         Condition condition = new Condition("tags", "contains", "VIP");
@@ -0,0 +1,61 @@
+package com.ruleengine.evaluator;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DatesTest {
+
+    @Test
+    void testIsoFormatsAgreeWithJavaTime() {
+        Random random = new Random(11);
+        for (int i = 0; i < 10_000; i++) {
+            LocalDateTime time = LocalDateTime.of(1900 + random.nextInt(300), 1 + random.nextInt(12), 1, 0, 0)
+                    .plusDays(random.nextInt(31))
+                    .plusSeconds(random.nextInt(86_400))
+                    .plusNanos(random.nextInt(1000) * 1_000_000L);
+            long utc = time.toInstant(ZoneOffset.UTC).toEpochMilli();
+
+            assertEquals(utc, Dates.parseIso(time.toString()), time::toString);
+            assertEquals(time.toLocalDate().atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli(),
+                    Dates.parseIso(time.toLocalDate().toString()));
+
+            ZoneOffset offset = ZoneOffset.ofHoursMinutes(random.nextInt(25) - 12, 0);
+            OffsetDateTime zoned = time.atOffset(offset);
+            assertEquals(zoned.toInstant().toEpochMilli(), Dates.parseIso(zoned.toString()), zoned::toString);
+        }
+        assertEquals(Dates.parseIso("2024-01-01T10:00:00Z"), Dates.parseIso("2024-01-01T13:00:00+0300"));
+        assertEquals(Dates.parseIso("2024-01-01T10:00:00.123"), Dates.parseIso("2024-01-01T10:00:00.123456789"));
+    }
+
+    @Test
+    void testInvalidValuesAreRejectedWithoutThrowing() {
+        for (String text : new String[] { "", "2024", "2024-13-01", "2023-02-29", "2024-01-01T24:00",
+                "2024-01-01 10:00", "2024-01-01T10:00:00.", "2024-01-01T10:00:00+19:00", "not-a-date",
+                "2024-01-01T10:00:00[Europe/Istanbul]" }) {
+            assertEquals(Dates.INVALID, Dates.parseIso(text), text);
+        }
+        assertEquals(LocalDate.of(2024, 2, 29).toEpochDay() * 86_400_000L, Dates.parseIso("2024-02-29"));
+        assertEquals(Dates.INVALID, Dates.toEpochMillis(Double.NaN));
+        assertEquals(Dates.INVALID, Dates.toEpochMillis(true));
+        assertEquals(1_700_000_000_000L, Dates.toEpochMillis(1_700_000_000_000L));
+    }
+
+    @Test
+    void testRelativeOffsets() {
+        assertEquals(0, Dates.relativeOffset("now"));
+        assertEquals(-86_400_000L, Dates.relativeOffset("now-24h"));
+        assertEquals(30 * 60_000L, Dates.relativeOffset("now+30m"));
+        assertEquals(-14 * 86_400_000L, Dates.relativeOffset("now-2w"));
+        assertEquals(-250, Dates.relativeOffset("now-250ms"));
+        for (String text : new String[] { "now-", "now-24", "now-24y", "now24h", "today", "now-9999999999d" }) {
+            assertFalse(Dates.isRelative(text), text);
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package com.ruleengine.evaluator.compiled;
+
+import com.ruleengine.evaluator.ConditionEvaluator;
+import com.ruleengine.evaluator.Dates;
+import com.ruleengine.evaluator.EvaluationDetail;
+import com.ruleengine.exception.InvalidConditionException;
+import com.ruleengine.exception.InvalidEventException;
+import com.ruleengine.model.Condition;
+import com.ruleengine.model.EventSchema;
+import com.ruleengine.model.FieldDefinition;
+import com.ruleengine.model.FieldType;
+import com.ruleengine.schema.RecordLayout;
+import com.ruleengine.schema.SlotRecord;
+import com.ruleengine.testing.RandomRules;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Differential tests: compiled conditions must agree with the
+ * {@link ConditionEvaluator} interpreter on match result and failure reason.
+ */
+class ConditionCompilerTest {
+
+    private static final String[] FIELDS = { "amount", "role", "tags", "user.country", "createdAt", "missing" };
+    private static final String[] OPS = { "==", "=", "!=", "<>", ">", ">=", "<", "<=", "contains",
+            "startsWith", "endsWith", "in", "matches", "dateBefore", "dateAfter" };
+    private static final Object[] VALUES = { 10, 10.0, 1000L, -0.0, "10", "ADMIN", "AD", "MIN", "VIP",
+            "^A.*N$", "[a-z", "2024-01-01", "2024-01-01T10:00:00", "2024-06-01T15:00:00+03:00", "now-24h",
+            null, List.of("ADMIN", "USER", 10) };
+
+    private final RandomRules randomRules = new RandomRules(FIELDS, OPS, VALUES);
+    // Relative dates must resolve to the same "now" on both sides
+    private static final long NOW = Dates.parseIso("2024-06-02T00:00:00Z");
+
+    private ConditionCompiler compiler;
+    private ConditionEvaluator interpreter;
+
+    @BeforeEach
+    void setUp() {
+        compiler = new ConditionCompiler();
+        interpreter = new ConditionEvaluator();
+    }
+
+    @Test
+    void testLeavesAgreeWithInterpreter() {
+        List<Map<String, Object>> payloads = payloads();
+        for (String field : FIELDS) {
+            for (String op : OPS) {
+                for (Object value : VALUES) {
+                    assertAgrees(new Condition(field, op, value), payloads);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testLinearRegexLeavesAgreeWithInterpreter() {
+        compiler = new ConditionCompiler(false, 64, 1000, RegexEngine.LINEAR);
+        List<Map<String, Object>> payloads = payloads();
+        for (String field : FIELDS) {
+            for (Object value : VALUES) {
+                assertAgrees(new Condition(field, "matches", value), payloads);
+            }
+        }
+    }
+
+    @Test
+    void testRandomTreesAgreeWithInterpreter() {
+        Random random = new Random(42);
+        List<Map<String, Object>> payloads = payloads();
+        for (int i = 0; i < 2000; i++) {
+            assertAgrees(randomRules.tree(random, 3), payloads);
+        }
+    }
+
+    @Test
+    void testSchemaRecordsAgreeWithMaps() {
+        RecordLayout layout = RecordLayout.of(new EventSchema("TEST", List.of(
+                new FieldDefinition("amount", FieldType.DOUBLE),
+                new FieldDefinition("role", FieldType.STRING),
+                FieldDefinition.object("user", List.of(new FieldDefinition("country", FieldType.STRING))))));
+        List<Map<String, Object>> payloads = new ArrayList<>();
+        for (Map<String, Object> payload : payloads()) {
+            try {
+                layout.validate(payload);
+                payloads.add(payload);
+            } catch (InvalidEventException e) {
+                // Only payloads of the schema's shape are decoded
+            }
+        }
+        assertEquals(4, payloads.size());
+
+        List<Condition> conditions = new ArrayList<>();
+        for (String field : FIELDS) {
+            for (String op : OPS) {
+                for (Object value : VALUES) {
+                    conditions.add(new Condition(field, op, value));
+                }
+            }
+        }
+        Random random = new Random(3);
+        for (int i = 0; i < 500; i++) {
+            conditions.add(randomRules.tree(random, 3));
+        }
+
+        for (Condition condition : conditions) {
+            CompiledCondition compiled;
+            try {
+                compiled = compiler.compile(condition);
+            } catch (InvalidConditionException e) {
+                continue;
+            }
+            for (Map<String, Object> payload : payloads) {
+                SlotRecord record = layout.decode(payload);
+                boolean expected = compiled.test(payload, NOW);
+                assertEquals(expected, compiled.test(record, NOW), () -> condition + " on " + payload);
+                if (!expected) {
+                    assertEquals(compiled.explainFailure(payload, NOW), compiled.explainFailure(record, NOW));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testAdaptiveTreesAgreeWithInterpreter() {
+        // Profile every other evaluation and reorder every 3 samples, so
+        // orders keep changing while results are checked
+        compiler = new ConditionCompiler(true, 2, 3);
+        Random random = new Random(42);
+        List<Map<String, Object>> payloads = payloads();
+        for (int i = 0; i < 500; i++) {
+            Condition tree = randomRules.tree(random, 3);
+            for (int round = 0; round < 10; round++) {
+                assertAgrees(tree, payloads);
+            }
+        }
+    }
+
+    @Test
+    void testAdaptiveOrderTriesCheapDecisiveChildFirst() {
+        compiler = new ConditionCompiler(true, 1, 50);
+        Condition regex = new Condition("email", "matches", "^[a-z]+([.][a-z]+)*@example[.]com$");
+        AndCondition and = (AndCondition) compiler.compile(Condition.and(List.of(
+                regex, new Condition("role", "==", "ADMIN"))));
+        OrCondition or = (OrCondition) compiler.compile(Condition.or(List.of(
+                new Condition("email", "matches", "^admin@.*$"), new Condition("role", "==", "USER"))));
+
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("email", "jane.doe@example.com");
+        for (int i = 0; i < 500; i++) {
+            payload.put("role", i % 10 == 0 ? "ADMIN" : "USER");
+            and.test(payload);
+            or.test(payload);
+        }
+
+        // The regex is (almost) never decisive, so it moves behind the equality
+        assertEquals("role == ADMIN", and.getEvaluationOrder()[0].toString());
+        assertEquals("role == USER", or.getEvaluationOrder()[0].toString());
+        // Failure reasons still follow the authored order
+        payload.put("email", "JANE@example.com");
+        assertEquals(interpreter.evaluate(Condition.and(List.of(regex, new Condition("role", "==", "ADMIN"))),
+                payload).getReason(), and.explainFailure(payload));
+    }
+
+    @Test
+    void testRejectsUnsupportedOperator() {
+        InvalidConditionException ex = assertThrows(InvalidConditionException.class,
+                () -> compiler.compile(new Condition("age", "~=", 1)));
+        assertTrue(ex.getMessage().contains("Unsupported operator"));
+    }
+
+    @Test
+    void testRejectsNonNumericThreshold() {
+        assertThrows(InvalidConditionException.class,
+                () -> compiler.compile(new Condition("age", ">", "18")));
+    }
+
+    @Test
+    void testRejectsInvalidRegex() {
+        InvalidConditionException ex = assertThrows(InvalidConditionException.class,
+                () -> compiler.compile(new Condition("name", "matches", "[a-z")));
+        assertTrue(ex.getMessage().contains("Invalid regex for field 'name'"));
+    }
+
+    @Test
+    void testLinearEngineRejectsBackreference() {
+        compiler = new ConditionCompiler(false, 64, 1000, RegexEngine.LINEAR);
+        assertThrows(InvalidConditionException.class,
+                () -> compiler.compile(new Condition("name", "matches", "(a)\\1")));
+        assertTrue(compiler.compile(new Condition("name", "matches", "(a|b)+")).test(Map.of("name", "abba")));
+    }
+
+    @Test
+    void testRejectsInvalidDateOperand() {
+        InvalidConditionException ex = assertThrows(InvalidConditionException.class,
+                () -> compiler.compile(new Condition("createdAt", "dateAfter", "yesterday")));
+        assertTrue(ex.getMessage().contains("requires an ISO-8601 date"));
+        assertThrows(InvalidConditionException.class,
+                () -> compiler.compile(new Condition("createdAt", "dateBefore", "2024-02-30")));
+    }
+
+    @Test
+    void testRelativeDateFollowsEvaluationTime() {
+        CompiledCondition recent = compiler.compile(new Condition("createdAt", "dateAfter", "now-24h"));
+        Map<String, Object> payload = Map.of("createdAt", "2024-06-01T12:00:00");
+        assertTrue(recent.test(payload, NOW));
+        assertFalse(recent.test(payload, Dates.parseIso("2024-06-03T00:00:00Z")));
+    }
+
+    @Test
+    void testRejectsInvalidAggregate() {
+        assertThrows(InvalidConditionException.class,
+                () -> compiler.compile(new Condition("count(LOGIN_FAILED over 10m)", ">=", 3)));
+        InvalidConditionException ex = assertThrows(InvalidConditionException.class,
+                () -> compiler.compile(new Condition("count(LOGIN_FAILED by userId over 10m)", "contains", 3)));
+        assertTrue(ex.getMessage().contains("cannot be applied to aggregate"));
+        assertThrows(InvalidConditionException.class,
+                () -> compiler.compile(new Condition("avg(amount of PAYMENT by userId over 1h)", ">", "100")));
+        assertTrue(compiler.compile(new Condition("count(LOGIN_FAILED by userId over 10m)", "in", List.of(0, 5)))
+                .test(Map.of("userId", "u1")));
+    }
+
+    @Test
+    void testRejectsEmptyComposite() {
+        assertThrows(InvalidConditionException.class,
+                () -> compiler.compile(Condition.and(new ArrayList<>())));
+    }
+
+    @Test
+    void testNullConditionAlwaysMatches() {
+        assertTrue(compiler.compile(null).test(Map.of()));
+    }
+
+    @Test
+    void testListKeysDoNotCollide() {
+        assertNotEquals(new Constant(List.of("x", "y")).key(),
+                new Constant(List.of("x,java.lang.String:y")).key());
+        assertNotEquals(new Constant(List.of(List.of("x"), "y")).key(),
+                new Constant(List.of(List.of("x", "y"))).key());
+        assertEquals(new Constant(List.of("x", 10)).key(), new Constant(List.of("x", 10)).key());
+        assertNotEquals(new Constant(List.of("x", 10)).key(), new Constant(List.of("x", "10")).key());
+    }
+
+    private void assertAgrees(Condition condition, List<Map<String, Object>> payloads) {
+        CompiledCondition compiled;
+        try {
+            compiled = compiler.compile(condition);
+        } catch (InvalidConditionException e) {
+            // A rejected leaf must be one the interpreter can never match
+            if (condition.isSimple()) {
+                for (Map<String, Object> payload : payloads) {
+                    assertFalse(interpretedMatch(condition, payload), () -> "Rejected but matches: " + condition);
+                }
+            }
+            return;
+        }
+
+        for (Map<String, Object> payload : payloads) {
+            EvaluationDetail expected = interpreter.evaluate(condition, payload, NOW);
+            boolean actual = compiled.test(payload, NOW);
+            assertEquals(expected.isMatched(), actual, () -> condition + " on " + payload);
+            if (!actual) {
+                assertEquals(expected.getReason(), compiled.explainFailure(payload, NOW),
+                        () -> "Reason for " + condition + " on " + payload);
+            }
+        }
+    }
+
+    private boolean interpretedMatch(Condition condition, Map<String, Object> payload) {
+        try {
+            return interpreter.evaluate(condition, payload, NOW).isMatched();
+        } catch (InvalidConditionException e) {
+            return false;
+        }
+    }
+
+    private List<Map<String, Object>> payloads() {
+        List<Map<String, Object>> payloads = new ArrayList<>();
+        Object[] amounts = { 10, 10.0, 5, 1000L, 0.0, "10", null };
+        Object[] roles = { "ADMIN", "USER", "A".repeat(1001), 10 };
+        Object[] tags = { List.of("VIP", "NEW"), "VIP-MEMBER", 7 };
+        Object[] dates = { "2024-06-01T12:00:00", "2023-12-31", "not-a-date", 1717243200000L,
+                "2024-06-01T12:00:00.500Z" };
+        for (int i = 0; i < amounts.length; i++) {
+            Map<String, Object> payload = new HashMap<>();
+            payload.put("amount", amounts[i]);
+            payload.put("role", roles[i % roles.length]);
+            payload.put("tags", tags[i % tags.length]);
+            payload.put("createdAt", dates[i % dates.length]);
+            if (i % 2 == 0) {
+                payload.put("user", Map.of("country", i == 0 ? "TR" : "US"));
+            } else {
+                payload.put("user", "flat");
+            }
+            payloads.add(payload);
+        }
+        return payloads;
+    }
+}
@@ -0,0 +1,109 @@
+package com.ruleengine.evaluator.compiled;
+
+import com.ruleengine.exception.InvalidConditionException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Differential tests: {@link LinearRegex} must agree with
+ * {@link Pattern#matches} on every pattern it accepts.
+ */
+class LinearRegexTest {
+
+    private static final String[] PATTERNS = {
+            "", "a", "abc", "a|b|", "a*", "a+b?", "(ab)*c", "(?:a|bc)+", "(?<word>\\w+)-\\d{2,3}",
+            "^A.*N$", "^$", "a$", "a$\n", "a$\\r\\n", "a|^b", "x^", ".", ".*", "[^a-c]*", "[a-]+", "[-a]",
+            "[\\d\\s]+", "[^\\W_]+", "\\D\\S\\W", "\\.\\*\\(", "\\x41\\u0042\\x{1F600}", "\\t\\n\\r\\f",
+            "a{3}", "a{2,}", "a{0,2}b", "(a|ab)(c|bcd)", "(a*)*", "(a|b)*?c", "[\\u00e0-\\u00ff]+", "😀.", "." };
+
+    private static final String[] INPUTS = {
+            "", "a", "b", "ab", "abc", "aaa", "aaaa", "ABMIN", "ADMIN", "abcbcd", "abd", "a\n", "a\r\n", "a\r",
+            "a\u0085", "a ", "\n", "\r\n", "x", "-", "a-", "12 3", "9_", "x y", ".*(", "AB😀", "\t\n\r\f",
+            "😀x", "😀", "héllo", "word-12", "word-1234", "dd", "aab", "c", "abababc" };
+
+    @Test
+    void testFixedPatternsAgreeWithJdk() {
+        for (String pattern : PATTERNS) {
+            LinearRegex regex = LinearRegex.compile(pattern);
+            for (String input : INPUTS) {
+                assertEquals(Pattern.matches(pattern, input), regex.matches(input),
+                        () -> "'" + pattern + "' on '" + input + "'");
+            }
+        }
+    }
+
+    @Test
+    void testRandomPatternsAgreeWithJdk() {
+        Random random = new Random(7);
+        List<String> inputs = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            inputs.add(randomInput(random));
+        }
+        for (int i = 0; i < 3000; i++) {
+            String pattern = randomPattern(random, 3);
+            LinearRegex regex = LinearRegex.compile(pattern);
+            for (String input : inputs) {
+                assertEquals(Pattern.matches(pattern, input), regex.matches(input),
+                        () -> "'" + pattern + "' on '" + input + "'");
+            }
+        }
+    }
+
+    @Test
+    void testCatastrophicPatternRunsInLinearTime() {
+        LinearRegex regex = LinearRegex.compile("(a+)+b");
+        String input = "a".repeat(LeafCondition.MAX_INPUT_LENGTH);
+        long start = System.nanoTime();
+        for (int i = 0; i < 10; i++) {
+            assertFalse(regex.matches(input));
+        }
+        // java.util.regex backtracks through every split of the a-run here
+        assertTrue(System.nanoTime() - start < 2_000_000_000L);
+        assertTrue(regex.matches(input + "b"));
+    }
+
+    @Test
+    void testRejectsFeaturesOutsideSubset() {
+        for (String pattern : new String[] { "(a)\\1", "a(?=b)", "(?<!a)b", "(?i)abc", "a*+", "[a[b]]",
+                "[a-z&&[^x]]", "\\bword\\b", "\\p{Alpha}", "\\Qa.b\\E", "(^a|b)*", "($)+", "(a{1000}){1000}" }) {
+            assertThrows(InvalidConditionException.class, () -> LinearRegex.compile(pattern), pattern);
+        }
+    }
+
+    private String randomPattern(Random random, int depth) {
+        StringBuilder pattern = new StringBuilder();
+        int items = 1 + random.nextInt(3);
+        for (int i = 0; i < items; i++) {
+            String atom = switch (depth > 0 ? random.nextInt(10) : random.nextInt(6)) {
+                case 0, 1 -> String.valueOf("abc".charAt(random.nextInt(3)));
+                case 2 -> ".";
+                case 3 -> new String[] { "[ab]", "[^a]", "[a-c\\d]", "\\w", "\\s", "\\D" }[random.nextInt(6)];
+                case 4 -> new String[] { "^", "$" }[random.nextInt(2)];
+                case 5 -> "\\n";
+                case 6, 7 -> "(" + randomPattern(random, depth - 1) + ")";
+                default -> "(?:" + randomPattern(random, depth - 1) + "|" + randomPattern(random, depth - 1) + ")";
+            };
+            pattern.append(atom);
+            if (!atom.contains("^") && !atom.contains("$") && random.nextInt(3) == 0) {
+                pattern.append(new String[] { "*", "+", "?", "{2}", "{1,3}", "{0,}", "*?" }[random.nextInt(7)]);
+            }
+        }
+        return pattern.toString();
+    }
+
+    private String randomInput(Random random) {
+        String alphabet = "abc1 \n\r_";
+        StringBuilder input = new StringBuilder();
+        int length = random.nextInt(7);
+        for (int i = 0; i < length; i++) {
+            input.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return input.toString();
+    }
+}
@@ -0,0 +1,336 @@
+package com.ruleengine.ingest;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ruleengine.engine.EvaluationMode;
+import com.ruleengine.engine.RuleEngine;
+import com.ruleengine.engine.RuleSnapshot;
+import com.ruleengine.exception.InvalidEventException;
+import com.ruleengine.exception.PayloadTooLargeException;
+import com.ruleengine.model.ActionConfig;
+import com.ruleengine.model.ActionType;
+import com.ruleengine.model.Condition;
+import com.ruleengine.model.EvaluationResult;
+import com.ruleengine.model.Event;
+import com.ruleengine.model.EventSchema;
+import com.ruleengine.model.FieldDefinition;
+import com.ruleengine.model.FieldType;
+import com.ruleengine.model.Rule;
+import com.ruleengine.schema.SchemaRegistry;
+import com.ruleengine.testing.RandomRules;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static com.ruleengine.testing.RandomRules.EVENT_TYPES;
+import static com.ruleengine.testing.RandomRules.FIELDS;
+import static com.ruleengine.testing.RandomRules.reasons;
+import static com.ruleengine.testing.RandomRules.snapshotOf;
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventReaderTest {
+
+    private final RandomRules randomRules = new RandomRules();
+
+    // Configured like Spring Boot's mapper
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    @Test
+    void testFullReadMatchesDataBinding() throws IOException {
+        EventReader reader = new EventReader(objectMapper, new SchemaRegistry(), false);
+        RuleSnapshot snapshot = snapshotOf(List.of());
+        Random random = new Random(17);
+
+        for (int i = 0; i < 2_000; i++) {
+            Map<String, Object> payload = randomObject(random, 3);
+            String json = random.nextBoolean()
+                    ? objectMapper.writeValueAsString(new Event("LOGIN", payload))
+                    : "{\"payload\":" + objectMapper.writeValueAsString(payload) + ",\"extra\":[1,{}],\"type\":7}";
+
+            Event expected = objectMapper.readValue(json, Event.class);
+            Event actual = reader.read(stream(json), snapshot);
+
+            assertEquals(expected.getType(), actual.getType());
+            assertEquals(expected.getPayload(), actual.getPayload(), json);
+        }
+    }
+
+    @Test
+    void testProjectionKeepsReferencedAndDeclaredFields() throws IOException {
+        SchemaRegistry schemas = new SchemaRegistry();
+        schemas.register(new EventSchema("LOGIN", List.of(
+                FieldDefinition.object("device", List.of(new FieldDefinition("os", FieldType.STRING))))));
+        EventReader reader = new EventReader(objectMapper, schemas, true);
+        RuleSnapshot snapshot = snapshotOf(List.of(
+                rule("Country", List.of("LOGIN"), new Condition("user.country", "==", "TR")),
+                rule("Amount", null, new Condition("amount", ">", 100)),
+                rule("Tags", List.of("PAYMENT"), new Condition("tags", "contains", "VIP"))));
+
+        String payload = "{\"amount\":250,\"user\":{\"country\":\"TR\",\"name\":\"x\"},"
+                + "\"device\":{\"os\":\"ios\",\"model\":\"y\"},\"tags\":[\"VIP\"],\"blob\":{\"a\":[1,2,{\"b\":3}]}}";
+
+        Event login = reader.read(stream("{\"type\":\"LOGIN\",\"payload\":" + payload + "}"), snapshot);
+        assertEquals(Map.of("amount", 250, "user", Map.of("country", "TR"), "device", Map.of("os", "ios")),
+                login.getPayload());
+
+        Event other = reader.read(stream("{\"type\":\"OTHER\",\"payload\":" + payload + "}"), snapshot);
+        assertEquals(Map.of("amount", 250), other.getPayload());
+
+        // Type not known yet: fields of every rule and schema
+        Event late = reader.read(stream("{\"payload\":" + payload + ",\"type\":\"OTHER\"}"), snapshot);
+        assertEquals(Map.of("amount", 250, "user", Map.of("country", "TR"), "device", Map.of("os", "ios"),
+                "tags", List.of("VIP")), late.getPayload());
+    }
+
+    @Test
+    void testProjectionKeepsFieldsAggregatesCount() throws IOException {
+        EventReader reader = new EventReader(objectMapper, new SchemaRegistry(), true);
+        RuleSnapshot snapshot = snapshotOf(List.of(
+                rule("Spend", List.of("CHECKOUT"),
+                        new Condition("sum(amount of PAYMENT by user.id over 1h)", ">", 100)),
+                rule("Any", List.of("CHECKOUT"), new Condition("count(* by session over 1m)", ">", 5))));
+
+        String payload = "{\"amount\":250,\"user\":{\"id\":7,\"name\":\"x\"},\"session\":\"s\",\"blob\":1}";
+        // Fed by the events counted, not scoped to any rule
+        Event payment = reader.read(stream("{\"type\":\"PAYMENT\",\"payload\":" + payload + "}"), snapshot);
+        assertEquals(Map.of("amount", 250, "user", Map.of("id", 7), "session", "s"), payment.getPayload());
+        // Reads the key of its own aggregate
+        Event checkout = reader.read(stream("{\"type\":\"CHECKOUT\",\"payload\":" + payload + "}"), snapshot);
+        assertEquals(Map.of("user", Map.of("id", 7), "session", "s"), checkout.getPayload());
+        Event other = reader.read(stream("{\"type\":\"OTHER\",\"payload\":" + payload + "}"), snapshot);
+        assertEquals(Map.of("session", "s"), other.getPayload());
+    }
+
+    @Test
+    void testProjectedEventsEvaluateLikeFullEvents() throws IOException {
+        Random random = new Random(23);
+        List<Rule> rules = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            List<String> types = random.nextInt(3) == 0 ? null : List.of(EVENT_TYPES[random.nextInt(EVENT_TYPES.length)]);
+            rules.add(rule("Rule" + i, types, randomRules.tree(random, 3)));
+        }
+        RuleSnapshot snapshot = snapshotOf(rules);
+        EventReader full = new EventReader(objectMapper, new SchemaRegistry(), false);
+        EventReader projected = new EventReader(objectMapper, new SchemaRegistry(), true);
+        RuleEngine engine = new RuleEngine(null, EvaluationMode.SEQUENTIAL);
+
+        for (int i = 0; i < 500; i++) {
+            Map<String, Object> payload = randomObject(random, 2);
+            payload.put("amount", random.nextBoolean() ? 10 : 10.5);
+            payload.put("role", random.nextBoolean() ? "ADMIN" : List.of("ADMIN"));
+            payload.put("user", Map.of("country", "TR", "age", random.nextInt(40), "noise", randomObject(random, 2)));
+            String json = objectMapper.writeValueAsString(new Event(EVENT_TYPES[random.nextInt(EVENT_TYPES.length)], payload));
+
+            EvaluationResult expected = engine.evaluate(snapshot, full.read(stream(json), snapshot), false);
+            EvaluationResult actual = engine.evaluate(snapshot, projected.read(stream(json), snapshot), false);
+            assertEquals(expected.getMatchedRules(), actual.getMatchedRules(), json);
+            assertEquals(reasons(expected), reasons(actual), json);
+        }
+    }
+
+    @Test
+    void testReadsArraysAndSequencesOfEvents() throws IOException {
+        EventReader reader = new EventReader(objectMapper, new SchemaRegistry(), true);
+        RuleSnapshot snapshot = snapshotOf(List.of(rule("Amount", null, new Condition("amount", ">", 100))));
+        String first = "{\"type\":\"A\",\"payload\":{\"amount\":1,\"other\":2}}";
+        String second = "{\"type\":\"B\",\"payload\":{}}";
+
+        for (String body : new String[] { "[" + first + ",null," + second + "]", first + "\nnull\n" + second }) {
+            List<Event> events = new ArrayList<>();
+            reader.readAll(stream(body), snapshot).forEachRemaining(events::add);
+
+            assertEquals(3, events.size());
+            assertEquals(Map.of("amount", 1), events.get(0).getPayload());
+            assertNull(events.get(1));
+            assertEquals("B", events.get(2).getType());
+        }
+
+        // Events before malformed input are still returned
+        Iterator<Event> events = reader.readAll(stream("[" + first + ",{\"type\":\"A\",\"payload\":[1]}]"), snapshot);
+        assertEquals("A", events.next().getType());
+        assertThrows(InvalidEventException.class, events::next);
+
+        assertThrows(InvalidEventException.class, () -> reader.read(stream("{\"type\":\"A\",\"payload\":"), snapshot));
+        assertThrows(InvalidEventException.class, () -> reader.read(stream(""), snapshot));
+    }
+
+    @Test
+    void testBinaryFormatDecodesLikeJson() throws IOException {
+        SchemaRegistry schemas = new SchemaRegistry();
+        RuleSnapshot snapshot = snapshotOf(List.of(
+                rule("Country", List.of("LOGIN"), new Condition("user.country", "==", "TR")),
+                rule("Role", null, new Condition("role0", "==", "ADMIN"))));
+        Random random = new Random(29);
+
+        for (boolean projection : new boolean[] { false, true }) {
+            EventReader reader = new EventReader(objectMapper, schemas, projection);
+            List<Event> events = new ArrayList<>();
+            while (events.size() < 500) {
+                Map<String, Object> payload = randomObject(random, 3);
+                payload.put("user", Map.of("country", "TR", "name", "x"));
+                Event event = new Event(EVENT_TYPES[random.nextInt(EVENT_TYPES.length)], payload);
+                try {
+                    BinaryEventFormat.encode(List.of(event));
+                    events.add(event);
+                } catch (IllegalArgumentException e) {
+                    // Integers beyond a long have no binary encoding
+                }
+            }
+
+            Iterator<Event> decoded = reader.readBinary(ByteBuffer.wrap(BinaryEventFormat.encode(events)), snapshot);
+            for (Event event : events) {
+                String json = objectMapper.writeValueAsString(event);
+                Event expected = reader.read(stream(json), snapshot);
+                Event actual = decoded.next();
+                assertEquals(expected.getType(), actual.getType());
+                assertEquals(expected.getPayload(), actual.getPayload(), json);
+            }
+            assertFalse(decoded.hasNext());
+        }
+    }
+
+    @Test
+    void testBinaryFormatRejectsMalformedRecords() {
+        EventReader reader = new EventReader(objectMapper, new SchemaRegistry(), false);
+        RuleSnapshot snapshot = snapshotOf(List.of());
+        byte[] bytes = BinaryEventFormat.encode(List.of(
+                new Event("A", Map.of("amount", 1)), new Event("B", Map.of("tags", List.of("x", "y")))));
+
+        // A truncated second record still yields the first one
+        ByteBuffer truncated = ByteBuffer.wrap(bytes, 0, bytes.length - 1);
+        Iterator<Event> events = reader.readBinary(truncated, snapshot);
+        assertEquals("A", events.next().getType());
+        assertThrows(InvalidEventException.class, events::next);
+        assertFalse(events.hasNext());
+
+        byte[] unknownTag = bytes.clone();
+        unknownTag[4 + 2 + 1] = 0x7F;
+        assertThrows(InvalidEventException.class,
+                () -> reader.readBinaryEvent(ByteBuffer.wrap(unknownTag, 0, 4 + ByteBuffer.wrap(bytes).getInt(0)),
+                        snapshot));
+        assertThrows(InvalidEventException.class, () -> reader.readBinaryEvent(ByteBuffer.wrap(bytes), snapshot));
+        assertThrows(InvalidEventException.class, () -> reader.readBinaryEvent(ByteBuffer.allocate(0), snapshot));
+        assertThrows(IllegalArgumentException.class,
+                () -> BinaryEventFormat.encode(List.of(new Event("A", Map.of("when", new Object())))));
+    }
+
+    @Test
+    void testBinaryNestingIsBounded() {
+        EventReader reader = new EventReader(objectMapper, new SchemaRegistry(), false);
+        RuleSnapshot snapshot = snapshotOf(List.of());
+        // The payload object is the first level
+        assertEquals(BinaryEventDecoder.MAX_DEPTH,
+                depthOf(reader.readBinaryEvent(nested(BinaryEventDecoder.MAX_DEPTH - 1), snapshot).getPayload()));
+        assertThrows(InvalidEventException.class,
+                () -> reader.readBinaryEvent(nested(BinaryEventDecoder.MAX_DEPTH), snapshot));
+        // Deep enough to overflow the stack if unchecked
+        InvalidEventException e = assertThrows(InvalidEventException.class,
+                () -> reader.readBinaryEvent(nested(1_000_000), snapshot));
+        assertTrue(e.getMessage().contains("nesting"), e.getMessage());
+    }
+
+    @Test
+    void testBinaryBodiesAreBounded() throws IOException {
+        byte[] bytes = BinaryEventFormat.encode(List.of(new Event("A", Map.of("amount", 1))));
+        EventReader reader = new EventReader(objectMapper, new SchemaRegistry(), false, bytes.length);
+        assertEquals(bytes.length, reader.readBinaryBody(new ByteArrayInputStream(bytes)).remaining());
+
+        byte[] larger = BinaryEventFormat.encode(List.of(new Event("A", Map.of("amount", 10)),
+                new Event("B", Map.of())));
+        assertThrows(PayloadTooLargeException.class,
+                () -> reader.readBinaryBody(new ByteArrayInputStream(larger)));
+    }
+
+    private static Map<String, Object> randomObject(Random random, int depth) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        int size = random.nextInt(5);
+        for (int i = 0; i < size; i++) {
+            map.put(FIELDS[random.nextInt(FIELDS.length)].replace('.', '_') + i, randomValue(random, depth));
+        }
+        return map;
+    }
+
+    private static Object randomValue(Random random, int depth) {
+        switch (random.nextInt(depth > 0 ? 11 : 9)) {
+            case 0:
+                return random.nextInt();
+            case 1:
+                return random.nextLong();
+            case 2:
+                return BigInteger.valueOf(random.nextLong()).multiply(BigInteger.valueOf(Long.MAX_VALUE));
+            case 3:
+                return random.nextDouble() * 1e6;
+            case 4:
+                return random.nextBoolean();
+            case 5:
+                return null;
+            case 6:
+                return "sé\"" + random.nextInt(100);
+            case 7:
+                return "";
+            case 8:
+                return -0.0;
+            case 9:
+                List<Object> list = new ArrayList<>();
+                for (int i = random.nextInt(4); i > 0; i--) {
+                    list.add(randomValue(random, depth - 1));
+                }
+                return list;
+            default:
+                return randomObject(random, depth - 1);
+        }
+    }
+
+    private static Rule rule(String name, List<String> eventTypes, Condition when) {
+        Rule rule = new Rule(name, 1, when, new ActionConfig(ActionType.LOG_EVENT));
+        rule.setEventTypes(eventTypes);
+        return rule;
+    }
+
+    /**
+     * One record whose payload holds {@code levels} arrays nested in each
+     * other, encoded by hand since the encoder recurses as well.
+     */
+    private static ByteBuffer nested(int levels) {
+        byte[] type = "E".getBytes(StandardCharsets.UTF_8);
+        int member = 2 + 1;
+        // Innermost array: tag, size, count; each outer one adds 9 bytes
+        int arrays = levels * 9;
+        int payload = 1 + 4 + 4 + member + arrays;
+        ByteBuffer buffer = ByteBuffer.allocate(4 + 2 + type.length + payload);
+        buffer.putInt(2 + type.length + payload).putShort((short) type.length).put(type);
+        buffer.put(BinaryEventFormat.OBJECT).putInt(4 + member + arrays).putInt(1);
+        buffer.putShort((short) 1).put((byte) 'a');
+        for (int level = 0; level < levels; level++) {
+            int inner = (levels - level - 1) * 9;
+            buffer.put(BinaryEventFormat.ARRAY).putInt(4 + inner).putInt(level < levels - 1 ? 1 : 0);
+        }
+        return buffer.flip();
+    }
+
+    private static int depthOf(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            return map.isEmpty() ? 1 : 1 + depthOf(map.values().iterator().next());
+        }
+        if (value instanceof List<?> list) {
+            return list.isEmpty() ? 1 : 1 + depthOf(list.get(0));
+        }
+        return 0;
+    }
+
+    private static InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,304 @@
+package com.ruleengine.ingest.log;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ruleengine.action.ActionDispatchProperties;
+import com.ruleengine.action.ActionDispatcher;
+import com.ruleengine.action.ActionHandler;
+import com.ruleengine.action.DispatchMode;
+import com.ruleengine.engine.EvaluationMode;
+import com.ruleengine.engine.RuleEngine;
+import com.ruleengine.engine.RuleRegistry;
+import com.ruleengine.evaluator.compiled.ConditionCompiler;
+import com.ruleengine.ingest.BinaryEventFormat;
+import com.ruleengine.ingest.EventReader;
+import com.ruleengine.journal.EvaluationJournal;
+import com.ruleengine.journal.JournalProperties;
+import com.ruleengine.model.ActionConfig;
+import com.ruleengine.model.ActionType;
+import com.ruleengine.model.Condition;
+import com.ruleengine.model.Event;
+import com.ruleengine.model.Rule;
+import com.ruleengine.repository.RuleRepository;
+import com.ruleengine.schema.SchemaRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LogIngestorTest {
+
+    @TempDir
+    Path directory;
+
+    // Amounts of the events whose LOG_EVENT action ran, in dispatch order
+    private final List<Integer> dispatched = Collections.synchronizedList(new ArrayList<>());
+
+    @Test
+    void testPartialRecordsWaitForTheWriter() throws IOException {
+        Path partition = Files.createDirectories(directory.resolve("p0"));
+        byte[] bytes = encode(1, 2);
+        int split = bytes.length - 3;
+        Files.write(partition.resolve("00000.log"), Arrays.copyOf(bytes, split));
+
+        PartitionConsumer consumer = consumer(partition);
+        assertTrue(consumer.pollOnce());
+        assertEquals(List.of(1), dispatched);
+        assertFalse(consumer.pollOnce());
+
+        Files.write(partition.resolve("00000.log"), Arrays.copyOfRange(bytes, split, bytes.length),
+                StandardOpenOption.APPEND);
+        assertTrue(consumer.pollOnce());
+        assertEquals(List.of(1, 2), dispatched);
+        assertEquals(2, consumer.getStats().getEvents());
+        assertEquals(2, consumer.getStats().getMatchedRules());
+    }
+
+    @Test
+    void testSegmentsAreReadInOrderAndCommitted() throws IOException {
+        Path partition = Files.createDirectories(directory.resolve("p0"));
+        Files.write(partition.resolve("00000.log"), encode(1, 2));
+        Files.write(partition.resolve("00001.log"), encode(3));
+
+        PartitionConsumer consumer = consumer(partition);
+        while (consumer.pollOnce() || !consumer.getStats().getPosition().startsWith("00001.log")) {
+            // Drain
+        }
+        assertFalse(consumer.pollOnce());
+        assertEquals(List.of(1, 2, 3), dispatched);
+
+        // Restart: nothing is replayed once committed
+        Files.write(partition.resolve("00001.log"), encode(4), StandardOpenOption.APPEND);
+        PartitionConsumer restarted = consumer(partition);
+        while (restarted.pollOnce()) {
+            // Drain
+        }
+        assertEquals(List.of(1, 2, 3, 4), dispatched);
+        assertEquals(new LogPosition("00001.log", encode(3, 4).length), new LogPartition(partition).committed());
+    }
+
+    @Test
+    void testUncommittedBatchIsReplayed() throws IOException {
+        Path partition = Files.createDirectories(directory.resolve("p0"));
+        byte[] first = encode(1);
+        Files.write(partition.resolve("00000.log"), first);
+        assertTrue(consumer(partition).pollOnce());
+
+        // Crashed after evaluating the next batch, before committing it
+        Files.write(partition.resolve("00000.log"), encode(2, 3), StandardOpenOption.APPEND);
+        LogPartition log = new LogPartition(partition);
+        assertFalse(log.read(log.committed(), 1 << 20).isEmpty());
+        log.close();
+
+        PartitionConsumer restarted = consumer(partition);
+        assertTrue(restarted.pollOnce());
+        assertEquals(List.of(1, 2, 3), dispatched);
+    }
+
+    @Test
+    void testActionsRunBeforeTheBatchIsCommitted() throws IOException {
+        Path partition = Files.createDirectories(directory.resolve("p0"));
+        Files.write(partition.resolve("00000.log"), encode(1, 2, 3));
+        ActionDispatchProperties async = new ActionDispatchProperties();
+        async.setMode(DispatchMode.ASYNC);
+        ActionDispatcher dispatcher = new ActionDispatcher(List.of(new ActionHandler() {
+            @Override
+            public void execute(Event event, Rule matchedRule) {
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                dispatched.add(((Number) event.getPayload().get("amount")).intValue());
+            }
+
+            @Override
+            public ActionType getActionType() {
+                return ActionType.LOG_EVENT;
+            }
+        }), async, false);
+        RuleRegistry registry = registry();
+        PartitionConsumer consumer = new PartitionConsumer(new LogPartition(partition), registry,
+                new RuleEngine(registry, EvaluationMode.SEQUENTIAL), reader(), dispatcher,
+                new EvaluationJournal(new JournalProperties()), new LogIngestProperties());
+
+        assertTrue(consumer.pollOnce());
+        // Ran on the consumer thread, not queued
+        assertEquals(List.of(1, 2, 3), dispatched);
+        assertEquals(3, dispatcher.getStats(ActionType.LOG_EVENT).getCompleted());
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void testTornTailOfEarlierSegmentIsSkipped() throws IOException {
+        Path partition = Files.createDirectories(directory.resolve("p0"));
+        byte[] bytes = encode(1, 2);
+        // The writer crashed inside the second record, then started a new segment
+        Files.write(partition.resolve("00000.log"), Arrays.copyOf(bytes, bytes.length - 3));
+        Files.write(partition.resolve("00001.log"), encode(3));
+
+        PartitionConsumer consumer = consumer(partition);
+        for (int i = 0; i < 5; i++) {
+            consumer.pollOnce();
+        }
+        assertEquals(List.of(1, 3), dispatched);
+        assertEquals(bytes.length - 3 - encode(1).length, consumer.getStats().getSkippedBytes());
+        assertEquals(PartitionStats.State.RUNNING, consumer.getStats().getState());
+        assertEquals(new LogPosition("00001.log", encode(3).length), new LogPartition(partition).committed());
+    }
+
+    @Test
+    void testTrailingBytesOfEarlierSegmentAreSkipped() throws IOException {
+        Path partition = Files.createDirectories(directory.resolve("p0"));
+        byte[] first = encode(1);
+        byte[] bytes = Arrays.copyOf(first, first.length + 2);
+        Files.write(partition.resolve("00000.log"), bytes);
+        Files.write(partition.resolve("00001.log"), encode(2));
+
+        PartitionConsumer consumer = consumer(partition);
+        for (int i = 0; i < 5; i++) {
+            consumer.pollOnce();
+        }
+        assertEquals(List.of(1, 2), dispatched);
+        assertEquals(2, consumer.getStats().getSkippedBytes());
+    }
+
+    @Test
+    void testMalformedRecordIsSkipped() throws IOException {
+        Path partition = Files.createDirectories(directory.resolve("p0"));
+        byte[] bytes = encode(1, 2, 3);
+        int second = encode(1).length;
+        // Unknown value tag where the second record's payload starts
+        bytes[second + 4 + 2 + "PAYMENT".length()] = 99;
+        Files.write(partition.resolve("00000.log"), bytes);
+
+        PartitionConsumer consumer = consumer(partition);
+        assertTrue(consumer.pollOnce());
+        assertEquals(List.of(1, 3), dispatched);
+        assertEquals(3, consumer.getStats().getEvents());
+        assertEquals(1, consumer.getStats().getFailedEvents());
+    }
+
+    @Test
+    void testBatchesAreBoundedButLargeRecordsAreRead() throws IOException {
+        Path partition = Files.createDirectories(directory.resolve("p0"));
+        Files.write(partition.resolve("00000.log"), encode(IntStream.range(0, 100).toArray()));
+
+        LogIngestProperties properties = new LogIngestProperties();
+        properties.setMaxBatchBytes(10);
+        PartitionConsumer consumer = consumer(new LogPartition(partition), properties);
+        while (consumer.pollOnce()) {
+            // Drain
+        }
+        assertEquals(100, consumer.getStats().getBatches());
+        assertEquals(IntStream.range(0, 100).boxed().toList(), dispatched);
+    }
+
+    @Test
+    void testPartitionsAreConsumedInParallel() throws Exception {
+        for (int p = 0; p < 4; p++) {
+            Path partition = Files.createDirectories(directory.resolve("p" + p));
+            Files.write(partition.resolve("00000.log"),
+                    encode(IntStream.range(p * 1000, p * 1000 + 500).toArray()));
+        }
+        LogIngestProperties properties = new LogIngestProperties();
+        properties.setEnabled(true);
+        properties.setDirectory(directory.toString());
+        properties.setPollInterval(Duration.ofMillis(10));
+        properties.setMaxBatchBytes(4096);
+        RuleRegistry registry = registry();
+        LogIngestor ingestor = new LogIngestor(properties, registry, new RuleEngine(registry, EvaluationMode.SEQUENTIAL),
+                reader(), dispatcher(), new EvaluationJournal(new JournalProperties()));
+        ingestor.start();
+        try {
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (dispatched.size() < 2000 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+        } finally {
+            ingestor.stop();
+        }
+
+        assertEquals(2000, dispatched.size());
+        List<PartitionStats> stats = ingestor.getStats();
+        assertEquals(List.of("p0", "p1", "p2", "p3"), stats.stream().map(PartitionStats::getPartition).toList());
+        for (int p = 0; p < 4; p++) {
+            int partition = p;
+            // In order within a partition
+            assertEquals(IntStream.range(p * 1000, p * 1000 + 500).boxed().toList(),
+                    dispatched.stream().filter(amount -> amount / 1000 == partition).toList());
+            assertEquals(PartitionStats.State.STOPPED, stats.get(p).getState());
+            assertEquals(500, stats.get(p).getEvents());
+        }
+    }
+
+    @Test
+    void testCorruptSegmentFailsThePartition() throws IOException {
+        Path partition = Files.createDirectories(directory.resolve("p0"));
+        Files.write(partition.resolve("00000.log"), new byte[] { (byte) 0xFF, 0, 0, 0, 1 });
+
+        PartitionConsumer consumer = consumer(partition);
+        consumer.run();
+        assertEquals(PartitionStats.State.FAILED, consumer.getStats().getState());
+        assertNotNull(consumer.getStats().getError());
+        assertTrue(dispatched.isEmpty());
+    }
+
+    private PartitionConsumer consumer(Path partition) {
+        return consumer(new LogPartition(partition), new LogIngestProperties());
+    }
+
+    private PartitionConsumer consumer(LogPartition partition, LogIngestProperties properties) {
+        RuleRegistry registry = registry();
+        return new PartitionConsumer(partition, registry, new RuleEngine(registry, EvaluationMode.SEQUENTIAL),
+                reader(), dispatcher(), new EvaluationJournal(new JournalProperties()), properties);
+    }
+
+    private ActionDispatcher dispatcher() {
+        return new ActionDispatcher(List.of(new ActionHandler() {
+            @Override
+            public void execute(Event event, Rule matchedRule) {
+                dispatched.add(((Number) event.getPayload().get("amount")).intValue());
+            }
+
+            @Override
+            public ActionType getActionType() {
+                return ActionType.LOG_EVENT;
+            }
+        }));
+    }
+
+    private static EventReader reader() {
+        return new EventReader(new ObjectMapper(), new SchemaRegistry(), true);
+    }
+
+    private static RuleRegistry registry() {
+        Rule rule = new Rule("Any payment", 1, new Condition("amount", ">=", 0),
+                new ActionConfig(ActionType.LOG_EVENT));
+        rule.setEventTypes(List.of("PAYMENT"));
+        RuleRepository repository = mock(RuleRepository.class);
+        when(repository.getAllRulesIncludingDisabled()).thenReturn(List.of(rule));
+        RuleRegistry registry = new RuleRegistry(repository, new ConditionCompiler());
+        registry.reload();
+        return registry;
+    }
+
+    private static byte[] encode(int... amounts) {
+        return BinaryEventFormat.encode(Arrays.stream(amounts)
+                .mapToObj(amount -> new Event("PAYMENT", Map.of("amount", amount, "note", "x".repeat(amount % 7))))
+                .toList());
+    }
+}
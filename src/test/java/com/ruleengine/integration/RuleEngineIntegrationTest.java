@@ -1,10 +1,15 @@
 package com.ruleengine.integration;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ruleengine.ingest.BinaryEventFormat;
 import com.ruleengine.model.ActionConfig;
 import com.ruleengine.model.ActionType;
 import com.ruleengine.model.Condition;
 import com.ruleengine.model.Event;
+import com.ruleengine.model.EventSchema;
+import com.ruleengine.model.FieldDefinition;
+import com.ruleengine.model.FieldType;
 import com.ruleengine.model.Rule;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -19,6 +24,11 @@ import java.util.List;
 import java.util.Map;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -96,4 +106,315 @@ class RuleEngineIntegrationTest {
                 .andExpect(jsonPath("$.trace[*].matched", hasItem(false)))
                 .andExpect(jsonPath("$.trace[*].failureReason", notNullValue()));
     }
+
+    @Test
+    void testDeletedRuleStopsMatching() throws Exception {
+        // 1. Create a Rule
+        Rule rule = new Rule();
+        rule.setName("DeleteTestRule");
+        rule.setPriority(1);
+        rule.setWhen(new Condition("deleteMarker", "==", "X"));
+        rule.setThen(new ActionConfig(ActionType.LOG_EVENT));
+
+        mockMvc.perform(post("/rules")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(rule)))
+                .andExpect(status().isCreated());
+
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("deleteMarker", "X");
+        String eventJson = objectMapper.writeValueAsString(new Event("TEST_DELETE", payload));
+
+        // 2. Rule is visible to evaluation immediately after the write
+        mockMvc.perform(post("/events")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(eventJson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matchedRules", hasItem("DeleteTestRule")));
+
+        // 3. Delete it and check the next evaluation no longer sees it
+        mockMvc.perform(delete("/rules/DeleteTestRule"))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(post("/events")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(eventJson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matchedRules", not(hasItem("DeleteTestRule"))));
+    }
+
+    @Test
+    void testInvalidConditionRejectedAtRegistration() throws Exception {
+        Rule rule = new Rule();
+        rule.setName("InvalidOperatorRule");
+        rule.setWhen(new Condition("amount", "~=", 5));
+        rule.setThen(new ActionConfig(ActionType.REJECT));
+
+        mockMvc.perform(post("/rules")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(rule)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("Unsupported operator")));
+    }
+
+    @Test
+    void testInvalidRegexRejectedAtRegistration() throws Exception {
+        Rule rule = new Rule();
+        rule.setName("InvalidRegexRule");
+        rule.setWhen(new Condition("email", "matches", "([a-z]+@"));
+        rule.setThen(new ActionConfig(ActionType.REJECT));
+
+        mockMvc.perform(post("/rules")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(rule)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("Invalid regex")));
+    }
+
+    @Test
+    void testSchemaValidatesEventPayloads() throws Exception {
+        EventSchema schema = new EventSchema("SCHEMA_PAYMENT", List.of(
+                new FieldDefinition("amount", FieldType.DOUBLE, true),
+                FieldDefinition.object("user", List.of(new FieldDefinition("country", FieldType.STRING)))));
+
+        mockMvc.perform(post("/schemas")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(schema)))
+                .andExpect(status().isCreated());
+
+        Rule rule = new Rule();
+        rule.setName("SchemaPaymentRule");
+        rule.setEventTypes(List.of("SCHEMA_PAYMENT"));
+        rule.setWhen(new Condition("user.country", "==", "TR"));
+        rule.setThen(new ActionConfig(ActionType.FLAG_FOR_REVIEW));
+        mockMvc.perform(post("/rules")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(rule)))
+                .andExpect(status().isCreated());
+
+        Event valid = new Event("SCHEMA_PAYMENT", Map.of("amount", 250, "user", Map.of("country", "TR")));
+        mockMvc.perform(post("/events")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(valid)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matchedRules", hasItem("SchemaPaymentRule")));
+
+        Event invalid = new Event("SCHEMA_PAYMENT", Map.of("amount", "250"));
+        mockMvc.perform(post("/events")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(invalid)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("must be DOUBLE")));
+
+        mockMvc.perform(get("/schemas/SCHEMA_PAYMENT"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fields", hasSize(2)));
+        mockMvc.perform(delete("/schemas/SCHEMA_PAYMENT"))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/schemas/SCHEMA_PAYMENT"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testRuleScopedToEventType() throws Exception {
+        // 1. Create a Rule that only applies to LOGIN events
+        Rule rule = new Rule();
+        rule.setName("LoginOnlyRule");
+        rule.setPriority(1);
+        rule.setEventTypes(List.of("LOGIN"));
+        rule.setWhen(new Condition("failCount", ">=", 3));
+        rule.setThen(new ActionConfig(ActionType.SEND_ALERT));
+
+        mockMvc.perform(post("/rules")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(rule)))
+                .andExpect(status().isCreated());
+
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("failCount", 5);
+
+        // 2. LOGIN event matches
+        mockMvc.perform(post("/events")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new Event("LOGIN", payload))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matchedRules", hasItem("LoginOnlyRule")));
+
+        // 3. PURCHASE event never evaluates it
+        mockMvc.perform(post("/events")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new Event("PURCHASE", payload))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matchedRules", not(hasItem("LoginOnlyRule"))))
+                .andExpect(jsonPath("$.trace[*].ruleName", not(hasItem("LoginOnlyRule"))));
+    }
+
+    @Test
+    void testTraceLevelPerRequest() throws Exception {
+        Rule rule = new Rule();
+        rule.setName("TraceLevelRule");
+        rule.setPriority(1);
+        rule.setEventTypes(List.of("TRACE_TEST"));
+        rule.setWhen(new Condition("failCount", ">=", 3));
+        rule.setThen(new ActionConfig(ActionType.LOG_EVENT));
+
+        mockMvc.perform(post("/rules")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(rule)))
+                .andExpect(status().isCreated());
+
+        Event event = new Event("TRACE_TEST", Map.of("failCount", 1));
+
+        mockMvc.perform(post("/events")
+                .param("trace", "NONE")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(event)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.trace", hasSize(0)));
+
+        mockMvc.perform(post("/events")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(event)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.trace[?(@.ruleName == 'TraceLevelRule')].failureReason")
+                        .value(hasItem("Condition 'failCount >= 3' failed. Actual: '1'")));
+    }
+
+    @Test
+    void testUnknownTraceLevelRejected() throws Exception {
+        mockMvc.perform(post("/events")
+                .param("trace", "bogus")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new Event("TRACE_TEST", Map.of()))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("'trace'")))
+                .andExpect(jsonPath("$.message", containsString("NONE")));
+    }
+
+    @Test
+    void testRuleStatsCountEvaluations() throws Exception {
+        Rule rule = new Rule();
+        rule.setName("ProfiledRule");
+        rule.setPriority(1);
+        rule.setEventTypes(List.of("PROFILE_TEST"));
+        rule.setWhen(new Condition("status", "!=", "BLOCKED"));
+        rule.setThen(new ActionConfig(ActionType.LOG_EVENT));
+
+        mockMvc.perform(post("/rules")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(rule)))
+                .andExpect(status().isCreated());
+
+        for (String status : List.of("OK", "OK", "OK", "BLOCKED", "BLOCKED")) {
+            mockMvc.perform(post("/events")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(new Event("PROFILE_TEST", Map.of("status", status)))))
+                    .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(get("/rules/ProfiledRule/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ruleName", is("ProfiledRule")))
+                .andExpect(jsonPath("$.evaluated", is(5)))
+                .andExpect(jsonPath("$.matched", is(3)))
+                .andExpect(jsonPath("$.matchRatio", closeTo(0.6, 1e-9)))
+                .andExpect(jsonPath("$.errors", is(0)));
+
+        mockMvc.perform(get("/rules/NoSuchRule/stats"))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/rules/stats/top").param("limit", "3").param("by", "P99"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(lessThanOrEqualTo(3))));
+    }
+
+    @Test
+    void testUnknownRuleRankingRejected() throws Exception {
+        mockMvc.perform(get("/rules/stats/top").param("by", "x"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("'by'")))
+                .andExpect(jsonPath("$.message", containsString("P99")));
+    }
+
+    @Test
+    void testBinaryEventsEvaluateLikeJson() throws Exception {
+        Rule rule = new Rule();
+        rule.setName("BinaryHighValueRule");
+        rule.setEventTypes(List.of("BINARY_PAYMENT"));
+        rule.setWhen(new Condition("amount", ">", 1000));
+        rule.setThen(new ActionConfig(ActionType.SEND_ALERT));
+
+        mockMvc.perform(post("/rules")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(rule)))
+                .andExpect(status().isCreated());
+
+        Event high = new Event("BINARY_PAYMENT", Map.of("amount", 5000, "note", "x"));
+        Event low = new Event("BINARY_PAYMENT", Map.of("amount", 10));
+        MediaType binary = MediaType.parseMediaType(BinaryEventFormat.MEDIA_TYPE);
+
+        mockMvc.perform(post("/events")
+                .contentType(binary)
+                .content(BinaryEventFormat.encode(List.of(high))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matchedRules", hasItem("BinaryHighValueRule")));
+
+        String response = mockMvc.perform(post("/events/batch")
+                .contentType(binary)
+                .content(BinaryEventFormat.encode(List.of(high, low))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = response.split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(objectMapper.readTree(lines[0]).get("matchedRules").toString().contains("BinaryHighValueRule"));
+        assertFalse(objectMapper.readTree(lines[1]).get("matchedRules").toString().contains("BinaryHighValueRule"));
+
+        mockMvc.perform(post("/events")
+                .contentType(binary)
+                .content(new byte[] { 0, 0, 0, 9, 1 }))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("Malformed binary event")));
+    }
+
+    @Test
+    void testBatchEvaluationStreamsResultsInOrder() throws Exception {
+        Rule rule = new Rule();
+        rule.setName("BatchHighValueRule");
+        rule.setPriority(1);
+        rule.setEventTypes(List.of("BATCH_PAYMENT"));
+        rule.setWhen(new Condition("amount", ">", 1000));
+        rule.setThen(new ActionConfig(ActionType.SEND_ALERT));
+
+        mockMvc.perform(post("/rules")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(rule)))
+                .andExpect(status().isCreated());
+
+        String ndjson = String.join("\n",
+                "{\"type\":\"BATCH_PAYMENT\",\"payload\":{\"amount\":5000}}",
+                "{\"type\":\"BATCH_PAYMENT\",\"payload\":{\"amount\":10}}",
+                "{\"type\":\"\",\"payload\":{}}");
+        String array = "[" + ndjson.replace("\n", ",") + "]";
+
+        Map<MediaType, String> bodies = Map.of(MediaType.APPLICATION_NDJSON, ndjson, MediaType.APPLICATION_JSON, array);
+        for (Map.Entry<MediaType, String> body : bodies.entrySet()) {
+            String response = mockMvc.perform(post("/events/batch")
+                    .contentType(body.getKey())
+                    .content(body.getValue()))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+
+            List<JsonNode> lines = new ArrayList<>();
+            for (String line : response.split("\n")) {
+                lines.add(objectMapper.readTree(line));
+            }
+
+            assertEquals(4, lines.size());
+            assertTrue(lines.get(0).get("matchedRules").toString().contains("BatchHighValueRule"));
+            assertFalse(lines.get(1).get("matchedRules").toString().contains("BatchHighValueRule"));
+            assertFalse(lines.get(2).get("success").asBoolean());
+            assertEquals(3, lines.get(3).get("stats").get("totalEvents").asInt());
+            assertEquals(1, lines.get(3).get("stats").get("failedEvents").asInt());
+        }
+    }
 }
@@ -0,0 +1,238 @@
+package com.ruleengine.journal;
+
+import com.ruleengine.action.OverflowPolicy;
+import com.ruleengine.model.ActionConfig;
+import com.ruleengine.model.ActionType;
+import com.ruleengine.model.Condition;
+import com.ruleengine.model.Event;
+import com.ruleengine.model.Rule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EvaluationJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRecordsRoundTrip() throws IOException {
+        EvaluationJournal journal = journal(properties(JournalProperties.PayloadMode.FULL));
+        Map<String, Object> payload = Map.of("userId", "u1", "amount", 250, "tags", List.of("VIP", 1.5));
+        Rule block = rule("Block", ActionType.BLOCK_USER);
+        Rule silent = rule("Silent", null);
+
+        long before = System.currentTimeMillis() * 1_000_000;
+        journal.append(new Event("PAYMENT", payload), List.of(block, silent));
+        journal.append(new Event("LOGIN", Map.of()), List.of(block));
+        journal.append(new Event("IGNORED", payload), List.of());
+        journal.stop();
+
+        List<JournalRecord> records = readAll(journal);
+        assertEquals(2, records.size());
+        JournalRecord first = records.get(0);
+        assertEquals("PAYMENT", first.eventType());
+        assertEquals(payload, first.payload());
+        assertEquals(PayloadHash.of(payload), first.payloadHash());
+        assertEquals(List.of(new JournalRecord.Match("Block", ActionType.BLOCK_USER),
+                new JournalRecord.Match("Silent", null)), first.matches());
+        assertTrue(first.timestampNanos() >= before);
+        assertEquals("LOGIN", records.get(1).eventType());
+        assertEquals(2, journal.getStats().getRecords());
+    }
+
+    @Test
+    void testHashModeKeepsNoPayload() throws IOException {
+        EvaluationJournal journal = journal(properties(JournalProperties.PayloadMode.HASH));
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("a", 1);
+        payload.put("b", Map.of("c", "x"));
+        journal.append(new Event("A", payload), List.of(rule("R", ActionType.LOG_EVENT)));
+        journal.stop();
+
+        JournalRecord record = readAll(journal).get(0);
+        assertNull(record.payload());
+        // Same payload, other member order
+        Map<String, Object> reordered = new LinkedHashMap<>();
+        reordered.put("b", Map.of("c", "x"));
+        reordered.put("a", 1L);
+        assertEquals(PayloadHash.of(reordered), record.payloadHash());
+        assertNotEquals(PayloadHash.of(Map.of("a", 1.0, "b", Map.of("c", "x"))), record.payloadHash());
+        assertNotEquals(PayloadHash.of(Map.of("a", 2, "b", Map.of("c", "x"))), record.payloadHash());
+    }
+
+    @Test
+    void testSegmentsRotateAndCompress() throws IOException {
+        JournalProperties properties = properties(JournalProperties.PayloadMode.FULL);
+        properties.setSegmentBytes(512);
+        properties.setCompression(JournalProperties.Compression.GZIP);
+        EvaluationJournal journal = journal(properties);
+        for (int i = 0; i < 100; i++) {
+            journal.append(new Event("E", Map.of("i", i, "pad", "x".repeat(i))), List.of(rule("R", null)));
+        }
+        journal.stop();
+
+        List<String> segments = journal.getSegments();
+        assertTrue(segments.size() > 5, segments.toString());
+        assertTrue(segments.stream().allMatch(name -> name.endsWith(".jnl.gz")), segments.toString());
+        List<JournalRecord> records = readAll(journal);
+        assertEquals(100, records.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, records.get(i).payload().get("i"));
+        }
+    }
+
+    @Test
+    void testFlushWaitsForQueuedRecords() throws IOException {
+        EvaluationJournal journal = journal(properties(JournalProperties.PayloadMode.FULL));
+        for (int i = 0; i < 1000; i++) {
+            journal.append(new Event("E", Map.of("i", i)), List.of(rule("R", null)));
+        }
+        journal.flush();
+        assertEquals(1000, journal.getStats().getRecords());
+        assertEquals(0, journal.getStats().getQueued());
+
+        journal.stop();
+        // Nothing to wait for once stopped
+        journal.flush();
+        assertEquals(1000, readAll(journal).size());
+    }
+
+    @Test
+    void testFlushUnderDropOldestWaitsForTheWriter() throws Exception {
+        JournalProperties properties = properties(JournalProperties.PayloadMode.FULL);
+        properties.setQueueCapacity(64);
+        properties.setOverflowPolicy(OverflowPolicy.DROP_OLDEST);
+        EvaluationJournal journal = journal(properties);
+        AtomicLong appended = new AtomicLong();
+        AtomicBoolean flooding = new AtomicBoolean(true);
+        Thread producer = Thread.ofPlatform().start(() -> {
+            while (flooding.get()) {
+                journal.append(new Event("E", Map.of("pad", "x".repeat(1000))), List.of(rule("R", null)));
+                appended.incrementAndGet();
+            }
+        });
+
+        for (int i = 0; i < 2000; i++) {
+            long before = appended.get();
+            journal.flush();
+            JournalStats stats = journal.getStats();
+            // The producer may have taken one record off the queue and not counted it as dropped yet
+            assertTrue(stats.getRecords() + stats.getDropped() + 1 >= before,
+                    "Flush returned before " + (before - stats.getRecords() - stats.getDropped()) + " records");
+        }
+        flooding.set(false);
+        producer.join();
+        journal.stop();
+        assertTrue(journal.getStats().getDropped() > 0);
+    }
+
+    @Test
+    void testRetentionKeepsTheNewestSegments() throws IOException {
+        JournalProperties properties = properties(JournalProperties.PayloadMode.FULL);
+        properties.setSegmentBytes(256);
+        properties.setMaxSegments(3);
+        EvaluationJournal journal = journal(properties);
+        for (int i = 0; i < 100; i++) {
+            journal.append(new Event("E", Map.of("i", i, "pad", "x".repeat(100))), List.of(rule("R", null)));
+        }
+        journal.stop();
+
+        assertEquals(3, journal.getSegments().size());
+        List<JournalRecord> records = readAll(journal);
+        assertEquals(99, records.get(records.size() - 1).payload().get("i"));
+    }
+
+    @Test
+    void testCrashedSegmentIsTruncatedOnRestart() throws IOException {
+        JournalProperties properties = properties(JournalProperties.PayloadMode.HASH);
+        EvaluationJournal journal = journal(properties);
+        journal.append(new Event("E", Map.of()), List.of(rule("R", null)));
+        journal.stop();
+        String sealed = journal.getSegments().get(0);
+
+        // A segment left open: one record, the body of another whose length
+        // was not written yet, then the preallocated zeros
+        Path crashed = directory.resolve(JournalFormat.segmentName(JournalFormat.sequenceOf(sealed) + 1));
+        byte[] record = Files.readAllBytes(directory.resolve(sealed));
+        ByteBuffer open = ByteBuffer.allocate(4096);
+        open.put(record).putInt(0).put(record, 4, record.length - 4);
+        Files.write(crashed, open.array());
+        // The records written so far are readable while open
+        assertEquals(1, journal.read(crashed.getFileName().toString()).orElseThrow().size());
+
+        EvaluationJournal restarted = journal(properties);
+        restarted.append(new Event("F", Map.of()), List.of(rule("R", null)));
+        restarted.stop();
+
+        assertEquals(record.length, Files.size(crashed));
+        assertEquals(List.of("E", "E", "F"), readAll(restarted).stream().map(JournalRecord::eventType).toList());
+    }
+
+    @Test
+    void testCorruptRecordIsReported() throws IOException {
+        EvaluationJournal journal = journal(properties(JournalProperties.PayloadMode.HASH));
+        journal.append(new Event("E", Map.of()), List.of(rule("R", ActionType.LOG_EVENT)));
+        journal.stop();
+
+        Path segment = directory.resolve(journal.getSegments().get(0));
+        byte[] bytes = Files.readAllBytes(segment);
+        // Unknown action name
+        bytes[bytes.length - 2] = 'X';
+        Files.write(segment, bytes, StandardOpenOption.TRUNCATE_EXISTING);
+        assertThrows(IOException.class, () -> journal.read(segment.getFileName().toString()));
+        assertTrue(journal.read("../" + segment.getFileName()).isEmpty());
+        assertTrue(journal.read("00000000000000000099.jnl").isEmpty());
+    }
+
+    @Test
+    void testDisabledJournalWritesNothing() throws IOException {
+        JournalProperties properties = properties(JournalProperties.PayloadMode.HASH);
+        properties.setEnabled(false);
+        EvaluationJournal journal = journal(properties);
+        journal.append(new Event("E", Map.of()), List.of(rule("R", null)));
+        journal.stop();
+
+        assertFalse(journal.isEnabled());
+        assertEquals(List.of(), journal.getSegments());
+    }
+
+    private JournalProperties properties(JournalProperties.PayloadMode payload) {
+        JournalProperties properties = new JournalProperties();
+        properties.setEnabled(true);
+        properties.setDirectory(directory.toString());
+        properties.setPayload(payload);
+        return properties;
+    }
+
+    private static EvaluationJournal journal(JournalProperties properties) {
+        EvaluationJournal journal = new EvaluationJournal(properties);
+        journal.start();
+        return journal;
+    }
+
+    private static List<JournalRecord> readAll(EvaluationJournal journal) throws IOException {
+        List<JournalRecord> records = new ArrayList<>();
+        for (String segment : journal.getSegments()) {
+            records.addAll(journal.read(segment).orElseThrow());
+        }
+        return records;
+    }
+
+    private static Rule rule(String name, ActionType action) {
+        return new Rule(name, 1, new Condition("a", "==", 1), action != null ? new ActionConfig(action) : null);
+    }
+}
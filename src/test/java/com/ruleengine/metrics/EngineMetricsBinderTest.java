@@ -0,0 +1,35 @@
+package com.ruleengine.metrics;
+
+import com.ruleengine.action.ActionDispatcher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EngineMetricsBinderTest {
+
+    @Test
+    void testRuleMetersFollowTheRuleSet() {
+        EngineMetrics metrics = new EngineMetrics();
+        metrics.ruleCounters("Kept").recordEvaluation(true);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new EngineMetricsBinder(metrics, new ActionDispatcher(List.of())).bindTo(registry);
+        metrics.ruleCounters("Deleted").recordEvaluation(false);
+
+        assertEquals(1, registry.get("rule.engine.rule.matched").tag("rule", "Kept").functionCounter().count());
+        assertEquals(2, registry.find("rule.engine.rule.evaluated").meters().size());
+
+        metrics.retainRules(Set.of("Kept"));
+        assertEquals(Set.of("Kept"), metrics.getCountersByRule().keySet());
+        assertTrue(registry.find("rule.engine.rule.evaluated").tag("rule", "Deleted").meters().isEmpty());
+        assertTrue(registry.find("rule.engine.rule.errors").tag("rule", "Deleted").meters().isEmpty());
+        assertEquals(1, registry.find("rule.engine.rule.evaluated").meters().size());
+
+        // Counted afresh if a rule of that name comes back
+        metrics.ruleCounters("Deleted");
+        assertEquals(0, registry.get("rule.engine.rule.evaluated").tag("rule", "Deleted").functionCounter().count());
+    }
+}
@@ -0,0 +1,81 @@
+package com.ruleengine.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void testBucketsCoverEveryValueWithBoundedError() {
+        for (long value = 0; value < 1_000_000; value += 1 + value / 50) {
+            int index = LatencyHistogram.index(value);
+            long upper = LatencyHistogram.upperBound(index);
+            assertTrue(upper >= value, "bucket below " + value);
+            assertTrue(index == 0 || LatencyHistogram.upperBound(index - 1) < value, "previous bucket holds " + value);
+            assertTrue(upper - value <= value / 8, "error too large at " + value);
+        }
+    }
+
+    @Test
+    void testPercentilesMatchSortedSamples() {
+        Random random = new Random(3);
+        long[] samples = new long[100_000];
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < samples.length; i++) {
+            // Log-normal-ish: mostly microseconds, a tail into milliseconds
+            samples[i] = (long) Math.exp(7 + 1.5 * random.nextGaussian());
+            histogram.record(samples[i]);
+        }
+        Arrays.sort(samples);
+
+        for (double quantile : new double[] { 0.5, 0.9, 0.99, 0.999 }) {
+            long exact = samples[(int) Math.ceil(quantile * samples.length) - 1];
+            long reported = histogram.percentileNanos(quantile);
+            assertTrue(reported >= exact && reported <= exact + exact / 8,
+                    quantile + ": exact " + exact + ", reported " + reported);
+        }
+        assertEquals(samples[samples.length - 1], histogram.getMaxNanos());
+        assertEquals(samples.length, histogram.getCount());
+        assertEquals(Arrays.stream(samples).sum(), histogram.getTotalNanos());
+    }
+
+    @Test
+    void testEmptyAndOutOfRangeValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.percentileNanos(0.99));
+        assertEquals(0, histogram.getMeanNanos());
+
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(2, histogram.getCount());
+        assertEquals(0, histogram.percentileNanos(0.5));
+        assertTrue(histogram.percentileNanos(1.0) > TimeUnit.MINUTES.toNanos(10));
+    }
+
+    @Test
+    void testConcurrentRecordingLosesNothing() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            pool.execute(() -> {
+                for (int i = 0; i < 100_000; i++) {
+                    histogram.record(i % 5000);
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(800_000, histogram.getCount());
+        assertEquals(4999, histogram.getMaxNanos());
+        long median = histogram.percentileNanos(0.5);
+        assertTrue(median >= 2499 && median <= 2499 + 2499 / 8, "median " + median);
+    }
+}
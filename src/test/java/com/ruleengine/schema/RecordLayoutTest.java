@@ -0,0 +1,98 @@
+package com.ruleengine.schema;
+
+import com.ruleengine.exception.InvalidEventException;
+import com.ruleengine.exception.InvalidSchemaException;
+import com.ruleengine.model.EventSchema;
+import com.ruleengine.model.FieldDefinition;
+import com.ruleengine.model.FieldType;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecordLayoutTest {
+
+    private static final EventSchema SCHEMA = new EventSchema("TRANSACTION", List.of(
+            new FieldDefinition("amount", FieldType.DOUBLE, true),
+            new FieldDefinition("count", FieldType.LONG),
+            FieldDefinition.object("user", List.of(
+                    new FieldDefinition("country", FieldType.STRING, true),
+                    new FieldDefinition("verified", FieldType.BOOLEAN)))));
+
+    @Test
+    void testSlotsFollowDeclarationOrder() {
+        RecordLayout layout = RecordLayout.of(SCHEMA);
+
+        assertEquals(5, layout.size());
+        assertEquals(0, layout.slotOf("amount"));
+        assertEquals(1, layout.slotOf("count"));
+        assertEquals(2, layout.slotOf("user"));
+        assertEquals(3, layout.slotOf("user.country"));
+        assertEquals(4, layout.slotOf("user.verified"));
+        assertEquals(-1, layout.slotOf("country"));
+        assertEquals("user.country", layout.getPath(3));
+        assertTrue(layout.isNumeric(0));
+        assertFalse(layout.isNumeric(3));
+    }
+
+    @Test
+    void testDecodeHoldsNumbersAsPrimitives() {
+        RecordLayout layout = RecordLayout.of(SCHEMA);
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("amount", 1500);
+        payload.put("count", 3_000_000_000L);
+        payload.put("user", Map.of("country", "TR"));
+        payload.put("note", "undeclared");
+
+        SlotRecord record = layout.decode(payload);
+
+        assertEquals(1500.0, record.doubleValue(0));
+        assertEquals(3_000_000_000L, record.longValue(1));
+        assertEquals("TR", record.value(3));
+        assertFalse(record.isPresent(4));
+        // The map view is the original payload, undeclared fields included
+        assertEquals(payload, record);
+        assertEquals("undeclared", record.get("note"));
+        assertThrows(UnsupportedOperationException.class, () -> record.put("amount", 1));
+
+        // Reusing a record clears slots the next payload lacks
+        layout.decodeInto(Map.of("amount", 2.5), record);
+        assertEquals(2.5, record.doubleValue(0));
+        assertFalse(record.isPresent(1));
+        assertFalse(record.isPresent(3));
+    }
+
+    @Test
+    void testRejectsPayloadsOfTheWrongShape() {
+        RecordLayout layout = RecordLayout.of(SCHEMA);
+
+        InvalidEventException mismatch = assertThrows(InvalidEventException.class,
+                () -> layout.validate(Map.of("amount", "1500")));
+        assertTrue(mismatch.getMessage().contains("Field 'amount' must be DOUBLE"));
+        assertThrows(InvalidEventException.class, () -> layout.validate(Map.of("amount", 1, "count", 1.5)));
+        assertThrows(InvalidEventException.class, () -> layout.validate(Map.of("amount", 1, "user", "TR")));
+
+        InvalidEventException missing = assertThrows(InvalidEventException.class,
+                () -> layout.validate(Map.of("count", 1)));
+        assertTrue(missing.getMessage().contains("Missing required field 'amount'"));
+        // Nested fields are required only where their object is present
+        layout.validate(Map.of("amount", 1));
+        assertThrows(InvalidEventException.class, () -> layout.validate(Map.of("amount", 1, "user", Map.of())));
+    }
+
+    @Test
+    void testRejectsInvalidSchemas() {
+        assertThrows(InvalidSchemaException.class, () -> RecordLayout.of(new EventSchema("E", List.of())));
+        assertThrows(InvalidSchemaException.class, () -> RecordLayout.of(new EventSchema("E", List.of(
+                new FieldDefinition("a", FieldType.LONG), new FieldDefinition("a", FieldType.STRING)))));
+        assertThrows(InvalidSchemaException.class, () -> RecordLayout.of(new EventSchema("E", List.of(
+                new FieldDefinition("a.b", FieldType.LONG)))));
+        assertThrows(InvalidSchemaException.class, () -> RecordLayout.of(new EventSchema("E", List.of(
+                new FieldDefinition("a", FieldType.OBJECT)))));
+        assertThrows(InvalidSchemaException.class, () -> RecordLayout.of(new EventSchema("E", List.of(
+                new FieldDefinition("a", null)))));
+    }
+}
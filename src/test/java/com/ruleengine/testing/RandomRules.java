@@ -0,0 +1,90 @@
+package com.ruleengine.testing;
+
+import com.ruleengine.engine.RuleRegistry;
+import com.ruleengine.engine.RuleSnapshot;
+import com.ruleengine.evaluator.compiled.ConditionCompiler;
+import com.ruleengine.model.Condition;
+import com.ruleengine.model.EvaluationResult;
+import com.ruleengine.model.Rule;
+import com.ruleengine.model.RuleTrace;
+import com.ruleengine.repository.RuleRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Shared fixture of the differential tests: random condition trees over a
+ * small vocabulary of fields, operators and operands, and the rule
+ * snapshots they are evaluated against.
+ *
+ * The default vocabulary mixes numbers of every width, strings, dates,
+ * lists and nulls, so most leaves hit a type mismatch or an edge case.
+ */
+public final class RandomRules {
+
+    public static final String[] FIELDS = { "amount", "role", "tags", "user.country", "user.age", "createdAt",
+            "missing" };
+    public static final String[] OPERATORS = { "==", "!=", ">", ">=", "<", "<=", "contains",
+            "startsWith", "endsWith", "in", "matches", "dateBefore", "dateAfter" };
+    public static final Object[] VALUES = { 10, 10.0, 10.5, 1000L, -0.0, Double.NaN, 18, "10", "ADMIN", "AD",
+            "VIP", "TR", "^A.*N$", "2024-01-01", null, List.of("ADMIN", "USER", 10), Arrays.asList("US", null) };
+    public static final String[] EVENT_TYPES = { "LOGIN", "PAYMENT", "OTHER" };
+
+    private final String[] fields;
+    private final String[] operators;
+    private final Object[] values;
+
+    /**
+     * Trees over the default vocabulary.
+     */
+    public RandomRules() {
+        this(FIELDS, OPERATORS, VALUES);
+    }
+
+    public RandomRules(String[] fields, String[] operators, Object[] values) {
+        this.fields = fields;
+        this.operators = operators;
+        this.values = values;
+    }
+
+    /**
+     * A random AND/OR tree of at most {@code depth} levels above its leaves,
+     * each node having one to three children.
+     */
+    public Condition tree(Random random, int depth) {
+        if (depth == 0 || random.nextInt(3) == 0) {
+            return new Condition(fields[random.nextInt(fields.length)], operators[random.nextInt(operators.length)],
+                    values[random.nextInt(values.length)]);
+        }
+        List<Condition> children = new ArrayList<>();
+        int size = 1 + random.nextInt(3);
+        for (int i = 0; i < size; i++) {
+            children.add(tree(random, depth - 1));
+        }
+        return random.nextBoolean() ? Condition.and(children) : Condition.or(children);
+    }
+
+    /**
+     * Compiles the rules into a snapshot, as the registry does after a
+     * reload.
+     */
+    public static RuleSnapshot snapshotOf(List<Rule> rules) {
+        RuleRepository repository = mock(RuleRepository.class);
+        when(repository.getAllRulesIncludingDisabled()).thenReturn(rules);
+        RuleRegistry registry = new RuleRegistry(repository, new ConditionCompiler());
+        registry.reload();
+        return registry.current();
+    }
+
+    /**
+     * Failure reasons of a result's trace, in trace order.
+     */
+    public static List<String> reasons(EvaluationResult result) {
+        return result.getTrace().stream().map(RuleTrace::getFailureReason).toList();
+    }
+}